@@ -0,0 +1,314 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.util.MathUtils;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表示为 {@link EmbedModel} 增加批量合并和缓存能力的装饰器。
+ * <ul>
+ *     <li>输入以模型参数和内容的 SHA-256 摘要作为键，先查询有界的 LRU 内存缓存，再查询可选的磁盘缓存。</li>
+ *     <li>同一次调用中以及并发调用之间相同的输入只会请求一次嵌入模型。</li>
+ *     <li>并发调用中未命中的输入被合并为批次：批次达到最大数量时立即发送，否则由创建批次的调用方等待最长延迟后发送。
+ *     不同的模型参数使用不同的批次。</li>
+ * </ul>
+ * <p>批量调用的结果与输入一一对应，调用方线程负责发送批次，装饰器本身不创建线程。</p>
+ *
+ * @author 易文渊
+ * @since 2024-08-12
+ */
+public class BatchingEmbedModel implements EmbedModel {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    private static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(10);
+    private static final int DEFAULT_CACHE_CAPACITY = 10000;
+
+    private final EmbedModel embedModel;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final EmbeddingDiskCache diskCache;
+    private final Map<String, float[]> memoryCache;
+    private final Map<String, CompletableFuture<float[]>> inflight = new ConcurrentHashMap<>();
+    private final Map<String, Batch> pending = new HashMap<>();
+    private final EmbedModelMetrics metrics = new EmbedModelMetrics();
+
+    /**
+     * 使用默认参数创建 {@link BatchingEmbedModel} 的实例，不使用磁盘缓存。
+     *
+     * @param embedModel 表示被装饰的嵌入模型的 {@link EmbedModel}。
+     * @throws IllegalArgumentException 当 {@code embedModel} 为 {@code null} 时。
+     */
+    public BatchingEmbedModel(EmbedModel embedModel) {
+        this(embedModel, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY, DEFAULT_CACHE_CAPACITY, null);
+    }
+
+    /**
+     * 创建 {@link BatchingEmbedModel} 的实例。
+     *
+     * @param embedModel 表示被装饰的嵌入模型的 {@link EmbedModel}。
+     * @param maxBatchSize 表示单个批次最大输入数量的 {@code int}。
+     * @param maxDelay 表示批次未满时最长等待时间的 {@link Duration}，为 {@link Duration#ZERO} 时不等待其他调用。
+     * @param cacheCapacity 表示内存缓存最大条目数的 {@code int}，为 {@code 0} 时不使用内存缓存。
+     * @param diskCache 表示磁盘缓存的 {@link EmbeddingDiskCache}，为 {@code null} 时不使用磁盘缓存。
+     * @throws IllegalArgumentException 当 {@code embedModel} 或者 {@code maxDelay} 为 {@code null}，或者数量参数不合法时。
+     */
+    public BatchingEmbedModel(EmbedModel embedModel, int maxBatchSize, Duration maxDelay, int cacheCapacity,
+            EmbeddingDiskCache diskCache) {
+        this.embedModel = notNull(embedModel, "The embed model cannot be null.");
+        this.maxBatchSize = greaterThan(maxBatchSize, 0,
+                "The max batch size must be positive. [maxBatchSize={0}]", maxBatchSize);
+        this.maxDelayNanos = notNull(maxDelay, "The max delay cannot be null.").toNanos();
+        greaterThan(cacheCapacity, -1, "The cache capacity cannot be negative. [cacheCapacity={0}]", cacheCapacity);
+        this.memoryCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return this.size() > cacheCapacity;
+            }
+        };
+        this.diskCache = diskCache;
+    }
+
+    /**
+     * 获取运行指标。
+     *
+     * @return 表示运行指标的 {@link EmbedModelMetrics}。
+     */
+    public EmbedModelMetrics metrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+        notNull(inputs, "The inputs cannot be null.");
+        String optionKey = optionKey(option);
+        List<String> keys = new ArrayList<>(inputs.size());
+        Map<String, float[]> found = new HashMap<>();
+        Map<String, CompletableFuture<float[]>> waiting = new HashMap<>();
+        Map<String, String> misses = new LinkedHashMap<>();
+        for (String input : inputs) {
+            String key = key(optionKey, input);
+            keys.add(key);
+            if (found.containsKey(key) || waiting.containsKey(key) || misses.containsKey(key)) {
+                this.metrics.onCoalesced();
+                continue;
+            }
+            float[] cached = this.lookup(key);
+            if (cached != null) {
+                found.put(key, cached);
+                continue;
+            }
+            CompletableFuture<float[]> future = new CompletableFuture<>();
+            CompletableFuture<float[]> existing = this.inflight.putIfAbsent(key, future);
+            if (existing != null) {
+                this.metrics.onCoalesced();
+                waiting.put(key, existing);
+            } else {
+                this.metrics.onMiss();
+                waiting.put(key, future);
+                misses.put(key, input);
+            }
+        }
+        if (!misses.isEmpty()) {
+            this.submit(optionKey, option, misses);
+        }
+        waiting.forEach((key, future) -> found.put(key, join(future)));
+        List<Embedding> embeddings = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            List<Float> embedding = MathUtils.toList(found.get(key));
+            embeddings.add(() -> embedding);
+        }
+        return embeddings;
+    }
+
+    private float[] lookup(String key) {
+        float[] cached;
+        synchronized (this.memoryCache) {
+            cached = this.memoryCache.get(key);
+        }
+        if (cached != null) {
+            this.metrics.onMemoryHit();
+            return cached;
+        }
+        if (this.diskCache == null) {
+            return null;
+        }
+        cached = this.diskCache.get(key).orElse(null);
+        if (cached != null) {
+            this.metrics.onDiskHit();
+            this.remember(key, cached);
+        }
+        return cached;
+    }
+
+    private void remember(String key, float[] vector) {
+        synchronized (this.memoryCache) {
+            this.memoryCache.put(key, vector);
+        }
+    }
+
+    /**
+     * 将未命中的输入加入批次。加入后批次已满时由当前调用方发送；当前调用方创建的批次，在等待最长延迟后仍未发送时由当前调用方发送。
+     */
+    private void submit(String batchKey, EmbedOption option, Map<String, String> misses) {
+        List<Batch> full = new ArrayList<>();
+        Batch owned = null;
+        synchronized (this.pending) {
+            for (Map.Entry<String, String> miss : misses.entrySet()) {
+                Batch batch = this.pending.get(batchKey);
+                if (batch == null) {
+                    batch = new Batch(option);
+                    this.pending.put(batchKey, batch);
+                    owned = batch;
+                }
+                batch.add(miss.getKey(), miss.getValue());
+                if (batch.size() >= this.maxBatchSize) {
+                    this.pending.remove(batchKey);
+                    batch.seal();
+                    full.add(batch);
+                }
+            }
+        }
+        full.forEach(this::dispatch);
+        if (owned == null || full.contains(owned)) {
+            return;
+        }
+        owned.awaitSeal(this.maxDelayNanos);
+        synchronized (this.pending) {
+            if (owned.isSealed()) {
+                return;
+            }
+            this.pending.remove(batchKey, owned);
+            owned.seal();
+        }
+        this.dispatch(owned);
+    }
+
+    private void dispatch(Batch batch) {
+        this.metrics.onBatch(batch.size());
+        try {
+            List<Embedding> embeddings = this.embedModel.generate(batch.inputs, batch.option);
+            if (embeddings == null || embeddings.size() != batch.inputs.size()) {
+                throw new IllegalStateException(StringUtils.format(
+                        "The embedding count must equal the input count. [inputs={0}, embeddings={1}]",
+                        batch.inputs.size(), embeddings == null ? 0 : embeddings.size()));
+            }
+            for (int i = 0; i < batch.keys.size(); i++) {
+                String key = batch.keys.get(i);
+                float[] vector = MathUtils.toArray(embeddings.get(i).embedding());
+                this.remember(key, vector);
+                if (this.diskCache != null) {
+                    this.diskCache.put(key, vector);
+                }
+                this.inflight.remove(key).complete(vector);
+            }
+        } catch (RuntimeException | Error e) {
+            // 异常通过结果传递给每个等待的调用方，避免当前调用方负责的其他批次无法发送。
+            batch.keys.forEach(key -> {
+                CompletableFuture<float[]> future = this.inflight.remove(key);
+                if (future != null) {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+    }
+
+    private static float[] join(CompletableFuture<float[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw ObjectUtils.<RuntimeException>cast(e.getCause());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 获取模型参数的键。缓存和批次都以完整的模型参数区分，不同的模型参数不会共享嵌入结果，也不会合并到同一批次。
+     */
+    private static String optionKey(EmbedOption option) {
+        if (option == null) {
+            return StringUtils.EMPTY;
+        }
+        return ObjectUtils.nullIf(option.model(), StringUtils.EMPTY) + '\0'
+                + ObjectUtils.nullIf(option.apiKey(), StringUtils.EMPTY);
+    }
+
+    private static String key(String optionKey, String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(optionKey.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(input.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Batch {
+        private final EmbedOption option;
+        private final List<String> keys = new ArrayList<>();
+        private final List<String> inputs = new ArrayList<>();
+        private final CountDownLatch sealed = new CountDownLatch(1);
+
+        Batch(EmbedOption option) {
+            this.option = option;
+        }
+
+        void add(String key, String input) {
+            this.keys.add(key);
+            this.inputs.add(input);
+        }
+
+        int size() {
+            return this.keys.size();
+        }
+
+        void seal() {
+            this.sealed.countDown();
+        }
+
+        boolean isSealed() {
+            return this.sealed.getCount() == 0;
+        }
+
+        void awaitSeal(long nanos) {
+            if (nanos <= 0) {
+                return;
+            }
+            try {
+                this.sealed.await(nanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed.support;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 表示 {@link BatchingEmbedModel} 的运行指标。
+ * <p>每条输入只计入一种结果：内存缓存命中、磁盘缓存命中、与正在进行的请求合并或者实际发送给嵌入模型。
+ * 批次大小的直方图按 2 的幂划分区间，键为区间的上界。</p>
+ *
+ * @author 易文渊
+ * @since 2024-08-12
+ */
+public class EmbedModelMetrics {
+    private static final int BUCKETS = 31;
+
+    private final AtomicLong memoryHitCount = new AtomicLong();
+    private final AtomicLong diskHitCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLongArray batchSizes = new AtomicLongArray(BUCKETS);
+
+    void onMemoryHit() {
+        this.memoryHitCount.incrementAndGet();
+    }
+
+    void onDiskHit() {
+        this.diskHitCount.incrementAndGet();
+    }
+
+    void onCoalesced() {
+        this.coalescedCount.incrementAndGet();
+    }
+
+    void onMiss() {
+        this.missCount.incrementAndGet();
+    }
+
+    void onBatch(int size) {
+        this.batchCount.incrementAndGet();
+        this.batchSizes.incrementAndGet(Math.min(BUCKETS - 1, 32 - Integer.numberOfLeadingZeros(size - 1)));
+    }
+
+    /**
+     * 获取内存缓存命中的输入数量。
+     *
+     * @return 表示输入数量的 {@code long}。
+     */
+    public long memoryHitCount() {
+        return this.memoryHitCount.get();
+    }
+
+    /**
+     * 获取磁盘缓存命中的输入数量。
+     *
+     * @return 表示输入数量的 {@code long}。
+     */
+    public long diskHitCount() {
+        return this.diskHitCount.get();
+    }
+
+    /**
+     * 获取与相同的输入合并，没有单独发送给嵌入模型的输入数量。
+     *
+     * @return 表示输入数量的 {@code long}。
+     */
+    public long coalescedCount() {
+        return this.coalescedCount.get();
+    }
+
+    /**
+     * 获取实际发送给嵌入模型的输入数量。
+     *
+     * @return 表示输入数量的 {@code long}。
+     */
+    public long missCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * 获取发送给嵌入模型的批次数量。
+     *
+     * @return 表示批次数量的 {@code long}。
+     */
+    public long batchCount() {
+        return this.batchCount.get();
+    }
+
+    /**
+     * 获取没有发送给嵌入模型的输入占全部输入的比例。
+     *
+     * @return 表示命中率的 {@code double}，没有任何输入时为 {@code 0}。
+     */
+    public double hitRate() {
+        long hits = this.memoryHitCount() + this.diskHitCount() + this.coalescedCount();
+        long total = hits + this.missCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * 获取批次大小的直方图。
+     *
+     * @return 表示区间上界到批次数量的 {@link Map}{@code <}{@link Integer}{@code ,}{@link Long}{@code >}，按上界升序排列，
+     * 不包含数量为 0 的区间。
+     */
+    public Map<Integer, Long> batchSizeHistogram() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = this.batchSizes.get(i);
+            if (count > 0) {
+                histogram.put(1 << i, count);
+            }
+        }
+        return Collections.unmodifiableMap(histogram);
+    }
+}
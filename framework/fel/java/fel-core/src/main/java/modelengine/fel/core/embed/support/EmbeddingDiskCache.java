@@ -0,0 +1,90 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.log.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * 表示保存在本地目录中的嵌入向量缓存，作为 {@link BatchingEmbedModel} 内存缓存的第二级。
+ * <p>每个向量保存为一个以内容摘要命名的二进制文件，并按摘要的前两个字符分目录存放。写入时先写临时文件再原子替换，
+ * 读取损坏的文件视为未命中。</p>
+ *
+ * @author 易文渊
+ * @since 2024-08-12
+ */
+public class EmbeddingDiskCache {
+    private static final Logger log = Logger.get(EmbeddingDiskCache.class);
+
+    private final Path directory;
+
+    /**
+     * 创建 {@link EmbeddingDiskCache} 的实例。
+     *
+     * @param directory 表示缓存目录的 {@link Path}，不存在时自动创建。
+     * @throws IllegalArgumentException 当 {@code directory} 为 {@code null} 时。
+     */
+    public EmbeddingDiskCache(Path directory) {
+        this.directory = notNull(directory, "The cache directory cannot be null.");
+    }
+
+    /**
+     * 读取缓存的嵌入向量。
+     *
+     * @param key 表示内容摘要的 {@link String}。
+     * @return 表示嵌入向量的 {@link Optional}{@code <float[]>}。
+     */
+    public Optional<float[]> get(String key) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(this.pathOf(key)));
+            if (buffer.remaining() % Float.BYTES != 0) {
+                return Optional.empty();
+            }
+            float[] vector = new float[buffer.remaining() / Float.BYTES];
+            buffer.asFloatBuffer().get(vector);
+            return Optional.of(vector);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read embedding cache. [key={}, error={}]", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 写入嵌入向量，写入失败时只记录日志。
+     *
+     * @param key 表示内容摘要的 {@link String}。
+     * @param vector 表示嵌入向量的 {@code float[]}。
+     */
+    public void put(String key, float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES);
+        buffer.asFloatBuffer().put(vector);
+        Path path = this.pathOf(key);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            Files.write(temp, buffer.array());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write embedding cache. [key={}, error={}]", key, e.getMessage());
+        }
+    }
+
+    private Path pathOf(String key) {
+        return this.directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+}
@@ -0,0 +1,133 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.filter;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * 表示在内存中对文档元数据求值 {@link Filter} 的断言。
+ * <p>比较数值时忽略具体的数值类型，元数据中不存在的键不满足除 {@link Operator#NE} 和 {@link Operator#NIN} 以外的任何条件。
+ * {@link Operator#LIKE} 使用 SQL 语义，{@code %} 匹配任意个字符，{@code _} 匹配单个字符。</p>
+ *
+ * @author 易文渊
+ * @since 2024-08-10
+ */
+public class MetadataPredicate implements Predicate<Map<String, Object>> {
+    private final Operand.Expression expression;
+
+    /**
+     * 创建 {@link MetadataPredicate} 的实例。
+     *
+     * @param filter 表示过滤器的 {@link Filter}。
+     * @throws IllegalArgumentException 当 {@code filter} 为 {@code null} 时。
+     */
+    public MetadataPredicate(Filter filter) {
+        this.expression = notNull(filter, "The filter cannot be null.").expression();
+    }
+
+    @Override
+    public boolean test(Map<String, Object> metadata) {
+        return evaluate(this.expression, notNull(metadata, "The metadata cannot be null."));
+    }
+
+    private static boolean evaluate(Operand.Expression expression, Map<String, Object> metadata) {
+        Operator op = expression.op();
+        if (op == Operator.AND) {
+            return evaluate(cast(expression.left()), metadata) && evaluate(cast(expression.right()), metadata);
+        }
+        if (op == Operator.OR) {
+            return evaluate(cast(expression.left()), metadata) || evaluate(cast(expression.right()), metadata);
+        }
+        Operand.Key key = ObjectUtils.cast(expression.left());
+        Object expected = ObjectUtils.<Operand.Value>cast(expression.right()).payload();
+        Object actual = metadata.get(key.key());
+        switch (op) {
+            case EQ:
+                return isEqual(actual, expected);
+            case NE:
+                return !isEqual(actual, expected);
+            case LT:
+                return compare(actual, expected, result -> result < 0);
+            case GT:
+                return compare(actual, expected, result -> result > 0);
+            case LE:
+                return compare(actual, expected, result -> result <= 0);
+            case GE:
+                return compare(actual, expected, result -> result >= 0);
+            case IN:
+                return contains(expected, actual);
+            case NIN:
+                return !contains(expected, actual);
+            case LIKE:
+                return actual != null && toPattern(expected.toString()).matcher(actual.toString()).matches();
+            default:
+                throw new IllegalStateException("Unsupported operator: " + op);
+        }
+    }
+
+    private static Operand.Expression cast(Operand operand) {
+        return ObjectUtils.cast(operand);
+    }
+
+    private static boolean isEqual(Object actual, Object expected) {
+        if (actual instanceof Number && expected instanceof Number) {
+            return toDecimal(actual).compareTo(toDecimal(expected)) == 0;
+        }
+        return Objects.equals(actual, expected);
+    }
+
+    private static boolean contains(Object expected, Object actual) {
+        if (!(expected instanceof Collection)) {
+            return isEqual(actual, expected);
+        }
+        return ObjectUtils.<Collection<?>>cast(expected).stream().anyMatch(value -> isEqual(actual, value));
+    }
+
+    /**
+     * 比较元数据值与期望值，两者无法比较时所有大小条件都不成立。
+     */
+    private static boolean compare(Object actual, Object expected, IntPredicate condition) {
+        if (actual instanceof Number && expected instanceof Number) {
+            return condition.test(toDecimal(actual).compareTo(toDecimal(expected)));
+        }
+        if (actual instanceof Comparable && actual.getClass().isInstance(expected)) {
+            Comparable<Object> comparable = ObjectUtils.cast(actual);
+            return condition.test(comparable.compareTo(expected));
+        }
+        return false;
+    }
+
+    private static BigDecimal toDecimal(Object number) {
+        return number instanceof BigDecimal ? (BigDecimal) number : new BigDecimal(number.toString());
+    }
+
+    private static Pattern toPattern(String like) {
+        StringBuilder regex = new StringBuilder(like.length() + 8);
+        StringBuilder literal = new StringBuilder();
+        for (char ch : like.toCharArray()) {
+            if (ch == '%' || ch == '_') {
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+                regex.append(ch == '%' ? ".*" : ".");
+            } else {
+                literal.append(ch);
+            }
+        }
+        regex.append(Pattern.quote(literal.toString()));
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
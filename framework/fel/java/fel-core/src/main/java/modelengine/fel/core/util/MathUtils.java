@@ -8,6 +8,7 @@ package modelengine.fel.core.util;
 
 import modelengine.fitframework.inspection.Validation;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -41,4 +42,68 @@ public final class MathUtils {
         Validation.isFalse(Double.isNaN(result), "The result is NaN.");
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * 计算两个向量的余弦相似度。
+     *
+     * @param x 表示第一个向量的 {@code float[]}。
+     * @param y 表示第二个向量的 {@code float[]}。
+     * @return 表示两个向量余弦相似度的 {@code double}。
+     */
+    public static double cosineSimilarity(float[] x, float[] y) {
+        Validation.isTrue(x != null && y != null, "The vector cannot be null.");
+        Validation.equals(x.length, y.length, "The vector sharpe cannot be equal.");
+        double dotProduct = 0.0d;
+        for (int i = 0; i < x.length; i++) {
+            dotProduct += x[i] * y[i];
+        }
+        double result = dotProduct / ((double) norm(x) * norm(y));
+        Validation.isFalse(Double.isNaN(result), "The result is NaN.");
+        return result;
+    }
+
+    /**
+     * 计算向量的欧几里得范数。
+     *
+     * @param x 表示向量的 {@code float[]}。
+     * @return 表示向量范数的 {@code float}。
+     */
+    public static float norm(float[] x) {
+        Validation.notNull(x, "The vector cannot be null.");
+        double sum = 0.0d;
+        for (float value : x) {
+            sum += value * value;
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    /**
+     * 将向量转换为 {@code float} 数组。
+     *
+     * @param x 表示向量的 {@link List}{@code <}{@link Float}{@code >}。
+     * @return 表示转换后向量的 {@code float[]}。
+     */
+    public static float[] toArray(List<Float> x) {
+        Validation.notNull(x, "The vector cannot be null.");
+        float[] result = new float[x.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = x.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * 将 {@code float} 数组转换为向量。
+     *
+     * @param x 表示向量的 {@code float[]}。
+     * @return 表示转换后向量的 {@link List}{@code <}{@link Float}{@code >}。
+     */
+    public static List<Float> toList(float[] x) {
+        Validation.notNull(x, "The vector cannot be null.");
+        List<Float> result = new ArrayList<>(x.length);
+        for (float value : x) {
+            result.add(value);
+        }
+        return result;
+    }
+}
@@ -30,6 +30,14 @@ public interface SearchOption {
      */
     Filter filter();
 
+    /**
+     * 获取近似检索时的候选集大小，值越大召回率越高、耗时越长，为 {@code 0} 时使用向量存储的默认值。
+     * <p>精确检索的向量存储忽略该参数。</p>
+     *
+     * @return 表示候选集大小的 {@code int}。
+     */
+    int efSearch();
+
     /**
      * 表示 {@link SearchOption} 的构建器。
      */
@@ -50,6 +58,14 @@ public interface SearchOption {
          */
         Builder filter(Filter filter);
 
+        /**
+         * 设置近似检索时的候选集大小。
+         *
+         * @param efSearch 表示候选集大小的 {@code int}。
+         * @return 表示当前构建器实例的 {@link Builder}。
+         */
+        Builder efSearch(int efSearch);
+
         /**
          * 构建 {@link SearchOption} 的实例。
          *
@@ -0,0 +1,361 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import modelengine.fel.core.util.MathUtils;
+import modelengine.fitframework.inspection.Validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 表示以连续的 {@code float} 数组存放向量的暴力检索索引。
+ * <p>所有向量按行存放在同一个数组中，并预先计算每行的范数，检索时只需要计算一次内积；删除时将最后一行移动到被删除的位置，
+ * 保证数据始终连续。检索使用有界小顶堆获取前 K 个结果，数据量超过阈值时按处理器数量分段并行扫描。</p>
+ *
+ * @author 易文渊
+ * @since 2024-08-06
+ */
+class DenseVectorIndex {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> rows = new HashMap<>();
+    private final int parallelThreshold;
+
+    private int dimension = -1;
+    private int size;
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private float[] norms = new float[INITIAL_CAPACITY];
+    private float[] vectors = new float[0];
+
+    /**
+     * 创建 {@link DenseVectorIndex} 的实例。
+     *
+     * @param parallelThreshold 表示开始并行扫描的向量数量的 {@code int}。
+     */
+    DenseVectorIndex(int parallelThreshold) {
+        this.parallelThreshold = Validation.greaterThan(parallelThreshold, 0,
+                "The parallel threshold must be positive. [parallelThreshold={0}]", parallelThreshold);
+    }
+
+    /**
+     * 添加或者覆盖指定唯一标识的向量。
+     *
+     * @param id 表示向量唯一标识的 {@link String}。
+     * @param vector 表示向量的 {@code float[]}。
+     * @throws IllegalArgumentException 当向量维度与已有向量不一致或者向量范数为 0 时。
+     */
+    void put(String id, float[] vector) {
+        float norm = MathUtils.norm(vector);
+        Validation.isTrue(norm > 0, "The vector norm cannot be zero. [id={0}]", id);
+        this.lock.writeLock().lock();
+        try {
+            if (this.dimension < 0) {
+                this.dimension = vector.length;
+                this.vectors = new float[INITIAL_CAPACITY * this.dimension];
+            }
+            Validation.equals(vector.length, this.dimension,
+                    "The vector dimension must be {0}. [id={1}, dimension={2}]", this.dimension, id, vector.length);
+            Integer row = this.rows.get(id);
+            if (row == null) {
+                this.ensureCapacity(this.size + 1);
+                row = this.size++;
+                this.rows.put(id, row);
+                this.ids[row] = id;
+            }
+            System.arraycopy(vector, 0, this.vectors, row * this.dimension, this.dimension);
+            this.norms[row] = norm;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除指定唯一标识的向量。
+     *
+     * @param id 表示向量唯一标识的 {@link String}。
+     * @return 表示向量是否存在的 {@code boolean}。
+     */
+    boolean remove(String id) {
+        this.lock.writeLock().lock();
+        try {
+            Integer row = this.rows.remove(id);
+            if (row == null) {
+                return false;
+            }
+            int last = --this.size;
+            if (row != last) {
+                System.arraycopy(this.vectors, last * this.dimension, this.vectors, row * this.dimension,
+                        this.dimension);
+                this.norms[row] = this.norms[last];
+                this.ids[row] = this.ids[last];
+                this.rows.put(this.ids[row], row);
+            }
+            this.ids[last] = null;
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 获取指定唯一标识向量的副本。
+     *
+     * @param id 表示向量唯一标识的 {@link String}。
+     * @return 表示向量副本的 {@link Optional}{@code <float[]>}。
+     */
+    Optional<float[]> get(String id) {
+        this.lock.readLock().lock();
+        try {
+            Integer row = this.rows.get(id);
+            if (row == null) {
+                return Optional.empty();
+            }
+            int offset = row * this.dimension;
+            return Optional.of(Arrays.copyOfRange(this.vectors, offset, offset + this.dimension));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取向量数量。
+     *
+     * @return 表示向量数量的 {@code int}。
+     */
+    int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 检索与查询向量余弦相似度最高的前 K 个向量。
+     *
+     * @param query 表示查询向量的 {@code float[]}。
+     * @param topK 表示返回数量的 {@code int}。
+     * @return 表示按相似度降序排列的检索结果的 {@link List}{@code <}{@link Hit}{@code >}。
+     * @throws IllegalArgumentException 当查询向量维度与已有向量不一致或者向量范数为 0 时。
+     */
+    List<Hit> search(float[] query, int topK) {
+        return this.search(query, topK, null);
+    }
+
+    /**
+     * 检索满足条件的向量中与查询向量余弦相似度最高的前 K 个向量。
+     *
+     * @param query 表示查询向量的 {@code float[]}。
+     * @param topK 表示返回数量的 {@code int}。
+     * @param filter 表示按向量唯一标识过滤的 {@link Predicate}{@code <}{@link String}{@code >}，为 {@code null} 时不过滤。
+     * @return 表示按相似度降序排列的检索结果的 {@link List}{@code <}{@link Hit}{@code >}。
+     * @throws IllegalArgumentException 当查询向量维度与已有向量不一致或者向量范数为 0 时。
+     */
+    List<Hit> search(float[] query, int topK, Predicate<String> filter) {
+        float queryNorm = MathUtils.norm(query);
+        Validation.isTrue(queryNorm > 0, "The query vector norm cannot be zero.");
+        this.lock.readLock().lock();
+        try {
+            if (this.size == 0 || topK <= 0) {
+                return Collections.emptyList();
+            }
+            Validation.equals(query.length, this.dimension, "The query dimension must be {0}. [dimension={1}]",
+                    this.dimension, query.length);
+            int limit = Math.min(topK, this.size);
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            TopK result;
+            if (this.size < this.parallelThreshold || parallelism < 2) {
+                result = this.scan(query, queryNorm, 0, this.size, limit, filter);
+            } else {
+                int chunk = (this.size + parallelism - 1) / parallelism;
+                List<TopK> partials = IntStream.range(0, parallelism)
+                        .parallel()
+                        .mapToObj(i -> this.scan(query, queryNorm, Math.min(this.size, i * chunk),
+                                Math.min(this.size, (i + 1) * chunk), limit, filter))
+                        .collect(Collectors.toList());
+                result = new TopK(limit);
+                partials.forEach(result::merge);
+            }
+            return result.toHits(this.ids);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private TopK scan(float[] query, float queryNorm, int from, int to, int limit, Predicate<String> filter) {
+        TopK topK = new TopK(limit);
+        for (int row = from; row < to; row++) {
+            if (filter != null && !filter.test(this.ids[row])) {
+                continue;
+            }
+            float score = dot(query, this.vectors, row * this.dimension, this.dimension)
+                    / (queryNorm * this.norms[row]);
+            topK.offer(row, score);
+        }
+        return topK;
+    }
+
+    /**
+     * 计算内积，使用多个累加器打破依赖链，便于 JIT 生成向量化的指令。
+     */
+    private static float dot(float[] query, float[] vectors, int offset, int dimension) {
+        float s0 = 0f;
+        float s1 = 0f;
+        float s2 = 0f;
+        float s3 = 0f;
+        int i = 0;
+        for (; i + 3 < dimension; i += 4) {
+            s0 += query[i] * vectors[offset + i];
+            s1 += query[i + 1] * vectors[offset + i + 1];
+            s2 += query[i + 2] * vectors[offset + i + 2];
+            s3 += query[i + 3] * vectors[offset + i + 3];
+        }
+        for (; i < dimension; i++) {
+            s0 += query[i] * vectors[offset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= this.ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, this.ids.length + (this.ids.length >> 1));
+        this.ids = Arrays.copyOf(this.ids, capacity);
+        this.norms = Arrays.copyOf(this.norms, capacity);
+        this.vectors = Arrays.copyOf(this.vectors, capacity * this.dimension);
+    }
+
+    /**
+     * 表示一条检索结果。
+     */
+    static final class Hit {
+        private final String id;
+        private final double score;
+
+        Hit(String id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        /**
+         * 获取向量唯一标识。
+         *
+         * @return 表示向量唯一标识的 {@link String}。
+         */
+        String id() {
+            return this.id;
+        }
+
+        /**
+         * 获取余弦相似度。
+         *
+         * @return 表示余弦相似度的 {@code double}。
+         */
+        double score() {
+            return this.score;
+        }
+    }
+
+    /**
+     * 表示保存前 K 个最高得分的有界小顶堆，堆顶为当前第 K 高的得分。
+     */
+    private static class TopK {
+        private final int capacity;
+        private final int[] rows;
+        private final float[] scores;
+        private int size;
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+            this.rows = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void offer(int row, float score) {
+            if (this.size < this.capacity) {
+                int index = this.size++;
+                this.rows[index] = row;
+                this.scores[index] = score;
+                this.siftUp(index);
+            } else if (score > this.scores[0]) {
+                this.rows[0] = row;
+                this.scores[0] = score;
+                this.siftDown(0);
+            }
+        }
+
+        void merge(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                this.offer(other.rows[i], other.scores[i]);
+            }
+        }
+
+        List<Hit> toHits(String[] ids) {
+            Integer[] order = new Integer[this.size];
+            for (int i = 0; i < this.size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Float.compare(this.scores[b], this.scores[a]));
+            List<Hit> hits = new ArrayList<>(this.size);
+            for (Integer index : order) {
+                hits.add(new Hit(ids[this.rows[index]], this.scores[index]));
+            }
+            return hits;
+        }
+
+        private void siftUp(int index) {
+            int current = index;
+            while (current > 0) {
+                int parent = (current - 1) >>> 1;
+                if (this.scores[parent] <= this.scores[current]) {
+                    return;
+                }
+                this.swap(parent, current);
+                current = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            int current = index;
+            while (true) {
+                int left = 2 * current + 1;
+                if (left >= this.size) {
+                    return;
+                }
+                int smallest = left + 1 < this.size && this.scores[left + 1] < this.scores[left] ? left + 1 : left;
+                if (this.scores[current] <= this.scores[smallest]) {
+                    return;
+                }
+                this.swap(current, smallest);
+                current = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int row = this.rows[i];
+            this.rows[i] = this.rows[j];
+            this.rows[j] = row;
+            float score = this.scores[i];
+            this.scores[i] = this.scores[j];
+            this.scores[j] = score;
+        }
+    }
+}
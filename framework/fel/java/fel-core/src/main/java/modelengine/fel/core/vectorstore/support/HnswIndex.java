@@ -0,0 +1,379 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import modelengine.fel.core.util.MathUtils;
+import modelengine.fitframework.inspection.Validation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * 表示 HNSW（Hierarchical Navigable Small World）近似最近邻索引。
+ * <p>向量在写入时归一化，余弦相似度即为内积。每个节点随机分配层数，上层图用于快速定位入口，第 0 层图上进行候选集大小为
+ * {@code ef} 的最佳优先检索。删除只标记节点，被删除的节点仍参与路由但不会出现在结果中，被删除的节点数量超过存活节点时重建索引。
+ * 过滤条件在第 0 层检索时生效，不满足条件的节点同样参与路由，保证选择性较高的过滤条件下仍能返回足够的结果。</p>
+ *
+ * @author 易文渊
+ * @since 2024-08-06
+ */
+class HnswIndex {
+    private static final int MAX_LEVEL = 16;
+    private static final Comparator<Scored> ASCENDING = Comparator.comparingDouble(scored -> scored.score);
+    private static final IntPredicate ALL = node -> true;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> rows = new HashMap<>();
+    private final int m;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final Random random;
+
+    private List<Node> nodes = new ArrayList<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int dimension = -1;
+    private int deletedCount;
+
+    /**
+     * 创建 {@link HnswIndex} 的实例。
+     *
+     * @param m 表示每个节点在上层图中最大邻居数量的 {@code int}，第 0 层为其 2 倍。
+     * @param efConstruction 表示构建索引时候选集大小的 {@code int}。
+     * @param seed 表示随机分配节点层数的种子的 {@code long}。
+     */
+    HnswIndex(int m, int efConstruction, long seed) {
+        this.m = Validation.greaterThan(m, 1, "The m must be greater than 1. [m={0}]", m);
+        this.efConstruction = Validation.greaterThan(efConstruction, 0,
+                "The efConstruction must be positive. [efConstruction={0}]", efConstruction);
+        this.levelFactor = 1 / Math.log(m);
+        this.random = new Random(seed);
+    }
+
+    /**
+     * 添加或者覆盖指定唯一标识的向量。
+     *
+     * @param id 表示向量唯一标识的 {@link String}。
+     * @param vector 表示向量的 {@code float[]}。
+     * @throws IllegalArgumentException 当向量维度与已有向量不一致或者向量范数为 0 时。
+     */
+    void put(String id, float[] vector) {
+        float[] normalized = normalize(vector);
+        this.lock.writeLock().lock();
+        try {
+            if (this.dimension < 0) {
+                this.dimension = normalized.length;
+            }
+            Validation.equals(normalized.length, this.dimension,
+                    "The vector dimension must be {0}. [id={1}, dimension={2}]", this.dimension, id, vector.length);
+            Integer old = this.rows.get(id);
+            if (old != null) {
+                this.markDeleted(old);
+            }
+            this.insert(id, normalized);
+            this.rebuildIfNecessary();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除指定唯一标识的向量。
+     *
+     * @param id 表示向量唯一标识的 {@link String}。
+     * @return 表示向量是否存在的 {@code boolean}。
+     */
+    boolean remove(String id) {
+        this.lock.writeLock().lock();
+        try {
+            Integer row = this.rows.remove(id);
+            if (row == null) {
+                return false;
+            }
+            this.markDeleted(row);
+            this.rebuildIfNecessary();
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 获取向量数量。
+     *
+     * @return 表示向量数量的 {@code int}。
+     */
+    int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.rows.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 近似检索满足条件的向量中与查询向量余弦相似度最高的前 K 个向量。
+     *
+     * @param query 表示查询向量的 {@code float[]}。
+     * @param topK 表示返回数量的 {@code int}。
+     * @param ef 表示检索时候选集大小的 {@code int}，小于 {@code topK} 时使用 {@code topK}。
+     * @param filter 表示按向量唯一标识过滤的 {@link Predicate}{@code <}{@link String}{@code >}，为 {@code null} 时不过滤。
+     * @return 表示按相似度降序排列的检索结果的 {@link List}{@code <}{@link DenseVectorIndex.Hit}{@code >}。
+     * @throws IllegalArgumentException 当查询向量维度与已有向量不一致或者向量范数为 0 时。
+     */
+    List<DenseVectorIndex.Hit> search(float[] query, int topK, int ef, Predicate<String> filter) {
+        float[] normalized = normalize(query);
+        this.lock.readLock().lock();
+        try {
+            if (this.rows.isEmpty() || topK <= 0) {
+                return Collections.emptyList();
+            }
+            Validation.equals(normalized.length, this.dimension, "The query dimension must be {0}. [dimension={1}]",
+                    this.dimension, query.length);
+            Scored entry = this.descend(normalized, 0);
+            List<Node> snapshot = this.nodes;
+            IntPredicate accept = node -> {
+                Node candidate = snapshot.get(node);
+                return !candidate.deleted && (filter == null || filter.test(candidate.id));
+            };
+            List<Scored> found = descending(this.searchLayer(normalized, entry, Math.max(ef, topK), 0, accept));
+            List<DenseVectorIndex.Hit> hits = new ArrayList<>(Math.min(topK, found.size()));
+            for (int i = 0; i < found.size() && i < topK; i++) {
+                Scored scored = found.get(i);
+                hits.add(new DenseVectorIndex.Hit(snapshot.get(scored.node).id, scored.score));
+            }
+            return hits;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void insert(String id, float[] vector) {
+        int level = this.randomLevel();
+        int index = this.nodes.size();
+        this.nodes.add(new Node(id, vector, level, this.m));
+        this.rows.put(id, index);
+        if (this.entryPoint < 0) {
+            this.entryPoint = index;
+            this.maxLevel = level;
+            return;
+        }
+        Scored entry = this.descend(vector, level);
+        for (int layer = Math.min(level, this.maxLevel); layer >= 0; layer--) {
+            List<Scored> found = descending(this.searchLayer(vector, entry, this.efConstruction, layer, ALL));
+            for (Scored neighbor : this.selectNeighbors(found, this.m)) {
+                this.link(index, neighbor.node, layer);
+                this.link(neighbor.node, index, layer);
+            }
+            entry = found.get(0);
+        }
+        if (level > this.maxLevel) {
+            this.maxLevel = level;
+            this.entryPoint = index;
+        }
+    }
+
+    /**
+     * 从入口节点开始，在高于指定层的每一层上贪心地移动到离查询向量最近的节点。
+     */
+    private Scored descend(float[] query, int level) {
+        Scored entry = new Scored(this.entryPoint, dot(query, this.nodes.get(this.entryPoint).vector));
+        for (int layer = this.maxLevel; layer > level; layer--) {
+            entry = descending(this.searchLayer(query, entry, 1, layer, ALL)).get(0);
+        }
+        return entry;
+    }
+
+    private PriorityQueue<Scored> searchLayer(float[] query, Scored entry, int ef, int layer, IntPredicate accept) {
+        BitSet visited = new BitSet(this.nodes.size());
+        PriorityQueue<Scored> candidates = new PriorityQueue<>(ASCENDING.reversed());
+        PriorityQueue<Scored> results = new PriorityQueue<>(ASCENDING);
+        visited.set(entry.node);
+        candidates.add(entry);
+        if (accept.test(entry.node)) {
+            results.add(entry);
+        }
+        while (!candidates.isEmpty()) {
+            Scored current = candidates.poll();
+            if (results.size() >= ef && current.score < results.peek().score) {
+                break;
+            }
+            Node node = this.nodes.get(current.node);
+            int[] links = node.links[layer];
+            for (int i = 0; i < node.linkCounts[layer]; i++) {
+                int neighbor = links[i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float score = dot(query, this.nodes.get(neighbor).vector);
+                if (results.size() < ef || score > results.peek().score) {
+                    Scored scored = new Scored(neighbor, score);
+                    candidates.add(scored);
+                    if (accept.test(neighbor)) {
+                        results.add(scored);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 启发式地选择邻居：优先选择离基准节点比离已选邻居更近的候选，以保留不同方向上的连接，不足时再用剩余的候选补齐。
+     */
+    private List<Scored> selectNeighbors(List<Scored> candidates, int max) {
+        List<Scored> selected = new ArrayList<>(max);
+        List<Scored> pruned = new ArrayList<>();
+        for (Scored candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            Node node = this.nodes.get(candidate.node);
+            if (node.deleted) {
+                continue;
+            }
+            boolean isDiverse = true;
+            for (Scored chosen : selected) {
+                if (dot(node.vector, this.nodes.get(chosen.node).vector) > candidate.score) {
+                    isDiverse = false;
+                    break;
+                }
+            }
+            if (isDiverse) {
+                selected.add(candidate);
+            } else {
+                pruned.add(candidate);
+            }
+        }
+        for (int i = 0; i < pruned.size() && selected.size() < max; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected;
+    }
+
+    private void link(int from, int to, int layer) {
+        Node node = this.nodes.get(from);
+        int[] links = node.links[layer];
+        if (node.linkCounts[layer] < links.length) {
+            links[node.linkCounts[layer]++] = to;
+            return;
+        }
+        List<Scored> candidates = new ArrayList<>(links.length + 1);
+        for (int neighbor : links) {
+            candidates.add(new Scored(neighbor, dot(node.vector, this.nodes.get(neighbor).vector)));
+        }
+        candidates.add(new Scored(to, dot(node.vector, this.nodes.get(to).vector)));
+        candidates.sort(ASCENDING.reversed());
+        List<Scored> selected = this.selectNeighbors(candidates, links.length);
+        for (int i = 0; i < selected.size(); i++) {
+            links[i] = selected.get(i).node;
+        }
+        node.linkCounts[layer] = selected.size();
+    }
+
+    private void markDeleted(int row) {
+        this.nodes.get(row).deleted = true;
+        this.deletedCount++;
+    }
+
+    private void rebuildIfNecessary() {
+        if (this.deletedCount <= this.rows.size()) {
+            return;
+        }
+        List<Node> live = new ArrayList<>(this.rows.size());
+        this.nodes.stream().filter(node -> !node.deleted).forEach(live::add);
+        this.nodes = new ArrayList<>(live.size());
+        this.rows.clear();
+        this.entryPoint = -1;
+        this.maxLevel = -1;
+        this.deletedCount = 0;
+        live.forEach(node -> this.insert(node.id, node.vector));
+    }
+
+    private int randomLevel() {
+        double level = -Math.log(1 - this.random.nextDouble()) * this.levelFactor;
+        return Math.min((int) level, MAX_LEVEL);
+    }
+
+    private static List<Scored> descending(PriorityQueue<Scored> queue) {
+        List<Scored> result = new ArrayList<>(queue);
+        result.sort(ASCENDING.reversed());
+        return result;
+    }
+
+    private static float[] normalize(float[] vector) {
+        float norm = MathUtils.norm(vector);
+        Validation.isTrue(norm > 0, "The vector norm cannot be zero.");
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i] / norm;
+        }
+        return result;
+    }
+
+    private static float dot(float[] x, float[] y) {
+        float s0 = 0f;
+        float s1 = 0f;
+        float s2 = 0f;
+        float s3 = 0f;
+        int i = 0;
+        for (; i + 3 < x.length; i += 4) {
+            s0 += x[i] * y[i];
+            s1 += x[i + 1] * y[i + 1];
+            s2 += x[i + 2] * y[i + 2];
+            s3 += x[i + 3] * y[i + 3];
+        }
+        for (; i < x.length; i++) {
+            s0 += x[i] * y[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static final class Node {
+        private final String id;
+        private final float[] vector;
+        private final int[][] links;
+        private final int[] linkCounts;
+        private boolean deleted;
+
+        Node(String id, float[] vector, int level, int m) {
+            this.id = id;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            for (int layer = 0; layer <= level; layer++) {
+                this.links[layer] = new int[layer == 0 ? 2 * m : m];
+            }
+            this.linkCounts = new int[level + 1];
+        }
+    }
+
+    private static final class Scored {
+        private final int node;
+        private final float score;
+
+        Scored(int node, float score) {
+            this.node = node;
+            this.score = score;
+        }
+    }
+}
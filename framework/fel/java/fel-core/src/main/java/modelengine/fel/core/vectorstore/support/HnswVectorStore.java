@@ -0,0 +1,123 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static modelengine.fitframework.inspection.Validation.notBlank;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.DocumentEmbedModel;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.retriever.filter.MetadataPredicate;
+import modelengine.fel.core.util.MathUtils;
+import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.vectorstore.VectorStore;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.util.StringUtils;
+import modelengine.fitframework.util.UuidUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * 表示基于 HNSW 图的 {@link VectorStore} 内存近似检索实现。
+ * <p>相比 {@link MemoryVectorStore} 的暴力检索，检索耗时随文档数量近似对数增长，代价是结果可能不是精确的前 K 个。
+ * 召回率和耗时通过 {@link SearchOption#efSearch()} 逐次调节，未设置时使用创建存储时指定的默认值。</p>
+ *
+ * @author 易文渊
+ * @since 2024-08-06
+ */
+public class HnswVectorStore implements VectorStore {
+    private static final int DEFAULT_M = 16;
+    private static final int DEFAULT_EF_CONSTRUCTION = 200;
+    private static final int DEFAULT_EF_SEARCH = 64;
+    private static final long DEFAULT_SEED = 42L;
+
+    private final DocumentEmbedModel embedModel;
+    private final Map<String, Document> cache = new ConcurrentHashMap<>();
+    private final HnswIndex index;
+    private final int efSearch;
+
+    /**
+     * 使用默认的索引参数创建 {@link HnswVectorStore} 的实例。
+     *
+     * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
+     */
+    public HnswVectorStore(DocumentEmbedModel embedModel) {
+        this(embedModel, DEFAULT_M, DEFAULT_EF_CONSTRUCTION, DEFAULT_EF_SEARCH);
+    }
+
+    /**
+     * 创建 {@link HnswVectorStore} 的实例。
+     *
+     * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
+     * @param m 表示每个节点最大邻居数量的 {@code int}，值越大召回率越高、内存占用越大。
+     * @param efConstruction 表示构建索引时候选集大小的 {@code int}，值越大索引质量越高、写入越慢。
+     * @param efSearch 表示默认的检索候选集大小的 {@code int}。
+     * @throws IllegalArgumentException 当 {@code embedModel} 为 {@code null} 或者索引参数不合法时。
+     */
+    public HnswVectorStore(DocumentEmbedModel embedModel, int m, int efConstruction, int efSearch) {
+        this.embedModel = notNull(embedModel, "The embed model cannot be null.");
+        this.index = new HnswIndex(m, efConstruction, DEFAULT_SEED);
+        this.efSearch = Validation.greaterThan(efSearch, 0, "The efSearch must be positive. [efSearch={0}]", efSearch);
+    }
+
+    @Override
+    public void persistent(List<Document> documents) {
+        List<Embedding> embeddings = this.embedModel.embed(documents);
+        for (int i = 0; i < documents.size(); ++i) {
+            Document document = documents.get(i);
+            notBlank(document.text(), "The document text cannot be blank.");
+            notNull(document.metadata(), "The metadata cannot be null.");
+            if (StringUtils.isBlank(document.id())) {
+                document = Document.custom()
+                        .id(UuidUtils.randomUuidString())
+                        .text(document.text())
+                        .medias(document.medias())
+                        .metadata(document.metadata())
+                        .build();
+            }
+            this.index.put(document.id(), MathUtils.toArray(embeddings.get(i).embedding()));
+            this.cache.put(document.id(), document);
+        }
+    }
+
+    @Override
+    public List<MeasurableDocument> search(String query, SearchOption option) {
+        float[] queryEmbedding = MathUtils.toArray(this.embedModel.embed(query).embedding());
+        int ef = option.efSearch() > 0 ? option.efSearch() : this.efSearch;
+        Predicate<String> filter = null;
+        if (option.filter() != null) {
+            MetadataPredicate predicate = new MetadataPredicate(option.filter());
+            filter = id -> {
+                Document document = this.cache.get(id);
+                return document != null && predicate.test(document.metadata());
+            };
+        }
+        List<MeasurableDocument> result = new ArrayList<>(option.topK());
+        for (DenseVectorIndex.Hit hit : this.index.search(queryEmbedding, option.topK(), ef, filter)) {
+            Document document = this.cache.get(hit.id());
+            if (document != null) {
+                result.add(new MeasurableDocument(document, hit.score()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void delete(List<String> ids) {
+        Validation.notNull(ids, "The id list cannot be null.");
+        ids.forEach(id -> {
+            this.cache.remove(id);
+            this.index.remove(id);
+        });
+    }
+}
@@ -14,9 +14,11 @@ import modelengine.fel.core.document.Document;
 import modelengine.fel.core.document.DocumentEmbedModel;
 import modelengine.fel.core.document.MeasurableDocument;
 import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.retriever.filter.MetadataPredicate;
 import modelengine.fel.core.util.MathUtils;
 import modelengine.fel.core.vectorstore.SearchOption;
 import modelengine.fel.core.vectorstore.VectorStore;
+import modelengine.fitframework.exception.FitException;
 import modelengine.fitframework.inspection.Nonnull;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.resource.web.Media;
@@ -26,26 +28,35 @@ import modelengine.fitframework.util.StringUtils;
 import modelengine.fitframework.util.TypeUtils;
 import modelengine.fitframework.util.UuidUtils;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 /**
  * 表示 {@link VectorStore} 的内存简易实现，不要在生产环境中使用。
+ * <p>向量以连续的 {@code float} 数组保存在 {@link DenseVectorIndex} 中，文档本身不再持有装箱的嵌入向量。</p>
  *
  * @author 易文渊
  * @since 2024-08-06
  */
-public class MemoryVectorStore implements VectorStore {
+public class MemoryVectorStore implements VectorStore, Closeable {
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 16384;
+
     private final DocumentEmbedModel embedModel;
-    private final Map<String, DocumentWithEmbedding> cache = new ConcurrentHashMap<>();
+    private final Map<String, Document> cache = new ConcurrentHashMap<>();
+    private final DenseVectorIndex index;
+    private volatile VectorSegment segment;
 
     /**
      * 创建 {@link MemoryVectorStore} 的实例。
@@ -53,34 +64,65 @@ public class MemoryVectorStore implements VectorStore {
      * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
      */
     public MemoryVectorStore(DocumentEmbedModel embedModel) {
+        this(embedModel, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * 创建 {@link MemoryVectorStore} 的实例。
+     *
+     * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
+     * @param parallelThreshold 表示文档数量达到该值后多核并行检索的 {@code int}。
+     */
+    public MemoryVectorStore(DocumentEmbedModel embedModel, int parallelThreshold) {
         this.embedModel = embedModel;
+        this.index = new DenseVectorIndex(parallelThreshold);
     }
 
     @Override
     public void persistent(List<Document> documents) {
         List<Embedding> embeddings = this.embedModel.embed(documents);
         for (int i = 0; i < documents.size(); ++i) {
-            DocumentWithEmbedding document =
-                    DocumentWithEmbedding.from(documents.get(i), embeddings.get(i).embedding());
-            this.cache.put(document.id(), document);
+            List<Float> embedding = embeddings.get(i).embedding();
+            DocumentWithEmbedding document = DocumentWithEmbedding.from(documents.get(i), embedding);
+            float[] vector = MathUtils.toArray(embedding);
+            this.index.put(document.id(), vector);
+            boolean isOverwrite = this.cache.put(document.id(), DocumentWithEmbedding.copy(document, null)) != null;
+            this.appendToSegment(segment -> segment.appendPut(document.id(), vector, document, isOverwrite));
         }
+        this.appendToSegment(VectorSegment::flush);
     }
 
     @Override
     public List<MeasurableDocument> search(String query, SearchOption option) {
-        List<Float> queryEmbedding = this.embedModel.embed(query).embedding();
-        return this.cache.values()
-                .stream()
-                .map(d -> new MeasurableDocument(d, MathUtils.cosineSimilarity(queryEmbedding, d.getEmbedding())))
-                .sorted(Comparator.comparingDouble(MeasurableDocument::score).reversed())
-                .limit(option.topK())
-                .collect(Collectors.toList());
+        float[] queryEmbedding = MathUtils.toArray(this.embedModel.embed(query).embedding());
+        List<MeasurableDocument> result = new ArrayList<>(option.topK());
+        Predicate<String> filter = null;
+        if (option.filter() != null) {
+            MetadataPredicate predicate = new MetadataPredicate(option.filter());
+            filter = id -> {
+                Document document = this.cache.get(id);
+                return document != null && predicate.test(document.metadata());
+            };
+        }
+        for (DenseVectorIndex.Hit hit : this.index.search(queryEmbedding, option.topK(), filter)) {
+            Document document = this.cache.get(hit.id());
+            if (document != null) {
+                result.add(new MeasurableDocument(document, hit.score()));
+            }
+        }
+        return result;
     }
 
     @Override
     public void delete(List<String> ids) {
         Validation.notNull(ids, "The id list cannot be null.");
-        ids.forEach(this.cache::remove);
+        ids.forEach(id -> {
+            this.cache.remove(id);
+            if (this.index.remove(id)) {
+                this.appendToSegment(segment -> segment.appendDelete(id));
+            }
+        });
+        this.appendToSegment(VectorSegment::flush);
     }
 
     /**
@@ -92,7 +134,12 @@ public class MemoryVectorStore implements VectorStore {
     public void load(InputStream in, ObjectSerializer objectSerializer) {
         Map<String, DocumentWithEmbedding> documents = objectSerializer.deserialize(in,
                 TypeUtils.parameterized(Map.class, new Type[] {String.class, DocumentWithEmbedding.class}));
-        this.cache.putAll(documents);
+        documents.forEach((id, document) -> {
+            List<Float> embedding = document.getEmbedding();
+            notEmpty(embedding, "The embedding cannot be empty.");
+            this.index.put(id, MathUtils.toArray(embedding));
+            this.cache.put(id, DocumentWithEmbedding.copy(document, null));
+        });
     }
 
     /**
@@ -102,7 +149,98 @@ public class MemoryVectorStore implements VectorStore {
      * @param objectSerializer 表示对象序列化器的 {@link ObjectSerializer}。
      */
     public void persist(OutputStream out, ObjectSerializer objectSerializer) {
-        objectSerializer.serialize(this.cache, out);
+        Map<String, DocumentWithEmbedding> documents = new LinkedHashMap<>();
+        this.cache.forEach((id, document) -> this.index.get(id)
+                .ifPresent(embedding -> documents.put(id,
+                        DocumentWithEmbedding.copy(document, MathUtils.toList(embedding)))));
+        objectSerializer.serialize(documents, out);
+    }
+
+    /**
+     * 打开内存映射的二进制段文件并加载其中的数据，之后的写入和删除都会追加到该文件。
+     * <p>向量以二进制形式直接复制到内存中，文档的文本和元数据在第一次访问时才解码，因此大规模存储也能快速启动。
+     * 打开段文件时存储必须为空，文件不存在时创建新的段文件。</p>
+     *
+     * @param file 表示段文件路径的 {@link Path}。
+     * @param objectSerializer 表示元数据序列化器的 {@link ObjectSerializer}。
+     * @throws IllegalStateException 当存储已经打开段文件或者不为空时。
+     */
+    public synchronized void open(Path file, ObjectSerializer objectSerializer) {
+        Validation.isTrue(this.segment == null, "The vector store has already opened a segment.");
+        Validation.isTrue(this.cache.isEmpty(), "The vector store must be empty before opening a segment.");
+        try {
+            this.segment = VectorSegment.open(file, objectSerializer, new VectorSegment.RecordVisitor() {
+                @Override
+                public void onPut(String id, float[] vector, Document document) {
+                    MemoryVectorStore.this.index.put(id, vector);
+                    MemoryVectorStore.this.cache.put(id, document);
+                }
+
+                @Override
+                public void onDelete(String id) {
+                    MemoryVectorStore.this.index.remove(id);
+                    MemoryVectorStore.this.cache.remove(id);
+                }
+            });
+        } catch (IOException e) {
+            throw new FitException(e);
+        }
+    }
+
+    /**
+     * 重写已打开的段文件，清除被覆盖和删除的记录。未打开段文件时不做任何操作。
+     */
+    public synchronized void compact() {
+        VectorSegment current = this.segment;
+        if (current == null || current.garbageCount() == 0) {
+            return;
+        }
+        try {
+            Map<String, Document> snapshot = new LinkedHashMap<>();
+            Map<String, Document> compacted = current.compact(() -> {
+                snapshot.putAll(this.cache);
+                return snapshot;
+            }, this.index::get);
+            // 只替换压缩期间没有被重新写入的文档。
+            compacted.forEach((id, document) -> this.cache.computeIfPresent(id,
+                    (key, value) -> value == snapshot.get(key) ? document : value));
+        } catch (IOException e) {
+            throw new FitException(e);
+        }
+    }
+
+    /**
+     * 关闭已打开的段文件，内存中的数据保持不变。
+     */
+    @Override
+    public synchronized void close() {
+        VectorSegment current = this.segment;
+        if (current == null) {
+            return;
+        }
+        this.segment = null;
+        try {
+            current.close();
+        } catch (IOException e) {
+            throw new FitException(e);
+        }
+    }
+
+    private void appendToSegment(SegmentAction action) {
+        VectorSegment current = this.segment;
+        if (current == null) {
+            return;
+        }
+        try {
+            action.apply(current);
+        } catch (IOException e) {
+            throw new FitException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SegmentAction {
+        void apply(VectorSegment segment) throws IOException;
     }
 
     /**
@@ -134,6 +272,22 @@ public class MemoryVectorStore implements VectorStore {
             return documentWithEmbedding;
         }
 
+        /**
+         * 复制给定的文档，并替换嵌入向量。
+         *
+         * @param source 表示原始文档的 {@link Document}。
+         * @param embedding 表示嵌入向量的 {@link List}{@code <}{@link Float}{@code >}。
+         * @return 表示复制后文档的 {@link DocumentWithEmbedding}。
+         */
+        static DocumentWithEmbedding copy(Document source, List<Float> embedding) {
+            DocumentWithEmbedding document = new DocumentWithEmbedding();
+            document.setId(source.id());
+            document.setText(source.text());
+            document.setMetadata(source.metadata());
+            document.setEmbedding(embedding);
+            return document;
+        }
+
         @Nonnull
         @Override
         public String text() {
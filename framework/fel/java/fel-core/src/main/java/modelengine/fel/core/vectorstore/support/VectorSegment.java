@@ -0,0 +1,386 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.resource.web.Media;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.util.TypeUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 表示向量存储在磁盘上的段文件。
+ * <p>段文件由 8 字节的文件头（魔数和版本号）和依次追加的记录组成，记录分为写入和删除两种：</p>
+ * <ul>
+ *     <li>写入记录：{@code 1}、唯一标识、向量维度、向量、文本、元数据（JSON）。</li>
+ *     <li>删除记录：{@code 2}、唯一标识。</li>
+ * </ul>
+ * <p>其中字符串和元数据均以 4 字节长度加 UTF-8 字节的形式保存。打开段文件时通过内存映射顺序回放所有记录，向量直接以二进制批量复制，
+ * 文本和元数据不做解析，只在文档第一次被访问时从映射区域中解码。进程异常退出导致的不完整尾部记录在打开时被截断。
+ * 覆盖和删除产生的无效记录通过 {@link #compact(Supplier, Function)} 重写文件清除。单个段文件不能超过 2GB。</p>
+ *
+ * @author 易文渊
+ * @since 2024-08-06
+ */
+final class VectorSegment implements Closeable {
+    private static final int MAGIC = 0x46454C56;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final Type METADATA_TYPE =
+            TypeUtils.parameterized(Map.class, new Type[] {String.class, Object.class});
+
+    private final Path file;
+    private final ObjectSerializer serializer;
+    private FileChannel channel;
+    private long position;
+    private int garbageCount;
+
+    private VectorSegment(Path file, ObjectSerializer serializer) {
+        this.file = file;
+        this.serializer = serializer;
+    }
+
+    /**
+     * 打开段文件并回放其中的所有记录，文件不存在时创建新的段文件。
+     *
+     * @param file 表示段文件路径的 {@link Path}。
+     * @param serializer 表示元数据序列化器的 {@link ObjectSerializer}。
+     * @param visitor 表示记录访问者的 {@link RecordVisitor}。
+     * @return 表示打开的段文件的 {@link VectorSegment}。
+     * @throws IOException 当读写段文件失败时。
+     * @throws IllegalStateException 当文件不是合法的段文件时。
+     */
+    static VectorSegment open(Path file, ObjectSerializer serializer, RecordVisitor visitor) throws IOException {
+        VectorSegment segment = new VectorSegment(Validation.notNull(file, "The segment file cannot be null."),
+                Validation.notNull(serializer, "The serializer cannot be null."));
+        segment.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            segment.replay(visitor);
+        } catch (IOException | RuntimeException e) {
+            segment.channel.close();
+            throw e;
+        }
+        return segment;
+    }
+
+    /**
+     * 追加一条写入记录。
+     *
+     * @param id 表示唯一标识的 {@link String}。
+     * @param vector 表示向量的 {@code float[]}。
+     * @param document 表示文档的 {@link Document}。
+     * @param isOverwrite 表示是否覆盖段文件中已有的同一唯一标识的 {@code boolean}，覆盖时原记录计为无效记录。
+     * @throws IOException 当写入段文件失败时。
+     */
+    synchronized void appendPut(String id, float[] vector, Document document, boolean isOverwrite)
+            throws IOException {
+        this.position += write(this.channel, this.position, this.encodePut(id, vector, document));
+        if (isOverwrite) {
+            this.garbageCount++;
+        }
+    }
+
+    /**
+     * 追加一条删除记录。
+     *
+     * @param id 表示唯一标识的 {@link String}。
+     * @throws IOException 当写入段文件失败时。
+     */
+    synchronized void appendDelete(String id) throws IOException {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + idBytes.length);
+        buffer.put(DELETE).putInt(idBytes.length).put(idBytes).flip();
+        this.position += write(this.channel, this.position, buffer);
+        this.garbageCount++;
+    }
+
+    /**
+     * 将已追加的记录刷新到磁盘。
+     *
+     * @throws IOException 当刷新失败时。
+     */
+    synchronized void flush() throws IOException {
+        this.channel.force(false);
+    }
+
+    /**
+     * 获取段文件中被覆盖或者删除的无效记录数量。
+     *
+     * @return 表示无效记录数量的 {@code int}。
+     */
+    synchronized int garbageCount() {
+        return this.garbageCount;
+    }
+
+    /**
+     * 只保留给定的文档重写段文件，重写完成后原子地替换原文件。
+     *
+     * @param documents 表示获取需要保留的文档的 {@link Supplier}，在持有段文件锁时调用，保证不会遗漏并发追加的记录。
+     * @param vectors 表示根据唯一标识获取向量的 {@link Function}。
+     * @return 表示指向新段文件的延迟解码文档的 {@link Map}{@code <}{@link String}{@code ,}{@link Document}{@code >}。
+     * @throws IOException 当读写段文件失败时。
+     */
+    synchronized Map<String, Document> compact(Supplier<Map<String, Document>> documents,
+            Function<String, Optional<float[]>> vectors) throws IOException {
+        Path temp = this.file.resolveSibling(this.file.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long offset = write(out, 0, header());
+            for (Map.Entry<String, Document> entry : documents.get().entrySet()) {
+                Optional<float[]> vector = vectors.apply(entry.getKey());
+                if (vector.isPresent()) {
+                    offset += write(out, offset, this.encodePut(entry.getKey(), vector.get(), entry.getValue()));
+                }
+            }
+            out.force(true);
+        }
+        this.channel.close();
+        Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Map<String, Document> compacted = new HashMap<>();
+        this.replay(new RecordVisitor() {
+            @Override
+            public void onPut(String id, float[] vector, Document document) {
+                compacted.put(id, document);
+            }
+
+            @Override
+            public void onDelete(String id) {
+                compacted.remove(id);
+            }
+        });
+        return compacted;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.channel.close();
+    }
+
+    private void replay(RecordVisitor visitor) throws IOException {
+        long size = this.channel.size();
+        this.garbageCount = 0;
+        if (size == 0) {
+            this.position = write(this.channel, 0, header());
+            return;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The vector segment cannot be larger than 2GB. [file=" + this.file + "]");
+        }
+        MappedByteBuffer mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (size < HEADER_SIZE || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            throw new IllegalStateException("The file is not a vector segment. [file=" + this.file + "]");
+        }
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(HEADER_SIZE);
+        Set<String> seen = new HashSet<>();
+        int valid = HEADER_SIZE;
+        try {
+            while (buffer.hasRemaining()) {
+                byte op = buffer.get();
+                String id = readString(buffer);
+                if (op == PUT) {
+                    float[] vector = new float[buffer.getInt()];
+                    buffer.asFloatBuffer().get(vector);
+                    buffer.position(buffer.position() + vector.length * Float.BYTES);
+                    int textOffset = skipBytes(buffer);
+                    int metadataOffset = skipBytes(buffer);
+                    if (!seen.add(id)) {
+                        this.garbageCount++;
+                    }
+                    visitor.onPut(id, vector, new SegmentDocument(id, mapped, textOffset, metadataOffset,
+                            this.serializer));
+                } else if (op == DELETE) {
+                    seen.remove(id);
+                    this.garbageCount++;
+                    visitor.onDelete(id);
+                } else {
+                    break;
+                }
+                valid = buffer.position();
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException
+                | NegativeArraySizeException ignored) {
+            // 尾部记录不完整，说明上次追加写入时进程异常退出，截断到最后一条完整的记录。
+        }
+        if (valid < size) {
+            this.channel.truncate(valid);
+        }
+        this.position = valid;
+    }
+
+    private ByteBuffer encodePut(String id, float[] vector, Document document) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        byte[] textBytes = document.text().getBytes(StandardCharsets.UTF_8);
+        byte[] metadataBytes = this.serializer.serialize(document.metadata(), StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + idBytes.length + 4 + vector.length * Float.BYTES + 4
+                + textBytes.length + 4 + metadataBytes.length);
+        buffer.put(PUT).putInt(idBytes.length).put(idBytes).putInt(vector.length);
+        buffer.asFloatBuffer().put(vector);
+        buffer.position(buffer.position() + vector.length * Float.BYTES);
+        buffer.putInt(textBytes.length).put(textBytes).putInt(metadataBytes.length).put(metadataBytes);
+        return buffer.flip();
+    }
+
+    private static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+    }
+
+    private static int write(FileChannel channel, long offset, ByteBuffer buffer) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, offset + written);
+        }
+        return written;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 跳过一段带长度前缀的字节，返回长度前缀所在的位置。
+     */
+    private static int skipBytes(ByteBuffer buffer) {
+        int offset = buffer.position();
+        int length = buffer.getInt();
+        buffer.position(buffer.position() + length);
+        return offset;
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer, int offset) {
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.get(offset + 4, bytes);
+        return bytes;
+    }
+
+    /**
+     * 表示段文件记录的访问者。
+     */
+    interface RecordVisitor {
+        /**
+         * 访问写入记录。
+         *
+         * @param id 表示唯一标识的 {@link String}。
+         * @param vector 表示向量的 {@code float[]}。
+         * @param document 表示延迟解码文档的 {@link Document}。
+         */
+        void onPut(String id, float[] vector, Document document);
+
+        /**
+         * 访问删除记录。
+         *
+         * @param id 表示唯一标识的 {@link String}。
+         */
+        void onDelete(String id);
+    }
+
+    /**
+     * 表示文本和元数据保存在内存映射区域中，第一次访问时才解码的 {@link Document}。
+     */
+    private static final class SegmentDocument implements Document {
+        private final String id;
+        private final ByteBuffer buffer;
+        private final int textOffset;
+        private final int metadataOffset;
+        private final ObjectSerializer serializer;
+        private volatile String text;
+        private volatile Map<String, Object> metadata;
+
+        SegmentDocument(String id, ByteBuffer buffer, int textOffset, int metadataOffset,
+                ObjectSerializer serializer) {
+            this.id = id;
+            this.buffer = buffer;
+            this.textOffset = textOffset;
+            this.metadataOffset = metadataOffset;
+            this.serializer = serializer;
+        }
+
+        @Nonnull
+        @Override
+        public String text() {
+            String result = this.text;
+            if (result == null) {
+                result = new String(readBytes(this.buffer, this.textOffset), StandardCharsets.UTF_8);
+                this.text = result;
+            }
+            return result;
+        }
+
+        @Override
+        public List<Media> medias() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public String id() {
+            return this.id;
+        }
+
+        @Nonnull
+        @Override
+        public Map<String, Object> metadata() {
+            Map<String, Object> result = this.metadata;
+            if (result == null) {
+                result = this.serializer.deserialize(readBytes(this.buffer, this.metadataOffset),
+                        StandardCharsets.UTF_8, METADATA_TYPE);
+                this.metadata = result;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass()) {
+                return false;
+            }
+            return Objects.equals(this.id, ((SegmentDocument) object).id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.id);
+        }
+
+        @Override
+        public String toString() {
+            return "SegmentDocument{" + "id='" + this.id + '\'' + '}';
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 表示 {@link BatchingEmbedModel} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2024-08-12
+ */
+@DisplayName("测试 BatchingEmbedModel")
+public class BatchingEmbedModelTest {
+    private final EmbedOption option = EmbedOption.custom().model("model").build();
+
+    @Test
+    @DisplayName("相同的输入只请求一次嵌入模型，再次请求时命中缓存")
+    void shouldDedupeAndCacheInputs() {
+        RecordingModel delegate = new RecordingModel();
+        BatchingEmbedModel model = new BatchingEmbedModel(delegate, 8, Duration.ZERO, 16, null);
+
+        List<Embedding> first = model.generate(Arrays.asList("a", "b", "a"), this.option);
+        List<Embedding> second = model.generate(Collections.singletonList("b"), this.option);
+
+        assertThat(first).extracting(Embedding::embedding)
+                .containsExactly(vector("a"), vector("b"), vector("a"));
+        assertThat(second.get(0).embedding()).isEqualTo(vector("b"));
+        assertThat(delegate.calls).containsExactly(Arrays.asList("a", "b"));
+        assertThat(model.metrics().missCount()).isEqualTo(2);
+        assertThat(model.metrics().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("模型参数不同时，相同的输入不共享缓存")
+    void shouldSeparateCacheByOption() {
+        RecordingModel delegate = new RecordingModel();
+        BatchingEmbedModel model = new BatchingEmbedModel(delegate, 8, Duration.ZERO, 16, null);
+        EmbedOption another = EmbedOption.custom().model("model").apiKey("key").build();
+
+        model.generate(Collections.singletonList("a"), this.option);
+        model.generate(Collections.singletonList("a"), another);
+        model.generate(Collections.singletonList("a"), EmbedOption.custom().model("model").apiKey("key").build());
+
+        assertThat(delegate.calls).hasSize(2);
+        assertThat(delegate.options).containsExactly(this.option, another);
+    }
+
+    @Test
+    @DisplayName("并发请求按最大数量合并为批次")
+    void shouldCoalesceConcurrentCallsIntoBatches() {
+        RecordingModel delegate = new RecordingModel();
+        BatchingEmbedModel model = new BatchingEmbedModel(delegate, 4, Duration.ofMillis(200), 0, null);
+
+        List<CompletableFuture<List<Embedding>>> futures = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                        () -> model.generate(Collections.singletonList("text" + i), this.option)))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).join().get(0).embedding()).isEqualTo(vector("text" + i));
+        }
+        assertThat(delegate.calls.stream().mapToInt(List::size).sum()).isEqualTo(8);
+        assertThat(delegate.calls.size()).isLessThan(8);
+        assertThat(model.metrics().batchSizeHistogram().values().stream().mapToLong(Long::longValue).sum())
+                .isEqualTo(delegate.calls.size());
+    }
+
+    @Test
+    @DisplayName("磁盘缓存在不同的实例之间共享")
+    void shouldReuseDiskCache(@TempDir Path directory) {
+        RecordingModel delegate = new RecordingModel();
+        new BatchingEmbedModel(delegate, 8, Duration.ZERO, 16, new EmbeddingDiskCache(directory))
+                .generate(Collections.singletonList("a"), this.option);
+        BatchingEmbedModel model =
+                new BatchingEmbedModel(delegate, 8, Duration.ZERO, 16, new EmbeddingDiskCache(directory));
+
+        assertThat(model.generate(Collections.singletonList("a"), this.option).get(0).embedding())
+                .isEqualTo(vector("a"));
+        assertThat(delegate.calls).hasSize(1);
+        assertThat(model.metrics().diskHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("嵌入模型调用失败时，异常传递给调用方且不缓存结果")
+    void shouldPropagateFailure() {
+        EmbedModel failing = (inputs, ignored) -> {
+            throw new IllegalStateException("failed");
+        };
+        BatchingEmbedModel model = new BatchingEmbedModel(failing, 8, Duration.ZERO, 16, null);
+
+        assertThatThrownBy(() -> model.generate(Collections.singletonList("a"), this.option))
+                .isInstanceOf(IllegalStateException.class).hasMessage("failed");
+        assertThatThrownBy(() -> model.generate(Collections.singletonList("a"), this.option))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<Float> vector(String input) {
+        return Arrays.asList((float) input.length(), (float) input.hashCode());
+    }
+
+    private static class RecordingModel implements EmbedModel {
+        private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+        private final List<EmbedOption> options = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+            this.calls.add(new ArrayList<>(inputs));
+            this.options.add(option);
+            return inputs.stream().map(input -> {
+                List<Float> embedding = vector(input);
+                Embedding result = () -> embedding;
+                return result;
+            }).collect(Collectors.toList());
+        }
+    }
+}
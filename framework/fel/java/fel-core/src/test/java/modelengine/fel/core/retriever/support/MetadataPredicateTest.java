@@ -0,0 +1,55 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.retriever.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fel.core.retriever.filter.Filter;
+import modelengine.fel.core.retriever.filter.MetadataPredicate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 表示 {@link MetadataPredicate} 的测试集。
+ *
+ * @author 易文渊
+ * @since 2024-08-10
+ */
+@DisplayName("测试 MetadataPredicate")
+public class MetadataPredicateTest {
+    private final Map<String, Object> metadata = new HashMap<>();
+
+    {
+        this.metadata.put("country", "china");
+        this.metadata.put("age", 30);
+        this.metadata.put("title", "senior engineer");
+    }
+
+    @Test
+    @DisplayName("数值比较忽略数值类型")
+    void shouldCompareNumbersIgnoringType() {
+        assertThat(new MetadataPredicate(Filter.eq("age", 30L)).test(this.metadata)).isTrue();
+        assertThat(new MetadataPredicate(Filter.gt("age", 29.5)).test(this.metadata)).isTrue();
+        assertThat(new MetadataPredicate(Filter.le("age", 29)).test(this.metadata)).isFalse();
+        assertThat(new MetadataPredicate(Filter.in("age", Arrays.asList(10, 30))).test(this.metadata)).isTrue();
+    }
+
+    @Test
+    @DisplayName("测试组合表达式和 like 表达式")
+    void shouldEvaluateCompositeAndLikeExpression() {
+        Filter filter = Filter.eq("country", "china").and(Filter.like("title", "%engine_r"));
+        assertThat(new MetadataPredicate(filter).test(this.metadata)).isTrue();
+
+        Filter other = Filter.ne("country", "china").or(Filter.lt("missing", 1));
+        assertThat(new MetadataPredicate(other).test(this.metadata)).isFalse();
+    }
+}
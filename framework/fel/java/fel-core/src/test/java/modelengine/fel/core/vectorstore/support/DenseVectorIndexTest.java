@@ -0,0 +1,94 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * 表示 {@link DenseVectorIndex} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2024-08-06
+ */
+@DisplayName("测试 DenseVectorIndex")
+public class DenseVectorIndexTest {
+    @Test
+    @DisplayName("检索时，按相似度降序返回前 K 个结果")
+    void shouldReturnTopKInDescendingOrder() {
+        DenseVectorIndex index = new DenseVectorIndex(Integer.MAX_VALUE);
+        index.put("x", new float[] {1f, 0f});
+        index.put("xy", new float[] {1f, 1f});
+        index.put("y", new float[] {0f, 1f});
+        index.put("-x", new float[] {-1f, 0f});
+
+        List<DenseVectorIndex.Hit> hits = index.search(new float[] {2f, 0f}, 2);
+
+        assertThat(hits).extracting(DenseVectorIndex.Hit::id).containsExactly("x", "xy");
+        assertThat(hits.get(0).score()).isCloseTo(1d, offset(1e-6));
+    }
+
+    @Test
+    @DisplayName("删除向量后，最后一行移动到被删除的位置且仍可检索")
+    void shouldKeepRowsWhenRemove() {
+        DenseVectorIndex index = new DenseVectorIndex(Integer.MAX_VALUE);
+        index.put("a", new float[] {1f, 0f});
+        index.put("b", new float[] {0f, 1f});
+        index.put("c", new float[] {1f, 1f});
+
+        assertThat(index.remove("a")).isTrue();
+        assertThat(index.remove("a")).isFalse();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.get("c")).hasValueSatisfying(vector -> assertThat(vector).containsExactly(1f, 1f));
+        assertThat(index.search(new float[] {1f, 1f}, 3)).extracting(DenseVectorIndex.Hit::id)
+                .containsExactly("c", "b");
+    }
+
+    @Test
+    @DisplayName("并行检索与串行检索的结果一致")
+    void shouldReturnSameHitsWhenSearchInParallel() {
+        DenseVectorIndex serial = new DenseVectorIndex(Integer.MAX_VALUE);
+        DenseVectorIndex parallel = new DenseVectorIndex(1);
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            float[] vector = new float[17];
+            for (int j = 0; j < vector.length; j++) {
+                vector[j] = random.nextFloat() - 0.5f;
+            }
+            serial.put("id" + i, vector);
+            parallel.put("id" + i, vector);
+        }
+        float[] query = new float[17];
+        for (int j = 0; j < query.length; j++) {
+            query[j] = random.nextFloat() - 0.5f;
+        }
+
+        List<String> expected = serial.search(query, 10).stream().map(DenseVectorIndex.Hit::id)
+                .collect(Collectors.toList());
+        List<String> actual = parallel.search(query, 10).stream().map(DenseVectorIndex.Hit::id)
+                .collect(Collectors.toList());
+        assertThat(actual).hasSize(10).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("向量维度不一致时，抛出异常")
+    void shouldFailWhenDimensionMismatch() {
+        DenseVectorIndex index = new DenseVectorIndex(Integer.MAX_VALUE);
+        index.put("a", new float[] {1f, 0f});
+        assertThatThrownBy(() -> index.put("b", new float[] {1f, 0f, 0f}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,101 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 表示 {@link HnswIndex} 的单元测试。
+ *
+ * @author 易文渊
+ * @since 2024-08-06
+ */
+@DisplayName("测试 HnswIndex")
+public class HnswIndexTest {
+    private static final int DIMENSION = 32;
+    private static final int COUNT = 3000;
+    private static final int QUERIES = 50;
+    private static final int TOP_K = 10;
+
+    private static float[] random(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static Set<String> ids(List<DenseVectorIndex.Hit> hits) {
+        return hits.stream().map(DenseVectorIndex.Hit::id).collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("候选集增大时，近似检索的召回率接近精确检索")
+    void shouldReachHighRecallComparedWithExactSearch() {
+        Random random = new Random(3);
+        HnswIndex hnsw = new HnswIndex(16, 100, 1);
+        DenseVectorIndex exact = new DenseVectorIndex(Integer.MAX_VALUE);
+        for (int i = 0; i < COUNT; i++) {
+            float[] vector = random(random);
+            hnsw.put("id" + i, vector);
+            exact.put("id" + i, vector);
+        }
+        int lowRecall = 0;
+        int highRecall = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = random(random);
+            Set<String> expected = ids(exact.search(query, TOP_K));
+            Set<String> low = new HashSet<>(ids(hnsw.search(query, TOP_K, TOP_K, null)));
+            Set<String> high = new HashSet<>(ids(hnsw.search(query, TOP_K, 200, null)));
+            low.retainAll(expected);
+            high.retainAll(expected);
+            lowRecall += low.size();
+            highRecall += high.size();
+        }
+        assertThat(highRecall).isGreaterThanOrEqualTo(lowRecall);
+        assertThat(highRecall / (double) (QUERIES * TOP_K)).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    @DisplayName("删除和覆盖向量后，检索结果只包含最新的存活向量")
+    void shouldSkipDeletedVectors() {
+        HnswIndex index = new HnswIndex(4, 16, 1);
+        index.put("a", new float[] {1f, 0f});
+        index.put("b", new float[] {0f, 1f});
+        index.put("c", new float[] {1f, 1f});
+
+        index.remove("a");
+        index.put("b", new float[] {1f, 0.1f});
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search(new float[] {1f, 0f}, 3, 16, null)).extracting(DenseVectorIndex.Hit::id)
+                .containsExactly("b", "c");
+    }
+
+    @Test
+    @DisplayName("带过滤条件检索时，只返回满足条件的向量")
+    void shouldOnlyReturnAcceptedVectorsWhenFilter() {
+        Random random = new Random(5);
+        HnswIndex index = new HnswIndex(8, 50, 1);
+        for (int i = 0; i < 500; i++) {
+            index.put("id" + i, random(random));
+        }
+
+        List<DenseVectorIndex.Hit> hits = index.search(random(random), TOP_K, 20, id -> id.endsWith("7"));
+
+        assertThat(hits).hasSize(TOP_K).allMatch(hit -> hit.id().endsWith("7"));
+    }
+}
@@ -8,6 +8,7 @@ package modelengine.fel.core.vectorstore.support;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import modelengine.fel.core.document.Document;
 import modelengine.fel.core.document.MeasurableDocument;
 import modelengine.fel.core.embed.EmbedOption;
 import modelengine.fel.core.embed.support.DefaultDocumentEmbedModel;
@@ -18,13 +19,19 @@ import modelengine.fitframework.serialization.ObjectSerializer;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * 表示 {@link MemoryVectorStore} 的单元测试。
@@ -67,4 +74,89 @@ public class MemoryVectorStoreTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("打开段文件写入和删除后，重新打开段文件查询结果一致")
+    void shouldOkWhenReopenSegment(@TempDir Path directory) throws IOException {
+        ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null);
+        Path file = directory.resolve("store.seg");
+        List<MeasurableDocument> first;
+        try (MemoryVectorStore vectorStore = this.newStore()) {
+            vectorStore.open(file, serializer);
+            vectorStore.persistent(EmbedModelStub.generateTestDocuments());
+            vectorStore.persistent(EmbedModelStub.generateTestDocuments());
+            List<MeasurableDocument> all = vectorStore.search("test", SearchOption.custom().topK(6).build());
+            vectorStore.delete(Collections.singletonList(all.get(0).id()));
+            first = vectorStore.search("test", SearchOption.custom().topK(6).build());
+        }
+
+        try (MemoryVectorStore resumeStore = this.newStore()) {
+            resumeStore.open(file, serializer);
+            List<MeasurableDocument> second = resumeStore.search("test", SearchOption.custom().topK(6).build());
+            assertThat(second).hasSize(5);
+            assertThat(second).extracting(MeasurableDocument::id).containsExactlyInAnyOrderElementsOf(
+                    first.stream().map(MeasurableDocument::id).collect(Collectors.toList()));
+            assertThat(second).extracting(MeasurableDocument::text).containsExactlyInAnyOrderElementsOf(
+                    first.stream().map(MeasurableDocument::text).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("压缩段文件后，文件变小且不完整的尾部记录在打开时被截断")
+    void shouldOkWhenCompactAndTruncateTornTail(@TempDir Path directory) throws IOException {
+        ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null);
+        Path file = directory.resolve("store.seg");
+        try (MemoryVectorStore vectorStore = this.newStore()) {
+            vectorStore.open(file, serializer);
+            vectorStore.persistent(EmbedModelStub.generateTestDocuments());
+            List<MeasurableDocument> all = vectorStore.search("test", SearchOption.custom().topK(3).build());
+            vectorStore.delete(Collections.singletonList(all.get(0).id()));
+            long before = Files.size(file);
+            vectorStore.compact();
+            assertThat(Files.size(file)).isLessThan(before);
+            assertThat(vectorStore.search("test", SearchOption.custom().topK(3).build())).hasSize(2)
+                    .allMatch(document -> document.text().startsWith("test"));
+        }
+        long compacted = Files.size(file);
+        Files.write(file, new byte[] {1, 0, 0}, StandardOpenOption.APPEND);
+
+        try (MemoryVectorStore resumeStore = this.newStore()) {
+            resumeStore.open(file, serializer);
+            assertThat(resumeStore.search("test", SearchOption.custom().topK(3).build())).hasSize(2);
+        }
+        assertThat(Files.size(file)).isEqualTo(compacted);
+    }
+
+    @Test
+    @DisplayName("重复写入相同的文档后，压缩段文件清除被覆盖的记录")
+    void shouldCompactOverwrittenDocuments(@TempDir Path directory) throws IOException {
+        ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null);
+        Path file = directory.resolve("store.seg");
+        List<Document> documents = EmbedModelStub.generateTestDocuments()
+                .stream()
+                .map(document -> Document.custom().id(document.text()).text(document.text())
+                        .metadata(document.metadata()).build())
+                .collect(Collectors.toList());
+        try (MemoryVectorStore vectorStore = this.newStore()) {
+            vectorStore.open(file, serializer);
+            vectorStore.persistent(documents);
+            long once = Files.size(file);
+            vectorStore.persistent(documents);
+            vectorStore.persistent(documents);
+            assertThat(Files.size(file)).isGreaterThan(once);
+            vectorStore.compact();
+            assertThat(Files.size(file)).isEqualTo(once);
+            assertThat(vectorStore.search("test", SearchOption.custom().topK(6).build())).hasSize(3);
+        }
+
+        try (MemoryVectorStore resumeStore = this.newStore()) {
+            resumeStore.open(file, serializer);
+            assertThat(resumeStore.search("test", SearchOption.custom().topK(6).build())).hasSize(3);
+        }
+    }
+
+    private MemoryVectorStore newStore() {
+        return new MemoryVectorStore(new DefaultDocumentEmbedModel(new EmbedModelStub(),
+                EmbedOption.custom().build()));
+    }
+}
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -32,12 +33,14 @@ public abstract class AbstractCacheInterceptor extends AbstractMethodInterceptor
     private final KeyGenerator keyGenerator;
     private final LazyLoader<List<Cache>> instancesLoader;
 
-    AbstractCacheInterceptor(BeanContainer container, KeyGenerator keyGenerator, List<String> cacheNames) {
+    AbstractCacheInterceptor(BeanContainer container, KeyGenerator keyGenerator, List<String> cacheNames,
+            Supplier<CacheManager> defaultCacheManager) {
         notNull(container, "The bean container cannot be null.");
         this.keyGenerator = ObjectUtils.getIfNull(keyGenerator, KeyGenerator::params);
         List<String> actualCacheNames = ObjectUtils.getIfNull(cacheNames, ArrayList::new);
         this.instancesLoader = new LazyLoader<>(() -> container.factory(CacheManager.class)
                 .map(BeanFactory::<CacheManager>get)
+                .or(() -> Optional.ofNullable(defaultCacheManager).map(Supplier::get))
                 .map(manager -> actualCacheNames.stream()
                         .map(manager::getInstance)
                         .filter(Optional::isPresent)
@@ -9,11 +9,14 @@ package modelengine.fitframework.aop.interceptor.cache;
 import modelengine.fitframework.aop.interceptor.MethodInterceptor;
 import modelengine.fitframework.aop.interceptor.cache.support.CacheableInterceptorFactory;
 import modelengine.fitframework.aop.interceptor.cache.support.EvictCacheInterceptorFactory;
+import modelengine.fitframework.aop.interceptor.cache.support.LocalCacheManager;
 import modelengine.fitframework.aop.interceptor.cache.support.PutCacheInterceptorFactory;
 import modelengine.fitframework.aop.interceptor.support.AbstractMethodInterceptorResolver;
+import modelengine.fitframework.cache.CacheManager;
 import modelengine.fitframework.ioc.BeanContainer;
 import modelengine.fitframework.ioc.BeanFactory;
 import modelengine.fitframework.ioc.BeanMetadata;
+import modelengine.fitframework.util.LazyLoader;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -31,14 +34,17 @@ public class CacheInterceptorResolver extends AbstractMethodInterceptorResolver
 
     /**
      * 使用指定的容器初始化 {@link CacheInterceptorResolver} 的新实例。
+     * <p>当容器中不存在 {@link CacheManager} 的 Bean 时，缓存实例由根据插件配置创建的 {@link LocalCacheManager} 提供。</p>
      *
      * @param container 表示容器的 {@link BeanContainer}。
      * @throws IllegalArgumentException 当 {@code container} 为 {@code null} 时。
      */
     public CacheInterceptorResolver(BeanContainer container) {
-        this.methodInterceptorFactories = Arrays.asList(new CacheableInterceptorFactory(container),
-                new PutCacheInterceptorFactory(container),
-                new EvictCacheInterceptorFactory(container));
+        LazyLoader<CacheManager> localCacheManager = new LazyLoader<>(() -> new LocalCacheManager(
+                container.plugin() == null ? null : container.plugin().config()));
+        this.methodInterceptorFactories = Arrays.asList(new CacheableInterceptorFactory(container, localCacheManager),
+                new PutCacheInterceptorFactory(container, localCacheManager),
+                new EvictCacheInterceptorFactory(container, localCacheManager));
     }
 
     @Override
@@ -9,15 +9,20 @@ package modelengine.fitframework.aop.interceptor.cache;
 import modelengine.fitframework.aop.interceptor.MethodInvocation;
 import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
 import modelengine.fitframework.cache.Cache;
+import modelengine.fitframework.cache.CacheManager;
 import modelengine.fitframework.cache.annotation.Cacheable;
+import modelengine.fitframework.exception.MethodInvocationException;
 import modelengine.fitframework.inspection.Nonnull;
 import modelengine.fitframework.inspection.Nullable;
 import modelengine.fitframework.ioc.BeanContainer;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * 表示 {@link Cacheable} 的方法拦截器。
+ * <p>同一个键的并发调用只执行一次被拦截的方法。执行该方法的调用直接抛出方法抛出的异常，等待该次执行结果的其他调用各自抛出一个
+ * 以该异常为原因的 {@link MethodInvocationException}，避免多个线程共享同一个异常实例。</p>
  *
  * @author 季聿阶
  * @since 2022-12-12
@@ -31,7 +36,21 @@ public class CacheableInterceptor extends AbstractCacheInterceptor {
      * @param cacheNames 表示缓存名称列表的 {@link List}{@code <}{@link String}{@code >}。
      */
     public CacheableInterceptor(BeanContainer container, KeyGenerator keyGenerator, List<String> cacheNames) {
-        super(container, keyGenerator, cacheNames);
+        this(container, keyGenerator, cacheNames, null);
+    }
+
+    /**
+     * 使用指定的容器、键生成器、缓存名称列表和默认的缓存管理器初始化 {@link CacheableInterceptor} 的新实例。
+     * <p>当容器中不存在 {@link CacheManager} 的 Bean 时，使用默认的缓存管理器获取缓存实例。</p>
+     *
+     * @param container 表示容器的 {@link BeanContainer}。
+     * @param keyGenerator 表示键生成器的 {@link KeyGenerator}。
+     * @param cacheNames 表示缓存名称列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param defaultCacheManager 表示默认的缓存管理器的提供者的 {@link Supplier}{@code <}{@link CacheManager}{@code >}。
+     */
+    public CacheableInterceptor(BeanContainer container, KeyGenerator keyGenerator, List<String> cacheNames,
+            Supplier<CacheManager> defaultCacheManager) {
+        super(container, keyGenerator, cacheNames, defaultCacheManager);
     }
 
     @Nullable
@@ -40,13 +59,46 @@ public class CacheableInterceptor extends AbstractCacheInterceptor {
         MethodInvocation invocation = methodJoinPoint.getProxiedInvocation();
         CacheKey key = this.getKeyGenerator()
                 .generate(invocation.getTarget(), invocation.getMethod(), invocation.getArguments());
-        for (Cache instance : this.getCacheInstances()) {
+        List<Cache> instances = this.getCacheInstances();
+        for (Cache instance : instances) {
             if (instance.contains(key)) {
                 return instance.get(key);
             }
         }
-        Object result = methodJoinPoint.proceed();
-        this.getCacheInstances().forEach(instance -> instance.put(key, result));
+        if (instances.isEmpty()) {
+            return methodJoinPoint.proceed();
+        }
+        // 通过第一个缓存实例加载，使得缓存实例可以合并同一个键的并发加载。
+        Object result;
+        try {
+            result = instances.get(0).get(key, () -> proceed(methodJoinPoint));
+        } catch (ProceedException e) {
+            if (e.owner == Thread.currentThread()) {
+                throw e.getCause();
+            }
+            throw new MethodInvocationException(e.getCause());
+        }
+        instances.stream().skip(1).forEach(instance -> instance.put(key, result));
         return result;
     }
+
+    private static Object proceed(MethodJoinPoint methodJoinPoint) {
+        try {
+            return methodJoinPoint.proceed();
+        } catch (Throwable e) {
+            throw new ProceedException(e);
+        }
+    }
+
+    /**
+     * 表示在缓存的加载方法中传递被拦截方法抛出的异常，并记录执行被拦截方法的线程。
+     */
+    private static final class ProceedException extends RuntimeException {
+        private final transient Thread owner;
+
+        private ProceedException(Throwable cause) {
+            super(cause);
+            this.owner = Thread.currentThread();
+        }
+    }
 }
@@ -8,12 +8,14 @@ package modelengine.fitframework.aop.interceptor.cache;
 
 import modelengine.fitframework.aop.interceptor.MethodInvocation;
 import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
+import modelengine.fitframework.cache.CacheManager;
 import modelengine.fitframework.cache.annotation.PutCache;
 import modelengine.fitframework.inspection.Nonnull;
 import modelengine.fitframework.inspection.Nullable;
 import modelengine.fitframework.ioc.BeanContainer;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * 表示 {@link PutCache} 的方法拦截器。
@@ -31,7 +33,22 @@ public class PutCacheInterceptor extends AbstractCacheInterceptor {
      * @throws IllegalArgumentException 当任一参数为 {@code null} 时。
      */
     public PutCacheInterceptor(BeanContainer container, KeyGenerator keyGenerator, List<String> cacheNames) {
-        super(container, keyGenerator, cacheNames);
+        this(container, keyGenerator, cacheNames, null);
+    }
+
+    /**
+     * 使用指定的容器、键生成器、缓存名称列表和默认的缓存管理器初始化 {@link PutCacheInterceptor} 的新实例。
+     * <p>当容器中不存在 {@link CacheManager} 的 Bean 时，使用默认的缓存管理器获取缓存实例。</p>
+     *
+     * @param container 表示容器的 {@link BeanContainer}。
+     * @param keyGenerator 表示键生成器的 {@link KeyGenerator}。
+     * @param cacheNames 表示缓存名称列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param defaultCacheManager 表示默认的缓存管理器的提供者的 {@link Supplier}{@code <}{@link CacheManager}{@code >}。
+     * @throws IllegalArgumentException 当 {@code container} 为 {@code null} 时。
+     */
+    public PutCacheInterceptor(BeanContainer container, KeyGenerator keyGenerator, List<String> cacheNames,
+            Supplier<CacheManager> defaultCacheManager) {
+        super(container, keyGenerator, cacheNames, defaultCacheManager);
     }
 
     @Nullable
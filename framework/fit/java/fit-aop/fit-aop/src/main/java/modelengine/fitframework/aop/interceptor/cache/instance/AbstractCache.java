@@ -59,20 +59,34 @@ public abstract class AbstractCache implements Cache {
     @Override
     public void put(Object key, Object value) {
         notNull(key, "The cache key cannot be null.");
+        this.store(key, this.toStoreValue(key, value));
+    }
+
+    /**
+     * 将指定键的值转换为存储在缓存实例中的值。
+     *
+     * @param key 表示指定键的 {@link Object}。
+     * @param value 表示待存储的值的 {@link Object}。
+     * @return 表示存储在缓存实例中的值的 {@link Object}，{@code null} 值被转换为 {@link Optional#empty()}。
+     * @throws IllegalStateException 当缓存实例不允许 {@code null} 值且 {@code value} 为 {@code null} 时。
+     */
+    protected Object toStoreValue(Object key, Object value) {
         if (!this.allowsNullValue() && value == null) {
             throw new IllegalStateException(StringUtils.format(
                     "Cache instance is not allowed to store null value. [instance={0}, key={1}]",
                     this.name(),
                     key));
         }
-        this.store(key, this.toStoreValue(value));
-    }
-
-    private Object toStoreValue(Object value) {
         return value == null ? Optional.empty() : value;
     }
 
-    private Object fromStoreValue(Object storeValue) {
+    /**
+     * 将存储在缓存实例中的值转换为实际的值。
+     *
+     * @param storeValue 表示存储在缓存实例中的值的 {@link Object}。
+     * @return 表示实际的值的 {@link Object}。
+     */
+    protected Object fromStoreValue(Object storeValue) {
         return storeValue == Optional.empty() ? null : storeValue;
     }
 
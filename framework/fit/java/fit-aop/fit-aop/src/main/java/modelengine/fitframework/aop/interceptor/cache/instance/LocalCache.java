@@ -0,0 +1,374 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.interceptor.cache.instance;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 表示进程内有界的缓存实例。
+ * <p>缓存使用分段 LRU 的淘汰策略：新写入的键值对进入试用段，再次被访问后晋升到保护段，保护段超出容量时，其中最久未被访问的键值对降级回试用段；
+ * 缓存超出最大容量时，优先淘汰试用段中最久未被访问的键值对。因此只被访问过一次的数据不会挤出经常被访问的数据。</p>
+ * <p>键值对可以设置写入后和访问后的过期时间，过期的键值对在被访问时清除。同一个键的并发加载只执行一次，其余调用等待该次加载的结果，
+ * 加载失败时等待的调用抛出加载方法抛出的异常。加载方法中不能再次加载同一个键，否则抛出 {@link IllegalStateException}。
+ * 读取时如果无法立即获得淘汰锁，则不调整访问顺序，以避免高并发读取时的锁竞争。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-29
+ */
+public class LocalCache extends AbstractCache {
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final long maximumSize;
+    private final long protectedCapacity;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final LongSupplier ticker;
+    private final Map<Object, Node> nodes = new ConcurrentHashMap<>();
+    private final Map<Object, Loading> loadings = new ConcurrentHashMap<>();
+    private final Lock evictionLock = new ReentrantLock();
+    private final Segment probation = new Segment();
+    private final Segment protection = new Segment();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 使用指定的名称、空值允许标志、最大容量和过期时间初始化 {@link LocalCache} 的新实例。
+     *
+     * @param name 表示缓存实例名称的 {@link String}。
+     * @param allowsNullValue 表示是否允许存储 {@code null} 值的 {@code boolean}。
+     * @param maximumSize 表示缓存实例中最多保存的键值对数量的 {@code long}。
+     * @param expireAfterWriteMillis 表示键值对写入后过期的毫秒数的 {@code long}，{@code 0} 表示不过期。
+     * @param expireAfterAccessMillis 表示键值对最后一次访问后过期的毫秒数的 {@code long}，{@code 0} 表示不过期。
+     * @throws IllegalArgumentException 当 {@code name} 为 {@code null} 或空白，{@code maximumSize} 不是正数，或过期时间为负数时。
+     */
+    public LocalCache(String name, boolean allowsNullValue, long maximumSize, long expireAfterWriteMillis,
+            long expireAfterAccessMillis) {
+        this(name, allowsNullValue, maximumSize, expireAfterWriteMillis, expireAfterAccessMillis, System::nanoTime);
+    }
+
+    LocalCache(String name, boolean allowsNullValue, long maximumSize, long expireAfterWriteMillis,
+            long expireAfterAccessMillis, LongSupplier ticker) {
+        super(name, allowsNullValue);
+        this.maximumSize = greaterThan(maximumSize,
+                0,
+                "The maximum size of cache instance must be positive. [maximumSize={0}]",
+                maximumSize);
+        this.protectedCapacity = (long) (maximumSize * PROTECTED_RATIO);
+        this.expireAfterWriteNanos = TimeUnit.MILLISECONDS.toNanos(greaterThanOrEquals(expireAfterWriteMillis,
+                0,
+                "The expire after write cannot be negative. [expireAfterWrite={0}]",
+                expireAfterWriteMillis));
+        this.expireAfterAccessNanos = TimeUnit.MILLISECONDS.toNanos(greaterThanOrEquals(expireAfterAccessMillis,
+                0,
+                "The expire after access cannot be negative. [expireAfterAccess={0}]",
+                expireAfterAccessMillis));
+        this.ticker = notNull(ticker, "The ticker cannot be null.");
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        notNull(key, "The cache key cannot be null.");
+        return this.getIfPresent(key, this.ticker.getAsLong()) != null;
+    }
+
+    @Override
+    public Object get(Object key, Supplier<?> loader) {
+        notNull(key, "The cache key cannot be null.");
+        notNull(loader, "The cache loader cannot be null.");
+        Object storeValue = this.load(key);
+        if (storeValue != null) {
+            return this.fromStoreValue(storeValue);
+        }
+        Loading loading = new Loading(Thread.currentThread());
+        Loading existing = this.loadings.putIfAbsent(key, loading);
+        if (existing != null) {
+            if (existing.owner == Thread.currentThread()) {
+                throw new IllegalStateException(StringUtils.format(
+                        "Recursive load of the same cache key is not supported. [name={0}, key={1}]",
+                        this.name(),
+                        key));
+            }
+            return this.fromStoreValue(join(existing));
+        }
+        try {
+            // 再次检查，避免重复加载刚刚由其他调用完成加载的键。
+            Node loaded = this.getIfPresent(key, this.ticker.getAsLong());
+            if (loaded != null) {
+                storeValue = loaded.value;
+            } else {
+                storeValue = this.toStoreValue(key, loader.get());
+                this.loadCount.increment();
+                this.store(key, storeValue);
+            }
+            loading.complete(storeValue);
+            return this.fromStoreValue(storeValue);
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.loadings.remove(key, loading);
+        }
+    }
+
+    @Override
+    public void remove(Object key) {
+        notNull(key, "The cache key cannot be null.");
+        Node node = this.nodes.remove(key);
+        if (node != null) {
+            this.unlink(node);
+        }
+    }
+
+    @Override
+    protected void store(Object key, Object value) {
+        long now = this.ticker.getAsLong();
+        Node node = new Node(key, value, now);
+        Node previous = this.nodes.put(key, node);
+        this.evictionLock.lock();
+        try {
+            Segment segment =
+                    previous != null && previous.segment == this.protection ? this.protection : this.probation;
+            if (previous != null) {
+                previous.unlink();
+            }
+            if (this.nodes.get(key) == node) {
+                segment.append(node);
+                this.rebalance();
+                this.evict();
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    @Override
+    protected Object load(Object key) {
+        long now = this.ticker.getAsLong();
+        Node node = this.getIfPresent(key, now);
+        if (node == null) {
+            this.missCount.increment();
+            return null;
+        }
+        this.hitCount.increment();
+        node.accessTime = now;
+        if (this.evictionLock.tryLock()) {
+            try {
+                this.promote(node);
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * 获取缓存实例中当前保存的键值对的数量。
+     * <p>已过期但尚未被清除的键值对也被计算在内。</p>
+     *
+     * @return 表示键值对数量的 {@code long}。
+     */
+    public long size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * 获取读取时命中的次数。
+     *
+     * @return 表示命中次数的 {@code long}。
+     */
+    public long hitCount() {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * 获取读取时未命中的次数。
+     *
+     * @return 表示未命中次数的 {@code long}。
+     */
+    public long missCount() {
+        return this.missCount.sum();
+    }
+
+    /**
+     * 获取通过加载方法加载值的次数。
+     *
+     * @return 表示加载次数的 {@code long}。
+     */
+    public long loadCount() {
+        return this.loadCount.sum();
+    }
+
+    /**
+     * 获取因为超出容量或过期而被清除的键值对的数量。
+     *
+     * @return 表示清除数量的 {@code long}。
+     */
+    public long evictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    private Node getIfPresent(Object key, long now) {
+        Node node = this.nodes.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (this.isExpired(node, now)) {
+            if (this.nodes.remove(key, node)) {
+                this.evictionCount.increment();
+                this.unlink(node);
+            }
+            return null;
+        }
+        return node;
+    }
+
+    private boolean isExpired(Node node, long now) {
+        return (this.expireAfterWriteNanos > 0 && now - node.writeTime >= this.expireAfterWriteNanos)
+                || (this.expireAfterAccessNanos > 0 && now - node.accessTime >= this.expireAfterAccessNanos);
+    }
+
+    private void unlink(Node node) {
+        this.evictionLock.lock();
+        try {
+            node.unlink();
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void promote(Node node) {
+        if (node.segment == this.probation) {
+            node.unlink();
+            this.protection.append(node);
+            this.rebalance();
+        } else if (node.segment == this.protection) {
+            node.unlink();
+            this.protection.append(node);
+        }
+    }
+
+    private void rebalance() {
+        while (this.protection.size > this.protectedCapacity) {
+            Node demoted = this.protection.head;
+            demoted.unlink();
+            this.probation.append(demoted);
+        }
+    }
+
+    private void evict() {
+        while (this.probation.size + this.protection.size > this.maximumSize) {
+            Node victim = this.probation.head != null ? this.probation.head : this.protection.head;
+            victim.unlink();
+            if (this.nodes.remove(victim.key, victim)) {
+                this.evictionCount.increment();
+            }
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 表示一个键正在进行的加载，记录执行加载的线程以识别同一个线程对同一个键的重复加载。
+     */
+    private static final class Loading extends CompletableFuture<Object> {
+        private final Thread owner;
+
+        private Loading(Thread owner) {
+            this.owner = owner;
+        }
+    }
+
+    private static final class Node {
+        private final Object key;
+        private final Object value;
+        private final long writeTime;
+        private volatile long accessTime;
+
+        private Segment segment;
+        private Node previous;
+        private Node next;
+
+        private Node(Object key, Object value, long now) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+
+        private void unlink() {
+            if (this.segment != null) {
+                this.segment.unlink(this);
+            }
+        }
+    }
+
+    private static final class Segment {
+        private Node head;
+        private Node tail;
+        private long size;
+
+        private void append(Node node) {
+            node.segment = this;
+            node.previous = this.tail;
+            node.next = null;
+            if (this.tail == null) {
+                this.head = node;
+            } else {
+                this.tail.next = node;
+            }
+            this.tail = node;
+            this.size++;
+        }
+
+        private void unlink(Node node) {
+            if (node.previous == null) {
+                this.head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                this.tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.segment = null;
+            node.previous = null;
+            node.next = null;
+            this.size--;
+        }
+    }
+}
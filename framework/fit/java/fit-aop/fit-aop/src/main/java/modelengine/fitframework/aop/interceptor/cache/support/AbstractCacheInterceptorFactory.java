@@ -15,6 +15,7 @@ import modelengine.fitframework.aop.interceptor.MethodMatcherCollection;
 import modelengine.fitframework.aop.interceptor.cache.CacheInterceptorFactory;
 import modelengine.fitframework.aop.interceptor.cache.KeyGenerator;
 import modelengine.fitframework.aop.interceptor.support.AbstractAnnotatedInterceptorFactory;
+import modelengine.fitframework.cache.CacheManager;
 import modelengine.fitframework.inspection.Nonnull;
 import modelengine.fitframework.ioc.BeanContainer;
 import modelengine.fitframework.ioc.BeanFactory;
@@ -26,6 +27,7 @@ import modelengine.fitframework.util.StringUtils;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * 表示 {@link CacheInterceptorFactory} 的抽象实现类。
@@ -38,6 +40,7 @@ public abstract class AbstractCacheInterceptorFactory<T extends Annotation> exte
     private final BeanContainer container;
     private final Class<T> annotationClass;
     private final AnnotationMetadataResolver annotationResolver;
+    private final Supplier<CacheManager> defaultCacheManager;
 
     /**
      * 创建缓存方法拦截器工厂类。
@@ -46,10 +49,24 @@ public abstract class AbstractCacheInterceptorFactory<T extends Annotation> exte
      * @param annotationClass 表示缓存注解的类型 {@link Class}{@code <T>}。
      */
     public AbstractCacheInterceptorFactory(BeanContainer container, Class<T> annotationClass) {
+        this(container, annotationClass, null);
+    }
+
+    /**
+     * 创建缓存方法拦截器工厂类。
+     *
+     * @param container 表示 Bean 容器的 {@link BeanContainer}。
+     * @param annotationClass 表示缓存注解的类型 {@link Class}{@code <T>}。
+     * @param defaultCacheManager 表示容器中不存在 {@link CacheManager} 的 Bean 时使用的缓存管理器的提供者的
+     * {@link Supplier}{@code <}{@link CacheManager}{@code >}。
+     */
+    public AbstractCacheInterceptorFactory(BeanContainer container, Class<T> annotationClass,
+            Supplier<CacheManager> defaultCacheManager) {
         super(annotationClass);
         this.container = notNull(container, "The bean container cannot be null.");
         this.annotationClass = notNull(annotationClass, "The annotation class cannot be null.");
         this.annotationResolver = AnnotationMetadataResolvers.create();
+        this.defaultCacheManager = defaultCacheManager;
     }
 
     @Override
@@ -89,6 +106,16 @@ public abstract class AbstractCacheInterceptorFactory<T extends Annotation> exte
         return this.cacheInstanceNames(annotation);
     }
 
+    /**
+     * 获取容器中不存在 {@link CacheManager} 的 Bean 时使用的缓存管理器的提供者。
+     *
+     * @return 表示默认的缓存管理器的提供者的 {@link Supplier}{@code <}{@link CacheManager}{@code >}，可能为
+     * {@code null}。
+     */
+    protected Supplier<CacheManager> getDefaultCacheManager() {
+        return this.defaultCacheManager;
+    }
+
     /**
      * 从指定的注解上获取缓存实例的名字列表。
      *
@@ -0,0 +1,84 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.interceptor.cache.support;
+
+import modelengine.fitframework.aop.interceptor.cache.instance.LocalCache;
+import modelengine.fitframework.cache.Cache;
+import modelengine.fitframework.cache.CacheManager;
+import modelengine.fitframework.conf.Config;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 表示 {@link CacheManager} 的进程内实现，为每个名字创建一个 {@link LocalCache}。
+ * <p>缓存实例在第一次获取时创建，其配置优先读取 {@code cache.local.instances.<name>.*}，未配置的项读取 {@code cache.local.*}：</p>
+ * <ul>
+ *     <li>{@code maximum-size}：最多保存的键值对数量，默认为 {@code 10000}；</li>
+ *     <li>{@code expire-after-write}：写入后过期的毫秒数，默认不过期；</li>
+ *     <li>{@code expire-after-access}：最后一次访问后过期的毫秒数，默认不过期；</li>
+ *     <li>{@code allows-null-value}：是否缓存 {@code null} 值，默认为 {@code true}。</li>
+ * </ul>
+ * <p>当容器中不存在 {@link CacheManager} 的 Bean 时，缓存方法拦截器使用该实现。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-29
+ */
+public class LocalCacheManager implements CacheManager {
+    private static final String CONFIG_PREFIX = "cache.local.";
+    private static final String INSTANCE_CONFIG_PREFIX = CONFIG_PREFIX + "instances.";
+    private static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final Config config;
+    private final Map<String, Cache> instances = new ConcurrentHashMap<>();
+
+    /**
+     * 使用指定的配置初始化 {@link LocalCacheManager} 的新实例。
+     *
+     * @param config 表示缓存实例配置所在的 {@link Config}，为 {@code null} 时所有缓存实例都使用默认配置。
+     */
+    public LocalCacheManager(Config config) {
+        this.config = config;
+    }
+
+    @Override
+    public Optional<Cache> getInstance(String name) {
+        if (StringUtils.isBlank(name)) {
+            return Optional.empty();
+        }
+        return Optional.of(this.instances.computeIfAbsent(name, this::create));
+    }
+
+    @Override
+    public Set<String> getInstanceNames() {
+        return Collections.unmodifiableSet(this.instances.keySet());
+    }
+
+    private Cache create(String name) {
+        return new LocalCache(name,
+                this.option(name, "allows-null-value", Boolean.class, true),
+                this.option(name, "maximum-size", Long.class, DEFAULT_MAXIMUM_SIZE),
+                this.option(name, "expire-after-write", Long.class, 0L),
+                this.option(name, "expire-after-access", Long.class, 0L));
+    }
+
+    private <T> T option(String name, String key, Class<T> type, T defaultValue) {
+        if (this.config == null) {
+            return defaultValue;
+        }
+        T value = this.config.get(INSTANCE_CONFIG_PREFIX + name + "." + key, type);
+        if (value == null) {
+            value = this.config.get(CONFIG_PREFIX + key, type);
+        }
+        return ObjectUtils.nullIf(value, defaultValue);
+    }
+}
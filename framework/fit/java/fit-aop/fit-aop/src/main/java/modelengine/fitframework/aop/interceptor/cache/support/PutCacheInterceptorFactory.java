@@ -9,12 +9,14 @@ package modelengine.fitframework.aop.interceptor.cache.support;
 import modelengine.fitframework.aop.interceptor.MethodInterceptor;
 import modelengine.fitframework.aop.interceptor.cache.KeyGenerator;
 import modelengine.fitframework.aop.interceptor.cache.PutCacheInterceptor;
+import modelengine.fitframework.cache.CacheManager;
 import modelengine.fitframework.cache.annotation.PutCache;
 import modelengine.fitframework.inspection.Nonnull;
 import modelengine.fitframework.ioc.BeanContainer;
 import modelengine.fitframework.util.StringUtils;
 
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,6 +37,17 @@ public class PutCacheInterceptorFactory extends AbstractCacheInterceptorFactory<
         super(container, PutCache.class);
     }
 
+    /**
+     * 使用指定的容器和默认的缓存管理器初始化 {@link PutCacheInterceptorFactory} 的新实例。
+     *
+     * @param container 表示容器的 {@link BeanContainer}。
+     * @param defaultCacheManager 表示默认的缓存管理器的提供者的 {@link Supplier}{@code <}{@link CacheManager}{@code >}。
+     * @throws IllegalArgumentException 当 {@code container} 为 {@code null} 时。
+     */
+    public PutCacheInterceptorFactory(BeanContainer container, Supplier<CacheManager> defaultCacheManager) {
+        super(container, PutCache.class, defaultCacheManager);
+    }
+
     @Override
     protected List<String> cacheInstanceNames(@Nonnull PutCache annotation) {
         return Stream.of(annotation.name()).filter(StringUtils::isNotBlank).collect(Collectors.toList());
@@ -47,6 +60,6 @@ public class PutCacheInterceptorFactory extends AbstractCacheInterceptorFactory<
 
     @Override
     protected MethodInterceptor create(BeanContainer container, KeyGenerator keyGenerator, List<String> cacheNames) {
-        return new PutCacheInterceptor(container, keyGenerator, cacheNames);
+        return new PutCacheInterceptor(container, keyGenerator, cacheNames, this.getDefaultCacheManager());
     }
 }
@@ -14,7 +14,7 @@ import modelengine.fitframework.inspection.Nonnull;
 import modelengine.fitframework.inspection.Nullable;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.ioc.BeanFactory;
-import modelengine.fitframework.util.ReflectionUtils;
+import modelengine.fitframework.util.MethodInvoker;
 
 import java.lang.reflect.Method;
 import java.util.List;
@@ -32,6 +32,7 @@ public abstract class AbstractAdviceMethodInterceptor extends AbstractMethodInte
 
     private final BeanFactory aspectFactory;
     private final Method advisorMethod;
+    private final MethodInvoker advisorInvoker;
 
     /**
      * 使用拦截建议的对象和拦截建议的方法来实例化一个 {@link AbstractAdviceMethodInterceptor}。
@@ -55,6 +56,7 @@ public abstract class AbstractAdviceMethodInterceptor extends AbstractMethodInte
         super(methodMatchers);
         this.aspectFactory = aspectFactory;
         this.advisorMethod = Validation.notNull(advisorMethod, "The intercept method cannot be null.");
+        this.advisorInvoker = MethodInvoker.of(advisorMethod);
     }
 
     @Nullable
@@ -83,7 +85,7 @@ public abstract class AbstractAdviceMethodInterceptor extends AbstractMethodInte
             @Nullable Throwable throwable) throws Throwable {
         Object[] advisorArgs = this.getAdvisorArgs(joinPoint, returnValue, throwable);
         try {
-            return ReflectionUtils.invoke(this.getAdvisorTarget(), this.advisorMethod, advisorArgs);
+            return this.advisorInvoker.invoke(this.getAdvisorTarget(), advisorArgs);
         } catch (MethodInvocationException e) {
             throw e.getCause();
         }
@@ -8,20 +8,19 @@ package modelengine.fitframework.aop.proxy.support;
 
 import modelengine.fitframework.aop.interceptor.MethodInterceptor;
 import modelengine.fitframework.aop.interceptor.MethodInvocation;
-import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
 import modelengine.fitframework.aop.interceptor.support.DefaultMethodInvocation;
-import modelengine.fitframework.aop.interceptor.support.DefaultMethodJoinPoint;
 import modelengine.fitframework.aop.proxy.FitProxy;
 import modelengine.fitframework.aop.proxy.InterceptSupport;
 import modelengine.fitframework.inspection.Nullable;
-import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.LazyLoader;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * AOP 调用的核心抽象代理。
@@ -31,9 +30,8 @@ import java.util.stream.Collectors;
  */
 public abstract class AbstractAopProxy implements FitProxy {
     private final LazyLoader<Object> targetSupplier;
-    private final List<MethodInterceptor> methodInterceptors;
+    private final Map<Method, MethodInterceptor[]> interceptorChains;
     private final Class<?> targetClass;
-    private final Method interceptMethod;
     private final Method getActualClassMethod;
 
     /**
@@ -43,10 +41,9 @@ public abstract class AbstractAopProxy implements FitProxy {
      */
     protected AbstractAopProxy(InterceptSupport support) {
         this.targetSupplier = new LazyLoader<>(support::getTarget);
-        this.methodInterceptors = support.getMethodInterceptors();
+        this.interceptorChains = buildInterceptorChains(support.getMethodInterceptors());
         this.targetClass = support.getTargetClass();
         try {
-            this.interceptMethod = MethodInterceptor.class.getDeclaredMethod("intercept", MethodJoinPoint.class);
             this.getActualClassMethod = FitProxy.class.getDeclaredMethod("$fit$getActualClass");
         } catch (NoSuchMethodException e) {
             // 必然存在指定方法，因此该分支不会走到。
@@ -54,6 +51,21 @@ public abstract class AbstractAopProxy implements FitProxy {
         }
     }
 
+    private static Map<Method, MethodInterceptor[]> buildInterceptorChains(List<MethodInterceptor> interceptors) {
+        Map<Method, List<MethodInterceptor>> chains = new HashMap<>();
+        for (MethodInterceptor interceptor : interceptors) {
+            if (interceptor == null) {
+                continue;
+            }
+            for (Method method : interceptor.getPointCut().methods()) {
+                chains.computeIfAbsent(method, key -> new ArrayList<>()).add(interceptor);
+            }
+        }
+        Map<Method, MethodInterceptor[]> actual = new HashMap<>(chains.size() * 4 / 3 + 1);
+        chains.forEach((method, chain) -> actual.put(method, chain.toArray(new MethodInterceptor[0])));
+        return actual;
+    }
+
     @Override
     public Class<?> $fit$getActualClass() {
         return Optional.ofNullable(this.getTarget()).map(Object::getClass).orElse(null);
@@ -63,10 +75,9 @@ public abstract class AbstractAopProxy implements FitProxy {
      * AOP 调用核心逻辑。
      * <p>调用过程如下：</p>
      * <ol>
-     *     <li>根据调用方法，过滤被代理对象的所有方法拦截器，如果没有合适的方法拦截器，则直接调用被代理对象。</li>
-     *     <li>在过滤后的方法拦截器列表最后，添加一个 {@link ProxiedInterceptor}，用于调用被代理对象。</li>
-     *     <li>从最后一个方法拦截器开始，依次向前构造当前方法拦截器的参数。</li>
-     *     <li>构造完所有方法拦截器的参数后，调用第一个方法拦截器。</li>
+     *     <li>根据调用方法，获取创建代理时预先计算好的方法拦截器链，如果没有合适的方法拦截器，则直接调用被代理对象。</li>
+     *     <li>构造第一个方法拦截器的连接点，并调用第一个方法拦截器。</li>
+     *     <li>每个方法拦截器通过连接点直接调用链上的下一个方法拦截器，最后一个方法拦截器调用被代理对象。</li>
      * </ol>
      *
      * @param proxy 表示代理对象的 {@link Object}。
@@ -81,38 +92,17 @@ public abstract class AbstractAopProxy implements FitProxy {
         if (Objects.equals(method.getName(), this.getActualClassMethod.getName())) {
             return this.$fit$getActualClass();
         }
-        List<MethodInterceptor> actualMethodInterceptors = this.filterMethodInterceptors(method);
-        if (CollectionUtils.isEmpty(actualMethodInterceptors)) {
-            return proxiedInvoker.invoke(new DefaultMethodInvocation(this.getTarget(), method, args));
-        }
-        MethodJoinPoint joinPoint = this.getJoinPoint(proxy, method, args, proxiedInvoker, actualMethodInterceptors);
-        return actualMethodInterceptors.get(0).intercept(joinPoint);
-    }
-
-    private List<MethodInterceptor> filterMethodInterceptors(Method method) {
-        return this.methodInterceptors.stream()
-                .filter(Objects::nonNull)
-                .filter(methodInterceptor -> methodInterceptor.getPointCut().methods().contains(method))
-                .collect(Collectors.toList());
-    }
-
-    private MethodJoinPoint getJoinPoint(Object proxy, Method method, Object[] args, ProxiedInvoker proxiedInvoker,
-            List<MethodInterceptor> actualMethodInterceptors) {
+        MethodInterceptor[] chain = this.interceptorChains.get(method);
         MethodInvocation proxiedInvocation = new DefaultMethodInvocation(this.getTarget(), method, args);
-        MethodInvocation proxyInvocation = new DefaultMethodInvocation(proxy, method, args);
-        MethodJoinPoint lastJoinPoint =
-                new DefaultMethodJoinPoint(proxiedInvocation, proxiedInvocation, proxyInvocation);
-        MethodInterceptor lastInterceptor = new ProxiedInterceptor(proxiedInvoker);
-        MethodInvocation nextInvocation =
-                new DefaultMethodInvocation(lastInterceptor, this.interceptMethod, new Object[] {lastJoinPoint});
-        lastJoinPoint = new DefaultMethodJoinPoint(nextInvocation, proxiedInvocation, proxyInvocation);
-        for (int i = actualMethodInterceptors.size() - 1; i >= 1; i--) {
-            MethodInterceptor currentInterceptor = actualMethodInterceptors.get(i);
-            Object[] currentArgs = new Object[] {lastJoinPoint};
-            nextInvocation = new DefaultMethodInvocation(currentInterceptor, this.interceptMethod, currentArgs);
-            lastJoinPoint = new DefaultMethodJoinPoint(nextInvocation, proxiedInvocation, proxyInvocation);
+        if (chain == null) {
+            return proxiedInvoker.invoke(proxiedInvocation);
         }
-        return lastJoinPoint;
+        MethodInvocation proxyInvocation = new DefaultMethodInvocation(proxy, method, args);
+        return chain[0].intercept(new ChainedMethodJoinPoint(chain,
+                0,
+                proxiedInvoker,
+                proxiedInvocation,
+                proxyInvocation));
     }
 
     @Nullable
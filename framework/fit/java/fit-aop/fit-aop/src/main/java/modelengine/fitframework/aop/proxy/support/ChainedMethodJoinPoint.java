@@ -0,0 +1,121 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.proxy.support;
+
+import modelengine.fitframework.aop.interceptor.MethodInterceptor;
+import modelengine.fitframework.aop.interceptor.MethodInvocation;
+import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
+import modelengine.fitframework.aop.interceptor.support.DefaultMethodInvocation;
+import modelengine.fitframework.aop.interceptor.support.DefaultMethodJoinPoint;
+import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.inspection.Nullable;
+
+import java.lang.reflect.Method;
+
+/**
+ * 表示按照下标在方法拦截器链上推进的 {@link MethodJoinPoint}。
+ * <p>{@link #proceed()} 直接调用链上的下一个方法拦截器，不再通过反射调用，链上的最后一个方法拦截器调用被代理对象。下一个方法调用
+ * {@link #getNextInvocation()} 只在被访问时才会创建，其内容与 {@link DefaultMethodJoinPoint} 构造的链保持一致。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-27
+ */
+final class ChainedMethodJoinPoint implements MethodJoinPoint {
+    private static final Method INTERCEPT_METHOD;
+
+    static {
+        try {
+            INTERCEPT_METHOD = MethodInterceptor.class.getDeclaredMethod("intercept", MethodJoinPoint.class);
+        } catch (NoSuchMethodException e) {
+            // 必然存在指定方法，因此该分支不会走到。
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final MethodInterceptor[] interceptors;
+    private final int index;
+    private final ProxiedInvoker proxiedInvoker;
+    private final MethodInvocation proxiedInvocation;
+    private final MethodInvocation proxyInvocation;
+    private MethodInvocation nextInvocation;
+
+    /**
+     * 使用方法拦截器链、当前方法拦截器的下标、调用被代理对象的方法和方法调用信息实例化 {@link ChainedMethodJoinPoint}。
+     *
+     * @param interceptors 表示方法拦截器链的 {@link MethodInterceptor}{@code []}。
+     * @param index 表示接收当前连接点的方法拦截器在链上的下标的 {@code int}。
+     * @param proxiedInvoker 表示调用被代理对象的方法的 {@link ProxiedInvoker}。
+     * @param proxiedInvocation 表示被代理的方法调用的 {@link MethodInvocation}。
+     * @param proxyInvocation 表示代理的方法调用的 {@link MethodInvocation}。
+     */
+    ChainedMethodJoinPoint(MethodInterceptor[] interceptors, int index, ProxiedInvoker proxiedInvoker,
+            MethodInvocation proxiedInvocation, MethodInvocation proxyInvocation) {
+        this.interceptors = interceptors;
+        this.index = index;
+        this.proxiedInvoker = proxiedInvoker;
+        this.proxiedInvocation = proxiedInvocation;
+        this.proxyInvocation = proxyInvocation;
+    }
+
+    @Nullable
+    @Override
+    public Object proceed() throws Throwable {
+        int next = this.index + 1;
+        if (next < this.interceptors.length) {
+            return this.interceptors[next].intercept(this.next(next));
+        }
+        return this.proxiedInvoker.invoke(this.proxiedInvocation);
+    }
+
+    @Nullable
+    @Override
+    public Object proceed(@Nonnull Object[] args) throws Throwable {
+        this.proxiedInvocation.setArguments(args);
+        return this.proceed();
+    }
+
+    @Nonnull
+    @Override
+    public MethodInvocation getNextInvocation() {
+        if (this.nextInvocation == null) {
+            int next = this.index + 1;
+            if (next < this.interceptors.length) {
+                this.nextInvocation = new DefaultMethodInvocation(this.interceptors[next],
+                        INTERCEPT_METHOD,
+                        new Object[] {this.next(next)});
+            } else {
+                MethodJoinPoint last = new DefaultMethodJoinPoint(this.proxiedInvocation,
+                        this.proxiedInvocation,
+                        this.proxyInvocation);
+                this.nextInvocation = new DefaultMethodInvocation(new ProxiedInterceptor(this.proxiedInvoker),
+                        INTERCEPT_METHOD,
+                        new Object[] {last});
+            }
+        }
+        return this.nextInvocation;
+    }
+
+    @Nonnull
+    @Override
+    public MethodInvocation getProxiedInvocation() {
+        return this.proxiedInvocation;
+    }
+
+    @Nonnull
+    @Override
+    public MethodInvocation getProxyInvocation() {
+        return this.proxyInvocation;
+    }
+
+    private ChainedMethodJoinPoint next(int next) {
+        return new ChainedMethodJoinPoint(this.interceptors,
+                next,
+                this.proxiedInvoker,
+                this.proxiedInvocation,
+                this.proxyInvocation);
+    }
+}
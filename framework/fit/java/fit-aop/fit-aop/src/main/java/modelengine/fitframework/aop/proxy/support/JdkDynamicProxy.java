@@ -8,7 +8,7 @@ package modelengine.fitframework.aop.proxy.support;
 
 import modelengine.fitframework.aop.proxy.InterceptSupport;
 import modelengine.fitframework.exception.MethodInvocationException;
-import modelengine.fitframework.util.ReflectionUtils;
+import modelengine.fitframework.util.MethodInvoker;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
@@ -40,7 +40,7 @@ public class JdkDynamicProxy extends AbstractAopProxy implements InvocationHandl
                 if (methodInvocation.getTarget() == null && isToString(method)) {
                     return "$fit$" + this.getTargetClass().getName() + "#" + TO_STRING + "()";
                 }
-                return ReflectionUtils.invoke(methodInvocation.getTarget(), method, methodInvocation.getArguments());
+                return MethodInvoker.of(method).invoke(methodInvocation.getTarget(), methodInvocation.getArguments());
             } catch (MethodInvocationException e) {
                 throw e.getCause();
             }
@@ -0,0 +1,116 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.interceptor.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import modelengine.fitframework.aop.interceptor.MethodInvocation;
+import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
+import modelengine.fitframework.aop.interceptor.cache.instance.LocalCache;
+import modelengine.fitframework.cache.CacheManager;
+import modelengine.fitframework.exception.MethodInvocationException;
+import modelengine.fitframework.ioc.BeanContainer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link CacheableInterceptor} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-29
+ */
+@DisplayName("测试 CacheableInterceptor")
+public class CacheableInterceptorTest {
+    @Test
+    @DisplayName("被拦截的方法抛出异常时，执行方法的调用得到原始异常，等待的调用各自得到包装该异常的新异常")
+    void givenProceedFailsThenWrapCausePerWaiter() throws Throwable {
+        BeanContainer container = mock(BeanContainer.class);
+        when(container.factory(CacheManager.class)).thenReturn(Optional.empty());
+        CacheManager manager = mock(CacheManager.class);
+        when(manager.getInstance("test")).thenReturn(Optional.of(new LocalCache("test", true, 10, 0, 0)));
+        CacheKey key = mock(CacheKey.class);
+        CacheableInterceptor interceptor = new CacheableInterceptor(container,
+                (target, method, params) -> key,
+                Collections.singletonList("test"),
+                () -> manager);
+        IllegalStateException failure = new IllegalStateException("failed");
+        AtomicInteger proceeds = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MethodJoinPoint joinPoint = this.joinPoint();
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            proceeds.incrementAndGet();
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw failure;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<Object> loader = executor.submit(intercept(interceptor, joinPoint));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Object> firstWaiter = executor.submit(intercept(interceptor, joinPoint));
+            Future<Object> secondWaiter = executor.submit(intercept(interceptor, joinPoint));
+            Thread.sleep(50);
+            release.countDown();
+
+            Throwable loaderError = this.errorOf(loader);
+            Throwable firstError = this.errorOf(firstWaiter);
+            Throwable secondError = this.errorOf(secondWaiter);
+            assertThat(loaderError).isSameAs(failure);
+            assertThat(firstError).isInstanceOf(MethodInvocationException.class).hasCause(failure);
+            assertThat(secondError).isInstanceOf(MethodInvocationException.class).hasCause(failure);
+            assertThat(firstError).isNotSameAs(secondError);
+            assertThat(proceeds.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Callable<Object> intercept(CacheableInterceptor interceptor, MethodJoinPoint joinPoint) {
+        return () -> {
+            try {
+                return interceptor.intercept(joinPoint);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private MethodJoinPoint joinPoint() throws NoSuchMethodException {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        when(invocation.getArguments()).thenReturn(new Object[0]);
+        MethodJoinPoint joinPoint = mock(MethodJoinPoint.class);
+        when(joinPoint.getProxiedInvocation()).thenReturn(invocation);
+        return joinPoint;
+    }
+
+    private Throwable errorOf(Future<Object> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("The invocation is expected to fail.");
+    }
+}
@@ -0,0 +1,192 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.interceptor.cache.instance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 表示 {@link LocalCache} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-29
+ */
+@DisplayName("测试 LocalCache")
+public class LocalCacheTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private LocalCache cache(long maximumSize, long expireAfterWriteMillis, long expireAfterAccessMillis) {
+        return new LocalCache("test",
+                true,
+                maximumSize,
+                expireAfterWriteMillis,
+                expireAfterAccessMillis,
+                this.now::get);
+    }
+
+    private void advance(long millis) {
+        this.now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("超出最大容量时，淘汰只被访问过一次的键值对，保留经常被访问的键值对")
+    void givenOverflowThenEvictProbationFirst() {
+        LocalCache cache = this.cache(10, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            cache.put("hot" + i, i);
+            cache.get("hot" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.put("cold" + i, i);
+        }
+        assertThat(cache.size()).isEqualTo(10);
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.contains("hot" + i)).isTrue();
+        }
+        assertThat(cache.contains("cold0")).isFalse();
+        assertThat(cache.contains("cold99")).isTrue();
+        assertThat(cache.evictionCount()).isEqualTo(95);
+    }
+
+    @Test
+    @DisplayName("超过写入后的过期时间时，键值对失效")
+    void givenExpireAfterWriteThenExpire() {
+        LocalCache cache = this.cache(10, 100, 0);
+        cache.put("key", "value");
+        this.advance(99);
+        assertThat(cache.get("key")).isEqualTo("value");
+        this.advance(1);
+        assertThat(cache.contains("key")).isFalse();
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("超过访问后的过期时间时，键值对失效，访问会延长有效期")
+    void givenExpireAfterAccessThenExpireWhenIdle() {
+        LocalCache cache = this.cache(10, 0, 100);
+        cache.put("key", "value");
+        this.advance(80);
+        assertThat(cache.get("key")).isEqualTo("value");
+        this.advance(80);
+        assertThat(cache.get("key")).isEqualTo("value");
+        this.advance(100);
+        assertThat(cache.contains("key")).isFalse();
+    }
+
+    @Test
+    @DisplayName("缓存 null 值，并记录命中、未命中和加载次数")
+    void givenNullValueThenCacheAndRecordStatistics() {
+        LocalCache cache = this.cache(10, 0, 0);
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(cache.get("key", () -> {
+            loads.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThat(cache.get("key", loads::incrementAndGet)).isNull();
+        assertThat(cache.contains("key")).isTrue();
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.loadCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("不允许 null 值时，加载到 null 值抛出异常")
+    void givenNullValueNotAllowedThenThrow() {
+        LocalCache cache = new LocalCache("test", false, 10, 0, 0);
+        assertThatThrownBy(() -> cache.get("key", () -> null)).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.contains("key")).isFalse();
+    }
+
+    @Test
+    @DisplayName("移除键值对后，重新加载")
+    void givenRemovedThenReload() {
+        LocalCache cache = this.cache(10, 0, 0);
+        cache.put("key", 1);
+        cache.remove("key");
+        assertThat(cache.get("key", () -> 2)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("同一个键的并发加载只执行一次，其余调用得到相同的结果")
+    void givenConcurrentMissesThenLoadOnce() throws Exception {
+        LocalCache cache = new LocalCache("test", true, 10, 0, 0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> cache.get("key", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "value";
+            })));
+            started.await();
+            for (int i = 0; i < 7; i++) {
+                futures.add(executor.submit(() -> cache.get("key", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<Object> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.loadCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("加载失败时，等待的调用得到相同的异常，且不缓存结果")
+    void givenLoaderFailsThenPropagate() {
+        LocalCache cache = this.cache(10, 0, 0);
+        assertThatThrownBy(() -> cache.get("key", () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("failed");
+        assertThat(cache.contains("key")).isFalse();
+        assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("加载方法中再次加载同一个键时，抛出异常而不是死锁")
+    void givenRecursiveLoadThenThrow() {
+        LocalCache cache = this.cache(10, 0, 0);
+        assertThatThrownBy(() -> cache.get("key", () -> cache.get("key", () -> "inner")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Recursive load");
+        assertThat(cache.contains("key")).isFalse();
+        assertThat(cache.get("key", () -> cache.get("other", () -> "value"))).isEqualTo("value");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
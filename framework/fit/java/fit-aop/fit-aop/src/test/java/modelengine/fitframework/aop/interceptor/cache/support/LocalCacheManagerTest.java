@@ -0,0 +1,57 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.interceptor.cache.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import modelengine.fitframework.aop.interceptor.cache.instance.LocalCache;
+import modelengine.fitframework.cache.Cache;
+import modelengine.fitframework.conf.Config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 表示 {@link LocalCacheManager} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-29
+ */
+@DisplayName("测试 LocalCacheManager")
+public class LocalCacheManagerTest {
+    @Test
+    @DisplayName("按照名字创建并复用缓存实例，实例的配置优先于公共配置")
+    void givenConfigThenCreateConfiguredInstances() {
+        Config config = mock(Config.class);
+        when(config.get(anyString(), any(Class.class))).thenReturn(null);
+        when(config.get("cache.local.maximum-size", Long.class)).thenReturn(2L);
+        when(config.get("cache.local.instances.large.maximum-size", Long.class)).thenReturn(100L);
+        LocalCacheManager manager = new LocalCacheManager(config);
+
+        Cache small = manager.getInstance("small").orElseThrow();
+        Cache large = manager.getInstance("large").orElseThrow();
+        for (int i = 0; i < 10; i++) {
+            small.put(i, i);
+            large.put(i, i);
+        }
+
+        assertThat(manager.getInstance("small")).containsSame(small);
+        assertThat(((LocalCache) small).size()).isEqualTo(2);
+        assertThat(((LocalCache) large).size()).isEqualTo(10);
+        assertThat(manager.getInstanceNames()).containsExactlyInAnyOrder("small", "large");
+    }
+
+    @Test
+    @DisplayName("名字为空白时，不创建缓存实例")
+    void givenBlankNameThenReturnEmpty() {
+        assertThat(new LocalCacheManager(null).getInstance(" ")).isEmpty();
+    }
+}
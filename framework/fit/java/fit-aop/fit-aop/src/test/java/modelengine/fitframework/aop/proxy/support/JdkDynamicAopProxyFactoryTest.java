@@ -0,0 +1,141 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.proxy.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import modelengine.fitframework.aop.interceptor.MethodInterceptor;
+import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
+import modelengine.fitframework.aop.interceptor.MethodPointcut;
+import modelengine.fitframework.aop.proxy.InterceptSupport;
+import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.ReflectionUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 表示 {@link JdkDynamicAopProxyFactory} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-27
+ */
+@DisplayName("测试 JdkDynamicAopProxyFactory 类")
+public class JdkDynamicAopProxyFactoryTest {
+    private final List<String> records = new ArrayList<>();
+
+    private Greeting createProxy(MethodInterceptor... interceptors) {
+        InterceptSupport support = new DefaultInterceptSupport(Greeting.class,
+                () -> (Greeting) name -> "Hello, " + name + "!",
+                Arrays.asList(interceptors));
+        return ObjectUtils.cast(new JdkDynamicAopProxyFactory().createProxy(support));
+    }
+
+    private MethodInterceptor interceptor(String name, Set<Method> methods,
+            Function<MethodJoinPoint, Object> behavior) {
+        MethodPointcut pointcut = mock(MethodPointcut.class);
+        when(pointcut.methods()).thenReturn(methods);
+        return new MethodInterceptor() {
+            @Nonnull
+            @Override
+            public MethodPointcut getPointCut() {
+                return pointcut;
+            }
+
+            @Override
+            public Object intercept(@Nonnull MethodJoinPoint joinPoint) {
+                JdkDynamicAopProxyFactoryTest.this.records.add(name);
+                return behavior.apply(joinPoint);
+            }
+        };
+    }
+
+    private static Object proceed(MethodJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Method greet() {
+        return ReflectionUtils.getDeclaredMethod(Greeting.class, "greet", String.class);
+    }
+
+    @Test
+    @DisplayName("按照方法拦截器的顺序依次调用匹配当前方法的方法拦截器，最后调用被代理对象")
+    void shouldInvokeMatchedInterceptorsInOrder() {
+        Set<Method> methods = Collections.singleton(greet());
+        Greeting proxy = this.createProxy(
+                this.interceptor("first", methods, joinPoint -> "[" + proceed(joinPoint) + "]"),
+                this.interceptor("unmatched", Collections.emptySet(), JdkDynamicAopProxyFactoryTest::proceed),
+                this.interceptor("second", methods, joinPoint -> {
+                    try {
+                        return joinPoint.proceed(new Object[] {"Jerry"});
+                    } catch (Throwable e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+        assertThat(proxy.greet("Tom")).isEqualTo("[Hello, Jerry!]");
+        assertThat(proxy.greet("Tom")).isEqualTo("[Hello, Jerry!]");
+        assertThat(this.records).containsExactly("first", "second", "first", "second");
+    }
+
+    @Test
+    @DisplayName("通过下一个方法调用的信息反射调用时，结果与直接继续执行一致")
+    void shouldInvokeNextInvocationReflectively() {
+        Set<Method> methods = Collections.singleton(greet());
+        Greeting proxy = this.createProxy(this.interceptor("first", methods, joinPoint -> {
+            Object next = ReflectionUtils.invoke(joinPoint.getNextInvocation().getTarget(),
+                    joinPoint.getNextInvocation().getMethod(),
+                    joinPoint.getNextInvocation().getArguments());
+            return next + "|" + proceed(joinPoint);
+        }), this.interceptor("second", methods, joinPoint -> {
+            Object next = ReflectionUtils.invoke(joinPoint.getNextInvocation().getTarget(),
+                    joinPoint.getNextInvocation().getMethod(),
+                    joinPoint.getNextInvocation().getArguments());
+            return "<" + next + ">";
+        }));
+        assertThat(proxy.greet("Tom")).isEqualTo("<Hello, Tom!>|<Hello, Tom!>");
+        assertThat(this.records).containsExactly("first", "second", "second");
+    }
+
+    @Test
+    @DisplayName("当没有方法拦截器匹配当前方法时，直接调用被代理对象")
+    void shouldInvokeTargetDirectlyWhenNoInterceptorMatches() {
+        Greeting proxy = this.createProxy(this.interceptor("unmatched",
+                Collections.emptySet(),
+                JdkDynamicAopProxyFactoryTest::proceed));
+        assertThat(proxy.greet("Tom")).isEqualTo("Hello, Tom!");
+        assertThat(this.records).isEmpty();
+    }
+
+    /**
+     * 表示测试使用的被代理接口。
+     */
+    @FunctionalInterface
+    public interface Greeting {
+        /**
+         * 问候指定的人。
+         *
+         * @param name 表示被问候的人的名字的 {@link String}。
+         * @return 表示问候语的 {@link String}。
+         */
+        String greet(String name);
+    }
+}
@@ -6,6 +6,7 @@
 
 package modelengine.fitframework.broker;
 
+import modelengine.fitframework.broker.client.BackOff;
 import modelengine.fitframework.broker.client.Invoker;
 import modelengine.fitframework.broker.client.Router;
 import modelengine.fitframework.broker.support.DefaultInvocationContext;
@@ -102,6 +103,28 @@ public interface InvocationContext {
      */
     int retry();
 
+    /**
+     * 获取重试前的退避策略。
+     *
+     * @return 表示重试前的退避策略的 {@link BackOff}，为 {@code null} 时表示立即重试。
+     */
+    BackOff retryBackOff();
+
+    /**
+     * 判断当前调用是否使用对冲请求。
+     * <p>对冲请求在第一次调用超过对冲延迟仍未返回时，向另一个地址发起第二次调用，并使用最先成功的结果。</p>
+     *
+     * @return 如果当前调用使用对冲请求，返回 {@code true}，否则，返回 {@code false}。
+     */
+    boolean isHedged();
+
+    /**
+     * 获取对冲请求的延迟毫秒数。
+     *
+     * @return 表示对冲请求的延迟毫秒数的 {@code long}，不大于 {@code 0} 时表示使用服务实现最近调用耗时的 P95 值。
+     */
+    long hedgeDelayMillis();
+
     /**
      * 获取服务调用超时时间。
      *
@@ -146,6 +169,22 @@ public interface InvocationContext {
      */
     boolean isMulticast();
 
+    /**
+     * 判断当前多播调用是否并发地调用所有服务实现。
+     * <p>并发多播时，{@link #timeout()} 表示整个多播调用的截止时间，而不是每个服务实现的调用超时时间。</p>
+     *
+     * @return 如果当前多播调用并发地调用所有服务实现，返回 {@code true}，否则，返回 {@code false}。
+     */
+    boolean isConcurrentMulticast();
+
+    /**
+     * 获取并发多播调用需要的成功结果数量。
+     * <p>收到指定数量的成功结果后，不再等待其余的服务实现，直接聚合已经收到的结果。</p>
+     *
+     * @return 表示需要的成功结果数量的 {@code int}，不大于 {@code 0} 时表示等待所有服务实现。
+     */
+    int multicastQuorum();
+
     /**
      * 返回当前调用的通信方式。
      *
@@ -267,6 +306,31 @@ public interface InvocationContext {
          */
         Builder retry(int maxCount);
 
+        /**
+         * 向当前构建器中设置重试前的退避策略。
+         *
+         * @param backOff 表示重试前的退避策略的 {@link BackOff}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder retryBackOff(BackOff backOff);
+
+        /**
+         * 向当前构建器中设置当前调用是否使用对冲请求。
+         *
+         * @param isHedged 如果当前调用使用对冲请求，则为 {@code true}，否则为 {@code false}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder isHedged(boolean isHedged);
+
+        /**
+         * 向当前构建器中设置对冲请求的延迟毫秒数。
+         *
+         * @param hedgeDelayMillis 表示对冲请求的延迟毫秒数的 {@code long}，不大于 {@code 0} 时表示使用服务实现最近调用耗时的
+         * P95 值。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder hedgeDelayMillis(long hedgeDelayMillis);
+
         /**
          * 向当前构建器中设置服务调用的超时时间。
          *
@@ -315,6 +379,22 @@ public interface InvocationContext {
          */
         Builder isMulticast(boolean isMulticast);
 
+        /**
+         * 向当前构建器中设置当前多播调用是否并发地调用所有服务实现。
+         *
+         * @param isConcurrentMulticast 如果当前多播调用并发地调用所有服务实现，则为 {@code true}，否则为 {@code false}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder isConcurrentMulticast(boolean isConcurrentMulticast);
+
+        /**
+         * 向当前构建器中设置并发多播调用需要的成功结果数量。
+         *
+         * @param quorum 表示需要的成功结果数量的 {@code int}，不大于 {@code 0} 时表示等待所有服务实现。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder multicastQuorum(int quorum);
+
         /**
          * 向当前构建器中设置调用的通信方式。
          *
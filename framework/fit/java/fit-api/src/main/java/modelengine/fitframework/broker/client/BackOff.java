@@ -0,0 +1,86 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 表示服务调用重试前的退避策略。
+ * <p>方法签名与 {@code fit-retry} 中的 {@code RetryBackOff} 一致，因此已有的退避策略可以通过方法引用直接使用，例如
+ * {@code new ExponentialRetryBackOff<>(100, 1000, 2)::sleepMillis}。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-21
+ */
+@FunctionalInterface
+public interface BackOff {
+    /**
+     * 获取下一次重试前需要等待的毫秒数。
+     *
+     * @param retryTimes 表示即将进行的重试次数的 {@code int}，第一次重试为 {@code 1}。
+     * @param cause 表示上一次调用失败的原因的 {@link Throwable}。
+     * @return 表示需要等待的毫秒数的 {@code long}。
+     */
+    long sleepMillis(int retryTimes, Throwable cause);
+
+    /**
+     * 获取不等待的退避策略。
+     *
+     * @return 表示不等待的退避策略的 {@link BackOff}。
+     */
+    static BackOff none() {
+        return (retryTimes, cause) -> 0;
+    }
+
+    /**
+     * 获取固定等待时间的退避策略。
+     *
+     * @param interval 表示每次重试前等待的毫秒数的 {@code long}。
+     * @return 表示固定等待时间的退避策略的 {@link BackOff}。
+     */
+    static BackOff fixed(long interval) {
+        long actualInterval = Math.max(interval, 0);
+        return (retryTimes, cause) -> actualInterval;
+    }
+
+    /**
+     * 获取指数增长等待时间的退避策略。
+     *
+     * @param initialInterval 表示第一次重试前等待的毫秒数的 {@code long}。
+     * @param maxInterval 表示最长等待的毫秒数的 {@code long}。
+     * @param multiplier 表示每次重试等待时间增长倍数的 {@code double}。
+     * @return 表示指数增长等待时间的退避策略的 {@link BackOff}。
+     */
+    static BackOff exponential(long initialInterval, long maxInterval, double multiplier) {
+        long actualInitialInterval = Math.max(initialInterval, 0);
+        long actualMaxInterval = Math.max(maxInterval, actualInitialInterval);
+        double actualMultiplier = Math.max(multiplier, 1.0);
+        return (retryTimes, cause) -> {
+            if (retryTimes <= 1) {
+                return actualInitialInterval;
+            }
+            return Math.min((long) (actualInitialInterval * Math.pow(actualMultiplier, retryTimes - 1)),
+                    actualMaxInterval);
+        };
+    }
+
+    /**
+     * 为指定的退避策略增加随机抖动，实际等待时间在 {@code 0} 到原等待时间之间均匀分布，避免多个调用方同时重试。
+     *
+     * @param backOff 表示原退避策略的 {@link BackOff}。
+     * @return 表示增加随机抖动后的退避策略的 {@link BackOff}。
+     */
+    static BackOff jittered(BackOff backOff) {
+        if (backOff == null) {
+            return none();
+        }
+        return (retryTimes, cause) -> {
+            long interval = backOff.sleepMillis(retryTimes, cause);
+            return interval <= 0 ? 0 : ThreadLocalRandom.current().nextLong(interval + 1);
+        };
+    }
+}
@@ -12,6 +12,7 @@ import modelengine.fitframework.broker.Genericable;
 import modelengine.fitframework.broker.Target;
 import modelengine.fitframework.broker.UniqueFitableId;
 import modelengine.fitframework.broker.client.filter.loadbalance.EmptyFilter;
+import modelengine.fitframework.broker.client.filter.loadbalance.LeastLoadedFilter;
 import modelengine.fitframework.broker.client.filter.loadbalance.RoundRobinFilter;
 import modelengine.fitframework.conf.runtime.CommunicationProtocol;
 import modelengine.fitframework.conf.runtime.SerializationFormat;
@@ -79,6 +80,18 @@ public interface Invoker {
      */
     Invoker multicast(BinaryOperator<Object> accumulator);
 
+    /**
+     * 使用并发多播调用，即同时调用所有服务实现，调用耗时取决于最慢的服务实现而不是所有服务实现耗时之和。
+     * <p>通过 {@link #timeout(long, TimeUnit)} 设置的超时时间作为整个多播调用的截止时间，到达截止时间仍未返回的服务实现
+     * 不参与结果聚合。</p>
+     *
+     * @param accumulator 表示多个结果的聚合器的 {@link BinaryOperator}{@code <}{@link Object}{@code >}。
+     * @param quorum 表示需要的成功结果数量的 {@code int}，收到足够的成功结果后不再等待其余的服务实现，不大于 {@code 0}
+     * 时表示等待所有服务实现。
+     * @return 表示当前的服务调用器的 {@link Invoker}。
+     */
+    Invoker concurrentMulticast(BinaryOperator<Object> accumulator, int quorum);
+
     /**
      * 设置最多可重试的次数。
      *
@@ -87,6 +100,25 @@ public interface Invoker {
      */
     Invoker retry(int maxCount);
 
+    /**
+     * 设置最多可重试的次数以及重试前的退避策略。
+     * <p>重试时优先选择之前没有调用过的地址。</p>
+     *
+     * @param maxCount 表示最多可以重试的次数的 {@code int}。
+     * @param backOff 表示重试前的退避策略的 {@link BackOff}。
+     * @return 表示当前的服务调用器的 {@link Invoker}。
+     */
+    Invoker retry(int maxCount, BackOff backOff);
+
+    /**
+     * 使用对冲请求：第一次调用超过指定延迟仍未返回时，向另一个地址发起第二次调用，并使用最先成功的结果。
+     * <p>对冲请求会重复调用服务实现，只适用于幂等的服务。</p>
+     *
+     * @param delayMillis 表示对冲请求的延迟毫秒数的 {@code long}，不大于 {@code 0} 时表示使用服务实现最近调用耗时的 P95 值。
+     * @return 表示当前的服务调用器的 {@link Invoker}。
+     */
+    Invoker hedge(long delayMillis);
+
     /**
      * 设置超时时间。
      *
@@ -237,5 +269,15 @@ public interface Invoker {
         static Filter roundRobin() {
             return RoundRobinFilter.INSTANCE;
         }
+
+        /**
+         * 获取一个根据调用地址实际负载选择地址的负载均衡过滤器。
+         * <p>该过滤器优先选择进行中的调用少、近期耗时低的地址，并排除连续失败的地址。</p>
+         *
+         * @return 表示根据负载选择地址的负载均衡过滤器的实例的 {@link Filter}。
+         */
+        static Filter leastLoaded() {
+            return LeastLoadedFilter.INSTANCE;
+        }
     }
 }
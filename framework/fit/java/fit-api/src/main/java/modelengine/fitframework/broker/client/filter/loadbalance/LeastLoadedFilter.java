@@ -0,0 +1,65 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.client.filter.loadbalance;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.broker.FitableMetadata;
+import modelengine.fitframework.broker.Target;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * 根据调用地址的实际负载选择一个调用地址的负载均衡策略。
+ * <p>排除因为连续通信失败而被摘除的地址后（所有地址都被摘除时不排除），随机选取两个地址，选择其中
+ * {@link TargetStatistics#cost(FitableMetadata, Target) 调用代价} 较小的一个。相比总是选择代价最小的地址，随机选取两个地址
+ * 进行比较可以避免大量调用方同时涌向同一个地址。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-22
+ */
+public class LeastLoadedFilter extends ChampionFilter {
+    /** {@link LeastLoadedFilter} 的预置实例，使用 {@link TargetStatistics#INSTANCE 预置的统计信息}。 */
+    public static final LeastLoadedFilter INSTANCE = new LeastLoadedFilter(TargetStatistics.INSTANCE);
+
+    private final TargetStatistics statistics;
+
+    /**
+     * 使用指定的统计信息初始化 {@link LeastLoadedFilter} 的新实例。
+     *
+     * @param statistics 表示调用地址负载统计信息的 {@link TargetStatistics}。
+     * @throws IllegalArgumentException 当 {@code statistics} 为 {@code null} 时。
+     */
+    public LeastLoadedFilter(TargetStatistics statistics) {
+        this.statistics = notNull(statistics, "The target statistics cannot be null.");
+    }
+
+    @Override
+    protected Optional<Target> select(FitableMetadata fitable, String localWorkerId, List<Target> toFilterTargets) {
+        List<Target> healthyTargets = toFilterTargets.stream()
+                .filter(target -> !this.statistics.isEjected(fitable, target))
+                .collect(Collectors.toList());
+        List<Target> candidates = healthyTargets.isEmpty() ? toFilterTargets : healthyTargets;
+        if (candidates.size() == 1) {
+            return Optional.of(candidates.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Target firstTarget = candidates.get(first);
+        Target secondTarget = candidates.get(second);
+        return Optional.of(this.statistics.cost(fitable, secondTarget) < this.statistics.cost(fitable, firstTarget)
+                ? secondTarget
+                : firstTarget);
+    }
+}
@@ -0,0 +1,189 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.client.filter.loadbalance;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.broker.FitableMetadata;
+import modelengine.fitframework.broker.Target;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 表示按照服务实现和进程统计的远程调用负载信息，包括正在进行中的调用数量、调用耗时的峰值指数加权移动平均值（Peak EWMA）以及连续
+ * 通信失败次数。
+ * <p>耗时高于当前平均值的样本会直接成为新的平均值，低于当前平均值的样本按照距上次更新的时间指数衰减，从而对变慢的进程快速反应、
+ * 对恢复的进程平滑反应。连续通信失败达到阈值的进程会在一段时间内不再被选择调用该服务实现。</p>
+ * <p>没有进行中的调用且长时间没有更新的统计信息会被清理，避免已经下线的进程的统计信息一直保留。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-22
+ */
+public class TargetStatistics {
+    /** {@link TargetStatistics} 的预置实例，由远程调用执行器在每次远程调用前后更新。 */
+    public static final TargetStatistics INSTANCE = new TargetStatistics();
+
+    private static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int EJECTION_FAILURES = 5;
+    private static final long EJECTION_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Map<List<String>, Statistic> statistics = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    private final AtomicLong lastEvictedAt;
+
+    /**
+     * 初始化 {@link TargetStatistics} 的新实例。
+     */
+    public TargetStatistics() {
+        this(System::nanoTime);
+    }
+
+    TargetStatistics(LongSupplier clock) {
+        this.clock = clock;
+        this.lastEvictedAt = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * 记录向指定地址的指定服务实现发起了一次调用。
+     *
+     * @param fitable 表示服务实现元数据的 {@link FitableMetadata}。
+     * @param target 表示调用地址的 {@link Target}。
+     * @throws IllegalArgumentException 当 {@code fitable} 或 {@code target} 为 {@code null} 时。
+     */
+    public void onStarted(FitableMetadata fitable, Target target) {
+        long now = this.clock.getAsLong();
+        this.statistics.compute(key(fitable, target), (key, statistic) -> {
+            Statistic actual = statistic == null ? new Statistic(now) : statistic;
+            actual.inflight.incrementAndGet();
+            return actual;
+        });
+        this.evictIdle(now);
+    }
+
+    /**
+     * 记录向指定地址的指定服务实现发起的一次调用已经结束。
+     * <p>只有通信失败才应该记为失败，服务实现返回的业务异常说明地址可达，应该记为成功。</p>
+     *
+     * @param fitable 表示服务实现元数据的 {@link FitableMetadata}。
+     * @param target 表示调用地址的 {@link Target}。
+     * @param latencyNanos 表示调用耗时纳秒数的 {@code long}。
+     * @param succeeded 表示通信是否成功的 {@code boolean}。
+     * @throws IllegalArgumentException 当 {@code fitable} 或 {@code target} 为 {@code null} 时。
+     */
+    public void onFinished(FitableMetadata fitable, Target target, long latencyNanos, boolean succeeded) {
+        Statistic statistic = this.statistic(fitable, target);
+        statistic.inflight.decrementAndGet();
+        statistic.finish(Math.max(latencyNanos, 0), succeeded, this.clock.getAsLong());
+    }
+
+    /**
+     * 获取向指定地址的指定服务实现发起调用的代价，代价越小越应该被选择。
+     * <p>代价为耗时的峰值指数加权移动平均值与（进行中的调用数量 + 1）的乘积，没有任何统计信息的地址代价为 {@code 0}。</p>
+     *
+     * @param fitable 表示服务实现元数据的 {@link FitableMetadata}。
+     * @param target 表示调用地址的 {@link Target}。
+     * @return 表示调用代价的 {@code double}。
+     * @throws IllegalArgumentException 当 {@code fitable} 或 {@code target} 为 {@code null} 时。
+     */
+    public double cost(FitableMetadata fitable, Target target) {
+        Statistic statistic = this.statistics.get(key(fitable, target));
+        if (statistic == null) {
+            return 0;
+        }
+        return statistic.ewma() * (Math.max(statistic.inflight.get(), 0) + 1);
+    }
+
+    /**
+     * 判断指定地址的指定服务实现当前是否因为连续通信失败而被摘除。
+     *
+     * @param fitable 表示服务实现元数据的 {@link FitableMetadata}。
+     * @param target 表示调用地址的 {@link Target}。
+     * @return 如果地址被摘除，则返回 {@code true}，否则，返回 {@code false}。
+     * @throws IllegalArgumentException 当 {@code fitable} 或 {@code target} 为 {@code null} 时。
+     */
+    public boolean isEjected(FitableMetadata fitable, Target target) {
+        Statistic statistic = this.statistics.get(key(fitable, target));
+        return statistic != null && statistic.isEjected(this.clock.getAsLong());
+    }
+
+    private Statistic statistic(FitableMetadata fitable, Target target) {
+        return this.statistics.computeIfAbsent(key(fitable, target), key -> new Statistic(this.clock.getAsLong()));
+    }
+
+    private void evictIdle(long now) {
+        long last = this.lastEvictedAt.get();
+        if (now - last < DECAY_NANOS || !this.lastEvictedAt.compareAndSet(last, now)) {
+            return;
+        }
+        for (List<String> key : this.statistics.keySet()) {
+            this.statistics.computeIfPresent(key, (ignored, statistic) -> statistic.isIdle(now) ? null : statistic);
+        }
+    }
+
+    private static List<String> key(FitableMetadata fitable, Target target) {
+        notNull(fitable, "The fitable cannot be null.");
+        notNull(target, "The target cannot be null.");
+        return Arrays.asList(fitable.genericable().id(), fitable.id(), target.workerId());
+    }
+
+    private static final class Statistic {
+        private final AtomicInteger inflight = new AtomicInteger();
+        private double ewmaNanos;
+        private long updatedAt;
+        private int consecutiveFailures;
+        private boolean ejected;
+        private long ejectedUntil;
+
+        private Statistic(long now) {
+            this.updatedAt = now;
+        }
+
+        private synchronized void finish(long latencyNanos, boolean succeeded, long now) {
+            double current = this.ewmaNanos;
+            this.ewmaNanos = latencyNanos > current
+                    ? latencyNanos
+                    : current + (latencyNanos - current) * (1 - decay(now - this.updatedAt));
+            this.updatedAt = now;
+            if (succeeded) {
+                this.consecutiveFailures = 0;
+                return;
+            }
+            if (++this.consecutiveFailures >= EJECTION_FAILURES) {
+                this.consecutiveFailures = 0;
+                this.ejected = true;
+                this.ejectedUntil = now + EJECTION_NANOS;
+            }
+        }
+
+        private synchronized double ewma() {
+            return this.ewmaNanos;
+        }
+
+        private synchronized boolean isEjected(long now) {
+            if (this.ejected && now - this.ejectedUntil >= 0) {
+                this.ejected = false;
+            }
+            return this.ejected;
+        }
+
+        private synchronized boolean isIdle(long now) {
+            return this.inflight.get() <= 0 && now - this.updatedAt >= IDLE_NANOS && !this.isEjected(now);
+        }
+
+        private static double decay(long elapsedNanos) {
+            return Math.exp(-(double) Math.max(elapsedNanos, 0) / DECAY_NANOS);
+        }
+    }
+}
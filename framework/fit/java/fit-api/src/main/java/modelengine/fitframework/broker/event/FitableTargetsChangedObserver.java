@@ -0,0 +1,49 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.event;
+
+import modelengine.fitframework.broker.UniqueFitableId;
+import modelengine.fitframework.ioc.BeanContainer;
+import modelengine.fitframework.ioc.BeanFactory;
+import modelengine.fitframework.ioc.BeanFactoryOrderComparator;
+import modelengine.fitframework.util.CollectionUtils;
+
+import java.util.List;
+
+/**
+ * 表示服务实现的地址列表发生变化的观察者。
+ * <p>服务地址的来源（例如注册中心的本地缓存）在地址列表更新后通知该观察者，用于使依赖地址列表的缓存失效。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-19
+ */
+@FunctionalInterface
+public interface FitableTargetsChangedObserver {
+    /**
+     * 当指定服务实现的地址列表发生变化后调用的方法。
+     *
+     * @param ids 表示地址列表发生变化的服务实现唯一标识列表的 {@link List}{@code <}{@link UniqueFitableId}{@code >}。
+     */
+    void onFitableTargetsChanged(List<UniqueFitableId> ids);
+
+    /**
+     * 通知容器中所有实现了 {@link FitableTargetsChangedObserver} 接口的 Bean。
+     *
+     * @param container 表示发出通知的容器的 {@link BeanContainer}。
+     * @param ids 表示地址列表发生变化的服务实现唯一标识列表的 {@link List}{@code <}{@link UniqueFitableId}{@code >}。
+     */
+    static void notify(BeanContainer container, List<UniqueFitableId> ids) {
+        if (container == null || CollectionUtils.isEmpty(ids)) {
+            return;
+        }
+        container.all(FitableTargetsChangedObserver.class)
+                .stream()
+                .sorted(BeanFactoryOrderComparator.INSTANCE)
+                .map(BeanFactory::<FitableTargetsChangedObserver>get)
+                .forEach(observer -> observer.onFitableTargetsChanged(ids));
+    }
+}
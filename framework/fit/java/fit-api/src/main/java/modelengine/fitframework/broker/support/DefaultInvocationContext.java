@@ -9,6 +9,7 @@ package modelengine.fitframework.broker.support;
 import modelengine.fitframework.broker.CommunicationType;
 import modelengine.fitframework.broker.InvocationContext;
 import modelengine.fitframework.broker.UniqueFitableId;
+import modelengine.fitframework.broker.client.BackOff;
 import modelengine.fitframework.broker.client.Invoker;
 import modelengine.fitframework.broker.client.Router;
 import modelengine.fitframework.conf.runtime.CommunicationProtocol;
@@ -44,12 +45,17 @@ public class DefaultInvocationContext implements InvocationContext {
     private final List<String> environmentPrioritySequence;
     private final String specifiedEnvironment;
     private final int retry;
+    private final BackOff retryBackOff;
+    private final boolean isHedged;
+    private final long hedgeDelayMillis;
     private final long timeout;
     private final TimeUnit timeoutUnit;
     private final CommunicationProtocol protocol;
     private final SerializationFormat format;
     private final boolean isGeneric;
     private final boolean isMulticast;
+    private final boolean isConcurrentMulticast;
+    private final int multicastQuorum;
     private final CommunicationType communicationType;
     private final boolean withDegradation;
     private final BinaryOperator<Object> accumulator;
@@ -58,9 +64,11 @@ public class DefaultInvocationContext implements InvocationContext {
     private DefaultInvocationContext(String genericableId, boolean isMicro, Method genericableMethod,
             Router.Filter routingFilter, Invoker.Filter loadBalanceFilter, List<UniqueFitableId> loadBalanceWith,
             String localWorkerId, String appName, List<String> environmentPrioritySequence, String specifiedEnvironment,
-            int retry, long timeout, TimeUnit timeoutUnit, CommunicationProtocol protocol, SerializationFormat format,
-            boolean isGeneric, boolean isMulticast, CommunicationType communicationType, boolean withDegradation,
-            BinaryOperator<Object> accumulator, Map<String, Object> extensions) {
+            int retry, BackOff retryBackOff, boolean isHedged, long hedgeDelayMillis, long timeout,
+            TimeUnit timeoutUnit, CommunicationProtocol protocol, SerializationFormat format, boolean isGeneric,
+            boolean isMulticast, boolean isConcurrentMulticast, int multicastQuorum,
+            CommunicationType communicationType, boolean withDegradation, BinaryOperator<Object> accumulator,
+            Map<String, Object> extensions) {
         this.genericableId = genericableId;
         this.isMicro = isMicro;
         this.genericableMethod = genericableMethod;
@@ -72,12 +80,17 @@ public class DefaultInvocationContext implements InvocationContext {
         this.environmentPrioritySequence = Collections.unmodifiableList(environmentPrioritySequence);
         this.specifiedEnvironment = specifiedEnvironment;
         this.retry = retry;
+        this.retryBackOff = retryBackOff;
+        this.isHedged = isHedged;
+        this.hedgeDelayMillis = hedgeDelayMillis;
         this.timeout = timeout;
         this.timeoutUnit = timeoutUnit;
         this.protocol = protocol;
         this.format = format;
         this.isGeneric = isGeneric;
         this.isMulticast = isMulticast;
+        this.isConcurrentMulticast = isConcurrentMulticast;
+        this.multicastQuorum = multicastQuorum;
         this.communicationType = communicationType;
         this.withDegradation = withDegradation;
         this.accumulator = accumulator;
@@ -139,6 +152,21 @@ public class DefaultInvocationContext implements InvocationContext {
         return this.retry;
     }
 
+    @Override
+    public BackOff retryBackOff() {
+        return this.retryBackOff;
+    }
+
+    @Override
+    public boolean isHedged() {
+        return this.isHedged;
+    }
+
+    @Override
+    public long hedgeDelayMillis() {
+        return this.hedgeDelayMillis;
+    }
+
     @Override
     public long timeout() {
         return this.timeout;
@@ -169,6 +197,16 @@ public class DefaultInvocationContext implements InvocationContext {
         return this.isMulticast;
     }
 
+    @Override
+    public boolean isConcurrentMulticast() {
+        return this.isConcurrentMulticast;
+    }
+
+    @Override
+    public int multicastQuorum() {
+        return this.multicastQuorum;
+    }
+
     @Override
     public CommunicationType communicationType() {
         return this.communicationType;
@@ -204,12 +242,17 @@ public class DefaultInvocationContext implements InvocationContext {
         private final List<String> environmentPrioritySequence = new ArrayList<>();
         private String specifiedEnvironment;
         private int retry;
+        private BackOff retryBackOff;
+        private boolean isHedged;
+        private long hedgeDelayMillis;
         private long timeout;
         private TimeUnit timeoutUnit;
         private CommunicationProtocol protocol = CommunicationProtocol.UNKNOWN;
         private SerializationFormat format = SerializationFormat.UNKNOWN;
         private boolean isGeneric;
         private boolean isMulticast;
+        private boolean isConcurrentMulticast;
+        private int multicastQuorum;
         private boolean withDegradation;
         private BinaryOperator<Object> accumulator;
         private CommunicationType communicationType = CommunicationType.DEFAULT;
@@ -234,12 +277,17 @@ public class DefaultInvocationContext implements InvocationContext {
                         .ifPresent(this.environmentPrioritySequence::addAll);
                 this.specifiedEnvironment = context.specifiedEnvironment();
                 this.retry = context.retry();
+                this.retryBackOff = context.retryBackOff();
+                this.isHedged = context.isHedged();
+                this.hedgeDelayMillis = context.hedgeDelayMillis();
                 this.timeout = context.timeout();
                 this.timeoutUnit = context.timeoutUnit();
                 this.protocol = context.protocol();
                 this.format = context.format();
                 this.isGeneric = context.isGeneric();
                 this.isMulticast = context.isMulticast();
+                this.isConcurrentMulticast = context.isConcurrentMulticast();
+                this.multicastQuorum = context.multicastQuorum();
                 this.communicationType = context.communicationType();
                 this.withDegradation = context.withDegradation();
                 this.accumulator = context.accumulator();
@@ -318,6 +366,24 @@ public class DefaultInvocationContext implements InvocationContext {
             return this;
         }
 
+        @Override
+        public InvocationContext.Builder retryBackOff(BackOff backOff) {
+            this.retryBackOff = backOff;
+            return this;
+        }
+
+        @Override
+        public InvocationContext.Builder isHedged(boolean isHedged) {
+            this.isHedged = isHedged;
+            return this;
+        }
+
+        @Override
+        public InvocationContext.Builder hedgeDelayMillis(long hedgeDelayMillis) {
+            this.hedgeDelayMillis = hedgeDelayMillis;
+            return this;
+        }
+
         @Override
         public InvocationContext.Builder timeout(long timeout) {
             this.timeout = timeout;
@@ -354,6 +420,18 @@ public class DefaultInvocationContext implements InvocationContext {
             return this;
         }
 
+        @Override
+        public InvocationContext.Builder isConcurrentMulticast(boolean isConcurrentMulticast) {
+            this.isConcurrentMulticast = isConcurrentMulticast;
+            return this;
+        }
+
+        @Override
+        public InvocationContext.Builder multicastQuorum(int quorum) {
+            this.multicastQuorum = quorum;
+            return this;
+        }
+
         @Override
         public InvocationContext.Builder communicationType(CommunicationType communicationType) {
             this.communicationType = ObjectUtils.nullIf(communicationType, CommunicationType.DEFAULT);
@@ -395,12 +473,17 @@ public class DefaultInvocationContext implements InvocationContext {
                     this.environmentPrioritySequence,
                     this.specifiedEnvironment,
                     this.retry,
+                    this.retryBackOff,
+                    this.isHedged,
+                    this.hedgeDelayMillis,
                     this.timeout,
                     this.timeoutUnit,
                     this.protocol,
                     this.format,
                     this.isGeneric,
                     this.isMulticast,
+                    this.isConcurrentMulticast,
+                    this.multicastQuorum,
                     this.communicationType,
                     this.withDegradation,
                     this.accumulator,
@@ -6,6 +6,10 @@
 
 package modelengine.fitframework.cache;
 
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import java.util.function.Supplier;
+
 /**
  * 表示缓存实例。
  *
@@ -47,6 +51,25 @@ public interface Cache {
      */
     void put(Object key, Object value);
 
+    /**
+     * 获取指定键的值，当值不存在时，使用指定的加载方法获取值，并设置到当前缓存实例中。
+     * <p>默认实现不保证加载方法只被执行一次，具体实现可以保证同一个键的并发加载只执行一次。</p>
+     *
+     * @param key 表示指定键的 {@link Object}。
+     * @param loader 表示值不存在时的加载方法的 {@link Supplier}{@code <?>}。
+     * @return 表示指定键的值的 {@link Object}。
+     * @throws IllegalArgumentException 当 {@code key} 或 {@code loader} 为 {@code null} 时。
+     */
+    default Object get(Object key, Supplier<?> loader) {
+        notNull(loader, "The cache loader cannot be null.");
+        if (this.contains(key)) {
+            return this.get(key);
+        }
+        Object value = loader.get();
+        this.put(key, value);
+        return value;
+    }
+
     /**
      * 移除指定键的值。
      *
@@ -0,0 +1,142 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.client.filter.loadbalance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import modelengine.fitframework.broker.FitableMetadata;
+import modelengine.fitframework.broker.GenericableMetadata;
+import modelengine.fitframework.broker.Target;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link LeastLoadedFilter} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-22
+ */
+@DisplayName("验证根据负载选择地址的负载均衡的过滤器")
+public class LeastLoadedFilterTest {
+    private final AtomicLong now = new AtomicLong();
+    private final Target fast = target("fast");
+    private final Target slow = target("slow");
+
+    private TargetStatistics statistics;
+    private LeastLoadedFilter filter;
+    private FitableMetadata fitable;
+
+    @BeforeEach
+    void setup() {
+        this.statistics = new TargetStatistics(this.now::get);
+        this.filter = new LeastLoadedFilter(this.statistics);
+        this.fitable = mock(FitableMetadata.class);
+        GenericableMetadata genericable = mock(GenericableMetadata.class);
+        when(this.fitable.genericable()).thenReturn(genericable);
+        when(genericable.id()).thenReturn("gid");
+        when(this.fitable.id()).thenReturn("fid");
+    }
+
+    private static Target target(String workerId) {
+        Target target = mock(Target.class);
+        when(target.workerId()).thenReturn(workerId);
+        return target;
+    }
+
+    private void call(Target target, long latencyMillis, boolean succeeded) {
+        this.statistics.onStarted(this.fitable, target);
+        this.now.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        this.statistics.onFinished(this.fitable, target, TimeUnit.MILLISECONDS.toNanos(latencyMillis), succeeded);
+    }
+
+    private List<Target> select() {
+        return this.filter.filter(this.fitable, "local", Arrays.asList(this.fast, this.slow), new HashMap<>());
+    }
+
+    @Test
+    @DisplayName("总是选择耗时更低的地址")
+    void shouldSelectTargetWithLowerLatency() {
+        this.call(this.fast, 10, true);
+        this.call(this.slow, 500, true);
+        for (int i = 0; i < 20; i++) {
+            assertThat(this.select()).containsExactly(this.fast);
+        }
+    }
+
+    @Test
+    @DisplayName("进行中的调用数量过多时，选择耗时更高但空闲的地址")
+    void shouldAvoidTargetWithTooManyInflightRequests() {
+        this.call(this.fast, 10, true);
+        this.call(this.slow, 50, true);
+        for (int i = 0; i < 10; i++) {
+            this.statistics.onStarted(this.fitable, this.fast);
+        }
+        assertThat(this.select()).containsExactly(this.slow);
+    }
+
+    @Test
+    @DisplayName("连续失败的地址被摘除，摘除时间结束后恢复")
+    void shouldEjectTargetWithConsecutiveFailures() {
+        this.call(this.slow, 500, true);
+        for (int i = 0; i < 5; i++) {
+            this.call(this.fast, 1, false);
+        }
+        assertThat(this.statistics.isEjected(this.fitable, this.fast)).isTrue();
+        assertThat(this.select()).containsExactly(this.slow);
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertThat(this.statistics.isEjected(this.fitable, this.fast)).isFalse();
+        assertThat(this.select()).containsExactly(this.fast);
+    }
+
+    @Test
+    @DisplayName("地址的统计信息按照服务实现区分，一个服务实现的失败不影响同一地址的其他服务实现")
+    void shouldKeepStatisticsPerFitable() {
+        FitableMetadata another = mock(FitableMetadata.class);
+        GenericableMetadata genericable = mock(GenericableMetadata.class);
+        when(another.genericable()).thenReturn(genericable);
+        when(genericable.id()).thenReturn("gid");
+        when(another.id()).thenReturn("another");
+        for (int i = 0; i < 5; i++) {
+            this.call(this.fast, 1, false);
+        }
+        assertThat(this.statistics.isEjected(this.fitable, this.fast)).isTrue();
+        assertThat(this.statistics.isEjected(another, this.fast)).isFalse();
+        assertThat(this.statistics.cost(another, this.fast)).isZero();
+    }
+
+    @Test
+    @DisplayName("长时间没有调用的地址的统计信息被清理，进行中的调用的统计信息被保留")
+    void shouldEvictIdleStatistics() {
+        this.call(this.fast, 500, true);
+        this.call(this.slow, 500, true);
+        this.statistics.onStarted(this.fitable, this.slow);
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        this.statistics.onStarted(this.fitable, target("another"));
+        assertThat(this.statistics.cost(this.fitable, this.fast)).isZero();
+        assertThat(this.statistics.cost(this.fitable, this.slow)).isPositive();
+    }
+
+    @Test
+    @DisplayName("所有地址都被摘除时，仍然在所有地址中选择")
+    void shouldSelectFromAllTargetsWhenAllEjected() {
+        for (int i = 0; i < 5; i++) {
+            this.call(this.fast, 1, false);
+            this.call(this.slow, 1, false);
+        }
+        assertThat(this.select()).hasSize(1);
+    }
+}
@@ -16,6 +16,7 @@ import modelengine.fitframework.broker.GenericableMetadata;
 import modelengine.fitframework.broker.GenericableRepository;
 import modelengine.fitframework.broker.InvocationContext;
 import modelengine.fitframework.broker.UniqueFitableId;
+import modelengine.fitframework.broker.client.BackOff;
 import modelengine.fitframework.broker.client.FitableNotFoundException;
 import modelengine.fitframework.broker.client.GenericableNotFoundException;
 import modelengine.fitframework.broker.client.Invoker;
@@ -84,7 +85,7 @@ public class DefaultInvoker implements Invoker {
 
     @Override
     public Invoker unicast() {
-        this.contextBuilder.isMulticast(false);
+        this.contextBuilder.isMulticast(false).isConcurrentMulticast(false);
         return this;
     }
 
@@ -97,7 +98,17 @@ public class DefaultInvoker implements Invoker {
     @Override
     public Invoker multicast(BinaryOperator<Object> accumulator) {
         this.accumulator = accumulator;
-        this.contextBuilder.isMulticast(true).accumulator(accumulator);
+        this.contextBuilder.isMulticast(true).isConcurrentMulticast(false).accumulator(accumulator);
+        return this;
+    }
+
+    @Override
+    public Invoker concurrentMulticast(BinaryOperator<Object> accumulator, int quorum) {
+        this.accumulator = accumulator;
+        this.contextBuilder.isMulticast(true)
+                .isConcurrentMulticast(true)
+                .multicastQuorum(quorum)
+                .accumulator(accumulator);
         return this;
     }
 
@@ -109,6 +120,20 @@ public class DefaultInvoker implements Invoker {
         return this;
     }
 
+    @Override
+    public Invoker retry(int maxCount, BackOff backOff) {
+        if (maxCount >= 0) {
+            this.contextBuilder.retry(maxCount).retryBackOff(backOff);
+        }
+        return this;
+    }
+
+    @Override
+    public Invoker hedge(long delayMillis) {
+        this.contextBuilder.isHedged(true).hedgeDelayMillis(delayMillis);
+        return this;
+    }
+
     @Override
     public Invoker timeout(long timeout, TimeUnit timeoutUnit) {
         if (timeout > 0) {
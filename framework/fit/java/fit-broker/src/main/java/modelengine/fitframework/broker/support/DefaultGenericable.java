@@ -46,6 +46,8 @@ public class DefaultGenericable implements ConfigurableGenericable {
     private final DynamicRouter dynamicRouter;
     private final GenericableExecutor retryableExecutor;
     private final GenericableExecutor degradableExecutor;
+    private final GenericableExecutor retryableMulticastExecutor;
+    private final GenericableExecutor degradableMulticastExecutor;
 
     private final String id;
     private final String version;
@@ -55,12 +57,15 @@ public class DefaultGenericable implements ConfigurableGenericable {
     private final ConfigurableRoute route;
     private final ConfigurableTags tags;
     private final Map<UniqueFitableId, Fitable> fitables = new ConcurrentHashMap<>();
+    private volatile List<Fitable> fitablesSnapshot;
     private final UniqueGenericableId uniqueId;
 
     DefaultGenericable(DynamicRouter dynamicRouter, String id, String version) {
         this.dynamicRouter = dynamicRouter;
         this.retryableExecutor = new RetryableGenericableExecutor(new UnicastGenericableExecutor());
         this.degradableExecutor = new DegradableGenericableExecutor(this.retryableExecutor);
+        this.retryableMulticastExecutor = new MulticastGenericableExecutor(this.retryableExecutor);
+        this.degradableMulticastExecutor = new MulticastGenericableExecutor(this.degradableExecutor);
 
         this.id = notBlank(id, "The genericable id cannot be blank.");
         this.version = notBlank(version, "The genericable version cannot be blank.");
@@ -108,7 +113,16 @@ public class DefaultGenericable implements ConfigurableGenericable {
 
     @Override
     public List<Fitable> fitables() {
-        return Collections.unmodifiableList(new ArrayList<>(this.fitables.values()));
+        List<Fitable> snapshot = this.fitablesSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this.fitables) {
+            if (this.fitablesSnapshot == null) {
+                this.fitablesSnapshot = Collections.unmodifiableList(new ArrayList<>(this.fitables.values()));
+            }
+            return this.fitablesSnapshot;
+        }
     }
 
     @Override
@@ -157,9 +171,8 @@ public class DefaultGenericable implements ConfigurableGenericable {
             throw exception;
         }
         if (context.isMulticast()) {
-            GenericableExecutor multicastExecutor = context.withDegradation()
-                    ? new MulticastGenericableExecutor(this.degradableExecutor)
-                    : new MulticastGenericableExecutor(this.retryableExecutor);
+            GenericableExecutor multicastExecutor =
+                    context.withDegradation() ? this.degradableMulticastExecutor : this.retryableMulticastExecutor;
             return execute(multicastExecutor, this, routedFitables, context, args);
         }
         return context.withDegradation()
@@ -231,24 +244,33 @@ public class DefaultGenericable implements ConfigurableGenericable {
 
     @Override
     public ConfigurableGenericable fitables(List<Fitable> fitables) {
-        this.fitables.clear();
-        if (fitables != null) {
-            fitables.stream()
-                    .filter(Objects::nonNull)
-                    .forEach(fitable -> this.fitables.put(fitable.toUniqueId(), fitable));
+        synchronized (this.fitables) {
+            this.fitables.clear();
+            if (fitables != null) {
+                fitables.stream()
+                        .filter(Objects::nonNull)
+                        .forEach(fitable -> this.fitables.put(fitable.toUniqueId(), fitable));
+            }
+            this.fitablesSnapshot = null;
         }
         return this;
     }
 
     @Override
     public ConfigurableGenericable appendFitable(Fitable fitable) {
-        this.fitables.put(fitable.toUniqueId(), fitable);
+        synchronized (this.fitables) {
+            this.fitables.put(fitable.toUniqueId(), fitable);
+            this.fitablesSnapshot = null;
+        }
         return this;
     }
 
     @Override
     public ConfigurableGenericable clearFitables() {
-        this.fitables.clear();
+        synchronized (this.fitables) {
+            this.fitables.clear();
+            this.fitablesSnapshot = null;
+        }
         return this;
     }
 
@@ -21,30 +21,57 @@ import modelengine.fitframework.broker.client.TargetNotFoundException;
 import modelengine.fitframework.broker.client.filter.loadbalance.EnvironmentFilter;
 import modelengine.fitframework.broker.client.filter.loadbalance.FirstMatchedEnvironmentFilter;
 import modelengine.fitframework.broker.client.filter.loadbalance.ProtocolAndFormatSupportedFilter;
+import modelengine.fitframework.broker.event.FitableTargetsChangedObserver;
+import modelengine.fitframework.conf.runtime.CommunicationProtocol;
+import modelengine.fitframework.conf.runtime.SerializationFormat;
 import modelengine.fitframework.ioc.BeanContainer;
 import modelengine.fitframework.ioc.BeanFactory;
 import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.plugin.Plugin;
+import modelengine.fitframework.plugin.PluginStartedObserver;
+import modelengine.fitframework.plugin.PluginStoppedObserver;
 import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.LazyLoader;
+import modelengine.fitframework.util.MapUtils;
+import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * 表示 {@link LoadBalancer} 的默认实现。
+ * <p>服务实现的地址列表以及经过环境标、通信协议和序列化方式过滤后的地址列表只与调用的服务实现、环境标、通信协议、
+ * 序列化方式和本地进程有关，因此按照这些信息缓存为调用计划，稳定状态下的调用不再重复查询地址和构建过滤器。
+ * 调用上下文中的负载均衡过滤器可能是有状态或随机的，每次调用时仍然会在调用计划的基础上执行。</p>
+ * <p>当服务实现的地址列表变化、或者插件启动和停止时，相关的调用计划失效。地址列表的变化只由注册中心的监听者通知，
+ * 通过其他方式定位的地址列表没有变化通知，因此缓存的地址列表和调用计划在超过有效期后同样失效，重新查询服务地址。</p>
  *
  * @author 季聿阶
  * @since 2023-03-28
  */
-public class DefaultLoadBalancer implements LoadBalancer {
+public class DefaultLoadBalancer
+        implements LoadBalancer, FitableTargetsChangedObserver, PluginStartedObserver, PluginStoppedObserver {
     private static final Logger log = Logger.get(DefaultLoadBalancer.class);
+    private static final int MAX_PLANS_PER_FITABLE = 64;
+    private static final Duration DEFAULT_TARGETS_TTL = Duration.ofSeconds(30);
 
     private final BeanContainer container;
     private final LazyLoader<List<Client>> clientsLoader;
     private final SerializationService serializationService;
     private final TargetLocator targetLocator;
+    private final long targetsTtlNanos;
+    private final Map<UniqueFitableId, CachedTargets> targetsCache = new ConcurrentHashMap<>();
+    private final Map<UniqueFitableId, Map<PlanKey, List<Target>>> plansCache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
 
     /**
      * 使用指定的容器、序列化服务和地址定位服务初始化 {@link DefaultLoadBalancer} 的新实例。
@@ -57,6 +84,22 @@ public class DefaultLoadBalancer implements LoadBalancer {
      */
     public DefaultLoadBalancer(BeanContainer container, SerializationService serializationService,
             TargetLocator targetLocator) {
+        this(container, serializationService, targetLocator, DEFAULT_TARGETS_TTL);
+    }
+
+    /**
+     * 使用指定的容器、序列化服务、地址定位服务和地址列表的缓存有效期初始化 {@link DefaultLoadBalancer} 的新实例。
+     *
+     * @param container 表示容器的 {@link BeanContainer}。
+     * @param serializationService 表示序列化服务的 {@link SerializationService}。
+     * @param targetLocator 表示地址定位服务的 {@link TargetLocator}。
+     * @param targetsTtl 表示地址列表和调用计划缓存有效期的 {@link Duration}。
+     * @throws IllegalArgumentException 当 {@code container}、{@code serializationService}、{@code targetLocator} 或
+     * {@code targetsTtl} 为 {@code null} 时。
+     */
+    DefaultLoadBalancer(BeanContainer container, SerializationService serializationService,
+            TargetLocator targetLocator, Duration targetsTtl) {
+        this.targetsTtlNanos = notNull(targetsTtl, "The targets ttl cannot be null.").toNanos();
         this.container = notNull(container, "The bean container cannot be null.");
         this.clientsLoader = new LazyLoader<>(this::getClients);
         this.serializationService = notNull(serializationService, "The serialization service cannot be null.");
@@ -65,10 +108,67 @@ public class DefaultLoadBalancer implements LoadBalancer {
 
     @Override
     public List<Target> balance(Fitable fitable, InvocationContext context, Object[] args) {
+        List<Target> planned = this.getPlannedTargets(fitable, context);
+        Invoker.Filter filter = ObjectUtils.nullIf(context.loadBalanceFilter(), Invoker.Filter.empty());
+        return this.filterCandidateTargets(filter, fitable, context, planned);
+    }
+
+    @Override
+    public void onFitableTargetsChanged(List<UniqueFitableId> ids) {
+        this.generation.incrementAndGet();
+        ids.forEach(id -> {
+            this.targetsCache.remove(id);
+            this.plansCache.remove(id);
+        });
+    }
+
+    @Override
+    public void onPluginStarted(Plugin plugin) {
+        this.invalidateAll();
+    }
+
+    @Override
+    public void onPluginStopped(Plugin plugin) {
+        this.invalidateAll();
+    }
+
+    private void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.targetsCache.clear();
+        this.plansCache.clear();
+    }
+
+    private List<Target> getPlannedTargets(Fitable fitable, InvocationContext context) {
+        // 过滤扩展信息可能影响过滤结果，且其中的值不一定可以比较，因此带有扩展信息的调用不使用调用计划的缓存。
+        if (MapUtils.isNotEmpty(context.filterExtensions())) {
+            return this.plan(fitable, context);
+        }
+        UniqueFitableId id = fitable.toUniqueId();
+        PlanKey key = new PlanKey(context);
+        Map<PlanKey, List<Target>> plans = this.isTargetsCached(id) ? this.plansCache.get(id) : null;
+        List<Target> planned = plans == null ? null : plans.get(key);
+        if (planned != null) {
+            return planned;
+        }
+        long current = this.generation.get();
+        planned = this.plan(fitable, context);
+        if (CollectionUtils.isNotEmpty(planned) && this.generation.get() == current) {
+            Map<PlanKey, List<Target>> actualPlans =
+                    this.plansCache.computeIfAbsent(id, ignored -> new ConcurrentHashMap<>());
+            if (actualPlans.size() < MAX_PLANS_PER_FITABLE) {
+                actualPlans.put(key, planned);
+            }
+        }
+        return planned;
+    }
+
+    private List<Target> plan(Fitable fitable, InvocationContext context) {
         Invoker.Filter filter = Invoker.Filter.combine(this.getFirstMatchedEnvironmentFilter(fitable, context),
-                this.getProtocolAndFormatSupportedFilter(context),
-                context.loadBalanceFilter());
-        return this.filterCandidateTargets(filter, fitable, context, this.getTargets(fitable.toUniqueId()));
+                this.getProtocolAndFormatSupportedFilter(context));
+        return Collections.unmodifiableList(new ArrayList<>(filter.filter(fitable,
+                context.localWorkerId(),
+                this.getTargets(fitable.toUniqueId()),
+                context.filterExtensions())));
     }
 
     private Invoker.Filter getFirstMatchedEnvironmentFilter(Fitable fitable, InvocationContext context) {
@@ -120,7 +220,90 @@ public class DefaultLoadBalancer implements LoadBalancer {
         return targets.stream().filter(target -> workerIds.contains(target.workerId())).collect(Collectors.toList());
     }
 
+    private boolean isTargetsCached(UniqueFitableId id) {
+        CachedTargets cached = this.targetsCache.get(id);
+        return cached != null && !cached.isExpired(System.nanoTime());
+    }
+
     private List<Target> getTargets(UniqueFitableId id) {
-        return this.targetLocator.lookup(id);
+        long now = System.nanoTime();
+        CachedTargets cached = this.targetsCache.get(id);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.targets;
+        }
+        if (cached != null && this.targetsCache.remove(id, cached)) {
+            // 地址列表过期时，基于旧地址列表的调用计划同时失效，且正在构建的调用计划不再放入缓存。
+            this.generation.incrementAndGet();
+            this.plansCache.remove(id);
+        }
+        long current = this.generation.get();
+        List<Target> targets = Collections.unmodifiableList(new ArrayList<>(this.targetLocator.lookup(id)));
+        if (CollectionUtils.isNotEmpty(targets) && this.generation.get() == current) {
+            this.targetsCache.put(id, new CachedTargets(targets, now + this.targetsTtlNanos));
+        }
+        return targets;
+    }
+
+    /**
+     * 表示缓存的地址列表及其过期时间。
+     */
+    private static final class CachedTargets {
+        private final List<Target> targets;
+        private final long expireNanos;
+
+        private CachedTargets(List<Target> targets, long expireNanos) {
+            this.targets = targets;
+            this.expireNanos = expireNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - this.expireNanos >= 0;
+        }
+    }
+
+    /**
+     * 表示调用计划的键，由调用上下文中影响环境标、通信协议和序列化方式过滤结果的信息组成。
+     */
+    private static final class PlanKey {
+        private final String localWorkerId;
+        private final String specifiedEnvironment;
+        private final List<String> environmentPrioritySequence;
+        private final CommunicationProtocol protocol;
+        private final SerializationFormat format;
+
+        private PlanKey(InvocationContext context) {
+            this.localWorkerId = context.localWorkerId();
+            this.specifiedEnvironment = context.specifiedEnvironment();
+            this.environmentPrioritySequence = this.specifiedEnvironment == null
+                    ? new ArrayList<>(ObjectUtils.getIfNull(context.environmentPrioritySequence(),
+                    Collections::emptyList))
+                    : Collections.emptyList();
+            this.protocol = context.protocol();
+            this.format = context.format();
+        }
+
+        @Override
+        public boolean equals(Object another) {
+            if (this == another) {
+                return true;
+            }
+            if (!(another instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey that = (PlanKey) another;
+            return Objects.equals(this.localWorkerId, that.localWorkerId)
+                    && Objects.equals(this.specifiedEnvironment, that.specifiedEnvironment)
+                    && Objects.equals(this.environmentPrioritySequence, that.environmentPrioritySequence)
+                    && this.protocol == that.protocol && this.format == that.format;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.localWorkerId,
+                    this.specifiedEnvironment,
+                    this.environmentPrioritySequence,
+                    this.protocol,
+                    this.format);
+        }
     }
 }
@@ -0,0 +1,48 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.support;
+
+import modelengine.fitframework.broker.FitableMetadata;
+import modelengine.fitframework.broker.Target;
+import modelengine.fitframework.broker.client.Invoker;
+import modelengine.fitframework.broker.client.filter.loadbalance.ChampionFilter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 表示在同一次调用的多次尝试之间优先选择未调用过的地址的负载均衡策略。
+ * <p>未调用过的地址中存在本地地址时优先选择本地地址，否则在未调用过的地址中轮询。所有地址都调用过之后，
+ * 在全部地址中重新选择。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-21
+ */
+final class FailoverFilter extends ChampionFilter {
+    private final Set<String> triedWorkerIds = ConcurrentHashMap.newKeySet();
+
+    @Override
+    protected Optional<Target> select(FitableMetadata fitable, String localWorkerId, List<Target> toFilterTargets) {
+        List<Target> untriedTargets = toFilterTargets.stream()
+                .filter(target -> !this.triedWorkerIds.contains(target.workerId()))
+                .collect(Collectors.toList());
+        List<Target> candidates = untriedTargets.isEmpty() ? toFilterTargets : untriedTargets;
+        Target selected = candidates.stream()
+                .filter(target -> Objects.equals(target.workerId(), localWorkerId))
+                .findFirst()
+                .orElseGet(() -> Invoker.Filter.roundRobin()
+                        .filter(fitable, localWorkerId, candidates, Collections.emptyMap())
+                        .get(0));
+        this.triedWorkerIds.add(selected.workerId());
+        return Optional.of(selected);
+    }
+}
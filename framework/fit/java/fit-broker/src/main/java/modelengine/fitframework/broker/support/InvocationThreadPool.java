@@ -0,0 +1,75 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.support;
+
+import static modelengine.fitframework.inspection.Validation.notBlank;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.schedule.Task;
+import modelengine.fitframework.schedule.ThreadPoolExecutor;
+import modelengine.fitframework.util.LazyLoader;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表示服务调用使用的有界线程池。
+ * <p>线程池在第一次提交任务时创建，线程数量和等待队列的长度都有上限，已满时直接拒绝新的任务而不是由调用方线程执行，
+ * 以免调用方线程被不受截止时间约束的调用占用。提交的任务在执行期间使用提交时调用方线程的上下文类加载器，
+ * 与在调用方线程中调用保持一致。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-23
+ */
+final class InvocationThreadPool {
+    private static final int MAX_CONCURRENCY = 64;
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private final LazyLoader<ThreadPoolExecutor> threadPool;
+
+    /**
+     * 使用指定的线程池名字初始化 {@link InvocationThreadPool} 的新实例。
+     *
+     * @param name 表示线程池名字的 {@link String}。
+     * @throws IllegalArgumentException 当 {@code name} 为 {@code null} 或空白字符串时。
+     */
+    InvocationThreadPool(String name) {
+        notBlank(name, "The thread pool name cannot be blank.");
+        this.threadPool = new LazyLoader<>(() -> ThreadPoolExecutor.custom()
+                .threadPoolName(name)
+                .isDaemonThread(true)
+                .corePoolSize(MAX_CONCURRENCY)
+                .maximumPoolSize(MAX_CONCURRENCY)
+                .keepAliveTime(60, TimeUnit.SECONDS)
+                .workQueueCapacity(QUEUE_CAPACITY)
+                .build());
+    }
+
+    /**
+     * 提交一个任务。
+     *
+     * @param runnable 表示待执行任务的 {@link Runnable}。
+     * @return 表示执行结果的 {@link Future}{@code <?>}。
+     * @throws IllegalArgumentException 当 {@code runnable} 为 {@code null} 时。
+     * @throws RejectedExecutionException 当线程池已满时。
+     */
+    Future<?> submit(Runnable runnable) {
+        notNull(runnable, "The runnable cannot be null.");
+        ClassLoader callerClassLoader = Thread.currentThread().getContextClassLoader();
+        return this.threadPool.get().submit(Task.builder().runnable(() -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(callerClassLoader);
+            try {
+                runnable.run();
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        }).buildDisposable());
+    }
+}
@@ -0,0 +1,49 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.support;
+
+import java.util.Arrays;
+
+/**
+ * 表示服务实现最近若干次成功调用的耗时窗口，用于计算对冲请求的延迟。
+ *
+ * @author 季聿阶
+ * @since 2024-08-21
+ */
+final class LatencyWindow {
+    private static final int CAPACITY = 128;
+    private static final int MIN_SAMPLES = 20;
+
+    private final long[] samples = new long[CAPACITY];
+    private int count;
+    private int next;
+
+    /**
+     * 记录一次调用的耗时。
+     *
+     * @param millis 表示调用耗时毫秒数的 {@code long}。
+     */
+    synchronized void record(long millis) {
+        this.samples[this.next] = millis;
+        this.next = (this.next + 1) % CAPACITY;
+        this.count = Math.min(this.count + 1, CAPACITY);
+    }
+
+    /**
+     * 获取窗口内调用耗时的 P95 值。
+     *
+     * @return 表示 P95 耗时毫秒数的 {@code long}，样本数量不足时为 {@code -1}。
+     */
+    synchronized long percentile95() {
+        if (this.count < MIN_SAMPLES) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(this.samples, this.count);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(this.count * 0.95) - 1];
+    }
+}
@@ -11,17 +11,29 @@ import modelengine.fitframework.broker.GenericableExecutor;
 import modelengine.fitframework.broker.InvocationContext;
 import modelengine.fitframework.log.Logger;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * 表示 {@link GenericableExecutor} 的多播调用实现。
+ * <p>默认依次调用每个服务实现。当调用上下文指定 {@link InvocationContext#isConcurrentMulticast() 并发多播} 时，
+ * 通过有界的线程池同时调用所有服务实现，在收到足够的成功结果或者到达截止时间后，按照服务实现的顺序聚合已经返回的结果，
+ * 并取消其余的调用。线程池已满时不再提交剩余的调用，这些服务实现按照调用失败处理。</p>
  *
  * @author 季聿阶
  * @since 2023-03-28
  */
 public class MulticastGenericableExecutor implements GenericableExecutor {
     private static final Logger log = Logger.get(MulticastGenericableExecutor.class);
+    private static final Object FAILED = new Object();
+    private static final InvocationThreadPool THREAD_POOL = new InvocationThreadPool("fit-multicast");
 
     private final GenericableExecutor executor;
 
@@ -31,14 +43,98 @@ public class MulticastGenericableExecutor implements GenericableExecutor {
 
     @Override
     public Object execute(List<Fitable> fitables, InvocationContext context, Object[] args) {
-        return fitables.stream().map(fitable -> {
+        if (context.isConcurrentMulticast() && fitables.size() > 1) {
+            return this.executeConcurrently(fitables, context, args);
+        }
+        return fitables.stream()
+                .map(fitable -> this.execute(fitable, context, args))
+                .map(result -> result == FAILED ? null : result)
+                .reduce(context.accumulator())
+                .orElse(null);
+    }
+
+    private Object execute(Fitable fitable, InvocationContext context, Object[] args) {
+        try {
+            return this.executor.execute(Collections.singletonList(fitable), context, args);
+        } catch (Throwable t) {
+            log.warn("Failed to execute genericable executor while multicast, return null instead. [id={}]",
+                    fitable.toUniqueId());
+            return FAILED;
+        }
+    }
+
+    private Object executeConcurrently(List<Fitable> fitables, InvocationContext context, Object[] args) {
+        int size = fitables.size();
+        int quorum = context.multicastQuorum() > 0 ? Math.min(context.multicastQuorum(), size) : size;
+        long deadline = context.timeout() > 0 && context.timeoutUnit() != null
+                ? System.nanoTime() + context.timeoutUnit().toNanos(context.timeout())
+                : Long.MAX_VALUE;
+        AtomicReferenceArray<Object> results = new AtomicReferenceArray<>(size);
+        BlockingQueue<Integer> completions = new LinkedBlockingQueue<>();
+        List<Future<?>> futures = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            Fitable fitable = fitables.get(index);
             try {
-                return this.executor.execute(Collections.singletonList(fitable), context, args);
-            } catch (Throwable t) {
-                log.warn("Failed to execute genericable executor while multicast, return null instead. [id={}]",
+                futures.add(THREAD_POOL.submit(() -> {
+                    results.set(index, this.execute(fitable, context, args));
+                    completions.add(index);
+                }));
+            } catch (RejectedExecutionException e) {
+                log.warn("Concurrent multicast thread pool is full, treat the fitable as failed. [id={}]",
                         fitable.toUniqueId());
-                return null;
+                futures.add(null);
+                results.set(index, FAILED);
+                completions.add(index);
+            }
+        }
+        boolean[] completed = new boolean[size];
+        int completedCount = 0;
+        int successCount = 0;
+        while (completedCount < size && successCount < quorum) {
+            Integer index = this.poll(completions, deadline);
+            if (index == null) {
+                log.warn("Concurrent multicast reached deadline, aggregate completed results only. "
+                        + "[genericableId={}, completed={}, total={}]", context.genericableId(), completedCount, size);
+                break;
+            }
+            completed[index] = true;
+            completedCount++;
+            if (results.get(index) != FAILED) {
+                successCount++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (!completed[i] && futures.get(i) != null) {
+                futures.get(i).cancel(true);
+            }
+        }
+        return this.reduce(results, completed, context);
+    }
+
+    private Integer poll(BlockingQueue<Integer> completions, long deadline) {
+        try {
+            if (deadline == Long.MAX_VALUE) {
+                return completions.take();
+            }
+            return completions.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Object reduce(AtomicReferenceArray<Object> results, boolean[] completed, InvocationContext context) {
+        Object reduced = null;
+        boolean isFirst = true;
+        for (int i = 0; i < completed.length; i++) {
+            if (!completed[i]) {
+                continue;
             }
-        }).reduce(context.accumulator()).orElse(null);
+            Object result = results.get(i) == FAILED ? null : results.get(i);
+            reduced = isFirst ? result : context.accumulator().apply(reduced, result);
+            isFirst = false;
+        }
+        return reduced;
     }
 }
@@ -24,6 +24,7 @@ import modelengine.fitframework.broker.FitableExecutor;
 import modelengine.fitframework.broker.Format;
 import modelengine.fitframework.broker.InvocationContext;
 import modelengine.fitframework.broker.Target;
+import modelengine.fitframework.broker.client.filter.loadbalance.TargetStatistics;
 import modelengine.fitframework.conf.runtime.MatataConfig;
 import modelengine.fitframework.exception.FitException;
 import modelengine.fitframework.ioc.BeanContainer;
@@ -48,6 +49,8 @@ import java.util.stream.Stream;
 
 /**
  * 表示 {@link FitableExecutor} 的远程调用实现。
+ * <p>每次远程请求前后按照服务实现和地址更新 {@link TargetStatistics#INSTANCE 负载统计信息}，只有请求未能得到响应时才记为失败，
+ * 服务实现返回的业务异常不影响地址的健康状态。</p>
  *
  * @author 季聿阶
  * @since 2023-03-28
@@ -73,13 +76,13 @@ public class RemoteFitableExecutor extends AbstractUnicastFitableExecutor {
         Format format = this.chooseFormat(target);
         RequestMetadata requestMetadataBytes = this.getRequestMetadataBytes(format, fitable);
         Method method = fitable.genericable().method().method();
-        Response response = this.requestResponse(target, context, requestMetadataBytes, args, method);
+        Response response = this.requestResponse(fitable, target, context, requestMetadataBytes, args, method);
         if (this.isTokenValid(response.metadata())) {
             this.requireRegisterAuthService.get().refreshToken(Instant.now());
             requestMetadataBytes = requestMetadataBytes.copy()
                     .accessToken(this.requireRegisterAuthService.get().getToken().getAccessToken().getToken())
                     .build();
-            response = this.requestResponse(target, context, requestMetadataBytes, args, method);
+            response = this.requestResponse(fitable, target, context, requestMetadataBytes, args, method);
         }
         if (this.isSuccess(response.metadata())) {
             log.debug("Invoke remote fitable successfully. [id={}, target={}]", fitable.toUniqueId(), target);
@@ -206,8 +209,8 @@ public class RemoteFitableExecutor extends AbstractUnicastFitableExecutor {
         return responseMetadata.code() == AuthenticationException.CODE;
     }
 
-    private Response requestResponse(Target target, InvocationContext context, RequestMetadata metadata, Object[] args,
-            Method method) {
+    private Response requestResponse(Fitable fitable, Target target, InvocationContext context,
+            RequestMetadata metadata, Object[] args, Method method) {
         Endpoint endpoint = target.endpoints().iterator().next();
         Address address = Address.create(target.host(), endpoint.port());
         RequestContext requestContext = RequestContext.create(context.timeout(),
@@ -224,7 +227,18 @@ public class RemoteFitableExecutor extends AbstractUnicastFitableExecutor {
                 .returnType(this.getGenericReturnType(method))
                 .context(requestContext)
                 .build();
-        return this.requireClient(endpoint.protocol()).requestResponse(request);
+        Client client = this.requireClient(endpoint.protocol());
+        TargetStatistics statistics = TargetStatistics.INSTANCE;
+        statistics.onStarted(fitable, target);
+        long start = System.nanoTime();
+        boolean responded = false;
+        try {
+            Response response = client.requestResponse(request);
+            responded = true;
+            return response;
+        } finally {
+            statistics.onFinished(fitable, target, System.nanoTime() - start, responded);
+        }
     }
 
     /**
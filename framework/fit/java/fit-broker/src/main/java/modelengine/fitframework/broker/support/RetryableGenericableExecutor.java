@@ -9,22 +9,42 @@ package modelengine.fitframework.broker.support;
 import modelengine.fitframework.broker.Fitable;
 import modelengine.fitframework.broker.GenericableExecutor;
 import modelengine.fitframework.broker.InvocationContext;
+import modelengine.fitframework.broker.UniqueFitableId;
+import modelengine.fitframework.broker.client.BackOff;
+import modelengine.fitframework.broker.client.Invoker;
 import modelengine.fitframework.exception.FitException;
 import modelengine.fitframework.exception.MethodInvocationException;
 import modelengine.fitframework.exception.RetryableException;
+import modelengine.fitframework.exception.TimeoutException;
 import modelengine.fitframework.util.ExceptionUtils;
 import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
 
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 表示 {@link GenericableExecutor} 的重试调用实现。
+ * <p>每次重试前按照调用上下文中的 {@link InvocationContext#retryBackOff() 退避策略} 等待，并优先选择之前未调用过的地址。
+ * 当调用上下文指定 {@link InvocationContext#isHedged() 对冲请求} 时，如果第一次调用在对冲延迟内没有返回，
+ * 则向另一个地址发起第二次调用，并使用最先成功返回的结果。未指定对冲延迟时，使用最近成功调用耗时的 P95 值。
+ * 对冲调用的等待时间不超过调用上下文中的 {@link InvocationContext#timeout() 超时时间}。线程池已满时不发起对冲调用，
+ * 第一次调用直接在调用方线程中执行，与未指定对冲请求时一致。</p>
  *
  * @author 季聿阶
  * @since 2023-03-27
  */
 public class RetryableGenericableExecutor extends AbstractUnicastGenericableExecutor {
+    private static final InvocationThreadPool THREAD_POOL = new InvocationThreadPool("fit-hedging");
+
     private final GenericableExecutor executor;
+    private final Map<UniqueFitableId, LatencyWindow> latencies = new ConcurrentHashMap<>();
 
     RetryableGenericableExecutor(GenericableExecutor executor) {
         this.executor = executor;
@@ -32,12 +52,15 @@ public class RetryableGenericableExecutor extends AbstractUnicastGenericableExec
 
     @Override
     protected Object execute(Fitable fitable, InvocationContext context, Object[] args) {
+        InvocationContext actualContext = this.withFailover(context);
+        BackOff backOff = ObjectUtils.nullIf(context.retryBackOff(), BackOff.none());
         int retry = context.retry() + 1;
+        int retryTimes = 0;
         RetryableException actualException;
         do {
             try {
                 retry--;
-                return this.executor.execute(Collections.singletonList(fitable), context, args);
+                return this.attempt(fitable, actualContext, args);
             } catch (RetryableException e) {
                 actualException = e;
             } catch (MethodInvocationException e) {
@@ -50,8 +73,154 @@ public class RetryableGenericableExecutor extends AbstractUnicastGenericableExec
             } catch (Throwable e) {
                 throw FitException.wrap(e, fitable.genericable().id(), fitable.id());
             }
+            if (retry > 0) {
+                sleep(backOff.sleepMillis(++retryTimes, actualException), fitable);
+            }
         } while (retry > 0);
         actualException.associateFitable(fitable.genericable().id(), fitable.id());
         throw actualException;
     }
+
+    private InvocationContext withFailover(InvocationContext context) {
+        if (context.isMulticast() || (context.retry() <= 0 && !context.isHedged())) {
+            return context;
+        }
+        return InvocationContext.custom(context)
+                .loadBalanceFilter(Invoker.Filter.combine(context.loadBalanceFilter(), new FailoverFilter()))
+                .filterExtensions(context.filterExtensions())
+                .build();
+    }
+
+    private static void sleep(long millis, Fitable fitable) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw FitException.wrap(e, fitable.genericable().id(), fitable.id());
+        }
+    }
+
+    private Object attempt(Fitable fitable, InvocationContext context, Object[] args) {
+        if (!context.isHedged() || context.isMulticast()) {
+            return this.invoke(fitable, context, args);
+        }
+        LatencyWindow window = this.latencies.computeIfAbsent(fitable.toUniqueId(), id -> new LatencyWindow());
+        long delay = context.hedgeDelayMillis() > 0 ? context.hedgeDelayMillis() : window.percentile95();
+        if (delay < 0) {
+            long start = System.nanoTime();
+            Object result = this.invoke(fitable, context, args);
+            window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return result;
+        }
+        return this.hedge(fitable, context, args, window, delay);
+    }
+
+    private Object hedge(Fitable fitable, InvocationContext context, Object[] args, LatencyWindow window,
+            long delay) {
+        long deadline = deadline(context);
+        BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+        Future<?> first;
+        try {
+            first = this.submit(fitable, context, args, window, outcomes);
+        } catch (RejectedExecutionException e) {
+            return this.invoke(fitable, context, args);
+        }
+        Future<?> second = null;
+        try {
+            long hedgeDelayNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(delay), remaining(deadline));
+            Outcome outcome = outcomes.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            if (outcome == null && remaining(deadline) > 0) {
+                second = this.trySubmit(fitable, context, args, window, outcomes);
+                outcome = poll(outcomes, deadline);
+                if (outcome != null && outcome.error != null && second != null) {
+                    outcome = ObjectUtils.nullIf(poll(outcomes, deadline), outcome);
+                }
+            }
+            if (outcome == null) {
+                throw new TimeoutException(StringUtils.format("Hedged invocation timeout. [id={0}, timeout={1}{2}]",
+                        fitable.toUniqueId(),
+                        context.timeout(),
+                        context.timeoutUnit()));
+            }
+            return outcome.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw FitException.wrap(e, fitable.genericable().id(), fitable.id());
+        } finally {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    private static long deadline(InvocationContext context) {
+        return context.timeout() > 0 && context.timeoutUnit() != null
+                ? System.nanoTime() + context.timeoutUnit().toNanos(context.timeout())
+                : Long.MAX_VALUE;
+    }
+
+    private static long remaining(long deadline) {
+        return deadline == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(deadline - System.nanoTime(), 0);
+    }
+
+    private static Outcome poll(BlockingQueue<Outcome> outcomes, long deadline) throws InterruptedException {
+        if (deadline == Long.MAX_VALUE) {
+            return outcomes.take();
+        }
+        return outcomes.poll(remaining(deadline), TimeUnit.NANOSECONDS);
+    }
+
+    private Future<?> submit(Fitable fitable, InvocationContext context, Object[] args, LatencyWindow window,
+            BlockingQueue<Outcome> outcomes) {
+        return THREAD_POOL.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                Object result = this.invoke(fitable, context, args);
+                window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                outcomes.add(new Outcome(result, null));
+            } catch (Throwable e) {
+                outcomes.add(new Outcome(null, e));
+            }
+        });
+    }
+
+    private Future<?> trySubmit(Fitable fitable, InvocationContext context, Object[] args, LatencyWindow window,
+            BlockingQueue<Outcome> outcomes) {
+        try {
+            return this.submit(fitable, context, args, window, outcomes);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private Object invoke(Fitable fitable, InvocationContext context, Object[] args) {
+        return this.executor.execute(Collections.singletonList(fitable), context, args);
+    }
+
+    private static final class Outcome {
+        private final Object result;
+        private final Throwable error;
+
+        private Outcome(Object result, Throwable error) {
+            this.result = result;
+            this.error = error;
+        }
+
+        private Object get() {
+            if (this.error == null) {
+                return this.result;
+            }
+            if (this.error instanceof Error) {
+                throw (Error) this.error;
+            }
+            if (this.error instanceof RuntimeException) {
+                throw (RuntimeException) this.error;
+            }
+            throw new IllegalStateException(this.error);
+        }
+    }
 }
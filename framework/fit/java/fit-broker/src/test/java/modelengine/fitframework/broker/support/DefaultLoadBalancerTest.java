@@ -0,0 +1,155 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+import modelengine.fitframework.broker.Fitable;
+import modelengine.fitframework.broker.Genericable;
+import modelengine.fitframework.broker.InvocationContext;
+import modelengine.fitframework.broker.SerializationService;
+import modelengine.fitframework.broker.Target;
+import modelengine.fitframework.broker.TargetLocator;
+import modelengine.fitframework.broker.UniqueFitableId;
+import modelengine.fitframework.broker.client.Invoker;
+import modelengine.fitframework.ioc.BeanContainer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 表示 {@link DefaultLoadBalancer} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-19
+ */
+@DisplayName("测试 DefaultLoadBalancer")
+public class DefaultLoadBalancerTest {
+    private static final UniqueFitableId ID = UniqueFitableId.create("g", "f");
+
+    private TargetLocator targetLocator;
+    private DefaultLoadBalancer loadBalancer;
+    private Fitable fitable;
+    private InvocationContext context;
+
+    @BeforeEach
+    void setup() {
+        this.targetLocator = Mockito.mock(TargetLocator.class);
+        this.loadBalancer = new DefaultLoadBalancer(Mockito.mock(BeanContainer.class),
+                Mockito.mock(SerializationService.class),
+                this.targetLocator);
+        this.fitable = Mockito.mock(Fitable.class);
+        Mockito.when(this.fitable.toUniqueId()).thenReturn(ID);
+        Genericable genericable = Mockito.mock(Genericable.class);
+        Mockito.when(genericable.id()).thenReturn("g");
+        Mockito.when(this.fitable.genericable()).thenReturn(genericable);
+        Mockito.when(this.fitable.id()).thenReturn("f");
+        this.context = Mockito.mock(InvocationContext.class);
+        Mockito.when(this.context.localWorkerId()).thenReturn("w1");
+        Mockito.when(this.context.environmentPrioritySequence()).thenReturn(Arrays.asList("dev", "prod"));
+        Mockito.when(this.context.loadBalanceWith()).thenReturn(Collections.emptyList());
+        Mockito.when(this.context.filterExtensions()).thenReturn(Collections.emptyMap());
+    }
+
+    private static Target target(String workerId, String environment) {
+        return Target.custom()
+                .workerId(workerId)
+                .host("localhost")
+                .environment(environment)
+                .endpoints(Collections.emptyList())
+                .formats(Collections.emptyList())
+                .build();
+    }
+
+    @Test
+    @DisplayName("当调用信息不变时，重复调用不再查询服务地址，但每次调用都会执行上下文中的负载均衡过滤器")
+    void givenSameContextThenReusePlannedTargets() {
+        Mockito.when(this.targetLocator.lookup(ID)).thenReturn(Arrays.asList(target("w1", "prod")));
+        Invoker.Filter filter = Mockito.mock(Invoker.Filter.class);
+        Mockito.when(filter.filter(any(), anyString(), any(), anyMap()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        Mockito.when(this.context.loadBalanceFilter()).thenReturn(filter);
+        for (int i = 0; i < 3; i++) {
+            List<Target> targets = this.loadBalancer.balance(this.fitable, this.context, new Object[0]);
+            assertThat(targets).hasSize(1).first().extracting(Target::workerId).isEqualTo("w1");
+        }
+        Mockito.verify(this.targetLocator, Mockito.times(1)).lookup(ID);
+        Mockito.verify(filter, Mockito.times(3)).filter(eq(this.fitable), eq("w1"), any(), anyMap());
+    }
+
+    @Test
+    @DisplayName("当服务实现的地址列表变化后，重新查询服务地址")
+    void givenTargetsChangedThenLookupAgain() {
+        Mockito.when(this.targetLocator.lookup(ID))
+                .thenReturn(Arrays.asList(target("w1", "prod")))
+                .thenReturn(Arrays.asList(target("w1", "prod"), target("w1", "dev")));
+        List<Target> targets = this.loadBalancer.balance(this.fitable, this.context, new Object[0]);
+        assertThat(targets).extracting(Target::environment).containsExactly("prod");
+        this.loadBalancer.onFitableTargetsChanged(Collections.singletonList(ID));
+        targets = this.loadBalancer.balance(this.fitable, this.context, new Object[0]);
+        assertThat(targets).extracting(Target::environment).containsExactly("dev");
+        Mockito.verify(this.targetLocator, Mockito.times(2)).lookup(ID);
+    }
+
+    @Test
+    @DisplayName("当缓存的地址列表超过有效期后，重新查询服务地址")
+    void givenTargetsExpiredThenLookupAgain() {
+        DefaultLoadBalancer expiring = new DefaultLoadBalancer(Mockito.mock(BeanContainer.class),
+                Mockito.mock(SerializationService.class),
+                this.targetLocator,
+                Duration.ZERO);
+        Mockito.when(this.targetLocator.lookup(ID))
+                .thenReturn(Arrays.asList(target("w1", "prod")))
+                .thenReturn(Arrays.asList(target("w1", "prod"), target("w1", "dev")));
+        assertThat(expiring.balance(this.fitable, this.context, new Object[0])).extracting(Target::environment)
+                .containsExactly("prod");
+        assertThat(expiring.balance(this.fitable, this.context, new Object[0])).extracting(Target::environment)
+                .containsExactly("dev");
+        Mockito.verify(this.targetLocator, Mockito.times(2)).lookup(ID);
+    }
+
+    @Test
+    @DisplayName("当调用上下文带有过滤扩展信息时，每次调用都重新计算调用计划")
+    void givenFilterExtensionsThenBypassPlanCache() {
+        Mockito.when(this.targetLocator.lookup(ID)).thenReturn(Arrays.asList(target("w1", "prod")));
+        Mockito.when(this.context.filterExtensions()).thenReturn(Collections.singletonMap("k", "v"));
+        for (int i = 0; i < 3; i++) {
+            assertThat(this.loadBalancer.balance(this.fitable, this.context, new Object[0])).extracting(
+                    Target::environment).containsExactly("prod");
+        }
+        Mockito.verify(this.context, Mockito.times(3)).protocol();
+
+        Mockito.when(this.context.filterExtensions()).thenReturn(Collections.emptyMap());
+        this.loadBalancer.balance(this.fitable, this.context, new Object[0]);
+        this.loadBalancer.balance(this.fitable, this.context, new Object[0]);
+        Mockito.verify(this.context, Mockito.times(6)).protocol();
+    }
+
+    @Test
+    @DisplayName("当指定的环境标不同时，使用不同的调用计划")
+    void givenDifferentEnvironmentThenUseDifferentPlan() {
+        Mockito.when(this.targetLocator.lookup(ID))
+                .thenReturn(Arrays.asList(target("w1", "prod"), target("w1", "dev")));
+        assertThat(this.loadBalancer.balance(this.fitable, this.context, new Object[0])).extracting(
+                Target::environment).containsExactly("dev");
+        Mockito.when(this.context.specifiedEnvironment()).thenReturn("prod");
+        assertThat(this.loadBalancer.balance(this.fitable, this.context, new Object[0])).extracting(
+                Target::environment).containsExactly("prod");
+        Mockito.verify(this.targetLocator, Mockito.times(1)).lookup(ID);
+    }
+}
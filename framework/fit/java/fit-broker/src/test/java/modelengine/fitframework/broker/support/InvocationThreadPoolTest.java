@@ -0,0 +1,47 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 表示 {@link InvocationThreadPool} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-23
+ */
+@DisplayName("测试 InvocationThreadPool")
+public class InvocationThreadPoolTest {
+    @Test
+    @DisplayName("提交的任务使用调用方线程的上下文类加载器执行，执行后恢复线程原有的类加载器")
+    void shouldRunTaskWithCallerContextClassLoader() throws Exception {
+        InvocationThreadPool threadPool = new InvocationThreadPool("test-invocation");
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        ClassLoader callerClassLoader = new URLClassLoader(new URL[0], original);
+        AtomicReference<ClassLoader> actual = new AtomicReference<>();
+        Thread.currentThread().setContextClassLoader(callerClassLoader);
+        try {
+            threadPool.submit(() -> actual.set(Thread.currentThread().getContextClassLoader()))
+                    .get(1, TimeUnit.SECONDS);
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+        AtomicReference<ClassLoader> next = new AtomicReference<>();
+        threadPool.submit(() -> next.set(Thread.currentThread().getContextClassLoader())).get(1, TimeUnit.SECONDS);
+
+        assertThat(actual.get()).isSameAs(callerClassLoader);
+        assertThat(next.get()).isSameAs(original);
+    }
+}
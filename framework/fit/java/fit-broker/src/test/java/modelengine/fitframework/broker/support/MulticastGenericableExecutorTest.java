@@ -0,0 +1,115 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+import modelengine.fitframework.broker.Fitable;
+import modelengine.fitframework.broker.GenericableExecutor;
+import modelengine.fitframework.broker.InvocationContext;
+import modelengine.fitframework.broker.UniqueFitableId;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表示 {@link MulticastGenericableExecutor} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-20
+ */
+@DisplayName("测试 MulticastGenericableExecutor")
+public class MulticastGenericableExecutorTest {
+    private InvocationContext context;
+
+    @BeforeEach
+    void setup() {
+        this.context = Mockito.mock(InvocationContext.class);
+        Mockito.when(this.context.genericableId()).thenReturn("g");
+        Mockito.when(this.context.accumulator()).thenReturn((first, second) -> (int) first + (int) second);
+    }
+
+    private static List<Fitable> fitables(long... delays) {
+        List<Fitable> fitables = new ArrayList<>();
+        for (int i = 0; i < delays.length; i++) {
+            Fitable fitable = Mockito.mock(Fitable.class);
+            Mockito.when(fitable.toUniqueId()).thenReturn(UniqueFitableId.create("g", "f" + i));
+            Mockito.when(fitable.id()).thenReturn(String.valueOf(delays[i]));
+            fitables.add(fitable);
+        }
+        return fitables;
+    }
+
+    private static GenericableExecutor sleepingExecutor() {
+        GenericableExecutor executor = Mockito.mock(GenericableExecutor.class);
+        Mockito.when(executor.execute(anyList(), any(), any())).thenAnswer(invocation -> {
+            List<Fitable> fitables = invocation.getArgument(0);
+            long delay = Long.parseLong(fitables.get(0).id());
+            Thread.sleep(delay);
+            return 1;
+        });
+        return executor;
+    }
+
+    @Test
+    @DisplayName("并发多播的耗时接近最慢的服务实现，而不是所有服务实现耗时之和")
+    void givenConcurrentMulticastThenLatencyIsMaxInsteadOfSum() {
+        MulticastGenericableExecutor executor = new MulticastGenericableExecutor(sleepingExecutor());
+        List<Fitable> fitables = fitables(200, 200, 200, 200);
+
+        long start = System.nanoTime();
+        Object sequential = executor.execute(fitables, this.context, new Object[0]);
+        long sequentialMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Mockito.when(this.context.isConcurrentMulticast()).thenReturn(true);
+        start = System.nanoTime();
+        Object concurrent = executor.execute(fitables, this.context, new Object[0]);
+        long concurrentMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(sequential).isEqualTo(4);
+        assertThat(concurrent).isEqualTo(4);
+        assertThat(sequentialMillis).isGreaterThanOrEqualTo(800);
+        assertThat(concurrentMillis).isLessThan(600);
+    }
+
+    @Test
+    @DisplayName("并发多播收到足够的成功结果后，不再等待其余的服务实现")
+    void givenQuorumThenReturnAfterEnoughResults() {
+        MulticastGenericableExecutor executor = new MulticastGenericableExecutor(sleepingExecutor());
+        Mockito.when(this.context.isConcurrentMulticast()).thenReturn(true);
+        Mockito.when(this.context.multicastQuorum()).thenReturn(2);
+
+        long start = System.nanoTime();
+        Object result = executor.execute(fitables(10, 3000, 10), this.context, new Object[0]);
+
+        assertThat(result).isEqualTo(2);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+    }
+
+    @Test
+    @DisplayName("并发多播到达截止时间后，只聚合已经返回的结果")
+    void givenDeadlineThenAggregateCompletedResults() {
+        MulticastGenericableExecutor executor = new MulticastGenericableExecutor(sleepingExecutor());
+        Mockito.when(this.context.isConcurrentMulticast()).thenReturn(true);
+        Mockito.when(this.context.timeout()).thenReturn(300L);
+        Mockito.when(this.context.timeoutUnit()).thenReturn(TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        Object result = executor.execute(fitables(10, 3000, 10), this.context, new Object[0]);
+
+        assertThat(result).isEqualTo(2);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+    }
+}
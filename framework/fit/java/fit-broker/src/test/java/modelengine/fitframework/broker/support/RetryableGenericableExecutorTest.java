@@ -0,0 +1,159 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.broker.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+import modelengine.fitframework.broker.Fitable;
+import modelengine.fitframework.broker.Genericable;
+import modelengine.fitframework.broker.GenericableExecutor;
+import modelengine.fitframework.broker.InvocationContext;
+import modelengine.fitframework.broker.Target;
+import modelengine.fitframework.broker.UniqueFitableId;
+import modelengine.fitframework.broker.client.BackOff;
+import modelengine.fitframework.exception.RetryableException;
+import modelengine.fitframework.exception.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 表示 {@link RetryableGenericableExecutor} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-21
+ */
+@DisplayName("测试 RetryableGenericableExecutor")
+public class RetryableGenericableExecutorTest {
+    private static final List<Target> TARGETS = Arrays.asList(target("w1"), target("w2"), target("w3"));
+
+    private Fitable fitable;
+    private InvocationContext context;
+
+    @BeforeEach
+    void setup() {
+        this.fitable = Mockito.mock(Fitable.class);
+        Genericable genericable = Mockito.mock(Genericable.class);
+        Mockito.when(genericable.id()).thenReturn("g");
+        Mockito.when(this.fitable.genericable()).thenReturn(genericable);
+        Mockito.when(this.fitable.id()).thenReturn("f");
+        Mockito.when(this.fitable.toUniqueId()).thenReturn(UniqueFitableId.create("g", "f"));
+        this.context = Mockito.mock(InvocationContext.class);
+        Mockito.when(this.context.localWorkerId()).thenReturn("local");
+    }
+
+    private static Target target(String workerId) {
+        return Target.custom()
+                .workerId(workerId)
+                .host("localhost")
+                .endpoints(Collections.emptyList())
+                .formats(Collections.emptyList())
+                .build();
+    }
+
+    private static String select(InvocationContext context, Fitable fitable) {
+        return context.loadBalanceFilter()
+                .filter(fitable, context.localWorkerId(), TARGETS, Collections.emptyMap())
+                .get(0)
+                .workerId();
+    }
+
+    @Test
+    @DisplayName("重试前按照退避策略等待，并且每次重试选择之前未调用过的地址")
+    void givenRetryThenBackOffAndFailoverToUntriedTargets() {
+        Mockito.when(this.context.retry()).thenReturn(2);
+        Mockito.when(this.context.retryBackOff()).thenReturn(BackOff.fixed(100));
+        List<String> workerIds = new ArrayList<>();
+        GenericableExecutor delegate = Mockito.mock(GenericableExecutor.class);
+        Mockito.when(delegate.execute(anyList(), any(), any())).thenAnswer(invocation -> {
+            workerIds.add(select(invocation.getArgument(1), this.fitable));
+            if (workerIds.size() < 3) {
+                throw new RetryableException("retry");
+            }
+            return "ok";
+        });
+        RetryableGenericableExecutor executor = new RetryableGenericableExecutor(delegate);
+
+        long start = System.nanoTime();
+        Object result = executor.execute(Collections.singletonList(this.fitable), this.context, new Object[0]);
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(200);
+        assertThat(workerIds).doesNotHaveDuplicates().containsExactlyInAnyOrder("w1", "w2", "w3");
+    }
+
+    @Test
+    @DisplayName("第一次调用超过对冲延迟没有返回时，向另一个地址发起调用并使用先返回的结果")
+    void givenSlowFirstAttemptThenUseHedgedResult() {
+        Mockito.when(this.context.isHedged()).thenReturn(true);
+        Mockito.when(this.context.hedgeDelayMillis()).thenReturn(50L);
+        AtomicInteger attempts = new AtomicInteger();
+        GenericableExecutor delegate = Mockito.mock(GenericableExecutor.class);
+        Mockito.when(delegate.execute(anyList(), any(), any())).thenAnswer(invocation -> {
+            String workerId = select(invocation.getArgument(1), this.fitable);
+            if (attempts.getAndIncrement() == 0) {
+                Thread.sleep(3000);
+            }
+            return workerId;
+        });
+        RetryableGenericableExecutor executor = new RetryableGenericableExecutor(delegate);
+
+        long start = System.nanoTime();
+        Object result = executor.execute(Collections.singletonList(this.fitable), this.context, new Object[0]);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(result).isNotNull();
+    }
+
+    @Test
+    @DisplayName("对冲调用都没有在超时时间内返回时，到达超时时间后抛出超时异常")
+    void givenHedgedAttemptsExceedTimeoutThenThrowTimeoutException() {
+        Mockito.when(this.context.isHedged()).thenReturn(true);
+        Mockito.when(this.context.hedgeDelayMillis()).thenReturn(50L);
+        Mockito.when(this.context.timeout()).thenReturn(200L);
+        Mockito.when(this.context.timeoutUnit()).thenReturn(TimeUnit.MILLISECONDS);
+        GenericableExecutor delegate = Mockito.mock(GenericableExecutor.class);
+        Mockito.when(delegate.execute(anyList(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(3000);
+            return "late";
+        });
+        RetryableGenericableExecutor executor = new RetryableGenericableExecutor(delegate);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> executor.execute(Collections.singletonList(this.fitable),
+                this.context,
+                new Object[0])).isInstanceOf(TimeoutException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        Mockito.verify(delegate, Mockito.times(2)).execute(anyList(), any(), any());
+    }
+
+    @Test
+    @DisplayName("不重试也不对冲时，直接调用且不修改调用上下文")
+    void givenNoRetryAndNoHedgeThenInvokeDirectly() {
+        GenericableExecutor delegate = Mockito.mock(GenericableExecutor.class);
+        Mockito.when(delegate.execute(anyList(), any(), any())).thenReturn("ok");
+        RetryableGenericableExecutor executor = new RetryableGenericableExecutor(delegate);
+
+        Object result = executor.execute(Collections.singletonList(this.fitable), this.context, new Object[0]);
+
+        assertThat(result).isEqualTo("ok");
+        Mockito.verify(delegate).execute(anyList(), Mockito.same(this.context), any());
+    }
+}
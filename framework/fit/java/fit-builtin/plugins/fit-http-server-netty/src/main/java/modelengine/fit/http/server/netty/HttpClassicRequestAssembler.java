@@ -46,9 +46,12 @@ import modelengine.fitframework.pattern.builder.BuilderFactory;
 import modelengine.fitframework.schedule.Task;
 import modelengine.fitframework.schedule.ThreadPoolExecutor;
 import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
 import java.util.concurrent.TimeUnit;
 
@@ -66,12 +69,25 @@ public class HttpClassicRequestAssembler extends SimpleChannelInboundHandler<Htt
     private final HttpClassicServer server;
     private final boolean secure;
     private final Config config;
+    private final NettyHttpServerConfig.ExecutionMode executionMode;
+    private final ExecutorService virtualThreadExecutor;
     private final ThreadPoolExecutor threadPoolExecutor;
 
     public HttpClassicRequestAssembler(HttpClassicServer server, boolean secure, Config config) {
         this.server = notNull(server, "The http server cannot be null.");
         this.secure = secure;
         this.config = notNull(config, "The assembler config cannot be null.");
+        NettyHttpServerConfig.ExecutionMode expectedMode =
+                ObjectUtils.nullIf(config.executionMode(), NettyHttpServerConfig.ExecutionMode.THREAD_POOL);
+        this.virtualThreadExecutor = expectedMode == NettyHttpServerConfig.ExecutionMode.VIRTUAL_THREAD
+                ? createVirtualThreadExecutor()
+                : null;
+        this.executionMode = expectedMode == NettyHttpServerConfig.ExecutionMode.VIRTUAL_THREAD
+                && this.virtualThreadExecutor == null ? NettyHttpServerConfig.ExecutionMode.THREAD_POOL : expectedMode;
+        if (this.executionMode != NettyHttpServerConfig.ExecutionMode.THREAD_POOL) {
+            this.threadPoolExecutor = null;
+            return;
+        }
         this.threadPoolExecutor = ThreadPoolExecutor.custom()
                 .threadPoolName("netty-request-assembler")
                 .awaitTermination(3, TimeUnit.SECONDS)
@@ -87,6 +103,39 @@ public class HttpClassicRequestAssembler extends SimpleChannelInboundHandler<Htt
                 .build();
     }
 
+    private static ExecutorService createVirtualThreadExecutor() {
+        // 虚拟线程需要 Java 21 及以上版本的运行环境，通过反射获取以保持对低版本运行环境的兼容。
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not supported by current runtime, fall back to thread pool.");
+            return null;
+        }
+    }
+
+    /**
+     * 关闭当前组装器用于执行 Http 请求的虚拟线程执行器。
+     * <p>需要优雅退出时，等待正在执行的请求结束，最多等待 3 秒，否则，立即中断正在执行的请求。</p>
+     */
+    public void shutdown() {
+        if (this.virtualThreadExecutor == null) {
+            return;
+        }
+        if (!this.config.isGracefulExit()) {
+            this.virtualThreadExecutor.shutdownNow();
+            return;
+        }
+        this.virtualThreadExecutor.shutdown();
+        try {
+            if (!this.virtualThreadExecutor.awaitTermination(3, TimeUnit.SECONDS)) {
+                this.virtualThreadExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.virtualThreadExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private static void setRequest(ChannelHandlerContext ctx, NettyHttpServerRequest serverRequest) {
         Attribute<NettyHttpServerRequest> attr = ctx.channel().attr(REQUEST);
         attr.set(serverRequest);
@@ -149,7 +198,15 @@ public class HttpClassicRequestAssembler extends SimpleChannelInboundHandler<Htt
         setRequest(ctx, serverRequest);
         if (HttpUtil.is100ContinueExpected(request)) {
             this.return100Continue(ctx);
-        } else {
+        } else if (this.executionMode == NettyHttpServerConfig.ExecutionMode.VIRTUAL_THREAD) {
+            this.virtualThreadExecutor.execute(() -> {
+                try {
+                    this.doHttpRequest(ctx, serverRequest);
+                } catch (Throwable cause) {
+                    this.exceptionCaught(ctx, cause, serverRequest);
+                }
+            });
+        } else if (this.executionMode == NettyHttpServerConfig.ExecutionMode.THREAD_POOL) {
             this.threadPoolExecutor.execute(Task.builder()
                     .runnable(() -> this.doHttpRequest(ctx, serverRequest))
                     .uncaughtExceptionHandler((thread, cause) -> this.exceptionCaught(ctx, cause, serverRequest))
@@ -158,7 +215,10 @@ public class HttpClassicRequestAssembler extends SimpleChannelInboundHandler<Htt
     }
 
     private void doHttpRequest(ChannelHandlerContext ctx, NettyHttpServerRequest request) {
-        request.setExecuteThread(Thread.currentThread());
+        // 在网络读写线程上执行时，不能在连接断开时中断当前线程。
+        if (!ctx.executor().inEventLoop()) {
+            request.setExecuteThread(Thread.currentThread());
+        }
         try (HttpClassicServerRequest classicRequest = HttpClassicServerRequest.create(this.server, request);
              NettyHttpServerResponse response = new NettyHttpServerResponse(ctx, request);
              HttpClassicServerResponse classicResponse = HttpClassicServerResponse.create(this.server, response)) {
@@ -193,6 +253,10 @@ public class HttpClassicRequestAssembler extends SimpleChannelInboundHandler<Htt
             if (content instanceof LastHttpContent) {
                 serverRequest.receiveLastHttpContent(cast(content));
                 clearRequest(ctx);
+                if (this.executionMode == NettyHttpServerConfig.ExecutionMode.EVENT_LOOP) {
+                    // 消息体已经完整接收，因此处理过程中读取消息体不会阻塞网络读写线程。
+                    this.doHttpRequest(ctx, serverRequest);
+                }
             } else {
                 serverRequest.receiveHttpContent(content);
             }
@@ -291,6 +355,13 @@ public class HttpClassicRequestAssembler extends SimpleChannelInboundHandler<Htt
          */
         int queueCapacity();
 
+        /**
+         * 获取 Http 请求的执行方式。
+         *
+         * @return 表示 Http 请求执行方式的 {@link NettyHttpServerConfig.ExecutionMode}，为 {@code null} 时表示使用业务线程池执行。
+         */
+        NettyHttpServerConfig.ExecutionMode executionMode();
+
         /**
          * 获取是否需要优雅退出的标记。
          *
@@ -342,6 +413,14 @@ public class HttpClassicRequestAssembler extends SimpleChannelInboundHandler<Htt
              */
             Builder queueCapacity(int queueCapacity);
 
+            /**
+             * 向当前构建器中设置 Http 请求的执行方式。
+             *
+             * @param executionMode 表示待设置的 Http 请求执行方式的 {@link NettyHttpServerConfig.ExecutionMode}。
+             * @return 表示当前构建器的 {@link Builder}。
+             */
+            Builder executionMode(NettyHttpServerConfig.ExecutionMode executionMode);
+
             /**
              * 向当前构建器中设置是否需要优雅退出的标记。
              *
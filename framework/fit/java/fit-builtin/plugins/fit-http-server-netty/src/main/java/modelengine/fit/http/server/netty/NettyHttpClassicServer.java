@@ -12,19 +12,21 @@ import static modelengine.fitframework.inspection.Validation.lessThanOrEquals;
 import static modelengine.fitframework.inspection.Validation.notNull;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.Channel;
-import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.NettyRuntime;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import modelengine.fit.http.Serializers;
@@ -85,8 +87,12 @@ public class NettyHttpClassicServer implements HttpClassicServer {
     private final int coreThreadNum;
     private final int maxThreadNum;
     private final int queueCapacity;
+    private final int bossThreadNum;
+    private final int workerThreadNum;
     private final long largeBodySize;
     private final NettyHttpServerConfig nettyConfig;
+    private final NettyTransport transport;
+    private final ByteBufAllocator allocator;
     private final ServerConfig.Secure httpsConfig;
 
     private final ThreadPoolExecutor startServerExecutor =
@@ -115,6 +121,15 @@ public class NettyHttpClassicServer implements HttpClassicServer {
                 : Math.max(NettyRuntime.availableProcessors() * 2, 10);
         this.maxThreadNum = Math.max(this.nettyConfig.getMaxThreadNum(), this.coreThreadNum);
         this.queueCapacity = Math.max(this.nettyConfig.getQueueCapacity(), 0);
+        this.bossThreadNum = Math.max(this.nettyConfig.getBossThreadNum(), 1);
+        this.workerThreadNum = this.nettyConfig.getWorkerThreadNum() > 0
+                ? this.nettyConfig.getWorkerThreadNum()
+                : this.coreThreadNum;
+        this.transport = NettyTransport.select(NettyHttpServerConfig.Transport.from(this.nettyConfig.getTransport()));
+        this.allocator = NettyHttpServerConfig.Allocator.from(this.nettyConfig.getAllocator())
+                == NettyHttpServerConfig.Allocator.UNPOOLED
+                ? UnpooledByteBufAllocator.DEFAULT
+                : PooledByteBufAllocator.DEFAULT;
         this.isGracefulExit = isGracefulExit;
         this.httpsConfig = notNull(httpConfig, "The http config cannot be null.").secure().orElse(null);
         this.largeBodySize = httpConfig.largeBodySize();
@@ -198,30 +213,36 @@ public class NettyHttpClassicServer implements HttpClassicServer {
     }
 
     private void startServer() {
-        EventLoopGroup bossGroup = createBossGroup();
+        EventLoopGroup bossGroup = this.createBossGroup();
         EventLoopGroup workerGroup = this.createWorkerGroup();
+        ChannelInitializerHandler channelHandler = null;
         try {
             SSLContext sslContext = null;
             if (this.httpsPort > 0 && this.httpsConfig.isSslEnabled()) {
                 sslContext = this.createSslContext();
             }
-            ChannelHandler channelHandler = new ChannelInitializerHandler(this,
+            channelHandler = new ChannelInitializerHandler(this,
                     this.getAssemblerConfig(),
                     this.httpsPort,
                     sslContext,
                     this.httpsConfig);
             ServerBootstrap serverBootstrap = new ServerBootstrap();
             serverBootstrap.group(bossGroup, workerGroup)
-                    .channel(NioServerSocketChannel.class)
+                    .channel(this.transport.serverChannelClass())
+                    .option(ChannelOption.ALLOCATOR, this.allocator)
+                    .childOption(ChannelOption.ALLOCATOR, this.allocator)
                     .childHandler(channelHandler);
+            int acceptorNum = 1;
+            if (this.transport.reusePortOption() != null && this.bossThreadNum > 1) {
+                serverBootstrap.option(this.transport.reusePortOption(), true);
+                acceptorNum = this.bossThreadNum;
+            }
             this.logServerStarted();
             if (this.httpPort > 0) {
-                Channel channel = serverBootstrap.bind(this.httpPort).sync().channel();
-                this.channelGroup.add(channel);
+                this.bindAcceptors(serverBootstrap, this.httpPort, acceptorNum);
             }
             if (this.httpsPort > 0) {
-                Channel channel = serverBootstrap.bind(this.httpsPort).sync().channel();
-                this.channelGroup.add(channel);
+                this.bindAcceptors(serverBootstrap, this.httpsPort, acceptorNum);
             }
             ChannelGroupFuture channelFutures = this.channelGroup.newCloseFuture();
             this.isStarted = true;
@@ -231,10 +252,22 @@ public class NettyHttpClassicServer implements HttpClassicServer {
         } finally {
             workerGroup.shutdownGracefully();
             bossGroup.shutdownGracefully();
+            if (channelHandler != null) {
+                channelHandler.shutdown();
+            }
             log.info("Http server has been terminated.");
         }
     }
 
+    private void bindAcceptors(ServerBootstrap serverBootstrap, int port, int acceptorNum)
+            throws InterruptedException {
+        // 开启端口复用后，同一端口上的多个通道分布在不同的接收线程上，由内核在这些通道之间均衡新的连接。
+        for (int i = 0; i < acceptorNum; i++) {
+            Channel channel = serverBootstrap.bind(port).sync().channel();
+            this.channelGroup.add(channel);
+        }
+    }
+
     private HttpClassicRequestAssembler.Config getAssemblerConfig() {
         return HttpClassicRequestAssembler.Config.custom()
                 .shouldDisplayError(this.nettyConfig.isDisplayError())
@@ -242,31 +275,38 @@ public class NettyHttpClassicServer implements HttpClassicServer {
                 .coreThreadNum(this.coreThreadNum)
                 .maxThreadNum(this.maxThreadNum)
                 .queueCapacity(this.queueCapacity)
+                .executionMode(NettyHttpServerConfig.ExecutionMode.from(this.nettyConfig.getExecutionMode()))
                 .isGracefulExit(this.isGracefulExit)
                 .build();
     }
 
     private void logServerStarted() {
         if (this.httpPort > 0 && this.httpsPort > 0) {
-            log.info("Start netty http server successfully. [httpPort={}, httpsPort={}]",
+            log.info("Start netty http server successfully. [httpPort={}, httpsPort={}, transport={}]",
                     this.httpPort,
-                    this.httpsPort);
+                    this.httpsPort,
+                    this.transport.type());
         } else if (this.httpPort > 0) {
-            log.info("Start netty http server successfully. [httpPort={}]", this.httpPort);
+            log.info("Start netty http server successfully. [httpPort={}, transport={}]",
+                    this.httpPort,
+                    this.transport.type());
         } else {
-            log.info("Start netty http server successfully. [httpsPort={}]", this.httpsPort);
+            log.info("Start netty http server successfully. [httpsPort={}, transport={}]",
+                    this.httpsPort,
+                    this.transport.type());
         }
     }
 
-    private static EventLoopGroup createBossGroup() {
-        return new NioEventLoopGroup(1, new DefaultThreadFactory("netty-boss-group", false, (thread, exception) -> {
-            log.error("Netty boss group occurs exception.", exception);
-        }));
+    private EventLoopGroup createBossGroup() {
+        return this.transport.createEventLoopGroup(this.bossThreadNum,
+                new DefaultThreadFactory("netty-boss-group", false, (thread, exception) -> {
+                    log.error("Netty boss group occurs exception.", exception);
+                }));
     }
 
     private EventLoopGroup createWorkerGroup() {
         boolean isDaemon = !this.isGracefulExit;
-        return new NioEventLoopGroup(this.coreThreadNum,
+        return this.transport.createEventLoopGroup(this.workerThreadNum,
                 new DefaultThreadFactory("netty-worker-group", isDaemon, (thread, exception) -> {
                     log.error("Netty worker group occurs exception.", exception);
                 }));
@@ -378,6 +418,11 @@ public class NettyHttpClassicServer implements HttpClassicServer {
             this.secureAssembler = new HttpClassicRequestAssembler(server, true, assemblerConfig);
         }
 
+        void shutdown() {
+            this.assembler.shutdown();
+            this.secureAssembler.shutdown();
+        }
+
         @Override
         protected void initChannel(SocketChannel ch) {
             ChannelPipeline pipeline = ch.pipeline();
@@ -385,6 +430,7 @@ public class NettyHttpClassicServer implements HttpClassicServer {
                     && this.httpsConfig.isSslEnabled()) {
                 pipeline.addLast(new SslHandler(this.buildSslEngine(this.sslContext, this.httpsConfig)));
                 pipeline.addLast(new HttpServerCodec());
+                pipeline.addLast(new ChunkedWriteHandler());
                 pipeline.addLast(this.secureUpgrader);
                 pipeline.addLast(this.secureAssembler);
             } else {
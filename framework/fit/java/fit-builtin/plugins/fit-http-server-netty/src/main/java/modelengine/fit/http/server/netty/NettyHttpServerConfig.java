@@ -6,6 +6,8 @@
 
 package modelengine.fit.http.server.netty;
 
+import modelengine.fitframework.util.StringUtils;
+
 /**
  * 表示 {@link NettyHttpClassicServer} 的启动配置。
  *
@@ -40,4 +42,122 @@ public interface NettyHttpServerConfig {
      * @return 表示 Http 响应发生错误时，是否显示错误详细信息的 {@code boolean}。
      */
     boolean isDisplayError();
+
+    /**
+     * 获取网络传输层的类型。
+     * <p>可选值参见 {@link Transport}，当配置为 {@code 'epoll'} 但当前环境不支持时，将回退为 {@code 'nio'}。</p>
+     *
+     * @return 表示网络传输层类型的 {@link String}。
+     */
+    String getTransport();
+
+    /**
+     * 获取接收连接的线程数。
+     * <p>仅在使用 {@code 'epoll'} 传输层时，才会通过 {@code SO_REUSEPORT} 在同一端口上绑定多个接收连接的通道。</p>
+     *
+     * @return 表示接收连接的线程数的 {@code int}。
+     */
+    int getBossThreadNum();
+
+    /**
+     * 获取处理网络读写的线程数。
+     * <p>当未配置时，与业务线程池的核心线程数保持一致。</p>
+     *
+     * @return 表示处理网络读写的线程数的 {@code int}。
+     */
+    int getWorkerThreadNum();
+
+    /**
+     * 获取网络读写使用的内存分配器的类型。
+     * <p>可选值参见 {@link Allocator}。</p>
+     *
+     * @return 表示内存分配器类型的 {@link String}。
+     */
+    String getAllocator();
+
+    /**
+     * 获取 Http 请求的执行方式。
+     * <p>可选值参见 {@link ExecutionMode}。</p>
+     *
+     * @return 表示 Http 请求执行方式的 {@link String}。
+     */
+    String getExecutionMode();
+
+    /**
+     * 表示网络传输层的类型。
+     */
+    enum Transport {
+        /** 表示使用 JDK 的 NIO 传输层。 */
+        NIO,
+
+        /** 表示使用 Linux 的 epoll 传输层，需要在类路径中提供 {@code netty-transport-native-epoll}。 */
+        EPOLL;
+
+        /**
+         * 将传输层的名字转换为对应的传输层类型。
+         * <p>当名字不匹配时，统一返回 {@link Transport#NIO}。</p>
+         *
+         * @param name 表示传输层名字的 {@link String}。
+         * @return 表示转换后的传输层类型的 {@link Transport}。
+         */
+        public static Transport from(String name) {
+            return StringUtils.equalsIgnoreCase(name, EPOLL.name()) ? EPOLL : NIO;
+        }
+    }
+
+    /**
+     * 表示网络读写使用的内存分配器的类型。
+     */
+    enum Allocator {
+        /** 表示使用池化的内存分配器。 */
+        POOLED,
+
+        /** 表示使用非池化的内存分配器。 */
+        UNPOOLED;
+
+        /**
+         * 将内存分配器的名字转换为对应的内存分配器类型。
+         * <p>当名字不匹配时，统一返回 {@link Allocator#POOLED}。</p>
+         *
+         * @param name 表示内存分配器名字的 {@link String}。
+         * @return 表示转换后的内存分配器类型的 {@link Allocator}。
+         */
+        public static Allocator from(String name) {
+            return StringUtils.equalsIgnoreCase(name, UNPOOLED.name()) ? UNPOOLED : POOLED;
+        }
+    }
+
+    /**
+     * 表示 Http 请求的执行方式。
+     */
+    enum ExecutionMode {
+        /** 表示将 Http 请求交给业务线程池执行。 */
+        THREAD_POOL,
+
+        /**
+         * 表示在收到完整的 Http 请求后，直接在网络读写线程上执行，省去线程切换的开销。
+         * <p>仅适用于处理过程中不会阻塞的 Http 处理器，例如不访问远程服务、不使用 {@code TextEventStream} 的处理器。</p>
+         */
+        EVENT_LOOP,
+
+        /** 表示为每个 Http 请求创建一个虚拟线程执行，当运行环境不支持虚拟线程时，将回退为 {@link #THREAD_POOL}。 */
+        VIRTUAL_THREAD;
+
+        /**
+         * 将执行方式的名字转换为对应的执行方式。
+         * <p>名字忽略大小写，且 {@code '-'} 与 {@code '_'} 等价，当名字不匹配时，统一返回 {@link ExecutionMode#THREAD_POOL}。</p>
+         *
+         * @param name 表示执行方式名字的 {@link String}。
+         * @return 表示转换后的执行方式的 {@link ExecutionMode}。
+         */
+        public static ExecutionMode from(String name) {
+            String actual = StringUtils.isBlank(name) ? StringUtils.EMPTY : name.replace('-', '_');
+            for (ExecutionMode mode : values()) {
+                if (StringUtils.equalsIgnoreCase(actual, mode.name())) {
+                    return mode;
+                }
+            }
+            return THREAD_POOL;
+        }
+    }
 }
@@ -8,19 +8,22 @@ package modelengine.fit.http.server.netty;
 
 import static modelengine.fitframework.inspection.Validation.notNull;
 
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpResponse;
-import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedNioFile;
 import modelengine.fit.http.protocol.ConfigurableMessageHeaders;
 import modelengine.fit.http.protocol.ConfigurableStatusLine;
 import modelengine.fit.http.protocol.HttpVersion;
@@ -31,14 +34,21 @@ import modelengine.fitframework.util.StringUtils;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
 /**
  * {@link ServerResponse} 的 Netty 实现。
+ * <p>写入的消息体数据会先聚合到池化的 {@link ByteBuf} 中，当聚合的数据达到阈值，或者显式调用 {@link #flushBuffer()} 和
+ * {@link #flush()} 时才对外输出，从而避免每次写入都触发一次系统调用。文件内容通过 {@link DefaultFileRegion} 以零拷贝的方式发送，在启用了
+ * SSL 的连接上则通过 {@link ChunkedNioFile} 分块发送。</p>
  *
  * @author 季聿阶
  * @since 2022-07-08
  */
 public class NettyHttpServerResponse implements ServerResponse {
+    /** 表示聚合的消息体数据触发对外输出的阈值。 */
+    static final int FLUSH_THRESHOLD = 8192;
+
     private final ConfigurableStatusLine startLine;
     private final ConfigurableMessageHeaders headers;
     private final ChannelHandlerContext ctx;
@@ -46,6 +56,7 @@ public class NettyHttpServerResponse implements ServerResponse {
     private final ServerResponseBody body;
     private boolean hasAddedClosedListener;
     private boolean isClosed;
+    private ByteBuf pending;
 
     public NettyHttpServerResponse(ChannelHandlerContext ctx, NettyHttpServerRequest nettyRequest) {
         this.startLine = ConfigurableStatusLine.create(HttpVersion.HTTP_1_1, 0, StringUtils.EMPTY);
@@ -91,31 +102,97 @@ public class NettyHttpServerResponse implements ServerResponse {
         } else {
             response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
         }
-        this.ctx.writeAndFlush(response);
+        this.ctx.write(response);
     }
 
     @Override
     public void writeBody(int b) throws IOException {
-        this.writeBody(new byte[] {(byte) b});
+        this.checkIfClosed();
+        this.pendingBuffer(1).writeByte(b);
+        this.flushIfFull();
     }
 
     @Override
     public void writeBody(byte[] bytes, int off, int len) throws IOException {
         this.checkIfClosed();
-        HttpContent httpContent = new DefaultHttpContent(Unpooled.copiedBuffer(bytes, off, len));
-        this.ctx.writeAndFlush(httpContent);
+        if (len <= 0) {
+            return;
+        }
+        this.pendingBuffer(len).writeBytes(bytes, off, len);
+        this.flushIfFull();
+    }
+
+    @Override
+    public void writeBody(FileChannel channel, long position, long count) throws IOException {
+        this.checkIfClosed();
+        notNull(channel, "The file channel to write cannot be null.");
+        if (count <= 0) {
+            return;
+        }
+        if (this.ctx.executor().inEventLoop()) {
+            // 在网络读写线程上无法等待文件发送完毕，而文件通道会在响应结束后关闭，因此复制文件内容后发送。
+            ServerResponse.super.writeBody(channel, position, count);
+            return;
+        }
+        this.writePending();
+        Object fileContent;
+        if (this.ctx.pipeline().get(SslHandler.class) != null) {
+            fileContent = new ChunkedNioFile(channel, position, count, FLUSH_THRESHOLD);
+        } else {
+            fileContent = new DefaultFileRegion(channel, position, count);
+        }
+        ChannelFuture future = this.ctx.writeAndFlush(fileContent);
+        // 文件通道由消息体数据持有，在响应结束后关闭，因此需要等待文件内容发送完毕。
+        future.awaitUninterruptibly();
+        if (!future.isSuccess()) {
+            throw new IOException("Failed to write file to the netty http server response.", future.cause());
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        this.checkIfClosed();
+        this.writePending();
+        this.ctx.flush();
     }
 
     @Override
     public void flush() throws IOException {
         this.checkIfClosed();
-        ChannelFuture channelFuture = this.ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+        LastHttpContent lastHttpContent = LastHttpContent.EMPTY_LAST_CONTENT;
+        if (this.pending != null) {
+            lastHttpContent = new DefaultLastHttpContent(this.pending);
+            this.pending = null;
+        }
+        ChannelFuture channelFuture = this.ctx.writeAndFlush(lastHttpContent);
         if (!this.keepAlive && !this.hasAddedClosedListener) {
             channelFuture.addListener(ChannelFutureListener.CLOSE);
             this.hasAddedClosedListener = true;
         }
     }
 
+    private ByteBuf pendingBuffer(int len) {
+        if (this.pending == null) {
+            this.pending = this.ctx.alloc().buffer(Math.max(len, FLUSH_THRESHOLD));
+        }
+        return this.pending;
+    }
+
+    private void flushIfFull() {
+        if (this.pending.readableBytes() >= FLUSH_THRESHOLD) {
+            this.writePending();
+            this.ctx.flush();
+        }
+    }
+
+    private void writePending() {
+        if (this.pending == null) {
+            return;
+        }
+        this.ctx.write(new DefaultHttpContent(this.pending));
+        this.pending = null;
+    }
+
     @Override
     public OutputStream getBodyOutputStream() {
         return this.body;
@@ -124,6 +201,10 @@ public class NettyHttpServerResponse implements ServerResponse {
     @Override
     public void close() throws IOException {
         this.isClosed = true;
+        if (this.pending != null) {
+            this.pending.release();
+            this.pending = null;
+        }
         this.body.close();
     }
 }
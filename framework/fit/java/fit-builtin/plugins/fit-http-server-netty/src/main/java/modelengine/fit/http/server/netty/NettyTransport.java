@@ -0,0 +1,128 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.http.server.netty;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 表示 {@link NettyHttpClassicServer} 使用的网络传输层。
+ * <p>epoll 传输层通过反射加载，因此只有在类路径中提供了 {@code netty-transport-native-epoll} 且运行在 Linux 上时才会生效，
+ * 否则回退为 NIO 传输层。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-25
+ */
+final class NettyTransport {
+    private static final Logger log = Logger.get(NettyTransport.class);
+    private static final String EPOLL_PACKAGE = "io.netty.channel.epoll.";
+
+    private static final NettyTransport NIO = new NettyTransport(NettyHttpServerConfig.Transport.NIO, null, null);
+
+    private final NettyHttpServerConfig.Transport type;
+    private final Class<? extends EventLoopGroup> eventLoopGroupClass;
+    private final ChannelOption<Boolean> reusePortOption;
+
+    private NettyTransport(NettyHttpServerConfig.Transport type, Class<? extends EventLoopGroup> eventLoopGroupClass,
+            ChannelOption<Boolean> reusePortOption) {
+        this.type = type;
+        this.eventLoopGroupClass = eventLoopGroupClass;
+        this.reusePortOption = reusePortOption;
+    }
+
+    /**
+     * 根据期望的传输层类型选择当前环境可用的传输层。
+     *
+     * @param expected 表示期望的传输层类型的 {@link NettyHttpServerConfig.Transport}。
+     * @return 表示当前环境可用的传输层的 {@link NettyTransport}。
+     */
+    static NettyTransport select(NettyHttpServerConfig.Transport expected) {
+        if (expected != NettyHttpServerConfig.Transport.EPOLL) {
+            return NIO;
+        }
+        try {
+            Class<?> epoll = Class.forName(EPOLL_PACKAGE + "Epoll");
+            if (!Boolean.TRUE.equals(epoll.getMethod("isAvailable").invoke(null))) {
+                log.warn("Epoll transport is not available, fall back to nio transport.");
+                return NIO;
+            }
+            Class<? extends EventLoopGroup> eventLoopGroupClass =
+                    ObjectUtils.cast(Class.forName(EPOLL_PACKAGE + "EpollEventLoopGroup"));
+            Class<?> epollChannelOption = Class.forName(EPOLL_PACKAGE + "EpollChannelOption");
+            ChannelOption<Boolean> reusePortOption =
+                    ObjectUtils.cast(epollChannelOption.getField("SO_REUSEPORT").get(null));
+            return new NettyTransport(NettyHttpServerConfig.Transport.EPOLL, eventLoopGroupClass, reusePortOption);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Epoll transport is not on the classpath, fall back to nio transport.");
+            log.debug("Failed to load epoll transport.", e);
+            return NIO;
+        }
+    }
+
+    /**
+     * 获取传输层的类型。
+     *
+     * @return 表示传输层类型的 {@link NettyHttpServerConfig.Transport}。
+     */
+    NettyHttpServerConfig.Transport type() {
+        return this.type;
+    }
+
+    /**
+     * 创建传输层对应的事件循环组。
+     *
+     * @param threads 表示事件循环组的线程数的 {@code int}。
+     * @param threadFactory 表示事件循环组的线程工厂的 {@link ThreadFactory}。
+     * @return 表示创建的事件循环组的 {@link EventLoopGroup}。
+     * @throws IllegalStateException 当创建 epoll 事件循环组失败时。
+     */
+    EventLoopGroup createEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        if (this.eventLoopGroupClass == null) {
+            return new NioEventLoopGroup(threads, threadFactory);
+        }
+        try {
+            return this.eventLoopGroupClass.getConstructor(int.class, ThreadFactory.class)
+                    .newInstance(threads, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create epoll event loop group.", e);
+        }
+    }
+
+    /**
+     * 获取传输层对应的服务端通道类型。
+     *
+     * @return 表示服务端通道类型的 {@link Class}{@code <? extends }{@link ServerChannel}{@code >}。
+     * @throws IllegalStateException 当加载 epoll 服务端通道类型失败时。
+     */
+    Class<? extends ServerChannel> serverChannelClass() {
+        if (this.eventLoopGroupClass == null) {
+            return NioServerSocketChannel.class;
+        }
+        try {
+            return ObjectUtils.cast(Class.forName(EPOLL_PACKAGE + "EpollServerSocketChannel"));
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to load epoll server socket channel.", e);
+        }
+    }
+
+    /**
+     * 获取端口复用的配置项。
+     *
+     * @return 表示端口复用配置项的 {@link ChannelOption}{@code <}{@link Boolean}{@code >}，当传输层不支持端口复用时，返回
+     * {@code null}。
+     */
+    ChannelOption<Boolean> reusePortOption() {
+        return this.reusePortOption;
+    }
+}
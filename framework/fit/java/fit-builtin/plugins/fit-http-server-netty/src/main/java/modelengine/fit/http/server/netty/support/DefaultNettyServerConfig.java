@@ -39,6 +39,31 @@ public class DefaultNettyServerConfig implements NettyHttpServerConfig {
      */
     private boolean displayError;
 
+    /**
+     * 配置项：{@code 'transport'}。
+     */
+    private String transport;
+
+    /**
+     * 配置项：{@code 'boss-thread-num'}。
+     */
+    private int bossThreadNum;
+
+    /**
+     * 配置项：{@code 'worker-thread-num'}。
+     */
+    private int workerThreadNum;
+
+    /**
+     * 配置项：{@code 'allocator'}。
+     */
+    private String allocator;
+
+    /**
+     * 配置项：{@code 'execution-mode'}。
+     */
+    private String executionMode;
+
     @Override
     public int getCoreThreadNum() {
         return this.coreThreadNum;
@@ -94,4 +119,74 @@ public class DefaultNettyServerConfig implements NettyHttpServerConfig {
     public void setDisplayError(boolean displayError) {
         this.displayError = displayError;
     }
+
+    @Override
+    public String getTransport() {
+        return this.transport;
+    }
+
+    /**
+     * 设置网络传输层的类型。
+     *
+     * @param transport 表示网络传输层类型的 {@link String}。
+     */
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+
+    @Override
+    public int getBossThreadNum() {
+        return this.bossThreadNum;
+    }
+
+    /**
+     * 设置接收连接的线程数。
+     *
+     * @param bossThreadNum 表示接收连接的线程数的 {@code int}。
+     */
+    public void setBossThreadNum(int bossThreadNum) {
+        this.bossThreadNum = bossThreadNum;
+    }
+
+    @Override
+    public int getWorkerThreadNum() {
+        return this.workerThreadNum;
+    }
+
+    /**
+     * 设置处理网络读写的线程数。
+     *
+     * @param workerThreadNum 表示处理网络读写的线程数的 {@code int}。
+     */
+    public void setWorkerThreadNum(int workerThreadNum) {
+        this.workerThreadNum = workerThreadNum;
+    }
+
+    @Override
+    public String getAllocator() {
+        return this.allocator;
+    }
+
+    /**
+     * 设置内存分配器的类型。
+     *
+     * @param allocator 表示内存分配器类型的 {@link String}。
+     */
+    public void setAllocator(String allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public String getExecutionMode() {
+        return this.executionMode;
+    }
+
+    /**
+     * 设置 Http 请求的执行方式。
+     *
+     * @param executionMode 表示 Http 请求执行方式的 {@link String}。
+     */
+    public void setExecutionMode(String executionMode) {
+        this.executionMode = executionMode;
+    }
 }
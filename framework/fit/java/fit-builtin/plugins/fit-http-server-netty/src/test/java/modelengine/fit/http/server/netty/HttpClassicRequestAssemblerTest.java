@@ -6,6 +6,7 @@
 
 package modelengine.fit.http.server.netty;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -14,14 +15,18 @@ import static org.mockito.Mockito.when;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelId;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.Attribute;
+import io.netty.util.ReferenceCountUtil;
 import modelengine.fit.http.protocol.HttpRequestMethod;
 import modelengine.fit.http.server.HttpHandler;
 import modelengine.fit.http.server.netty.support.DefaultNettyServerConfig;
@@ -35,6 +40,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.Map;
 
 /**
@@ -45,6 +52,7 @@ import java.util.Map;
  */
 @DisplayName("测试 HttpClassicRequestAssembler 类")
 class HttpClassicRequestAssemblerTest {
+    private NettyHttpClassicServer classicServer;
     private HttpClassicRequestAssembler requestAssembler;
     private ChannelHandlerContext ctx;
 
@@ -62,13 +70,13 @@ class HttpClassicRequestAssemblerTest {
         nettyServerConfig.setDisplayError(true);
         HttpConfig httpConfig = mock(HttpConfig.class);
         BeanContainer container = mock(BeanContainer.class);
-        NettyHttpClassicServer classicServer = new NettyHttpClassicServer(container,
+        this.classicServer = new NettyHttpClassicServer(container,
                 serializersMap,
                 valueFetcher,
                 nettyServerConfig,
                 httpConfig,
                 true);
-        classicServer.httpDispatcher().register(HttpRequestMethod.GET.name(), handler);
+        this.classicServer.httpDispatcher().register(HttpRequestMethod.GET.name(), handler);
         this.ctx = mock(ChannelHandlerContext.class);
         Channel channel = mock(Channel.class);
         when(this.ctx.channel()).thenReturn(channel);
@@ -76,7 +84,7 @@ class HttpClassicRequestAssemblerTest {
         Attribute attribute = mock(Attribute.class);
         when(channel.attr(any())).thenReturn(attribute);
         when(channelId.asLongText()).thenReturn("requestId");
-        this.requestAssembler = new HttpClassicRequestAssembler(classicServer,
+        this.requestAssembler = new HttpClassicRequestAssembler(this.classicServer,
                 false,
                 HttpClassicRequestAssembler.Config.custom()
                         .maxThreadNum(1)
@@ -93,4 +101,47 @@ class HttpClassicRequestAssemblerTest {
         DefaultHttpRequest httpRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/a", headers);
         assertDoesNotThrow(() -> this.requestAssembler.channelRead0(this.ctx, httpRequest));
     }
+
+    @Test
+    @DisplayName("当执行方式为网络读写线程时，收到完整的请求后直接在当前线程处理并写出响应")
+    void givenEventLoopModeThenHandleRequestAfterLastContent() {
+        HttpClassicRequestAssembler assembler = new HttpClassicRequestAssembler(this.classicServer,
+                false,
+                HttpClassicRequestAssembler.Config.custom()
+                        .shouldDisplayError(true)
+                        .largeBodySize(2048)
+                        .executionMode(NettyHttpServerConfig.ExecutionMode.EVENT_LOOP)
+                        .build());
+        EmbeddedChannel channel = new EmbeddedChannel(assembler) {
+            @Override
+            protected SocketAddress localAddress0() {
+                return new InetSocketAddress("127.0.0.1", 8080);
+            }
+
+            @Override
+            protected SocketAddress remoteAddress0() {
+                return new InetSocketAddress("127.0.0.1", 50000);
+            }
+        };
+        channel.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/a"));
+        assertThat((Object) channel.readOutbound()).isNull();
+        channel.writeInbound(LastHttpContent.EMPTY_LAST_CONTENT);
+        Object response = channel.readOutbound();
+        Object lastContent = channel.readOutbound();
+        assertThat(response).isInstanceOf(HttpResponse.class);
+        assertThat(lastContent).isInstanceOf(LastHttpContent.class);
+        ReferenceCountUtil.release(lastContent);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    @DisplayName("执行方式的名字忽略大小写，且 '-' 与 '_' 等价")
+    void givenExecutionModeNameThenParseIt() {
+        assertThat(NettyHttpServerConfig.ExecutionMode.from("event-loop"))
+                .isEqualTo(NettyHttpServerConfig.ExecutionMode.EVENT_LOOP);
+        assertThat(NettyHttpServerConfig.ExecutionMode.from("VIRTUAL_THREAD"))
+                .isEqualTo(NettyHttpServerConfig.ExecutionMode.VIRTUAL_THREAD);
+        assertThat(NettyHttpServerConfig.ExecutionMode.from(null))
+                .isEqualTo(NettyHttpServerConfig.ExecutionMode.THREAD_POOL);
+    }
 }
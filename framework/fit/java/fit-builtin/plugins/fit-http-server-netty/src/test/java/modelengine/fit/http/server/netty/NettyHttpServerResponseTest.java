@@ -0,0 +1,191 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.http.server.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultChannelPromise;
+import io.netty.channel.FileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表示 {@link NettyHttpServerResponse} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-24
+ */
+@DisplayName("测试 NettyHttpServerResponse 类")
+class NettyHttpServerResponseTest {
+    private EmbeddedChannel channel;
+    private int flushes;
+    private NettyHttpServerResponse response;
+
+    @BeforeEach
+    void setup() {
+        this.channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void flush(ChannelHandlerContext ctx) throws Exception {
+                NettyHttpServerResponseTest.this.flushes++;
+                super.flush(ctx);
+            }
+        }, new ChannelInboundHandlerAdapter());
+        NettyHttpServerRequest request = mock(NettyHttpServerRequest.class);
+        when(request.getNettyRequest()).thenReturn(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/"));
+        this.response = new NettyHttpServerResponse(this.channel.pipeline().lastContext(), request);
+        this.response.startLine().statusCode(200);
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        this.response.close();
+        this.channel.finishAndReleaseAll();
+    }
+
+    private List<Object> outbound() {
+        List<Object> messages = new ArrayList<>();
+        Object message;
+        while ((message = this.channel.readOutbound()) != null) {
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static long contentBytes(List<Object> messages) {
+        long bytes = 0;
+        for (Object message : messages) {
+            if (message instanceof HttpContent) {
+                bytes += ((HttpContent) message).content().readableBytes();
+            }
+            ReferenceCountUtil.release(message);
+        }
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("逐字节写入的消息体数据被聚合后输出，且响应头和消息体在同一次刷新中输出")
+    void givenSingleByteWritesThenCoalesceIntoChunks() throws IOException {
+        this.response.writeStartLineAndHeaders();
+        for (int i = 0; i < 4 * NettyHttpServerResponse.FLUSH_THRESHOLD; i++) {
+            this.response.writeBody(i);
+        }
+        this.response.flush();
+        List<Object> messages = this.outbound();
+        assertThat(messages.get(0)).isInstanceOf(HttpResponse.class);
+        assertThat(messages.get(messages.size() - 1)).isInstanceOf(LastHttpContent.class);
+        assertThat(messages).hasSize(6);
+        assertThat(this.flushes).isEqualTo(5);
+        assertThat(contentBytes(messages)).isEqualTo(4 * NettyHttpServerResponse.FLUSH_THRESHOLD);
+    }
+
+    @Test
+    @DisplayName("显式刷新缓冲区时，立即输出已经写入的数据，但不结束响应")
+    void givenFlushBufferThenWriteWithoutLastContent() throws IOException {
+        this.response.writeStartLineAndHeaders();
+        this.response.writeBody("data: 1\n\n".getBytes());
+        assertThat(this.channel.outboundMessages()).isEmpty();
+        this.response.flushBuffer();
+        List<Object> messages = this.outbound();
+        assertThat(messages).hasSize(2);
+        assertThat(messages.get(1)).isInstanceOf(HttpContent.class).isNotInstanceOf(LastHttpContent.class);
+        assertThat(this.flushes).isEqualTo(1);
+        assertThat(contentBytes(messages)).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("在业务线程中写入文件通道时，以零拷贝的方式输出文件内容")
+    void givenFileChannelThenWriteFileRegion(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("static.js");
+        Files.write(file, new byte[3 * NettyHttpServerResponse.FLUSH_THRESHOLD]);
+        ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+        EventExecutor executor = mock(EventExecutor.class);
+        when(ctx.executor()).thenReturn(executor);
+        when(ctx.pipeline()).thenReturn(mock(ChannelPipeline.class));
+        when(ctx.writeAndFlush(any())).thenReturn(new DefaultChannelPromise(this.channel,
+                ImmediateEventExecutor.INSTANCE).setSuccess());
+        NettyHttpServerRequest request = mock(NettyHttpServerRequest.class);
+        when(request.getNettyRequest()).thenReturn(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/"));
+        NettyHttpServerResponse fileResponse = new NettyHttpServerResponse(ctx, request);
+        try (FileInputStream in = new FileInputStream(file.toFile())) {
+            FileChannel fileChannel = in.getChannel();
+            fileResponse.writeBody(fileChannel, 0, fileChannel.size());
+        }
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(ctx).writeAndFlush(captor.capture());
+        assertThat(captor.getValue()).isInstanceOf(FileRegion.class);
+        assertThat(((FileRegion) captor.getValue()).count()).isEqualTo(3 * NettyHttpServerResponse.FLUSH_THRESHOLD);
+        ReferenceCountUtil.release(captor.getValue());
+    }
+
+    @Test
+    @DisplayName("在网络读写线程中写入文件通道时，复制文件内容后输出")
+    void givenFileChannelInEventLoopThenCopyContent(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("static.js");
+        Files.write(file, new byte[3 * NettyHttpServerResponse.FLUSH_THRESHOLD]);
+        this.response.writeStartLineAndHeaders();
+        try (FileInputStream in = new FileInputStream(file.toFile())) {
+            FileChannel fileChannel = in.getChannel();
+            this.response.writeBody(fileChannel, 0, fileChannel.size());
+            this.response.flush();
+        }
+        List<Object> messages = this.outbound();
+        assertThat(messages).noneMatch(FileRegion.class::isInstance);
+        assertThat(contentBytes(messages)).isEqualTo(3 * NettyHttpServerResponse.FLUSH_THRESHOLD);
+    }
+
+    @Test
+    @DisplayName("分块写入大量数据时，刷新次数与聚合阈值相关，而与写入次数无关")
+    void givenManySmallChunksThenFlushesAreBounded() throws IOException {
+        byte[] chunk = new byte[512];
+        int total = 16 * 1024 * 1024;
+        this.response.writeStartLineAndHeaders();
+        long start = System.nanoTime();
+        for (int written = 0; written < total; written += chunk.length) {
+            this.response.writeBody(chunk, 0, chunk.length);
+            if (this.channel.outboundMessages().size() > 64) {
+                contentBytes(this.outbound());
+            }
+        }
+        this.response.flush();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        contentBytes(this.outbound());
+        assertThat(this.flushes).isEqualTo(total / NettyHttpServerResponse.FLUSH_THRESHOLD + 1);
+        assertThat(elapsedMillis).isLessThan(5000);
+    }
+}
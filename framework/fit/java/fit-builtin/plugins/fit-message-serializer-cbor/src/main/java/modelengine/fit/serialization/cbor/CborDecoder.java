@@ -9,19 +9,31 @@ package modelengine.fit.serialization.cbor;
 import static modelengine.fitframework.inspection.Validation.between;
 import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
 import static modelengine.fitframework.inspection.Validation.notNull;
+import static modelengine.fitframework.util.ObjectUtils.cast;
 
+import modelengine.fitframework.beans.BeanAccessor;
 import modelengine.fitframework.inspection.Validation;
-import modelengine.fitframework.util.Convert;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.ReflectionUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 表示 CBOR 的解码器。
@@ -30,6 +42,9 @@ import java.util.Map;
  * @since 2024-01-28
  */
 public class CborDecoder {
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+    private static final Map<Class<?>, Boolean> BEAN_CLASSES = new ConcurrentHashMap<>();
+
     /**
      * 将指定的二进制数组进行解码。
      *
@@ -52,7 +67,28 @@ public class CborDecoder {
      * @throws IOException 当解码过程中发生错误时。
      */
     public Object decode(InputStream in) throws IOException {
-        int first = greaterThanOrEquals(in.read(), 0, "No enough byte to decode by CBOR.");
+        return this.decode(in, this.readFirst(in));
+    }
+
+    /**
+     * 从指定字节输入流中读取字节，并直接解码为指定类型的对象。
+     * <p>当目标类型为列表、集合、映射、数组或者 Bean 时，数据直接绑定到目标类型上，不再生成中间的列表和映射，其余情况下先解码，再通过
+     * {@link ObjectUtils#toCustomObject(Object, Type)} 转换，结果与先解码再转换一致。</p>
+     *
+     * @param in 表示指定的字节输入流的 {@link InputStream}。
+     * @param type 表示目标类型的 {@link Type}。
+     * @return 表示解码后的数据的 {@link Object}。
+     * @throws IOException 当解码过程中发生错误时。
+     */
+    public Object decode(InputStream in, Type type) throws IOException {
+        return this.bind(in, this.readFirst(in), type);
+    }
+
+    private int readFirst(InputStream in) throws IOException {
+        return greaterThanOrEquals(in.read(), 0, "No enough byte to decode by CBOR.");
+    }
+
+    private Object decode(InputStream in, int first) throws IOException {
         int type = (first & 0b111_00000) >> 5;
         switch (type) {
             case 0:
@@ -60,13 +96,13 @@ public class CborDecoder {
             case 1:
                 return this.decodeNegativeInteger(in, first);
             case 2:
-                return this.decodeBytes(in, (byte) first);
+                return this.decodeBytes(in, first);
             case 3:
-                return this.decodeString(in, (byte) first);
+                return this.decodeString(in, first);
             case 4:
-                return this.decodeArray(in, (byte) first);
+                return this.decodeArray(in, first);
             case 5:
-                return this.decodeMap(in, (byte) first);
+                return this.decodeMap(in, first);
             case 7:
                 return this.decodeFloatingPointAndSimpleType(in, (byte) first);
             default:
@@ -84,17 +120,11 @@ public class CborDecoder {
                     0,
                     "No enough byte to decode to unsigned integer by CBOR. [size=1]");
         } else if (dataType == 25) {
-            byte[] bytes = new byte[2];
-            this.readBytes(in, bytes);
-            return Convert.toLong(bytes);
+            return this.readLong(in, 2);
         } else if (dataType == 26) {
-            byte[] bytes = new byte[4];
-            this.readBytes(in, bytes);
-            return Convert.toLong(bytes);
+            return this.readLong(in, 4);
         } else if (dataType == 27) {
-            byte[] bytes = new byte[8];
-            this.readBytes(in, bytes);
-            long data = Convert.toLong(bytes);
+            long data = this.readLong(in, 8);
             if (data < 0) {
                 throw new IllegalStateException(StringUtils.format("Unsupported number scope. [data={0}]", data));
             }
@@ -110,39 +140,33 @@ public class CborDecoder {
         return -(unsignedInteger + 1);
     }
 
-    private byte[] decodeBytes(InputStream in, byte first) throws IOException {
+    private byte[] decodeBytes(InputStream in, int first) throws IOException {
         long len = this.decodeUnsignedInteger(in, first);
         between(len, 0L, (long) Integer.MAX_VALUE, "The bytes length is out of range. [length={0}]", len);
-        byte[] bytes = new byte[(int) len];
-        if (len == 0) {
-            return bytes;
-        }
-        int read = in.read(bytes);
-        Validation.equals(read,
+        byte[] bytes = in.readNBytes((int) len);
+        Validation.equals(bytes.length,
                 (int) len,
                 "No enough bytes to decode to bytes by CBOR. [total={0}, actual={1}]",
                 len,
-                read);
+                bytes.length);
         return bytes;
     }
 
-    private String decodeString(InputStream in, byte first) throws IOException {
+    private String decodeString(InputStream in, int first) throws IOException {
         return new String(this.decodeBytes(in, first), StandardCharsets.UTF_8);
     }
 
-    private List<Object> decodeArray(InputStream in, byte first) throws IOException {
-        long len = this.decodeUnsignedInteger(in, first);
-        between(len, 0L, (long) Integer.MAX_VALUE, "The array length is out of range. [length={0}]", len);
-        List<Object> list = new LinkedList<>();
+    private List<Object> decodeArray(InputStream in, int first) throws IOException {
+        int len = this.decodeSize(in, first, "The array length is out of range. [length={0}]");
+        List<Object> list = new ArrayList<>(Math.min(len, MAX_INITIAL_CAPACITY));
         for (int i = 0; i < len; i++) {
             list.add(this.decode(in));
         }
         return list;
     }
 
-    private Map<Object, Object> decodeMap(InputStream in, byte first) throws IOException {
-        long size = this.decodeUnsignedInteger(in, first);
-        between(size, 0L, (long) Integer.MAX_VALUE, "The map size is out of range. [size={0}]", size);
+    private Map<Object, Object> decodeMap(InputStream in, int first) throws IOException {
+        int size = this.decodeSize(in, first, "The map size is out of range. [size={0}]");
         Map<Object, Object> map = new LinkedHashMap<>();
         for (int i = 0; i < size; i++) {
             Object key = this.decode(in);
@@ -152,6 +176,12 @@ public class CborDecoder {
         return map;
     }
 
+    private int decodeSize(InputStream in, int first, String error) throws IOException {
+        long size = this.decodeUnsignedInteger(in, first);
+        between(size, 0L, (long) Integer.MAX_VALUE, error, size);
+        return (int) size;
+    }
+
     private Object decodeFloatingPointAndSimpleType(InputStream in, byte first) throws IOException {
         if (first == CborConstant.NULL) {
             return null;
@@ -163,22 +193,113 @@ public class CborDecoder {
             return false;
         }
         if (first == CborConstant.FLOAT) {
-            byte[] bytes = new byte[4];
-            this.readBytes(in, bytes);
-            return Convert.toFloat(bytes);
+            return Float.intBitsToFloat((int) this.readLong(in, 4));
         }
         if (first == CborConstant.DOUBLE) {
-            byte[] bytes = new byte[8];
-            this.readBytes(in, bytes);
-            return Convert.toDouble(bytes);
+            return Double.longBitsToDouble(this.readLong(in, 8));
         }
         throw new IllegalStateException(StringUtils.format("Unsupported type to decode by CBOR. [type={0}]",
                 first & 0b000_11111));
     }
 
-    private void readBytes(InputStream in, byte[] bytes) throws IOException {
-        int len = bytes.length;
-        int read = in.read(bytes);
-        Validation.equals(read, len, "No enough bytes to decode. [need={0}, read={1}]", len, read);
+    private long readLong(InputStream in, int len) throws IOException {
+        long value = 0L;
+        for (int i = 0; i < len; i++) {
+            int read = in.read();
+            if (read < 0) {
+                throw new IllegalArgumentException(StringUtils.format(
+                        "No enough bytes to decode. [need={0}, read={1}]",
+                        len,
+                        i));
+            }
+            value = (value << 8) | read;
+        }
+        return value;
+    }
+
+    private Object bind(InputStream in, int first, Type type) throws IOException {
+        if (type == null || type == Object.class) {
+            return this.decode(in, first);
+        }
+        int majorType = (first & 0b111_00000) >> 5;
+        if (majorType == 4) {
+            if (type instanceof Class && ((Class<?>) type).isArray()) {
+                return this.bindArray(in, first, ((Class<?>) type).getComponentType());
+            }
+            if (type instanceof ParameterizedType) {
+                ParameterizedType parameterizedType = (ParameterizedType) type;
+                Type rawType = parameterizedType.getRawType();
+                if (rawType == List.class) {
+                    int len = this.decodeSize(in, first, "The array length is out of range. [length={0}]");
+                    List<Object> list = new ArrayList<>(Math.min(len, MAX_INITIAL_CAPACITY));
+                    return this.bindCollection(in, len, parameterizedType.getActualTypeArguments()[0], list);
+                }
+                if (rawType == Set.class) {
+                    int len = this.decodeSize(in, first, "The array length is out of range. [length={0}]");
+                    Set<Object> set = new HashSet<>(Math.min(len, MAX_INITIAL_CAPACITY));
+                    return this.bindCollection(in, len, parameterizedType.getActualTypeArguments()[0], set);
+                }
+            }
+        } else if (majorType == 5) {
+            if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == Map.class) {
+                return this.bindMap(in, first, ((ParameterizedType) type).getActualTypeArguments());
+            }
+            if (type instanceof Class && isBeanClass((Class<?>) type)) {
+                return this.bindBean(in, first, (Class<?>) type);
+            }
+        }
+        return ObjectUtils.toCustomObject(this.decode(in, first), type);
+    }
+
+    private Object bindArray(InputStream in, int first, Class<?> componentType) throws IOException {
+        int len = this.decodeSize(in, first, "The array length is out of range. [length={0}]");
+        List<Object> list = new ArrayList<>(Math.min(len, MAX_INITIAL_CAPACITY));
+        this.bindCollection(in, len, componentType, list);
+        Object array = Array.newInstance(componentType, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Array.set(array, i, list.get(i));
+        }
+        return array;
+    }
+
+    private <C extends Collection<Object>> C bindCollection(InputStream in, int len, Type elementType, C collection)
+            throws IOException {
+        for (int i = 0; i < len; i++) {
+            collection.add(this.bind(in, this.readFirst(in), elementType));
+        }
+        return collection;
+    }
+
+    private Map<Object, Object> bindMap(InputStream in, int first, Type[] argumentTypes) throws IOException {
+        int size = this.decodeSize(in, first, "The map size is out of range. [size={0}]");
+        Map<Object, Object> map = new HashMap<>(Math.min(size, MAX_INITIAL_CAPACITY));
+        for (int i = 0; i < size; i++) {
+            Object key = this.bind(in, this.readFirst(in), argumentTypes[0]);
+            Object value = this.bind(in, this.readFirst(in), argumentTypes[1]);
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    private Object bindBean(InputStream in, int first, Class<?> beanClass) throws IOException {
+        int size = this.decodeSize(in, first, "The map size is out of range. [size={0}]");
+        BeanAccessor accessor = BeanAccessor.of(beanClass);
+        Object bean = ReflectionUtils.instantiate(beanClass);
+        for (int i = 0; i < size; i++) {
+            String property = accessor.getAlias(cast(this.decode(in)));
+            if (accessor.properties().contains(property)) {
+                accessor.set(bean, property, this.bind(in, this.readFirst(in), accessor.getType(property)));
+            } else {
+                this.decode(in);
+            }
+        }
+        return bean;
+    }
+
+    private static boolean isBeanClass(Class<?> clazz) {
+        return BEAN_CLASSES.computeIfAbsent(clazz,
+                key -> !key.isPrimitive() && !key.isArray() && !key.isEnum() && !key.isInterface()
+                        && !Modifier.isAbstract(key.getModifiers()) && key != Void.class
+                        && !key.isAssignableFrom(LinkedHashMap.class));
     }
 }
@@ -9,19 +9,22 @@ package modelengine.fit.serialization.cbor;
 import static modelengine.fitframework.inspection.Validation.between;
 import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
 import static modelengine.fitframework.util.ObjectUtils.cast;
-import static modelengine.fitframework.util.ObjectUtils.toJavaObject;
 
-import modelengine.fitframework.util.Convert;
+import modelengine.fitframework.beans.BeanAccessor;
+import modelengine.fitframework.util.ReflectionUtils;
 import modelengine.fitframework.util.StringUtils;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * 表示 CBOR 的编码器。
@@ -30,6 +33,10 @@ import java.util.Map;
  * @since 2024-01-25
  */
 public class CborEncoder {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+    private static final ThreadLocal<Sink> SINKS = ThreadLocal.withInitial(Sink::new);
+
     /**
      * 将指定的数据进行编码。
      *
@@ -38,46 +45,83 @@ public class CborEncoder {
      * @throws IOException 当编码过程中发生错误时。
      */
     public byte[] encode(Object data) throws IOException {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            this.encode(data, out);
-            return out.toByteArray();
+        Sink sink = acquire(null);
+        try {
+            this.encode(data, sink);
+            return sink.toByteArray();
+        } finally {
+            sink.release();
         }
     }
 
     /**
      * 将指定的数据进行编码，编码后的二进制数组写入指定的输出字节流。
+     * <p>自定义对象直接按照其属性编码，不再先转换为仅包含 Java 类型的对象，编码结果与转换后再编码的结果一致。</p>
      *
      * @param data 表示待编码的数据的 {@link Object}。
      * @param out 表示待写入的指定输出字节流的 {@link OutputStream}。
      * @throws IOException 当编码过程中发生错误时。
      */
     public void encode(Object data, OutputStream out) throws IOException {
-        Object actual = toJavaObject(data);
-        if (actual == null) {
+        Sink sink = acquire(out);
+        try {
+            this.encode(data, sink);
+            sink.flush();
+        } finally {
+            sink.release();
+        }
+    }
+
+    private static Sink acquire(OutputStream out) {
+        Sink sink = SINKS.get();
+        if (sink.inUse) {
+            sink = new Sink();
+        }
+        sink.inUse = true;
+        sink.out = out;
+        return sink;
+    }
+
+    private void encode(Object data, Sink out) throws IOException {
+        if (data == null) {
             this.encodeNull(out);
-        } else if (actual instanceof Boolean) {
-            this.encodeBoolean((boolean) actual, out);
-        } else if (actual instanceof Number) {
-            this.encodeNumber((Number) actual, out);
-        } else if (actual instanceof byte[]) {
-            this.encodeBytes((byte[]) actual, out);
-        } else if (actual instanceof String) {
-            this.encodeString((String) actual, out);
-        } else if (actual instanceof List) {
-            this.encodeList(cast(actual), out);
-        } else if (actual instanceof Map) {
-            this.encodeObject(cast(actual), out);
+            return;
+        }
+        Class<?> clazz = data.getClass();
+        if (ReflectionUtils.isPrimitiveWrapper(clazz) || data instanceof BigInteger || data instanceof BigDecimal
+                || data instanceof String || data instanceof byte[]) {
+            this.encodeScalar(data, out);
+        } else if (data instanceof Map) {
+            this.encodeObject(cast(data), out);
+        } else if (data instanceof List) {
+            this.encodeList(cast(data), out);
+        } else if (clazz.isArray()) {
+            this.encodeArray(data, out);
+        } else {
+            this.encodeCustomObject(data, out);
+        }
+    }
+
+    private void encodeScalar(Object data, Sink out) throws IOException {
+        if (data instanceof Boolean) {
+            this.encodeBoolean((boolean) data, out);
+        } else if (data instanceof Number) {
+            this.encodeNumber((Number) data, out);
+        } else if (data instanceof byte[]) {
+            this.encodeBytes((byte[]) data, out);
+        } else if (data instanceof String) {
+            this.encodeString((String) data, out);
         } else {
             throw new IllegalArgumentException(StringUtils.format("Unsupported data type to encode by CBOR. [type={0}]",
-                    actual.getClass().getName()));
+                    data.getClass().getName()));
         }
     }
 
-    private void encodeNull(OutputStream out) throws IOException {
+    private void encodeNull(Sink out) throws IOException {
         out.write(CborConstant.NULL);
     }
 
-    private void encodeBoolean(boolean data, OutputStream out) throws IOException {
+    private void encodeBoolean(boolean data, Sink out) throws IOException {
         if (data) {
             out.write(CborConstant.TRUE);
         } else {
@@ -85,7 +129,7 @@ public class CborEncoder {
         }
     }
 
-    private void encodeNumber(Number data, OutputStream out) throws IOException {
+    private void encodeNumber(Number data, Sink out) throws IOException {
         if (this.isInteger(data)) {
             this.encodeInteger(data.longValue(), out);
         } else if (data instanceof Double || data instanceof BigDecimal) {
@@ -103,75 +147,97 @@ public class CborEncoder {
                 || number instanceof BigInteger;
     }
 
-    private void encodeInteger(long data, OutputStream out) throws IOException {
+    private void encodeInteger(long data, Sink out) throws IOException {
         if (data >= 0) {
-            this.encodeUnsignedInteger(data, out);
+            this.encodeUnsignedInteger(data, 0, out);
         } else {
-            this.encodeNegativeInteger(data, out);
+            this.encodeUnsignedInteger(-data - 1, 1, out);
         }
     }
 
-    private void encodeUnsignedInteger(long data, OutputStream out) throws IOException {
-        out.write(this.encodeUnsignedInteger(data, 0));
-    }
-
-    private void encodeNegativeInteger(long data, OutputStream out) throws IOException {
-        out.write(this.encodeUnsignedInteger(-data - 1, 1));
-    }
-
-    private void encodeDouble(double data, OutputStream out) throws IOException {
+    private void encodeDouble(double data, Sink out) throws IOException {
         out.write(CborConstant.DOUBLE);
-        out.write(Convert.toBytes(data));
+        out.writeLong(Double.doubleToLongBits(data), 8);
     }
 
-    private void encodeFloat(float data, OutputStream out) throws IOException {
+    private void encodeFloat(float data, Sink out) throws IOException {
         out.write(CborConstant.FLOAT);
-        out.write(Convert.toBytes(data));
+        out.writeLong(Float.floatToIntBits(data), 4);
     }
 
-    private void encodeBytes(byte[] data, OutputStream out) throws IOException {
-        int len = data.length;
-        out.write(this.encodeUnsignedInteger(len, 2));
+    private void encodeBytes(byte[] data, Sink out) throws IOException {
+        this.encodeUnsignedInteger(data.length, 2, out);
         out.write(data);
     }
 
-    private void encodeString(String data, OutputStream out) throws IOException {
+    private void encodeString(String data, Sink out) throws IOException {
         byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
-        int len = bytes.length;
-        out.write(this.encodeUnsignedInteger(len, 3));
+        this.encodeUnsignedInteger(bytes.length, 3, out);
         out.write(bytes);
     }
 
-    private void encodeList(List<Object> dataList, OutputStream out) throws IOException {
-        int len = dataList.size();
-        out.write(this.encodeUnsignedInteger(len, 4));
+    private void encodeList(List<Object> dataList, Sink out) throws IOException {
+        this.encodeUnsignedInteger(dataList.size(), 4, out);
         for (Object data : dataList) {
             this.encode(data, out);
         }
     }
 
-    private void encodeObject(Map<Object, Object> data, OutputStream out) throws IOException {
-        int len = data.size();
-        out.write(this.encodeUnsignedInteger(len, 5));
+    private void encodeArray(Object array, Sink out) throws IOException {
+        int len = Array.getLength(array);
+        this.encodeUnsignedInteger(len, 4, out);
+        for (int i = 0; i < len; i++) {
+            this.encode(Array.get(array, i), out);
+        }
+    }
+
+    private void encodeObject(Map<Object, Object> data, Sink out) throws IOException {
+        this.encodeUnsignedInteger(data.size(), 5, out);
         for (Map.Entry<Object, Object> entry : data.entrySet()) {
             this.encode(entry.getKey(), out);
             this.encode(entry.getValue(), out);
         }
     }
 
-    private byte[] encodeUnsignedInteger(long data, int type) {
+    private void encodeCustomObject(Object data, Sink out) throws IOException {
+        BeanAccessor accessor = BeanAccessor.of(data.getClass());
+        Set<String> properties = accessor.properties();
+        Object[] entries = new Object[properties.size() << 1];
+        int count = 0;
+        for (String property : properties) {
+            if (Objects.equals(property, "class")) {
+                continue;
+            }
+            Object value = accessor.get(data, property);
+            if (value == null) {
+                continue;
+            }
+            entries[count++] = accessor.getAlias(property);
+            entries[count++] = value;
+        }
+        this.encodeUnsignedInteger(count >> 1, 5, out);
+        for (int i = 0; i < count; i++) {
+            this.encode(entries[i], out);
+        }
+    }
+
+    private void encodeUnsignedInteger(long data, int type, Sink out) throws IOException {
         greaterThanOrEquals(data, 0, "The integer to encode must be unsigned. [integer={0}]", data);
         between(type, 0, 5, "The type is out of range. [type={0}]", type);
         if (data < 24) {
-            return this.encodeUnsignedInteger(data, 0, this.firstByte((byte) data, type));
+            out.write(this.firstByte((byte) data, type));
         } else if (data < 0xFF) {
-            return this.encodeUnsignedInteger(data, 1, this.firstByte((byte) 0b000_11000, type));
+            out.write(this.firstByte((byte) 0b000_11000, type));
+            out.writeLong(data, 1);
         } else if (data < 0xFF_FF) {
-            return this.encodeUnsignedInteger(data, 2, this.firstByte((byte) 0b000_11001, type));
+            out.write(this.firstByte((byte) 0b000_11001, type));
+            out.writeLong(data, 2);
         } else if (data < 0xFF_FF_FF_FFL) {
-            return this.encodeUnsignedInteger(data, 4, this.firstByte((byte) 0b000_11010, type));
+            out.write(this.firstByte((byte) 0b000_11010, type));
+            out.writeLong(data, 4);
         } else {
-            return this.encodeUnsignedInteger(data, 8, this.firstByte((byte) 0b000_11011, type));
+            out.write(this.firstByte((byte) 0b000_11011, type));
+            out.writeLong(data, 8);
         }
     }
 
@@ -179,15 +245,71 @@ public class CborEncoder {
         return (byte) (flag | (type << 5));
     }
 
-    private byte[] encodeUnsignedInteger(long data, int byteNum, byte first) {
-        long value = data;
-        byte[] bs = new byte[byteNum + 1];
-        bs[0] = first;
-        for (int i = byteNum; i > 0; i--) {
-            byte cur = (byte) (value & 0xFF);
-            bs[i] = cur;
-            value = value >> 8;
+    /**
+     * 表示编码时使用的缓冲区。
+     * <p>每个线程复用一个缓冲区，当缓冲区写满且存在输出流时将数据写入输出流，否则扩容。</p>
+     */
+    private static final class Sink {
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private OutputStream out;
+        private boolean inUse;
+
+        void write(byte value) throws IOException {
+            this.ensure(1);
+            this.buffer[this.position++] = value;
+        }
+
+        void writeLong(long value, int byteNum) throws IOException {
+            this.ensure(byteNum);
+            for (int i = byteNum - 1; i >= 0; i--) {
+                this.buffer[this.position++] = (byte) (value >> (i << 3));
+            }
+        }
+
+        void write(byte[] bytes) throws IOException {
+            if (this.out != null && bytes.length > this.buffer.length - this.position) {
+                this.flush();
+                if (bytes.length >= this.buffer.length) {
+                    this.out.write(bytes);
+                    return;
+                }
+            }
+            this.ensure(bytes.length);
+            System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+            this.position += bytes.length;
+        }
+
+        private void ensure(int size) throws IOException {
+            if (this.buffer.length - this.position >= size) {
+                return;
+            }
+            if (this.out != null) {
+                this.flush();
+            } else {
+                int capacity = Math.max(this.buffer.length << 1, this.position + size);
+                this.buffer = Arrays.copyOf(this.buffer, capacity);
+            }
+        }
+
+        void flush() throws IOException {
+            if (this.position > 0) {
+                this.out.write(this.buffer, 0, this.position);
+                this.position = 0;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(this.buffer, this.position);
+        }
+
+        void release() {
+            if (this.buffer.length > MAX_POOLED_BUFFER_SIZE) {
+                this.buffer = new byte[BUFFER_SIZE];
+            }
+            this.position = 0;
+            this.out = null;
+            this.inUse = false;
         }
-        return bs;
     }
 }
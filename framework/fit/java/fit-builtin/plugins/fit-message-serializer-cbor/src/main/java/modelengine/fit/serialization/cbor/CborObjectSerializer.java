@@ -42,12 +42,20 @@ public class CborObjectSerializer implements ObjectSerializer {
         }
     }
 
+    @Override
+    public <T> byte[] serialize(T object, Charset charset) throws SerializationException {
+        try {
+            return this.encoder.encode(object);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to serialize by CBOR.", e);
+        }
+    }
+
     @Override
     public <T> T deserialize(InputStream in, Charset charset, Type objectType, Map<String, Object> context)
             throws SerializationException {
         try {
-            Object decoded = this.decoder.decode(in);
-            return ObjectUtils.toCustomObject(decoded, objectType);
+            return ObjectUtils.cast(this.decoder.decode(in, objectType));
         } catch (IOException e) {
             throw new SerializationException("Failed to deserialize by CBOR.", e);
         }
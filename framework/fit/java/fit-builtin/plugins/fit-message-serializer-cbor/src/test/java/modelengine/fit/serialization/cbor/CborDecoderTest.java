@@ -9,16 +9,28 @@ package modelengine.fit.serialization.cbor;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import modelengine.fit.serialization.cbor.test.box.Box;
+import modelengine.fit.serialization.cbor.test.person.Person;
+import modelengine.fit.serialization.cbor.test.person.PersonName;
+import modelengine.fitframework.util.MapBuilder;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.TypeUtils;
+
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 表示 {@link CborDecoder} 的单元测试。
@@ -207,6 +219,51 @@ public class CborDecoderTest {
         assertThat(decoded).isEqualTo("{\"name\":\"John\",\"age\":30,\"city\":\"New York\"}");
     }
 
+    @Test
+    @DisplayName("当指定目标类型时，直接绑定的结果与先解码再转换的结果一致")
+    void shouldBindToTargetTypeSameAsConversion() throws IOException {
+        PersonName name = new PersonName();
+        name.setFirst("Thomas");
+        name.setLast("Edison");
+        Person person = new Person();
+        person.setName(name);
+        person.setInventions(Arrays.asList("phonograph", "light bulb"));
+        Box box = Box.builder()
+                .value("v")
+                .tList(Collections.singletonList("t"))
+                .tMap(MapBuilder.<String, String>get().put("k", "v").build())
+                .build();
+        List<Object> data = Arrays.asList(person, Arrays.asList(box, box), new long[] {1, -2}, Arrays.asList(1, 1, 2));
+        Type[] types = new Type[] {
+                Person.class, TypeUtils.parameterized(List.class, new Type[] {Box.class}), int[].class,
+                TypeUtils.parameterized(Set.class, new Type[] {Integer.class})
+        };
+        CborEncoder encoder = new CborEncoder();
+        for (int i = 0; i < data.size(); i++) {
+            byte[] encoded = encoder.encode(data.get(i));
+            Object expected = ObjectUtils.toCustomObject(this.decoder.decode(encoded), types[i]);
+            Object actual = this.decoder.decode(new ByteArrayInputStream(encoded), types[i]);
+            assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("当绑定的映射中包含未知的属性或者空值时，忽略未知属性，空列表转换为空列表")
+    void shouldIgnoreUnknownPropertiesWhenBinding() throws IOException {
+        Map<String, Object> data = MapBuilder.<String, Object>get()
+                .put("unknown", Arrays.asList(1, 2))
+                .put("value", "v")
+                .put("tList", null)
+                .build();
+        byte[] encoded = new CborEncoder().encode(data);
+        Box actual = cast(this.decoder.decode(new ByteArrayInputStream(encoded), Box.class));
+        assertThat(actual.getValue()).isEqualTo("v");
+        assertThat(actual.getTList()).isNull();
+        List<String> list = cast(this.decoder.decode(new ByteArrayInputStream(new CborEncoder().encode(null)),
+                TypeUtils.parameterized(List.class, new Type[] {String.class})));
+        assertThat(list).isEmpty();
+    }
+
     private static byte[] convertHexStringToByteArray(String hexString) {
         byte[] byteArray = new byte[hexString.length() / 2];
         for (int i = 0; i < byteArray.length; i++) {
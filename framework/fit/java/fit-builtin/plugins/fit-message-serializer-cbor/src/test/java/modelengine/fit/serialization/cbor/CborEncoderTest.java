@@ -8,17 +8,26 @@ package modelengine.fit.serialization.cbor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import modelengine.fit.serialization.cbor.test.box.Box;
+import modelengine.fit.serialization.cbor.test.person.Person;
+import modelengine.fit.serialization.cbor.test.person.PersonName;
 import modelengine.fitframework.util.DigitUtils;
+import modelengine.fitframework.util.ObjectUtils;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -207,4 +216,35 @@ public class CborEncoderTest {
         assertThat(actual).isEqualTo(
                 "782A7B226E616D65223A224A6F686E222C22616765223A33302C2263697479223A224E657720596F726B227D");
     }
+
+    @Test
+    @DisplayName("当输入为自定义对象时，直接编码的结果与先转换为 Java 对象再编码的结果一致")
+    void shouldEncodeCustomObjectSameAsJavaObject() throws IOException {
+        PersonName name = new PersonName();
+        name.setFirst("Thomas");
+        name.setLast("Edison");
+        Person person = new Person();
+        person.setName(name);
+        person.setInventions(Arrays.asList("phonograph", "light bulb"));
+        List<Object> data = Arrays.asList(person,
+                Box.builder().value("v").tList(Collections.singletonList("t")).build(),
+                new int[] {1, 255, 65536},
+                null);
+        byte[] expected = this.encoder.encode(ObjectUtils.toJavaObject(data));
+        assertThat(this.encoder.encode(data)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("当编码数据超过缓冲区大小时，写入输出流的结果与直接编码的结果一致")
+    void shouldWriteLargeDataToOutputStream() throws IOException {
+        List<Object> data = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            data.add(i % 3 == 0 ? new byte[i % 100] : "item-" + i);
+        }
+        data.add(new byte[100000]);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.encoder.encode(data, out);
+        assertThat(out.toByteArray()).isEqualTo(this.encoder.encode(data));
+        assertThat((List<?>) new CborDecoder().decode(out.toByteArray())).hasSize(data.size());
+    }
 }
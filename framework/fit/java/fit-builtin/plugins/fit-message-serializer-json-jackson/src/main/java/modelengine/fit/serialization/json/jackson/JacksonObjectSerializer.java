@@ -12,9 +12,12 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactoryBuilder;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.introspect.VisibilityChecker;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
@@ -31,7 +34,6 @@ import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.serialization.ObjectSerializer;
 import modelengine.fitframework.serialization.SerializationException;
 import modelengine.fitframework.serialization.annotation.BuiltinSerializer;
-import modelengine.fitframework.util.IoUtils;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
@@ -45,6 +47,7 @@ import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 表示 Json 格式的序列化器。
@@ -63,7 +66,12 @@ public class JacksonObjectSerializer implements ObjectSerializer {
     /** 表示默认的日期格式。 */
     public static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd";
 
+    private static final int MAX_CACHED_READERS = 1024;
+
     private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Charset, JsonEncoding> encodings = new ConcurrentHashMap<>();
 
     /**
      * 序列化对象为 Json 格式的字符串。
@@ -92,6 +100,7 @@ public class JacksonObjectSerializer implements ObjectSerializer {
         module.addSerializer(LocalDate.class, new LocalDateSerializer(dateFormat));
         module.addDeserializer(LocalDate.class, new LocalDateDeserializer(dateFormat));
         this.mapper.registerModule(module);
+        this.writer = this.mapper.writer();
     }
 
     @Override
@@ -99,13 +108,20 @@ public class JacksonObjectSerializer implements ObjectSerializer {
             throws SerializationException {
         notNull(out, "The output stream cannot be null.");
         try (JsonGenerator generator = this.mapper.createGenerator(out, this.getJsonEncoding(charset))) {
-            this.mapper.writeValue(generator, object);
+            this.writer.writeValue(generator, object);
         } catch (IOException e) {
             throw new SerializationException("Failed to serialize by Jackson.", e);
         }
     }
 
     private JsonEncoding getJsonEncoding(Charset charset) {
+        if (charset == null) {
+            return JsonEncoding.UTF8;
+        }
+        return this.encodings.computeIfAbsent(charset, JacksonObjectSerializer::toJsonEncoding);
+    }
+
+    private static JsonEncoding toJsonEncoding(Charset charset) {
         for (JsonEncoding jsonEncoding : JsonEncoding.values()) {
             if (StringUtils.equalsIgnoreCase(charset.name(), jsonEncoding.getJavaName())) {
                 return jsonEncoding;
@@ -120,19 +136,34 @@ public class JacksonObjectSerializer implements ObjectSerializer {
         notNull(in, "The input stream cannot be null.");
         Type actualType = ObjectUtils.nullIf(objectType, Object.class);
         Map<String, Object> actualContext = ObjectUtils.getIfNull(context, Collections::emptyMap);
+        LengthLimitedInputStream limitedIn = actualContext.containsKey("length")
+                ? new LengthLimitedInputStream(in, ObjectUtils.<Integer>cast(actualContext.get("length")))
+                : null;
         try {
-            String read;
-            if (actualContext.containsKey("length")) {
-                read = IoUtils.content(in, ObjectUtils.<Integer>cast(actualContext.get("length")));
-            } else {
-                read = IoUtils.content(in);
+            T value = this.getReader(actualType).readValue(limitedIn == null ? in : limitedIn);
+            if (limitedIn != null) {
+                // 解析结束时可能还有未读取的空白字符，需要跳过，使后续读取从指定长度的数据之后开始。
+                limitedIn.skipRemaining();
             }
-            return this.mapper.readValue(read, this.mapper.constructType(actualType));
+            return value;
         } catch (IOException e) {
             throw new SerializationException("Failed to deserialize by Jackson.", e);
         }
     }
 
+    private ObjectReader getReader(Type type) {
+        ObjectReader reader = this.readers.get(type);
+        if (reader != null) {
+            return reader;
+        }
+        reader = this.mapper.readerFor(this.mapper.constructType(type))
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        if (this.readers.size() < MAX_CACHED_READERS) {
+            this.readers.putIfAbsent(type, reader);
+        }
+        return reader;
+    }
+
     /**
      * 获取 Jackson 的核心序列化器。
      * <p>因为需要保证 Jackson 的序列化配置全局统一，因此需要将配置好的序列化器透出，让其他 Jackson 序列化器使用。</p>
@@ -0,0 +1,87 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.serialization.json.jackson;
+
+import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
+
+import modelengine.fitframework.util.StringUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 为 {@link InputStream} 提供限制读取长度的装饰程序。
+ * <p>最多从原始输入流中读取指定长度的数据，当原始输入流提前结束时抛出异常，且关闭时不会关闭原始输入流。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-26
+ */
+final class LengthLimitedInputStream extends InputStream {
+    private final InputStream inner;
+    private final int length;
+    private int position;
+
+    LengthLimitedInputStream(InputStream inner, int length) {
+        this.inner = inner;
+        this.length = greaterThanOrEquals(length, 0, "The length of data to read cannot be negative.");
+        this.position = 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.position >= this.length) {
+            return -1;
+        }
+        int value = this.inner.read();
+        if (value < 0) {
+            throw this.noEnoughBytes();
+        }
+        this.position++;
+        return value;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (this.position >= this.length) {
+            return -1;
+        }
+        int read = this.inner.read(bytes, offset, Math.min(length, this.length - this.position));
+        if (read < 0) {
+            throw this.noEnoughBytes();
+        }
+        this.position += read;
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return Math.min(this.inner.available(), this.length - this.position);
+    }
+
+    /**
+     * 跳过指定长度的数据中尚未读取的部分，使原始输入流定位到指定长度的数据之后。
+     *
+     * @throws IOException 当跳过过程中发生输入输出异常，或原始输入流提前结束时。
+     */
+    void skipRemaining() throws IOException {
+        byte[] buffer = new byte[Math.min(this.length - this.position, 8192)];
+        while (this.read(buffer, 0, buffer.length) > 0) {
+            // 读取的数据直接丢弃。
+        }
+    }
+
+    private EOFException noEnoughBytes() {
+        return new EOFException(StringUtils.format(
+                "Failed to read from input stream: no enough available bytes. [expectedLength={0}, actualLength={1}]",
+                this.length,
+                this.position));
+    }
+}
@@ -7,6 +7,7 @@
 package modelengine.fit.serialization.json.jackson;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import modelengine.fit.serialization.test.enums.Gender;
 import modelengine.fit.serialization.test.person.Person;
@@ -16,7 +17,9 @@ import modelengine.fit.serialization.test.person.PersonGender;
 import modelengine.fit.serialization.test.person.PersonName;
 import modelengine.fit.serialization.test.person.PersonTransient;
 import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.serialization.SerializationException;
 import modelengine.fitframework.util.MapBuilder;
+import modelengine.fitframework.util.TypeUtils;
 
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.AfterEach;
@@ -27,15 +30,19 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -185,6 +192,75 @@ public class JacksonObjectSerializerTest {
             assertThat(actual).isEqualTo(expected);
         }
 
+        @Test
+        @DisplayName("当上下文中指定了长度时，只读取指定长度的数据，且不关闭输入流")
+        void givenLengthThenReadLimitedBytesAndKeepStreamOpen() throws IOException {
+            byte[] bytes = "[1,2] trailing".getBytes(StandardCharsets.UTF_8);
+            boolean[] closed = new boolean[1];
+            InputStream in = new ByteArrayInputStream(bytes) {
+                @Override
+                public void close() throws IOException {
+                    closed[0] = true;
+                    super.close();
+                }
+            };
+            List<Integer> actual = JacksonObjectSerializerTest.this.jsonSerializer.deserialize(in,
+                    JacksonObjectSerializerTest.this.charset,
+                    TypeUtils.parameterized(List.class, new Type[] {Integer.class}),
+                    Collections.singletonMap("length", 5));
+            assertThat(actual).containsExactly(1, 2);
+            assertThat(closed[0]).isFalse();
+            assertThat(in.read()).isEqualTo(' ');
+        }
+
+        @Test
+        @DisplayName("当解析结束时还未读完上下文中指定长度的数据时，跳过剩余数据")
+        void givenUnreadBytesInLengthThenSkipThem() throws IOException {
+            byte[] bytes = "[1,2]   X".getBytes(StandardCharsets.UTF_8);
+            InputStream in = new ByteArrayInputStream(bytes) {
+                @Override
+                public synchronized int read(byte[] buffer, int offset, int length) {
+                    return super.read(buffer, offset, Math.min(length, 1));
+                }
+            };
+            List<Integer> actual = JacksonObjectSerializerTest.this.jsonSerializer.deserialize(in,
+                    JacksonObjectSerializerTest.this.charset,
+                    TypeUtils.parameterized(List.class, new Type[] {Integer.class}),
+                    Collections.singletonMap("length", 8));
+            assertThat(actual).containsExactly(1, 2);
+            assertThat(in.read()).isEqualTo('X');
+        }
+
+        @Test
+        @DisplayName("当输入流的数据少于上下文中指定的长度时，抛出异常")
+        void givenNotEnoughBytesThenThrowException() {
+            InputStream in = new ByteArrayInputStream("123".getBytes(StandardCharsets.UTF_8));
+            assertThatThrownBy(() -> JacksonObjectSerializerTest.this.jsonSerializer.deserialize(in,
+                    JacksonObjectSerializerTest.this.charset,
+                    Integer.class,
+                    Collections.singletonMap("length", 10))).isInstanceOf(SerializationException.class);
+        }
+
+        @Test
+        @DisplayName("当输入为大消息体时，以流的方式反序列化，且重复使用相同类型的解析结果")
+        void givenLargePayloadThenDeserializeFromStream() {
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                expected.add(String.valueOf(i % 10).repeat(64 * 1024));
+            }
+            byte[] serialized = JacksonObjectSerializerTest.this.jsonSerializer.serialize(expected,
+                    JacksonObjectSerializerTest.this.charset);
+            Type type = TypeUtils.parameterized(List.class, new Type[] {String.class});
+            for (int i = 0; i < 3; i++) {
+                List<String> actual = JacksonObjectSerializerTest.this.jsonSerializer.deserialize(
+                        new ByteArrayInputStream(serialized),
+                        JacksonObjectSerializerTest.this.charset,
+                        type,
+                        Collections.singletonMap("length", serialized.length));
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+
         private InputStream constructInputStream(Object obj) {
             byte[] serialized = JacksonObjectSerializerTest.this.jsonSerializer.serialize(obj,
                     JacksonObjectSerializerTest.this.charset);
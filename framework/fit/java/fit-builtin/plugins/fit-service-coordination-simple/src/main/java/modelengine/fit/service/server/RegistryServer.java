@@ -18,6 +18,7 @@ import modelengine.fit.service.entity.FitableAddressInstance;
 import modelengine.fit.service.entity.FitableInfo;
 import modelengine.fit.service.entity.FitableMeta;
 import modelengine.fit.service.entity.FitableMetaInstance;
+import modelengine.fit.service.entity.FitableRevision;
 import modelengine.fit.service.entity.GenericableInfo;
 import modelengine.fit.service.entity.Worker;
 import modelengine.fitframework.annotation.Component;
@@ -30,21 +31,33 @@ import modelengine.fitframework.util.StringUtils;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 用于提供本地注册中心的服务。
  * <p><b>注意：该注册中心服务为内存版实现，仅提供于非生产环境测试使用。</b></p>
+ * <p>注册和过期时维护服务实现到应用、应用到进程、泛服务到服务元数据的索引，查询的耗时与查询结果的规模成正比，
+ * 而与注册的进程和服务数量无关。</p>
+ * <p>服务实现的实例信息每次变化时都会分配一个更大的版本，调用方可以通过 {@link #queryFitableChanges(List, String)}
+ * 只获取自已知版本以来发生变化的服务实现。版本从启动时间对应的微秒数开始递增，因此注册中心重启后分配的版本仍然大于重启前的版本，
+ * 调用方不会将重启后的地址信息当作过期数据忽略。</p>
  *
  * @author 邬涨财
  * @author 季聿阶
@@ -62,6 +75,13 @@ public class RegistryServer implements RegistryService {
     private final Map<String, Application> applications = new ConcurrentHashMap<>();
     private final Map<String, Application> workerApplications = new ConcurrentHashMap<>();
     private final Map<String, Set<FitableMeta>> applicationMetas = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> applicationWorkers = new ConcurrentHashMap<>();
+    private final Map<FitableInfo, Map<String, FitableMeta>> fitableApplications = new ConcurrentHashMap<>();
+    private final Map<List<String>, Map<String, Set<FitableMeta>>> genericableApplications =
+            new ConcurrentHashMap<>();
+    private final Map<FitableInfo, Long> fitableRevisions = new ConcurrentHashMap<>();
+    private final long initialRevision = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    private final AtomicLong revisionSequence = new AtomicLong(this.initialRevision);
 
     private final int defaultExpireTime;
     private final WorkerCache cache;
@@ -89,22 +109,113 @@ public class RegistryServer implements RegistryService {
 
     @Override
     @Fitable(id = "dedaa28cfb2742819a9b0271bc34f72a")
-    public void registerFitables(List<FitableMeta> fitableMetas, Worker worker, Application application) {
+    public synchronized void registerFitables(List<FitableMeta> fitableMetas, Worker worker,
+            Application application) {
         if (!this.workers.containsKey(worker.getId()) && this.workers.size() >= MAX_WORKER_NUM) {
             throw new IllegalStateException("Too many workers.");
         }
         if (!this.applications.containsKey(application.getNameVersion()) && this.applications.size() >= MAX_APP_NUM) {
             throw new IllegalStateException("Too many applications.");
         }
-        this.workers.put(worker.getId(), worker);
+        boolean changed = this.cache.isExpired(worker.getId());
+        Worker previousWorker = this.workers.put(worker.getId(), worker);
+        changed |= previousWorker == null || !Objects.equals(previousWorker.getEnvironment(), worker.getEnvironment())
+                || !Objects.equals(previousWorker.getAddresses(), worker.getAddresses());
         this.applications.put(application.getNameVersion(), application);
-        this.workerApplications.put(worker.getId(), application);
-        this.applicationMetas.put(application.getNameVersion(), new HashSet<>(fitableMetas));
+        Application previous = this.workerApplications.put(worker.getId(), application);
+        if (previous != null && !Objects.equals(previous.getNameVersion(), application.getNameVersion())) {
+            this.removeApplicationWorker(previous.getNameVersion(), worker.getId());
+            this.increaseRevisions(this.applicationMetas.get(previous.getNameVersion()));
+        }
+        changed |= this.applicationWorkers.computeIfAbsent(application.getNameVersion(),
+                key -> ConcurrentHashMap.newKeySet()).add(worker.getId());
+        Set<FitableMeta> metas = new HashSet<>(fitableMetas);
+        Set<FitableMeta> previousMetas = this.applicationMetas.put(application.getNameVersion(), metas);
+        // 先索引新的服务实现，再移除不再提供的服务实现，避免重复注册时查询到短暂的空结果。
+        this.indexMetas(application.getNameVersion(), metas);
+        if (previousMetas != null) {
+            Set<FitableMeta> removedMetas = new HashSet<>(previousMetas);
+            removedMetas.removeAll(metas);
+            this.unindexMetas(application.getNameVersion(), removedMetas);
+        }
+        if (changed || !isSameMetas(previousMetas, metas)) {
+            this.increaseRevisions(previousMetas);
+            this.increaseRevisions(metas);
+        }
         Instant expireTime = Instant.now().plus(this.getActualExpire(worker), ChronoUnit.SECONDS);
         this.cache.refreshWorker(worker.getId(), expireTime);
         this.expire();
     }
 
+    private static boolean isSameMetas(Set<FitableMeta> previousMetas, Set<FitableMeta> metas) {
+        if (previousMetas == null || !previousMetas.equals(metas)) {
+            return false;
+        }
+        Map<FitableInfo, List<Integer>> previousFormats = previousMetas.stream()
+                .collect(Collectors.toMap(FitableMeta::getFitable, FitableMeta::getFormats, (first, second) -> first));
+        return metas.stream()
+                .allMatch(meta -> Objects.equals(previousFormats.get(meta.getFitable()), meta.getFormats()));
+    }
+
+    private void increaseRevisions(Set<FitableMeta> metas) {
+        if (metas == null) {
+            return;
+        }
+        for (FitableMeta meta : metas) {
+            this.fitableRevisions.put(meta.getFitable(), this.revisionSequence.incrementAndGet());
+        }
+    }
+
+    private long revisionOf(FitableInfo fitable) {
+        return this.fitableRevisions.getOrDefault(fitable, this.initialRevision);
+    }
+
+    private void indexMetas(String applicationNameVersion, Set<FitableMeta> metas) {
+        Map<List<String>, Set<FitableMeta>> genericableMetas = new HashMap<>();
+        for (FitableMeta meta : metas) {
+            FitableInfo fitable = meta.getFitable();
+            this.fitableApplications.computeIfAbsent(fitable, key -> new ConcurrentHashMap<>())
+                    .put(applicationNameVersion, meta);
+            genericableMetas.computeIfAbsent(genericableKey(fitable.getGenericableId(),
+                    fitable.getGenericableVersion()), key -> ConcurrentHashMap.newKeySet()).add(meta);
+        }
+        genericableMetas.forEach((genericable, applicationMetas) -> this.genericableApplications.computeIfAbsent(
+                genericable,
+                key -> new ConcurrentHashMap<>()).put(applicationNameVersion, applicationMetas));
+    }
+
+    private void unindexMetas(String applicationNameVersion, Set<FitableMeta> metas) {
+        if (metas == null) {
+            return;
+        }
+        for (FitableMeta meta : metas) {
+            FitableInfo fitable = meta.getFitable();
+            this.fitableApplications.computeIfPresent(fitable, (key, applicationMetas) -> {
+                applicationMetas.remove(applicationNameVersion);
+                return applicationMetas.isEmpty() ? null : applicationMetas;
+            });
+            this.genericableApplications.computeIfPresent(genericableKey(fitable.getGenericableId(),
+                    fitable.getGenericableVersion()), (key, applicationMetas) -> {
+                applicationMetas.computeIfPresent(applicationNameVersion, (name, genericableMetas) -> {
+                    genericableMetas.remove(meta);
+                    return genericableMetas.isEmpty() ? null : genericableMetas;
+                });
+                return applicationMetas.isEmpty() ? null : applicationMetas;
+            });
+        }
+    }
+
+    private void removeApplicationWorker(String applicationNameVersion, String workerId) {
+        this.applicationWorkers.computeIfPresent(applicationNameVersion, (key, workerIds) -> {
+            workerIds.remove(workerId);
+            return workerIds.isEmpty() ? null : workerIds;
+        });
+    }
+
+    private static List<String> genericableKey(String genericableId, String genericableVersion) {
+        return Arrays.asList(genericableId, genericableVersion);
+    }
+
     private int getActualExpire(Worker worker) {
         String expireValue = worker.getExtensions().get("expire");
         int actualExpire;
@@ -127,23 +238,19 @@ public class RegistryServer implements RegistryService {
     @Fitable(id = "5807f06a3a704708b264ea3c6cfbbd53")
     public List<FitableAddressInstance> queryFitables(List<FitableInfo> fitables, String workerId) {
         List<FitableAddressInstance> instances = new ArrayList<>();
-        for (Map.Entry<String, Set<FitableMeta>> entry : this.applicationMetas.entrySet()) {
-            Application application = this.applications.get(entry.getKey());
-            if (application == null) {
+        for (FitableInfo fitable : new LinkedHashSet<>(fitables)) {
+            long revision = this.revisionOf(fitable);
+            Map<String, FitableMeta> applicationMetas = this.fitableApplications.get(fitable);
+            if (applicationMetas == null) {
                 continue;
             }
-            for (FitableMeta meta : entry.getValue()) {
-                if (!this.isMetaInFitables(meta, fitables)) {
+            FitableAddressInstance instance = null;
+            for (Map.Entry<String, FitableMeta> entry : applicationMetas.entrySet()) {
+                Application application = this.applications.get(entry.getKey());
+                if (application == null) {
                     continue;
                 }
-                Set<Worker> filteredWorkers = this.workerApplications.entrySet()
-                        .stream()
-                        .filter(appEntry -> Objects.equals(appEntry.getValue(), application))
-                        .map(Map.Entry::getKey)
-                        .filter(curWorkerId -> !this.cache.isExpired(curWorkerId))
-                        .map(this.workers::get)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toSet());
+                Set<Worker> filteredWorkers = this.aliveWorkers(entry.getKey()).collect(Collectors.toSet());
                 if (CollectionUtils.isEmpty(filteredWorkers)) {
                     continue;
                 }
@@ -151,18 +258,62 @@ public class RegistryServer implements RegistryService {
                     filteredWorkers = Collections.singleton(new ArrayList<>(filteredWorkers).get(0));
                     this.replaceAddresses(filteredWorkers, application);
                 }
-                FitableAddressInstance instance = this.getOrCreate(meta, instances);
-                List<ApplicationInstance> applicationInstances = instance.getApplicationInstances();
+                if (instance == null) {
+                    instance = new FitableAddressInstance();
+                    instance.setFitable(entry.getValue().getFitable());
+                    instance.setRevision(revision);
+                    instances.add(instance);
+                }
                 ApplicationInstance applicationInstance = new ApplicationInstance();
                 applicationInstance.setApplication(application);
-                applicationInstance.setFormats(meta.getFormats());
+                applicationInstance.setFormats(entry.getValue().getFormats());
                 applicationInstance.setWorkers(new ArrayList<>(filteredWorkers));
-                applicationInstances.add(applicationInstance);
+                instance.getApplicationInstances().add(applicationInstance);
             }
         }
         return instances;
     }
 
+    @Override
+    @Fitable(id = "815a3f4b0ccb4c5394cf650de0b0994f")
+    public List<FitableAddressInstance> queryFitableChanges(List<FitableRevision> fitables, String workerId) {
+        this.expire();
+        Map<FitableInfo, Long> revisions = new LinkedHashMap<>();
+        for (FitableRevision fitable : fitables) {
+            if (fitable == null || fitable.getFitable() == null) {
+                continue;
+            }
+            long revision = this.revisionOf(fitable.getFitable());
+            if (revision != fitable.getRevision()) {
+                revisions.put(fitable.getFitable(), revision);
+            }
+        }
+        if (revisions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<FitableInfo, FitableAddressInstance> instances =
+                this.queryFitables(new ArrayList<>(revisions.keySet()), workerId)
+                        .stream()
+                        .collect(Collectors.toMap(FitableAddressInstance::getFitable, Function.identity()));
+        return revisions.entrySet().stream().map(entry -> {
+            FitableAddressInstance instance = instances.get(entry.getKey());
+            if (instance == null) {
+                instance = new FitableAddressInstance();
+                instance.setFitable(entry.getKey());
+            }
+            instance.setRevision(entry.getValue());
+            return instance;
+        }).collect(Collectors.toList());
+    }
+
+    private Stream<Worker> aliveWorkers(String applicationNameVersion) {
+        return this.applicationWorkers.getOrDefault(applicationNameVersion, Collections.emptySet())
+                .stream()
+                .filter(curWorkerId -> !this.cache.isExpired(curWorkerId))
+                .map(this.workers::get)
+                .filter(Objects::nonNull);
+    }
+
     private void replaceAddresses(Set<Worker> workers, Application application) {
         Address address = new Address();
         address.setHost(application.getExtensions().get(CLUSTER_DOMAIN_KEY));
@@ -186,22 +337,6 @@ public class RegistryServer implements RegistryService {
         return endpoints;
     }
 
-    private FitableAddressInstance getOrCreate(FitableMeta meta, List<FitableAddressInstance> instances) {
-        return instances.stream()
-                .filter(instance -> Objects.equals(meta.getFitable(), instance.getFitable()))
-                .findFirst()
-                .orElseGet(() -> {
-                    FitableAddressInstance instance = new FitableAddressInstance();
-                    instance.setFitable(meta.getFitable());
-                    instances.add(instance);
-                    return instance;
-                });
-    }
-
-    private boolean isMetaInFitables(FitableMeta meta, List<FitableInfo> fitables) {
-        return fitables.stream().anyMatch(fitable -> Objects.equals(meta.getFitable(), fitable));
-    }
-
     @Override
     @Fitable(id = "ee0a8337d3654a22a548d5d5abe1d5f3")
     public List<FitableAddressInstance> subscribeFitables(List<FitableInfo> fitables, String workerId,
@@ -216,51 +351,40 @@ public class RegistryServer implements RegistryService {
     @Fitable(id = "33b1f9b8f1cc49d19719a6536c96e854")
     public List<FitableMetaInstance> queryFitableMetas(List<GenericableInfo> genericables) {
         Map<FitableMeta, FitableMetaInstance> instances = new HashMap<>();
-        for (Map.Entry<String, Set<FitableMeta>> entry : this.applicationMetas.entrySet()) {
-            Application application = this.applications.get(entry.getKey());
-            if (application == null) {
+        Set<List<String>> keys = genericables.stream()
+                .map(genericable -> genericableKey(genericable.getGenericableId(), genericable.getGenericableVersion()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (List<String> key : keys) {
+            Map<String, Set<FitableMeta>> applicationMetas = this.genericableApplications.get(key);
+            if (applicationMetas == null) {
                 continue;
             }
-            for (FitableMeta meta : entry.getValue()) {
-                if (!this.isMetaInGenericables(meta, genericables)) {
+            for (Map.Entry<String, Set<FitableMeta>> entry : applicationMetas.entrySet()) {
+                if (!this.applications.containsKey(entry.getKey())) {
                     continue;
                 }
-                Set<String> environments = this.workerApplications.entrySet()
-                        .stream()
-                        .filter(appEntry -> Objects.equals(appEntry.getValue(), application))
-                        .map(Map.Entry::getKey)
-                        .filter(curWorkerId -> !this.cache.isExpired(curWorkerId))
-                        .map(this.workers::get)
-                        .filter(Objects::nonNull)
-                        .map(Worker::getEnvironment)
-                        .collect(Collectors.toSet());
+                Set<String> environments =
+                        this.aliveWorkers(entry.getKey()).map(Worker::getEnvironment).collect(Collectors.toSet());
                 if (CollectionUtils.isEmpty(environments)) {
                     continue;
                 }
-                FitableMetaInstance instance = instances.computeIfAbsent(meta, key -> {
-                    FitableMetaInstance metaInstance = new FitableMetaInstance();
-                    metaInstance.setMeta(key);
-                    return metaInstance;
-                });
-                environments.addAll(instance.getEnvironments());
-                instance.setEnvironments(new ArrayList<>(environments));
+                for (FitableMeta meta : entry.getValue()) {
+                    FitableMetaInstance instance = instances.computeIfAbsent(meta, metaKey -> {
+                        FitableMetaInstance metaInstance = new FitableMetaInstance();
+                        metaInstance.setMeta(metaKey);
+                        metaInstance.setEnvironments(new ArrayList<>());
+                        return metaInstance;
+                    });
+                    Set<String> merged = new HashSet<>(instance.getEnvironments());
+                    merged.addAll(environments);
+                    instance.setEnvironments(new ArrayList<>(merged));
+                }
             }
         }
         return new ArrayList<>(instances.values());
     }
 
-    private boolean isMetaInGenericables(FitableMeta meta, List<GenericableInfo> genericables) {
-        for (GenericableInfo genericable : genericables) {
-            FitableInfo fitable = meta.getFitable();
-            if (Objects.equals(fitable.getGenericableId(), genericable.getGenericableId())
-                    && Objects.equals(fitable.getGenericableVersion(), genericable.getGenericableVersion())) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private void expire() {
+    private synchronized void expire() {
         List<String> workerIds = new ArrayList<>(this.workers.keySet());
         for (String workerId : workerIds) {
             boolean expired = this.cache.isExpired(workerId);
@@ -268,25 +392,19 @@ public class RegistryServer implements RegistryService {
                 continue;
             }
             this.workers.remove(workerId);
-            this.workerApplications.remove(workerId);
+            Application application = this.workerApplications.remove(workerId);
+            if (application != null) {
+                this.removeApplicationWorker(application.getNameVersion(), workerId);
+                this.increaseRevisions(this.applicationMetas.get(application.getNameVersion()));
+            }
         }
         List<String> applicationNameVersions = new ArrayList<>(this.applications.keySet());
-        Set<Application> workerApplicationItems = new HashSet<>(this.workerApplications.values());
         for (String applicationNameVersion : applicationNameVersions) {
-            if (this.isInApplications(applicationNameVersion, workerApplicationItems)) {
+            if (this.applicationWorkers.containsKey(applicationNameVersion)) {
                 continue;
             }
             this.applications.remove(applicationNameVersion);
-            this.applicationMetas.remove(applicationNameVersion);
-        }
-    }
-
-    private boolean isInApplications(String applicationNameVersion, Set<Application> applications) {
-        for (Application application : applications) {
-            if (Objects.equals(applicationNameVersion, application.getNameVersion())) {
-                return true;
-            }
+            this.unindexMetas(applicationNameVersion, this.applicationMetas.remove(applicationNameVersion));
         }
-        return false;
     }
 }
@@ -14,8 +14,12 @@ import modelengine.fit.service.entity.Application;
 import modelengine.fit.service.entity.FitableAddressInstance;
 import modelengine.fit.service.entity.FitableInfo;
 import modelengine.fit.service.entity.FitableMeta;
+import modelengine.fit.service.entity.FitableMetaInstance;
+import modelengine.fit.service.entity.FitableRevision;
+import modelengine.fit.service.entity.GenericableInfo;
 import modelengine.fit.service.entity.Worker;
 import modelengine.fit.service.server.RegistryServer;
+import modelengine.fit.service.support.DefaultWorkerCache;
 import modelengine.fitframework.util.MapBuilder;
 
 import org.junit.jupiter.api.DisplayName;
@@ -27,6 +31,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * {@link RegistryServer} 的单测类。
@@ -93,6 +99,200 @@ public class RegistryServerTest {
         assertThat(foundInstances.get(0).getFitable().getFitableId()).isEqualTo("fid1");
     }
 
+    @Test
+    @DisplayName("当进程过期后，查询结果中不再包含该进程，且无进程的应用被移除")
+    void testQueryFitablesAfterWorkerExpired() {
+        // given
+        FitableInfo fitable = this.buildFitable("fid1", "gid1");
+        Worker worker = this.buildWorker();
+        WorkerCache cache = Mockito.mock(WorkerCache.class);
+        RegistryServer server = new RegistryServer(90, cache);
+        server.registerFitables(Collections.singletonList(this.buildFitableMeta(fitable, Collections.singletonList(1))),
+                worker,
+                this.buildApplication());
+        Mockito.when(cache.isExpired("wid1")).thenReturn(true);
+        Worker another = this.buildWorker();
+        another.setId("wid2");
+        Application anotherApplication = this.buildApplication();
+        anotherApplication.setNameVersion("2.0.0");
+        server.registerFitables(Collections.emptyList(), another, anotherApplication);
+
+        // when
+        List<FitableAddressInstance> foundInstances = server.queryFitables(Collections.singletonList(fitable), "wid2");
+
+        // then
+        assertThat(foundInstances).isEmpty();
+        assertThat(server.getApplications()).containsOnlyKeys("2.0.0");
+        assertThat(server.queryFitableMetas(Collections.singletonList(this.buildGenericable("gid1")))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("当注册 500 个进程时，查询耗时与查询结果的规模成正比")
+    void testQueryWithManyWorkers() {
+        // given
+        int applicationNum = 20;
+        int fitableNum = 200;
+        RegistryServer server = new RegistryServer(90, new DefaultWorkerCache());
+        List<List<FitableMeta>> applicationMetas = new ArrayList<>();
+        for (int i = 0; i < applicationNum; i++) {
+            List<FitableMeta> metas = new ArrayList<>();
+            for (int j = 0; j < fitableNum; j++) {
+                FitableInfo fitable = this.buildFitable("fid" + i + "-" + j, "gid" + j);
+                metas.add(this.buildFitableMeta(fitable, Collections.singletonList(1)));
+            }
+            applicationMetas.add(metas);
+        }
+        for (int i = 0; i < RegistryServer.MAX_WORKER_NUM; i++) {
+            Worker worker = this.buildWorker();
+            worker.setId("wid" + i);
+            Application application = this.buildApplication();
+            application.setNameVersion("app" + (i % applicationNum));
+            server.registerFitables(applicationMetas.get(i % applicationNum), worker, application);
+        }
+        List<FitableInfo> fitables = new ArrayList<>();
+        for (int i = 0; i < applicationNum; i++) {
+            fitables.add(this.buildFitable("fid" + i + "-0", "gid0"));
+        }
+
+        // when
+        long start = System.nanoTime();
+        List<FitableAddressInstance> foundInstances = null;
+        List<FitableMetaInstance> foundMetas = null;
+        for (int i = 0; i < 1000; i++) {
+            foundInstances = server.queryFitables(fitables, "wid0");
+            foundMetas = server.queryFitableMetas(Collections.singletonList(this.buildGenericable("gid0")));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertThat(foundInstances).hasSize(applicationNum)
+                .allSatisfy(instance -> assertThat(instance.getApplicationInstances()).singleElement()
+                        .satisfies(applicationInstance -> assertThat(applicationInstance.getWorkers()).hasSize(
+                                RegistryServer.MAX_WORKER_NUM / applicationNum)));
+        assertThat(foundMetas).hasSize(applicationNum)
+                .allSatisfy(meta -> assertThat(meta.getEnvironments()).containsExactly("debug"));
+        assertThat(elapsedMillis).isLessThan(5000);
+    }
+
+    @Test
+    @DisplayName("当查询服务实现的变化时，只返回版本与已知版本不同的服务实现")
+    void testQueryFitableChanges() {
+        // given
+        FitableInfo fitable1 = this.buildFitable("fid1", "gid1");
+        FitableInfo fitable2 = this.buildFitable("fid2", "gid1");
+        WorkerCache cache = Mockito.mock(WorkerCache.class);
+        Mockito.when(cache.isExpired("wid1")).thenReturn(true, false);
+        RegistryServer server = new RegistryServer(90, cache);
+        List<FitableMeta> metas = Arrays.asList(this.buildFitableMeta(fitable1, Collections.singletonList(1)),
+                this.buildFitableMeta(fitable2, Collections.singletonList(1)));
+        server.registerFitables(metas, this.buildWorker(), this.buildApplication());
+        List<FitableAddressInstance> instances = server.queryFitables(Arrays.asList(fitable1, fitable2), "wid1");
+        List<FitableRevision> revisions = new ArrayList<>();
+        for (FitableAddressInstance instance : instances) {
+            assertThat(instance.getRevision()).isPositive();
+            revisions.add(this.buildRevision(instance.getFitable(), instance.getRevision()));
+        }
+
+        // when
+        List<FitableAddressInstance> unchanged = server.queryFitableChanges(revisions, "wid1");
+        server.registerFitables(metas, this.buildWorker(), this.buildApplication());
+        List<FitableAddressInstance> stillUnchanged = server.queryFitableChanges(revisions, "wid1");
+        server.registerFitables(Collections.singletonList(metas.get(0)), this.buildWorker(), this.buildApplication());
+        List<FitableAddressInstance> changed = server.queryFitableChanges(revisions, "wid1");
+
+        // then
+        assertThat(unchanged).isEmpty();
+        assertThat(stillUnchanged).isEmpty();
+        assertThat(changed).hasSize(2);
+        FitableAddressInstance removed = changed.stream()
+                .filter(instance -> instance.getFitable().equals(fitable2))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        assertThat(removed.getApplicationInstances()).isEmpty();
+        assertThat(removed.getRevision()).isGreaterThan(revisions.get(1).getRevision());
+    }
+
+    @Test
+    @DisplayName("当注册中心重启后，服务实现的版本大于重启前的版本")
+    void testRevisionsIncreaseAfterRestart() throws InterruptedException {
+        // given
+        FitableInfo fitable1 = this.buildFitable("fid1", "gid1");
+        FitableInfo fitable2 = this.buildFitable("fid2", "gid1");
+        List<FitableMeta> metas =
+                Collections.singletonList(this.buildFitableMeta(fitable1, Collections.singletonList(1)));
+        RegistryServer server = new RegistryServer(90, Mockito.mock(WorkerCache.class));
+        server.registerFitables(metas, this.buildWorker(), this.buildApplication());
+        for (int i = 0; i < 10; i++) {
+            server.registerFitables(Collections.emptyList(), this.buildWorker(), this.buildApplication());
+            server.registerFitables(metas, this.buildWorker(), this.buildApplication());
+        }
+        List<FitableRevision> revisions = server.queryFitables(Arrays.asList(fitable1, fitable2), "wid1")
+                .stream()
+                .map(instance -> this.buildRevision(instance.getFitable(), instance.getRevision()))
+                .collect(Collectors.toList());
+        TimeUnit.MILLISECONDS.sleep(2);
+
+        // when
+        RegistryServer restarted = new RegistryServer(90, Mockito.mock(WorkerCache.class));
+        restarted.registerFitables(metas, this.buildWorker(), this.buildApplication());
+        List<FitableAddressInstance> changes = restarted.queryFitableChanges(revisions, "wid1");
+
+        // then
+        assertThat(revisions).hasSize(1);
+        assertThat(changes).singleElement().satisfies(instance -> {
+            assertThat(instance.getFitable()).isEqualTo(fitable1);
+            assertThat(instance.getRevision()).isGreaterThan(revisions.get(0).getRevision());
+        });
+        FitableRevision unknown = this.buildRevision(fitable2, revisions.get(0).getRevision());
+        assertThat(restarted.queryFitableChanges(Collections.singletonList(unknown), "wid1")).singleElement()
+                .satisfies(instance -> assertThat(instance.getRevision()).isGreaterThan(unknown.getRevision()));
+    }
+
+    @Test
+    @DisplayName("当重复注册服务元数据列表时，保留的服务实现仍可查询，移除的服务实现不再返回")
+    void testReregisterFitablesKeepsRetainedMetas() {
+        // given
+        FitableInfo fitable1 = this.buildFitable("fid1", "gid1");
+        FitableInfo fitable2 = this.buildFitable("fid2", "gid1");
+        FitableInfo fitable3 = this.buildFitable("fid3", "gid2");
+        RegistryServer server = new RegistryServer(90, Mockito.mock(WorkerCache.class));
+        server.registerFitables(Arrays.asList(this.buildFitableMeta(fitable1, Collections.singletonList(1)),
+                this.buildFitableMeta(fitable2, Collections.singletonList(1)),
+                this.buildFitableMeta(fitable3, Collections.singletonList(1))), this.buildWorker(),
+                this.buildApplication());
+
+        // when
+        FitableMeta updated = this.buildFitableMeta(fitable1, Collections.singletonList(2));
+        server.registerFitables(Collections.singletonList(updated),
+                this.buildWorker(),
+                this.buildApplication());
+
+        // then
+        List<FitableMetaInstance> gid1Metas =
+                server.queryFitableMetas(Collections.singletonList(this.buildGenericable("gid1")));
+        assertThat(gid1Metas).singleElement().satisfies(instance -> {
+            assertThat(instance.getMeta().getFitable()).isEqualTo(fitable1);
+            assertThat(instance.getMeta().getFormats()).containsExactly(2);
+        });
+        assertThat(server.queryFitableMetas(Collections.singletonList(this.buildGenericable("gid2")))).isEmpty();
+        assertThat(server.queryFitables(Arrays.asList(fitable1, fitable2), "wid1")).singleElement()
+                .satisfies(instance -> assertThat(instance.getFitable()).isEqualTo(fitable1));
+    }
+
+    private FitableRevision buildRevision(FitableInfo fitable, long revision) {
+        FitableRevision fitableRevision = new FitableRevision();
+        fitableRevision.setFitable(fitable);
+        fitableRevision.setRevision(revision);
+        return fitableRevision;
+    }
+
+    private GenericableInfo buildGenericable(String genericableId) {
+        GenericableInfo genericable = new GenericableInfo();
+        genericable.setGenericableId(genericableId);
+        genericable.setGenericableVersion("1.0.0");
+        return genericable;
+    }
+
     private Application buildApplication() {
         Application application = new Application();
         application.setName("appName1");
@@ -20,6 +20,7 @@ import modelengine.fit.service.entity.ApplicationInstance;
 import modelengine.fit.service.entity.Endpoint;
 import modelengine.fit.service.entity.FitableAddressInstance;
 import modelengine.fit.service.entity.FitableInfo;
+import modelengine.fit.service.entity.FitableRevision;
 import modelengine.fit.service.entity.Worker;
 import modelengine.fit.service.util.FitableInstanceUtils;
 import modelengine.fit.service.util.WorkerUtils;
@@ -31,6 +32,11 @@ import modelengine.fitframework.broker.Genericable;
 import modelengine.fitframework.broker.GenericableMetadata;
 import modelengine.fitframework.broker.Target;
 import modelengine.fitframework.broker.UniqueFitableId;
+import modelengine.fitframework.broker.client.ClientLocalExecutorNotFoundException;
+import modelengine.fitframework.broker.client.FitableNotFoundException;
+import modelengine.fitframework.broker.client.GenericableNotFoundException;
+import modelengine.fitframework.broker.event.FitableTargetsChangedObserver;
+import modelengine.fitframework.broker.server.ServerLocalExecutorNotFoundException;
 import modelengine.fitframework.conf.runtime.ApplicationConfig;
 import modelengine.fitframework.conf.runtime.CommunicationProtocol;
 import modelengine.fitframework.conf.runtime.WorkerConfig;
@@ -60,8 +66,10 @@ import java.util.stream.Collectors;
  * <p>注册中心监听器有三种工作模式，分别为 {@link RegistryListenerMode#PULL 拉模式}、{@link RegistryListenerMode#PUSH
  * 推模式} 和 {@link RegistryListenerMode#PUSH_AND_PULL 推拉结合模式}。</p>
  * <ul>
- *     <li>拉模式：注册中心监听器会开启一个定时任务，用于定时调用 {@link RegistryService#queryFitables
- *     注册中心服务端的查询接口} 来获取本地缓存中的服务地址列表，并更新本地缓存。</li>
+ *     <li>拉模式：注册中心监听器会开启一个定时任务，用于定时调用 {@link RegistryService#queryFitableChanges
+ *     注册中心服务端的变化查询接口} 来获取本地缓存中自已知版本以来发生变化的服务地址列表，并增量更新本地缓存。
+ *     注册中心服务端不支持变化查询时，调用 {@link RegistryService#queryFitables 注册中心服务端的查询接口}
+ *     来获取完整的服务地址列表。</li>
  *     <li>推模式：注册中心监听器会在第一次获取某个服务地址列表时，调用 {@link RegistryService#subscribeFitables
  *     注册中心服务端的订阅接口} 来获取服务地址列表，而在后续获取其服务地址列表时，会调用 {@link
  *     RegistryService#queryFitables 注册中心服务端的查询接口}。</li>
@@ -111,9 +119,11 @@ public class RegistryListener implements Registry {
 
     private final Map<UniqueFitableId, Optional<FitableAddressInstance>> fitableInstancesCache =
             new ConcurrentHashMap<>();
+    private final Map<UniqueFitableId, Long> fitableRevisions = new ConcurrentHashMap<>();
     private final ApplicationConfig application;
     private final WorkerConfig worker;
     private final RegistryListenerMode listenerMode;
+    private volatile boolean isChangesQuerySupported = true;
 
     /**
      * 创建注册中心的监听器对象
@@ -189,12 +199,20 @@ public class RegistryListener implements Registry {
         return fitableAddressInstance.orElse(null);
     }
 
-    private void syncListener() {
-        List<FitableInfo> cachedFitables =
-                this.fitableInstancesCache.keySet().stream().map(this::toFitable).collect(Collectors.toList());
-        if (CollectionUtils.isEmpty(cachedFitables)) {
+    /**
+     * 同步本地缓存中所有服务实现的地址信息。
+     * <p>优先向注册中心服务端分批查询自已知版本以来发生变化的服务实现，只更新发生变化的部分。注册中心服务端不支持时，
+     * 分批查询所有服务实现的完整地址信息，且之后的同步不再查询变化。</p>
+     */
+    void syncListener() {
+        List<UniqueFitableId> cachedFitableKeys = new ArrayList<>(this.fitableInstancesCache.keySet());
+        if (CollectionUtils.isEmpty(cachedFitableKeys)) {
             return;
         }
+        if (this.isChangesQuerySupported && this.syncChanges(cachedFitableKeys)) {
+            return;
+        }
+        List<FitableInfo> cachedFitables = cachedFitableKeys.stream().map(this::toFitable).collect(Collectors.toList());
         int batch = (cachedFitables.size() - 1) / BATCH_NUM + 1;
         for (int i = 0; i < batch; i++) {
             int max = Math.min((i + 1) * BATCH_NUM, cachedFitables.size());
@@ -203,6 +221,40 @@ public class RegistryListener implements Registry {
         }
     }
 
+    private boolean syncChanges(List<UniqueFitableId> fitableKeys) {
+        List<FitableRevision> revisions = fitableKeys.stream().map(fitableKey -> {
+            FitableRevision revision = new FitableRevision();
+            revision.setFitable(this.toFitable(fitableKey));
+            revision.setRevision(this.fitableRevisions.getOrDefault(fitableKey, 0L));
+            return revision;
+        }).collect(Collectors.toList());
+        int batch = (revisions.size() - 1) / BATCH_NUM + 1;
+        for (int i = 0; i < batch; i++) {
+            int max = Math.min((i + 1) * BATCH_NUM, revisions.size());
+            List<FitableRevision> subRevisions = revisions.subList(i * BATCH_NUM, max);
+            List<FitableAddressInstance> changes;
+            try {
+                changes = this.registryService.queryFitableChanges(subRevisions, this.worker.id());
+            } catch (GenericableNotFoundException | FitableNotFoundException | ClientLocalExecutorNotFoundException
+                     | ServerLocalExecutorNotFoundException e) {
+                this.isChangesQuerySupported = false;
+                log.info("Registry does not support querying fitable changes, query all fitable instances from now on. "
+                        + "[cause={}]", e.getMessage());
+                return false;
+            } catch (Exception e) {
+                log.warn("Failed to query fitable changes, query all fitable instances instead. [cause={}]",
+                        e.getMessage());
+                log.debug("Failed to query fitable changes.", e);
+                return false;
+            }
+            if (CollectionUtils.isNotEmpty(changes)) {
+                log.debug("Query fitable changes successfully. [changedSize={}]", changes.size());
+                this.updateLocalCacheIfPresent(changes);
+            }
+        }
+        return true;
+    }
+
     private void fallbackForSyncListener(Throwable cause) {
         log.warn("Failed to sync listener. [cause={}]", cause.getMessage());
         log.debug("Failed to sync listener.", cause);
@@ -403,6 +455,8 @@ public class RegistryListener implements Registry {
                         Function.identity()));
         fitableKeys.forEach(fitableKey -> this.fitableInstancesCache.put(fitableKey,
                 Optional.ofNullable(fitableInstanceMap.get(fitableKey))));
+        fitableInstanceMap.forEach(this::updateRevision);
+        FitableTargetsChangedObserver.notify(this.container, fitableKeys);
     }
 
     private UniqueFitableId getUniqueFitableId(FitableInfo fitable) {
@@ -481,17 +535,38 @@ public class RegistryListener implements Registry {
     }
 
     private void updateLocalCacheIfPresent(List<FitableAddressInstance> fitableInstances) {
-        fitableInstances.stream().filter(Objects::nonNull).forEach(this::updateLocalCacheIfPresent);
+        List<UniqueFitableId> updatedFitableKeys = fitableInstances.stream()
+                .filter(Objects::nonNull)
+                .map(this::updateLocalCacheIfPresent)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        FitableTargetsChangedObserver.notify(this.container, updatedFitableKeys);
     }
 
-    private void updateLocalCacheIfPresent(FitableAddressInstance fitableInstance) {
+    private UniqueFitableId updateLocalCacheIfPresent(FitableAddressInstance fitableInstance) {
         FitableInfo fitable = fitableInstance.getFitable();
         if (fitable == null) {
-            return;
+            return null;
         }
         UniqueFitableId fitableKey = this.getUniqueFitableId(fitable);
-        if (this.fitableInstancesCache.containsKey(fitableKey)) {
-            this.fitableInstancesCache.put(fitableKey, Optional.of(fitableInstance));
+        if (!this.fitableInstancesCache.containsKey(fitableKey)) {
+            return null;
+        }
+        if (fitableInstance.getRevision() > 0
+                && fitableInstance.getRevision() < this.fitableRevisions.getOrDefault(fitableKey, 0L)) {
+            log.debug("Ignore outdated fitable instance. [fitable={}, revision={}]",
+                    fitable,
+                    fitableInstance.getRevision());
+            return null;
+        }
+        this.fitableInstancesCache.put(fitableKey, Optional.of(fitableInstance));
+        this.updateRevision(fitableKey, fitableInstance);
+        return fitableKey;
+    }
+
+    private void updateRevision(UniqueFitableId fitableKey, FitableAddressInstance fitableInstance) {
+        if (fitableInstance.getRevision() > 0) {
+            this.fitableRevisions.merge(fitableKey, fitableInstance.getRevision(), Math::max);
         }
     }
 }
@@ -8,9 +8,12 @@ package modelengine.fit.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import modelengine.fit.service.entity.Address;
@@ -18,15 +21,18 @@ import modelengine.fit.service.entity.Application;
 import modelengine.fit.service.entity.ApplicationInstance;
 import modelengine.fit.service.entity.FitableAddressInstance;
 import modelengine.fit.service.entity.FitableInfo;
+import modelengine.fit.service.entity.FitableRevision;
 import modelengine.fit.service.entity.Worker;
 import modelengine.fitframework.broker.Target;
 import modelengine.fitframework.broker.UniqueFitableId;
+import modelengine.fitframework.broker.client.FitableNotFoundException;
 import modelengine.fitframework.conf.runtime.ApplicationConfig;
 import modelengine.fitframework.conf.runtime.WorkerConfig;
 import modelengine.fitframework.ioc.BeanContainer;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.util.ArrayList;
@@ -50,6 +56,7 @@ class RegistryListenerTest {
     private static final String WORKER_ENVIRONMENT = "debug";
 
     private RegistryListener registryListener;
+    private RegistryService client;
     private FitableInfo fitable;
     private Address address;
 
@@ -59,6 +66,7 @@ class RegistryListenerTest {
         List<FitableInfo> fitables = new ArrayList<>();
         fitables.add(this.fitable);
         RegistryService client = mock(RegistryService.class);
+        this.client = client;
         BeanContainer container = mock(BeanContainer.class);
         LocalFitableCache cache = Mockito.mock(LocalFitableCache.class);
 
@@ -140,6 +148,112 @@ class RegistryListenerTest {
         assertDoesNotThrow(() -> this.registryListener.notifyFitables(fitableInstances));
     }
 
+    @Test
+    @DisplayName("提供 RegistryListener 类拉取同步时，只查询发生变化的服务实现并增量更新本地缓存")
+    void givenRegistryListenerWhenSyncThenApplyChanges() {
+        this.createRegister("pull", false);
+        when(this.client.queryFitables(any(), eq(WORKER_ID))).thenReturn(Collections.singletonList(
+                this.buildServiceAddress(3, this.address)));
+        Address changedAddress = new Address();
+        changedAddress.setHost("B");
+        when(this.client.queryFitableChanges(any(), eq(WORKER_ID))).thenReturn(Collections.singletonList(
+                this.buildServiceAddress(5, changedAddress)));
+        this.registryListener.subscribeFitables(this.getSingleUniqueFitableIds());
+
+        this.registryListener.syncListener();
+
+        ArgumentCaptor<List<FitableRevision>> captor = ArgumentCaptor.forClass(List.class);
+        verify(this.client).queryFitableChanges(captor.capture(), eq(WORKER_ID));
+        assertThat(captor.getValue()).singleElement().extracting(FitableRevision::getRevision).isEqualTo(3L);
+        verify(this.client, times(1)).queryFitables(any(), eq(WORKER_ID));
+        assertThat(this.cachedHost()).isEqualTo("B");
+    }
+
+    @Test
+    @DisplayName("提供 RegistryListener 类拉取同步时，注册中心不支持变化查询则查询完整的地址信息")
+    void givenRegistryListenerWhenChangesNotSupportedThenQueryAll() {
+        this.createRegister("pull", false);
+        when(this.client.queryFitables(any(), eq(WORKER_ID))).thenReturn(Collections.singletonList(
+                this.buildServiceAddress(0, this.address)));
+        when(this.client.queryFitableChanges(any(), eq(WORKER_ID))).thenThrow(new IllegalStateException("No fitable."));
+        this.registryListener.subscribeFitables(this.getSingleUniqueFitableIds());
+
+        this.registryListener.syncListener();
+
+        verify(this.client, times(2)).queryFitables(any(), eq(WORKER_ID));
+        assertThat(this.cachedHost()).isEqualTo("A");
+    }
+
+    @Test
+    @DisplayName("提供 RegistryListener 类拉取同步时，注册中心未提供变化查询的服务实现则之后直接查询完整的地址信息")
+    void givenRegistryListenerWhenChangesNotFoundThenQueryAllDirectly() {
+        this.createRegister("pull", false);
+        when(this.client.queryFitables(any(), eq(WORKER_ID))).thenReturn(Collections.singletonList(
+                this.buildServiceAddress(0, this.address)));
+        when(this.client.queryFitableChanges(any(), eq(WORKER_ID))).thenThrow(
+                new FitableNotFoundException("No fitable."));
+        this.registryListener.subscribeFitables(this.getSingleUniqueFitableIds());
+
+        this.registryListener.syncListener();
+        this.registryListener.syncListener();
+
+        verify(this.client, times(1)).queryFitableChanges(any(), eq(WORKER_ID));
+        verify(this.client, times(3)).queryFitables(any(), eq(WORKER_ID));
+        assertThat(this.cachedHost()).isEqualTo("A");
+    }
+
+    @Test
+    @DisplayName("提供 RegistryListener 类拉取同步时，分批查询发生变化的服务实现")
+    void givenRegistryListenerWhenSyncManyFitablesThenQueryChangesInBatches() {
+        this.createRegister("pull", false);
+        when(this.client.queryFitables(any(), eq(WORKER_ID))).thenReturn(Collections.emptyList());
+        when(this.client.queryFitableChanges(any(), eq(WORKER_ID))).thenReturn(Collections.emptyList());
+        List<UniqueFitableId> fitableIds = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            fitableIds.add(UniqueFitableId.create(GENERICABLE_ID, FITABLE_ID + i));
+        }
+        this.registryListener.subscribeFitables(fitableIds);
+
+        this.registryListener.syncListener();
+
+        ArgumentCaptor<List<FitableRevision>> captor = ArgumentCaptor.forClass(List.class);
+        verify(this.client, times(3)).queryFitableChanges(captor.capture(), eq(WORKER_ID));
+        assertThat(captor.getAllValues()).extracting(List::size).containsExactly(10, 10, 5);
+        verify(this.client, times(1)).queryFitables(any(), eq(WORKER_ID));
+    }
+
+    @Test
+    @DisplayName("提供 RegistryListener 类收到过期版本的推送时，忽略该推送")
+    void givenRegistryListenerWhenNotifyOutdatedRevisionThenIgnore() {
+        this.createRegister("push-and-pull", false);
+        when(this.client.subscribeFitables(any(), eq(WORKER_ID), anyString())).thenReturn(Collections.singletonList(
+                this.buildServiceAddress(5, this.address)));
+        this.registryListener.subscribeFitables(this.getSingleUniqueFitableIds());
+        Address outdatedAddress = new Address();
+        outdatedAddress.setHost("B");
+
+        this.registryListener.notifyFitables(Collections.singletonList(this.buildServiceAddress(4, outdatedAddress)));
+
+        assertThat(this.cachedHost()).isEqualTo("A");
+    }
+
+    private String cachedHost() {
+        return this.registryListener.get(GENERICABLE_ID, FITABLE_ID)
+                .getApplicationInstances()
+                .get(0)
+                .getWorkers()
+                .get(0)
+                .getAddresses()
+                .get(0)
+                .getHost();
+    }
+
+    private FitableAddressInstance buildServiceAddress(long revision, Address address) {
+        FitableAddressInstance instance = this.buildServiceAddress(this.fitable, address);
+        instance.setRevision(revision);
+        return instance;
+    }
+
     private Address buildAddress() {
         Address constructAddress = new Address();
         constructAddress.setHost("A");
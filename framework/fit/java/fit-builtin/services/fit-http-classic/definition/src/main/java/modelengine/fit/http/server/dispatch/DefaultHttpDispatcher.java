@@ -23,8 +23,6 @@ import modelengine.fitframework.resource.UrlUtils;
 import modelengine.fitframework.util.MapUtils;
 import modelengine.fitframework.util.OptionalUtils;
 import modelengine.fitframework.util.StringUtils;
-import modelengine.fitframework.util.wildcard.PathPattern;
-import modelengine.fitframework.util.wildcard.Pattern;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -42,7 +40,6 @@ import java.util.stream.Collectors;
  */
 public class DefaultHttpDispatcher implements HttpDispatcher {
     private static final Logger log = Logger.get(DefaultHttpDispatcher.class);
-    private static final char PATH_SEPARATOR = '/';
 
     /**
      * 表示路径样式中没有路径变量的处理器集合。
@@ -58,27 +55,16 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
     private final Map<HttpRequestMethod, Map<String, HttpHandler>> noPathVariableHandlers = new ConcurrentHashMap<>();
 
     /**
-     * 表示路径样式中存在路径变量的处理器集合。
+     * 表示路径样式中存在路径变量或 {@code '**'} 通配符的处理器集合。
      * <p>其键值对映射分别表示的含义如下：
      *     <ul>
      *         <li>映射中的键表示 Http 请求的方法的 {@link HttpRequestMethod}。</li>
-     *         <li>映射中的值表示 Http 请求路径的匹配树的 {@link MappingTree}{@code <}{@link HttpHandler}{@code >}。</li>
+     *         <li>映射中的值表示 Http 请求路径的匹配树的 {@link MappingTree}{@code <}{@link HttpHandler}{@code >}，路径变量和
+     *         {@code '**'} 通配符均在注册时编译到同一棵匹配树中。</li>
      *     </ul>
      * </p>
      */
-    private final Map<HttpRequestMethod, MappingTree<HttpHandler>> pathVariableHandlers = new ConcurrentHashMap<>();
-
-    /**
-     * 表示路径样式中存在 {@code '**'} 通配符的处理器集合。
-     * <p>其键值对映射分别表示的含义如下：
-     *     <ul>
-     *         <li>第一层映射中的键表示 Http 请求的方法的 {@link HttpRequestMethod}。</li>
-     *         <li>第二层映射中的键表示路径样式，如 {@code /**}。</li>
-     *         <li>第二层映射中的值为其对应的 Http 请求的处理器的 {@link HttpHandler}。</li>
-     *     </ul>
-     * </p>
-     */
-    private final Map<HttpRequestMethod, Map<String, HttpHandler>> wildcardHandlers = new ConcurrentHashMap<>();
+    private final Map<HttpRequestMethod, MappingTree<HttpHandler>> pathPatternHandlers = new ConcurrentHashMap<>();
 
     private final Map<String, HttpHandlerGroup> groups = new ConcurrentHashMap<>();
 
@@ -86,9 +72,9 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
     public HttpHandler dispatch(HttpClassicServerRequest request, HttpClassicResponse response) {
         log.debug("Remote address accessed. [path={}, remote={}]",
                 request.path(), request.remoteAddress().hostAddress());
-        return OptionalUtils.get(() -> this.selectFromNoPathVariableHandlers(request))
-                .orElse(() -> this.selectFromPathVariableHandlers(request))
-                .orElse(() -> this.selectFromWildcardHandlers(request))
+        String path = UrlUtils.decodePath(request.path());
+        return OptionalUtils.get(() -> this.selectFromNoPathVariableHandlers(request.method(), path))
+                .orElse(() -> this.selectFromPathPatternHandlers(request.method(), path))
                 .orElseThrow(() -> {
                     String message = StringUtils.format("No http handler for http request. [method={0}, path={1}]",
                             request.method().name(),
@@ -97,40 +83,22 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
                 });
     }
 
-    private Optional<HttpHandler> selectFromNoPathVariableHandlers(HttpClassicServerRequest request) {
-        Map<String, HttpHandler> handlers = this.noPathVariableHandlers.get(request.method());
+    private Optional<HttpHandler> selectFromNoPathVariableHandlers(HttpRequestMethod method, String path) {
+        Map<String, HttpHandler> handlers = this.noPathVariableHandlers.get(method);
         if (MapUtils.isEmpty(handlers)) {
             return Optional.empty();
         }
-        String path = UrlUtils.decodePath(request.path());
-        HttpHandler handler = handlers.get(path);
-        return Optional.ofNullable(handler);
+        return Optional.ofNullable(handlers.get(path));
     }
 
-    private Optional<HttpHandler> selectFromPathVariableHandlers(HttpClassicServerRequest request) {
-        MappingTree<HttpHandler> mappingTree = this.pathVariableHandlers.get(request.method());
+    private Optional<HttpHandler> selectFromPathPatternHandlers(HttpRequestMethod method, String path) {
+        MappingTree<HttpHandler> mappingTree = this.pathPatternHandlers.get(method);
         if (mappingTree == null) {
             return Optional.empty();
         }
-        String path = UrlUtils.decodePath(request.path());
         return mappingTree.search(path);
     }
 
-    private Optional<HttpHandler> selectFromWildcardHandlers(HttpClassicServerRequest request) {
-        Map<String, HttpHandler> handlers = this.wildcardHandlers.get(request.method());
-        if (MapUtils.isEmpty(handlers)) {
-            return Optional.empty();
-        }
-        String path = UrlUtils.decodePath(request.path());
-        for (Map.Entry<String, HttpHandler> entry : handlers.entrySet()) {
-            PathPattern pattern = Pattern.forPath(entry.getKey(), PATH_SEPARATOR);
-            if (pattern.matches(path)) {
-                return Optional.of(entry.getValue());
-            }
-        }
-        return Optional.empty();
-    }
-
     @Override
     public void register(String httpMethod, HttpHandler handler) {
         HttpRequestMethod method =
@@ -139,13 +107,9 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
         String pathPattern = MappingTree.convertToMatchedPathPattern(handler.pathPattern());
         notBlank(pathPattern, "The path pattern cannot be blank.");
         HttpHandler preHandler;
-        if (pathPattern.contains("**")) {
-            Map<String, HttpHandler> handlers =
-                    this.wildcardHandlers.computeIfAbsent(method, methodName -> new ConcurrentHashMap<>());
-            preHandler = handlers.put(pathPattern, handler);
-        } else if (pathPattern.contains("*")) {
+        if (pathPattern.contains("*")) {
             MappingTree<HttpHandler> mappingTree =
-                    this.pathVariableHandlers.computeIfAbsent(method, methodName -> new DefaultMappingTree<>());
+                    this.pathPatternHandlers.computeIfAbsent(method, methodName -> new DefaultMappingTree<>());
             preHandler = mappingTree.register(pathPattern, handler).orElse(null);
         } else {
             Map<String, HttpHandler> handlers =
@@ -167,10 +131,8 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
         notNull(handler, "The http handler cannot be null.");
         String pathPattern = MappingTree.convertToMatchedPathPattern(handler.pathPattern());
         notBlank(pathPattern, "The path pattern cannot be blank.");
-        if (pathPattern.contains("**")) {
-            Optional.ofNullable(this.wildcardHandlers.get(method)).ifPresent(handlers -> handlers.remove(pathPattern));
-        } else if (pathPattern.contains("*")) {
-            Optional.ofNullable(this.pathVariableHandlers.get(method))
+        if (pathPattern.contains("*")) {
+            Optional.ofNullable(this.pathPatternHandlers.get(method))
                     .ifPresent(mappingTree -> mappingTree.unregister(pathPattern));
         } else {
             Optional.ofNullable(this.noPathVariableHandlers.get(method))
@@ -183,14 +145,10 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
         Map<HttpRequestMethod, List<HttpHandler>> map = this.noPathVariableHandlers.entrySet()
                 .stream()
                 .collect(Collectors.toMap(Map.Entry::getKey, entry -> new ArrayList<>(entry.getValue().values())));
-        this.pathVariableHandlers.forEach((requestMethod, mappingTree) -> {
+        this.pathPatternHandlers.forEach((requestMethod, mappingTree) -> {
             List<HttpHandler> handlerList = map.computeIfAbsent(requestMethod, key -> new ArrayList<>());
             handlerList.addAll(mappingTree.getAllHandlers());
         });
-        this.wildcardHandlers.forEach((requestMethod, httpHandlers) -> {
-            List<HttpHandler> handlerList = map.computeIfAbsent(requestMethod, key -> new ArrayList<>());
-            handlerList.addAll(httpHandlers.values());
-        });
         return map;
     }
 
@@ -51,8 +51,7 @@ public interface MappingTree<T> {
      *
      * @param path 表示指定路径的 {@link String}。
      * @return 表示搜索到的指定路径的处理器的 {@link Optional}{@code <}{@link T}{@code >}。
-     * @throws IllegalArgumentException 当 {@code path} 为 {@code null} 或空白字符串或不以 {@code '/'}
-     * 开头或仅包含 {@code '/'} 时。
+     * @throws IllegalArgumentException 当 {@code path} 为 {@code null} 或空白字符串或不以 {@code '/'} 开头时。
      */
     Optional<T> search(String path);
 
@@ -13,21 +13,30 @@ import static modelengine.fitframework.inspection.Validation.notNull;
 import modelengine.fit.http.server.dispatch.MappingTree;
 import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.StringUtils;
+import modelengine.fitframework.util.wildcard.CharSequencePattern;
+import modelengine.fitframework.util.wildcard.Pattern;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * {@link MappingTree} 的默认实现。
+ * <p>匹配树同时支持静态路径片段、路径变量 {@code '*'} 和多级通配符 {@code '**'}，所有路径样式在注册时即编译到树中，
+ * 搜索时只需要对请求路径进行一次切分和一次树的遍历。</p>
+ * <p>搜索时的优先级如下：</p>
+ * <ul>
+ *     <li>不包含 {@code '**'} 的路径样式优先于包含 {@code '**'} 的路径样式。</li>
+ *     <li>在同一层级中，静态路径片段优先于 {@code '*'}，{@code '*'} 优先于片段内的通配符（如 {@code '*.js'}），最后才是
+ *     {@code '**'}。</li>
+ * </ul>
+ * <p>只有包含 {@code '**'} 的路径样式中的片段才会按照通配符进行匹配，其余路径样式中除 {@code '*'} 以外的片段均按照字面值
+ * 进行匹配。</p>
  *
  * @author 季聿阶
  * @since 2022-07-26
@@ -37,8 +46,10 @@ public class DefaultMappingTree<T> implements MappingTree<T> {
     public static final String PATH_SEPARATOR = "/";
 
     private static final String WILD_KEY = "*";
+    private static final String MULTIPLE_WILD_KEY = "**";
 
-    private final Map<String, MappingTreeNode<T>> nodes = new ConcurrentHashMap<>();
+    private final MappingTreeNode<T> root = new MappingTreeNode<>(null);
+    private volatile boolean hasMultipleWildcard;
 
     /**
      * 将指定路径按照路径分隔符进行切分。
@@ -64,8 +75,11 @@ public class DefaultMappingTree<T> implements MappingTree<T> {
         isTrue(CollectionUtils.isNotEmpty(pathFragments),
                 "The path pattern cannot only contain '/'. [pathPattern={0}]",
                 pathPattern);
-        return this.nodes.computeIfAbsent(pathFragments.remove(), fragment -> new MappingTreeNode<>())
-                .register(pathFragments, handler);
+        boolean isWildcardPattern = pathFragments.contains(MULTIPLE_WILD_KEY);
+        if (isWildcardPattern) {
+            this.hasMultipleWildcard = true;
+        }
+        return this.root.register(pathFragments, handler, isWildcardPattern);
     }
 
     @Override
@@ -79,15 +93,7 @@ public class DefaultMappingTree<T> implements MappingTree<T> {
         isTrue(CollectionUtils.isNotEmpty(pathFragments),
                 "The path pattern cannot only contain '/'. [pathPattern={0}]",
                 pathPattern);
-        String removed = pathFragments.remove();
-        if (!this.nodes.containsKey(removed)) {
-            return;
-        }
-        MappingTreeNode<T> treeNode = this.nodes.get(removed);
-        boolean isEmpty = treeNode.unregister(pathFragments);
-        if (isEmpty) {
-            this.nodes.remove(removed);
-        }
+        this.root.unregister(pathFragments, pathFragments.contains(MULTIPLE_WILD_KEY));
     }
 
     @Override
@@ -95,91 +101,139 @@ public class DefaultMappingTree<T> implements MappingTree<T> {
         notBlank(path, "The search path cannot be blank.");
         String actualPath = path.trim();
         isTrue(actualPath.startsWith(PATH_SEPARATOR), "The search path is not start with '/'. [path={0}]", path);
-        Deque<String> pathFragments = splitPath(actualPath);
-        isTrue(CollectionUtils.isNotEmpty(pathFragments),
-                "The search path cannot only contain '/'. [pathPattern={0}]",
-                path);
-        MappingTreeNode<T> childNode = this.nodes.get(pathFragments.removeFirst());
-        Optional<T> httpHandler = Optional.ofNullable(childNode).flatMap(node -> node.search(pathFragments));
-        if (httpHandler.isPresent()) {
-            return httpHandler;
+        List<String> pathFragments = StringUtils.split(actualPath,
+                PATH_SEPARATOR,
+                ArrayList::new,
+                StringUtils::isNotBlank);
+        T handler = this.root.search(pathFragments, 0, false);
+        if (handler == null && this.hasMultipleWildcard) {
+            handler = this.root.search(pathFragments, 0, true);
         }
-        MappingTreeNode<T> wildChildNode = this.nodes.get(WILD_KEY);
-        return Optional.ofNullable(wildChildNode).flatMap(node -> node.search(pathFragments));
+        return Optional.ofNullable(handler);
     }
 
     @Override
     public List<T> getAllHandlers() {
-        Collection<MappingTreeNode<T>> values = this.nodes.values();
-        return values.stream()
-                .filter(Objects::nonNull)
-                .flatMap(value -> this.getNodeHandlers(value).stream())
-                .collect(Collectors.toList());
+        List<T> handlers = new ArrayList<>();
+        this.root.collectHandlers(handlers);
+        return handlers;
     }
 
-    private List<T> getNodeHandlers(MappingTreeNode<T> node) {
-        List<T> handlers = new ArrayList<>();
-        if (node.handler != null) {
-            handlers.add(node.handler);
+    private static boolean isPatternFragment(String fragment, boolean isWildcardPattern) {
+        if (!isWildcardPattern || WILD_KEY.equals(fragment)) {
+            return false;
         }
-        if (!node.children.isEmpty()) {
-            List<T> childrenHandlers = node.children.values()
-                    .stream()
-                    .filter(Objects::nonNull)
-                    .flatMap(child -> this.getNodeHandlers(child).stream())
-                    .collect(Collectors.toList());
-            handlers.addAll(childrenHandlers);
-        }
-        return handlers;
+        return MULTIPLE_WILD_KEY.equals(fragment) || fragment.indexOf('*') >= 0 || fragment.indexOf('?') >= 0;
     }
 
     private static class MappingTreeNode<T> {
+        /** 表示按照字面值或 {@code '*'} 进行匹配的子节点。 */
         private final Map<String, MappingTreeNode<T>> children = new ConcurrentHashMap<>();
-        private T handler;
 
-        private Optional<T> register(Queue<String> pathFragments, T handler) {
+        /** 表示片段内含有通配符或为 {@code '**'} 的子节点，仅由包含 {@code '**'} 的路径样式产生。 */
+        private final Map<String, MappingTreeNode<T>> patternChildren = new ConcurrentHashMap<>();
+
+        private final CharSequencePattern pattern;
+        private volatile T handler;
+
+        private MappingTreeNode(CharSequencePattern pattern) {
+            this.pattern = pattern;
+        }
+
+        private Optional<T> register(Queue<String> pathFragments, T handler, boolean isWildcardPattern) {
             if (pathFragments.isEmpty()) {
                 T pre = this.handler;
                 this.handler = handler;
                 return Optional.ofNullable(pre);
             }
-            return this.children.computeIfAbsent(pathFragments.remove(), fragment -> new MappingTreeNode<>())
-                    .register(pathFragments, handler);
+            String fragment = pathFragments.remove();
+            MappingTreeNode<T> child;
+            if (isPatternFragment(fragment, isWildcardPattern)) {
+                child = this.patternChildren.computeIfAbsent(fragment,
+                        key -> new MappingTreeNode<>(MULTIPLE_WILD_KEY.equals(key)
+                                ? null
+                                : Pattern.forCharSequence(key)));
+            } else {
+                child = this.children.computeIfAbsent(fragment, key -> new MappingTreeNode<>(null));
+            }
+            return child.register(pathFragments, handler, isWildcardPattern);
         }
 
-        private boolean unregister(Queue<String> pathFragments) {
+        private boolean unregister(Queue<String> pathFragments, boolean isWildcardPattern) {
             if (pathFragments.isEmpty()) {
                 this.handler = null;
-                return this.children.isEmpty();
+                return this.isEmpty();
             }
             String removed = pathFragments.remove();
-            if (!this.children.containsKey(removed)) {
-                return this.children.isEmpty();
-            }
-            boolean isEmpty = this.children.get(removed).unregister(pathFragments);
-            if (isEmpty) {
-                this.children.remove(removed);
+            Map<String, MappingTreeNode<T>> nodes =
+                    isPatternFragment(removed, isWildcardPattern) ? this.patternChildren : this.children;
+            MappingTreeNode<T> child = nodes.get(removed);
+            if (child != null && child.unregister(pathFragments, isWildcardPattern)) {
+                nodes.remove(removed);
             }
-            return this.children.isEmpty();
+            return this.isEmpty();
         }
 
-        private Optional<T> search(Deque<String> pathFragments) {
-            if (pathFragments.isEmpty()) {
-                return Optional.ofNullable(this.handler);
+        private boolean isEmpty() {
+            return this.handler == null && this.children.isEmpty() && this.patternChildren.isEmpty();
+        }
+
+        /**
+         * 从当前节点开始搜索指定路径片段的处理器。
+         *
+         * @param pathFragments 表示请求路径的所有片段的 {@link List}{@code <}{@link String}{@code >}。
+         * @param index 表示当前节点需要匹配的片段下标的 {@code int}。
+         * @param matchWildcard 表示是否匹配包含 {@code '**'} 的路径样式的 {@code boolean}。
+         * @return 表示搜索到的处理器的 {@link T}，当没有搜索到时，返回 {@code null}。
+         */
+        private T search(List<String> pathFragments, int index, boolean matchWildcard) {
+            if (index == pathFragments.size()) {
+                if (this.handler != null || !matchWildcard) {
+                    return this.handler;
+                }
+                MappingTreeNode<T> multipleWildChild = this.patternChildren.get(MULTIPLE_WILD_KEY);
+                return multipleWildChild == null ? null : multipleWildChild.search(pathFragments, index, true);
+            }
+            String fragment = pathFragments.get(index);
+            T found = searchChild(this.children.get(fragment), pathFragments, index + 1, matchWildcard);
+            if (found == null) {
+                found = searchChild(this.children.get(WILD_KEY), pathFragments, index + 1, matchWildcard);
+            }
+            if (found != null || !matchWildcard || this.patternChildren.isEmpty()) {
+                return found;
             }
-            String removed = pathFragments.removeFirst();
-            MappingTreeNode<T> child = this.children.get(removed);
-            Optional<T> httpHandler = Optional.ofNullable(child).flatMap(node -> node.search(pathFragments));
-            if (httpHandler.isPresent()) {
-                return httpHandler;
+            for (MappingTreeNode<T> child : this.patternChildren.values()) {
+                if (child.pattern != null && child.pattern.matches(fragment)) {
+                    found = child.search(pathFragments, index + 1, true);
+                    if (found != null) {
+                        return found;
+                    }
+                }
             }
-            MappingTreeNode<T> wildChild = this.children.get(WILD_KEY);
-            httpHandler = Optional.ofNullable(wildChild).flatMap(node -> node.search(pathFragments));
-            if (httpHandler.isPresent()) {
-                return httpHandler;
+            MappingTreeNode<T> multipleWildChild = this.patternChildren.get(MULTIPLE_WILD_KEY);
+            if (multipleWildChild == null) {
+                return null;
+            }
+            for (int next = index; next <= pathFragments.size(); next++) {
+                found = multipleWildChild.search(pathFragments, next, true);
+                if (found != null) {
+                    return found;
+                }
+            }
+            return null;
+        }
+
+        private static <T> T searchChild(MappingTreeNode<T> child, List<String> pathFragments, int index,
+                boolean matchWildcard) {
+            return child == null ? null : child.search(pathFragments, index, matchWildcard);
+        }
+
+        private void collectHandlers(List<T> handlers) {
+            if (this.handler != null) {
+                handlers.add(this.handler);
             }
-            pathFragments.addFirst(removed);
-            return Optional.empty();
+            this.children.values().forEach(child -> child.collectHandlers(handlers));
+            this.patternChildren.values().forEach(child -> child.collectHandlers(handlers));
         }
     }
 }
@@ -13,6 +13,7 @@ import static modelengine.fitframework.util.ObjectUtils.getIfNull;
 import modelengine.fit.http.server.HttpClassicServer;
 import modelengine.fit.http.server.HttpHandler;
 import modelengine.fit.http.server.HttpServerFilter;
+import modelengine.fit.http.server.support.HttpServerFilterMatcher;
 
 import java.util.Collections;
 import java.util.List;
@@ -27,6 +28,7 @@ public abstract class AbstractHttpHandler implements HttpHandler {
     private final HttpClassicServer httpServer;
     private final String pathPattern;
     private final List<HttpServerFilter> preFilters;
+    private final HttpServerFilterMatcher filterMatcher;
 
     /**
      * 通过 Http 处理器的相关静态信息来实例化 {@link AbstractHttpHandler}。
@@ -45,6 +47,7 @@ public abstract class AbstractHttpHandler implements HttpHandler {
         this.httpServer = notNull(executionInfo.httpServer(), "The http server cannot be null.");
         this.pathPattern = notBlank(staticInfo.pathPattern(), "The path pattern cannot be blank.");
         this.preFilters = getIfNull(executionInfo.preFilters(), Collections::emptyList);
+        this.filterMatcher = new HttpServerFilterMatcher(this.preFilters);
     }
 
     @Override
@@ -61,4 +64,14 @@ public abstract class AbstractHttpHandler implements HttpHandler {
     public List<HttpServerFilter> preFilters() {
         return Collections.unmodifiableList(this.preFilters);
     }
+
+    /**
+     * 获取 Http 处理器的前置过滤器的匹配器。
+     * <p>该匹配器在 Http 处理器创建时预编译了所有前置过滤器的路径样式。</p>
+     *
+     * @return 表示前置过滤器的匹配器的 {@link HttpServerFilterMatcher}。
+     */
+    public HttpServerFilterMatcher filterMatcher() {
+        return this.filterMatcher;
+    }
 }
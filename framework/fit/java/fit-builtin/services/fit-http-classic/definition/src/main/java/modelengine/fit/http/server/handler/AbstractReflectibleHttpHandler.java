@@ -15,7 +15,7 @@ import modelengine.fit.http.server.HttpHandler;
 import modelengine.fit.http.server.HttpServerResponseException;
 import modelengine.fit.http.server.ReflectibleMappingHandler;
 import modelengine.fitframework.exception.MethodInvocationException;
-import modelengine.fitframework.util.ReflectionUtils;
+import modelengine.fitframework.util.MethodInvoker;
 
 import java.lang.reflect.Method;
 import java.util.Collections;
@@ -30,6 +30,7 @@ import java.util.List;
 public abstract class AbstractReflectibleHttpHandler extends AbstractHttpHandler implements ReflectibleMappingHandler {
     private final Object target;
     private final Method method;
+    private final MethodInvoker invoker;
     private final List<PropertyValueMapper> propertyValueMappers;
     private final StaticInfo staticInfo;
     private final List<PropertyValueMetadata> propertyValueMetadata;
@@ -66,6 +67,7 @@ public abstract class AbstractReflectibleHttpHandler extends AbstractHttpHandler
         }
         this.target = notNull(executionInfo.target(), "The specified target of http handler cannot be null.");
         this.method = notNull(executionInfo.method(), "The specified method of http handler cannot be null.");
+        this.invoker = MethodInvoker.of(this.method);
         this.propertyValueMetadata =
                 notNull(staticInfo.propertyValueMetadata(), "The http value meta data cannot be null.");
     }
@@ -133,7 +135,7 @@ public abstract class AbstractReflectibleHttpHandler extends AbstractHttpHandler
             return;
         }
         try {
-            Object ret = ReflectionUtils.invoke(this.target, this.method, args);
+            Object ret = this.invoker.invoke(this.target, args);
             this.handleResult(request, response, args, ret);
         } catch (MethodInvocationException e) {
             this.handleException(request, response, args, e.getCause());
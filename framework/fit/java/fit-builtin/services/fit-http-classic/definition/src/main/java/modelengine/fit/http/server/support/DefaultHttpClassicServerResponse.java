@@ -41,7 +41,9 @@ import modelengine.fitframework.serialization.ObjectSerializer;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
@@ -137,6 +139,7 @@ public class DefaultHttpClassicServerResponse extends AbstractHttpClassicRespons
         this.headers().set(TRANSFER_ENCODING, CHUNKED);
         this.commit();
         this.serverResponse.writeStartLineAndHeaders();
+        this.serverResponse.flushBuffer();
         return ObjectUtils.cast(this.entity);
     }
 
@@ -157,10 +160,15 @@ public class DefaultHttpClassicServerResponse extends AbstractHttpClassicRespons
                 }
                 this.serverResponse.writeStartLineAndHeaders();
                 ReadableBinaryEntity readableBinaryEntity = cast(this.entity);
-                byte[] bytes = new byte[512];
-                int read;
-                while ((read = readableBinaryEntity.read(bytes)) > -1) {
-                    this.serverResponse.writeBody(bytes, 0, read);
+                if (this.entity instanceof FileEntity
+                        && readableBinaryEntity.getInputStream() instanceof FileInputStream) {
+                    this.sendFile(cast(this.entity));
+                } else {
+                    byte[] bytes = new byte[512];
+                    int read;
+                    while ((read = readableBinaryEntity.read(bytes)) > -1) {
+                        this.serverResponse.writeBody(bytes, 0, read);
+                    }
                 }
             } else if (this.entity instanceof WritableBinaryEntity) {
                 // WritableBinaryEntity 已经在用户代码层面进行了输出，因此此处什么都不需要处理。
@@ -169,6 +177,7 @@ public class DefaultHttpClassicServerResponse extends AbstractHttpClassicRespons
                 this.headers().set(CONNECTION, KEEP_ALIVE);
                 this.headers().set(TRANSFER_ENCODING, CHUNKED);
                 this.serverResponse.writeStartLineAndHeaders();
+                this.serverResponse.flushBuffer();
                 this.sendTextEventStream(cast(this.entity));
             } else {
                 byte[] entityBytes = this.entitySerializer().serializeEntity(ObjectUtils.cast(this.entity), charset);
@@ -182,6 +191,13 @@ public class DefaultHttpClassicServerResponse extends AbstractHttpClassicRespons
         }
     }
 
+    private void sendFile(FileEntity fileEntity) throws IOException {
+        // 本地文件直接通过文件通道写出，使得底层的服务器可以通过零拷贝的方式发送文件内容。
+        FileChannel channel = ((FileInputStream) fileEntity.getInputStream()).getChannel();
+        long position = channel.position();
+        this.serverResponse.writeBody(channel, position, Math.min(fileEntity.length(), channel.size() - position));
+    }
+
     private void sendTextEventStream(TextEventStreamEntity eventStreamEntity) throws IOException {
         ObjectSerializer objectSerializer = this.jsonSerializer()
                 .orElseThrow(() -> new IllegalStateException("The json serializer cannot be null."));
@@ -192,6 +208,7 @@ public class DefaultHttpClassicServerResponse extends AbstractHttpClassicRespons
                 .subscribe(null, (subscription, bytes) -> {
                     try {
                         this.serverResponse.writeBody(bytes);
+                        this.serverResponse.flushBuffer();
                     } catch (IOException e) {
                         subscription.cancel();
                         exception.set(e);
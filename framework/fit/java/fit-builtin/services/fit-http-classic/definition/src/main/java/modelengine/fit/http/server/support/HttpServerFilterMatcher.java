@@ -0,0 +1,110 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.http.server.support;
+
+import static modelengine.fitframework.util.ObjectUtils.getIfNull;
+
+import modelengine.fit.http.server.HttpServerFilter;
+import modelengine.fitframework.util.wildcard.Pattern;
+import modelengine.fitframework.util.wildcard.PathPattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 表示 Http 处理器的前置过滤器的匹配器。
+ * <p>创建时预编译所有过滤器的匹配样式和不匹配样式，并缓存每个请求路径所匹配的有序过滤器列表，使得重复的请求路径不再进行样式匹配。
+ * 缓存的请求路径数量有上限，超过上限后新的请求路径只进行匹配而不缓存。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-24
+ */
+public class HttpServerFilterMatcher {
+    private static final char PATH_SEPARATOR = '/';
+    private static final int MAX_CACHED_PATHS = 1024;
+    private static final HttpServerFilter[] NO_FILTERS = new HttpServerFilter[0];
+
+    private final CompiledFilter[] filters;
+    private final Map<String, HttpServerFilter[]> matchedFilters = new ConcurrentHashMap<>();
+
+    /**
+     * 使用有序的过滤器列表初始化 {@link HttpServerFilterMatcher} 的新实例。
+     *
+     * @param filters 表示有序的过滤器列表的 {@link List}{@code <}{@link HttpServerFilter}{@code >}。
+     */
+    public HttpServerFilterMatcher(List<HttpServerFilter> filters) {
+        this.filters = getIfNull(filters, Collections::<HttpServerFilter>emptyList).stream()
+                .map(CompiledFilter::new)
+                .toArray(CompiledFilter[]::new);
+    }
+
+    /**
+     * 获取指定请求路径所匹配的有序过滤器列表。
+     *
+     * @param path 表示请求路径的 {@link String}。
+     * @return 表示所匹配的有序过滤器列表的 {@link HttpServerFilter}{@code []}。
+     */
+    public HttpServerFilter[] match(String path) {
+        if (this.filters.length == 0 || path == null) {
+            return NO_FILTERS;
+        }
+        HttpServerFilter[] matched = this.matchedFilters.get(path);
+        if (matched != null) {
+            return matched;
+        }
+        matched = this.doMatch(path);
+        if (this.matchedFilters.size() < MAX_CACHED_PATHS) {
+            this.matchedFilters.putIfAbsent(path, matched);
+        }
+        return matched;
+    }
+
+    private HttpServerFilter[] doMatch(String path) {
+        List<HttpServerFilter> matched = new ArrayList<>(this.filters.length);
+        for (CompiledFilter filter : this.filters) {
+            if (filter.matches(path)) {
+                matched.add(filter.filter);
+            }
+        }
+        return matched.isEmpty() ? NO_FILTERS : matched.toArray(NO_FILTERS);
+    }
+
+    private static final class CompiledFilter {
+        private final HttpServerFilter filter;
+        private final PathPattern[] matchPatterns;
+        private final PathPattern[] mismatchPatterns;
+
+        private CompiledFilter(HttpServerFilter filter) {
+            this.filter = filter;
+            this.matchPatterns = compile(filter.matchPatterns());
+            this.mismatchPatterns = compile(filter.mismatchPatterns());
+        }
+
+        private static PathPattern[] compile(List<String> patterns) {
+            return getIfNull(patterns, Collections::<String>emptyList).stream()
+                    .map(pattern -> Pattern.forPath(pattern, PATH_SEPARATOR))
+                    .toArray(PathPattern[]::new);
+        }
+
+        private boolean matches(String path) {
+            for (PathPattern pattern : this.mismatchPatterns) {
+                if (pattern.matches(path)) {
+                    return false;
+                }
+            }
+            for (PathPattern pattern : this.matchPatterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@link HttpDispatcher} 的单元测试。
@@ -317,4 +318,78 @@ public class DefaultHttpDispatcherTest {
             return DefaultHttpDispatcherTest.this.dispatcher;
         }
     }
+
+    @Nested
+    @DisplayName("注册了 2000 个处理器后")
+    class AfterRegisteringManyHandlers {
+        private static final int GROUPS = 500;
+        private static final int ROUNDS = 20;
+
+        @BeforeEach
+        void setup() {
+            for (int i = 0; i < GROUPS; i++) {
+                this.register("/api/v1/static" + i + "/list");
+                this.register("/api/v1/resource" + i + "/{id}");
+                this.register("/api/v1/resource" + i + "/{id}/items/{itemId}");
+                this.register("/static" + i + "/**");
+            }
+        }
+
+        private void register(String pathPattern) {
+            HttpHandler handler = mock(HttpHandler.class);
+            when(handler.pathPattern()).thenReturn(pathPattern);
+            DefaultHttpDispatcherTest.this.dispatcher.register(HttpRequestMethod.GET.name(), handler);
+        }
+
+        private HttpHandler dispatch(String path) {
+            HttpClassicServerRequest request = mock(HttpClassicServerRequest.class);
+            Address remoteAddress = mock(Address.class);
+            when(request.remoteAddress()).thenReturn(remoteAddress);
+            when(request.method()).thenReturn(HttpRequestMethod.GET);
+            when(request.path()).thenReturn(path);
+            return DefaultHttpDispatcherTest.this.dispatcher.dispatch(request, null);
+        }
+
+        @Test
+        @DisplayName("每一个请求都被转发到对应路径样式的处理器")
+        void requestIsHandledByMatchedHandler() {
+            assertThat(DefaultHttpDispatcherTest.this.dispatcher.getHttpHandlersMapping().get(HttpRequestMethod.GET))
+                    .hasSize(GROUPS * 4);
+            for (int i = 0; i < GROUPS; i++) {
+                assertThat(this.dispatch("/api/v1/static" + i + "/list").pathPattern()).isEqualTo(
+                        "/api/v1/static" + i + "/list");
+                assertThat(this.dispatch("/api/v1/resource" + i + "/42").pathPattern()).isEqualTo(
+                        "/api/v1/resource" + i + "/{id}");
+                assertThat(this.dispatch("/api/v1/resource" + i + "/42/items/7").pathPattern()).isEqualTo(
+                        "/api/v1/resource" + i + "/{id}/items/{itemId}");
+                assertThat(this.dispatch("/static" + i + "/js/app.js").pathPattern()).isEqualTo(
+                        "/static" + i + "/**");
+            }
+        }
+
+        @Test
+        @DisplayName("转发的耗时与注册的处理器数量无关")
+        void dispatchTimeIsIndependentOfHandlerCount() {
+            String[] paths = new String[GROUPS];
+            for (int i = 0; i < GROUPS; i++) {
+                paths[i] = "/static" + (GROUPS - 1 - i) + "/a/b/c.css";
+            }
+            HttpClassicServerRequest[] requests = new HttpClassicServerRequest[GROUPS];
+            for (int i = 0; i < GROUPS; i++) {
+                requests[i] = mock(HttpClassicServerRequest.class);
+                Address remoteAddress = mock(Address.class);
+                when(requests[i].remoteAddress()).thenReturn(remoteAddress);
+                when(requests[i].method()).thenReturn(HttpRequestMethod.GET);
+                when(requests[i].path()).thenReturn(paths[i]);
+            }
+            long start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                for (HttpClassicServerRequest request : requests) {
+                    DefaultHttpDispatcherTest.this.dispatcher.dispatch(request, null);
+                }
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertThat(elapsedMillis).isLessThan(5000);
+        }
+    }
 }
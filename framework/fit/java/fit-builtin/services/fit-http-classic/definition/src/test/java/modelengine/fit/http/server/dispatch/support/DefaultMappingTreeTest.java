@@ -16,6 +16,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -65,4 +66,53 @@ public class DefaultMappingTreeTest {
             assertThat(search).isNotEmpty().get().isEqualTo(DefaultMappingTreeTest.this.handler);
         }
     }
+
+    @Nested
+    @DisplayName("注册了一个含 '**' 的路径后")
+    class AfterRegistering1MultipleWildPattern {
+        @ParameterizedTest(name = "{index}: 注册路径样式为 `{0}`，搜索路径为 `{1}`")
+        @DisplayName("搜索匹配的路径可以获取处理器")
+        @CsvSource({"/**,/", "/a/**,/a", "/a/**,/a/b/c", "/a/**/c,/a/c", "/a/**/c,/a/b/b/c", "/a/**/*.js,/a/b/c.js"})
+        void returnHandlerWhenSearchingMatchedPath(String pathPattern, String searchPath) {
+            DefaultMappingTreeTest.this.mappingTree.register(pathPattern, DefaultMappingTreeTest.this.handler);
+            Optional<HttpHandler> search = DefaultMappingTreeTest.this.mappingTree.search(searchPath);
+            assertThat(search).isNotEmpty().get().isEqualTo(DefaultMappingTreeTest.this.handler);
+        }
+
+        @ParameterizedTest(name = "{index}: 注册路径样式为 `{0}`，搜索路径为 `{1}`")
+        @DisplayName("搜索不匹配的路径返回空的处理器")
+        @CsvSource({"/a/**,/b/c", "/a/**/c,/a/b/d", "/a/**/*.js,/a/b/c.css"})
+        void returnEmptyWhenSearchingNotMatchedPath(String pathPattern, String searchPath) {
+            DefaultMappingTreeTest.this.mappingTree.register(pathPattern, DefaultMappingTreeTest.this.handler);
+            Optional<HttpHandler> search = DefaultMappingTreeTest.this.mappingTree.search(searchPath);
+            assertThat(search).isEmpty();
+        }
+
+        @Test
+        @DisplayName("取消注册后，不再能搜索到处理器，且不影响同一路径上的其他处理器")
+        void returnEmptyAfterUnregistering() {
+            HttpHandler another = mock(HttpHandler.class);
+            DefaultMappingTreeTest.this.mappingTree.register("/a/*", another);
+            DefaultMappingTreeTest.this.mappingTree.register("/a/*/**", DefaultMappingTreeTest.this.handler);
+            DefaultMappingTreeTest.this.mappingTree.unregister("/a/*/**");
+            assertThat(DefaultMappingTreeTest.this.mappingTree.search("/a/b/c")).isEmpty();
+            assertThat(DefaultMappingTreeTest.this.mappingTree.search("/a/b")).isNotEmpty().get().isEqualTo(another);
+            assertThat(DefaultMappingTreeTest.this.mappingTree.getAllHandlers()).containsExactly(another);
+        }
+    }
+
+    @Test
+    @DisplayName("静态路径优先于路径变量，路径变量优先于 '**' 通配符")
+    void returnMostSpecificHandlerWhenSearching() {
+        HttpHandler staticHandler = mock(HttpHandler.class);
+        HttpHandler variableHandler = mock(HttpHandler.class);
+        HttpHandler wildcardHandler = mock(HttpHandler.class);
+        this.mappingTree.register("/a/b/c", staticHandler);
+        this.mappingTree.register("/*/b/*", variableHandler);
+        this.mappingTree.register("/a/**", wildcardHandler);
+        assertThat(this.mappingTree.search("/a/b/c")).isNotEmpty().get().isEqualTo(staticHandler);
+        assertThat(this.mappingTree.search("/a/b/d")).isNotEmpty().get().isEqualTo(variableHandler);
+        assertThat(this.mappingTree.search("/a/c/d")).isNotEmpty().get().isEqualTo(wildcardHandler);
+        assertThat(this.mappingTree.search("/b/c/d")).isEmpty();
+    }
 }
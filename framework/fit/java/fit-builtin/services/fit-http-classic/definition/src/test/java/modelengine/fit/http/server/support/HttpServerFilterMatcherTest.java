@@ -0,0 +1,74 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.http.server.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.http.server.HttpServerFilter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * 表示 {@link HttpServerFilterMatcher} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-24
+ */
+@DisplayName("测试 HttpServerFilterMatcher 类")
+class HttpServerFilterMatcherTest {
+    private static HttpServerFilter filter(String matchPattern, String mismatchPattern) {
+        HttpServerFilter filter = mock(HttpServerFilter.class);
+        when(filter.matchPatterns()).thenReturn(Collections.singletonList(matchPattern));
+        when(filter.mismatchPatterns()).thenReturn(mismatchPattern == null
+                ? Collections.emptyList()
+                : Collections.singletonList(mismatchPattern));
+        return filter;
+    }
+
+    @Test
+    @DisplayName("按照过滤器的顺序返回匹配请求路径的过滤器，并排除不匹配样式命中的过滤器")
+    void givenFiltersThenReturnMatchedFiltersInOrder() {
+        HttpServerFilter all = filter("/**", null);
+        HttpServerFilter excluded = filter("/a/**", "/a/b");
+        HttpServerFilter other = filter("/c/*", null);
+        HttpServerFilter single = filter("/a/*", null);
+        HttpServerFilterMatcher matcher = new HttpServerFilterMatcher(Arrays.asList(all, excluded, other, single));
+
+        assertThat(matcher.match("/a/b")).containsExactly(all, single);
+        assertThat(matcher.match("/a/c")).containsExactly(all, excluded, single);
+        assertThat(matcher.match("/c/d")).containsExactly(all, other);
+    }
+
+    @Test
+    @DisplayName("过滤器的样式只在创建时读取一次，重复的请求路径直接使用缓存的结果")
+    void givenSamePathThenReuseCompiledPatternsAndResult() {
+        HttpServerFilter filter = filter("/a/*", null);
+        HttpServerFilterMatcher matcher = new HttpServerFilterMatcher(Collections.singletonList(filter));
+
+        HttpServerFilter[] first = matcher.match("/a/b");
+        HttpServerFilter[] second = matcher.match("/a/b");
+
+        assertThat(second).isSameAs(first).containsExactly(filter);
+        verify(filter, times(1)).matchPatterns();
+        verify(filter, times(1)).mismatchPatterns();
+    }
+
+    @Test
+    @DisplayName("没有过滤器时，返回空的过滤器列表")
+    void givenNoFiltersThenReturnEmpty() {
+        HttpServerFilterMatcher matcher = new HttpServerFilterMatcher(null);
+        assertThat(matcher.match("/a")).isEmpty();
+    }
+}
@@ -10,6 +10,8 @@ import static modelengine.fitframework.inspection.Validation.notNull;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * 表示服务端的 Http 响应。
@@ -60,6 +62,41 @@ public interface ServerResponse
      */
     void writeBody(byte[] bytes, int off, int len) throws IOException;
 
+    /**
+     * 将文件通道中指定区域的数据写入 Http 消息体。
+     * <p>默认实现会将文件内容分段读取到内存中再写入，具体实现可以使用零拷贝的方式直接将文件内容发送到网络中。</p>
+     *
+     * @param channel 表示待写入数据所在文件通道的 {@link FileChannel}。
+     * @param position 表示待写入数据在文件中的起始位置的 {@code long}。
+     * @param count 表示待写入数据的数量的 {@code long}。
+     * @throws IOException 当发生 I/O 异常时。
+     * @throws IllegalArgumentException 当 {@code channel} 为 {@code null} 时。
+     */
+    default void writeBody(FileChannel channel, long position, long count) throws IOException {
+        notNull(channel, "The file channel to write cannot be null.");
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(Math.min(count, 8192), 0));
+        long current = position;
+        long remaining = count;
+        while (remaining > 0) {
+            buffer.clear().limit((int) Math.min(remaining, buffer.capacity()));
+            int read = channel.read(buffer, current);
+            if (read < 0) {
+                break;
+            }
+            this.writeBody(buffer.array(), 0, read);
+            current += read;
+            remaining -= read;
+        }
+    }
+
+    /**
+     * 将已经写入缓冲区的数据立即对外输出，但不发送响应结束标识符，适用于流式响应中需要及时送达客户端的数据。
+     * <p>默认实现不做任何处理，适用于没有写缓冲区的实现。</p>
+     *
+     * @throws IOException 当发生 I/O 异常时。
+     */
+    default void flushBuffer() throws IOException {}
+
     /**
      * 强制已经写入的数据执行写出，也就是说将之前写入到缓冲区的数据全部对外输出；同时发送响应结束标识符。
      *
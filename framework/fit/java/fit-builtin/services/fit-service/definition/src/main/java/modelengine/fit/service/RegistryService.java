@@ -11,6 +11,7 @@ import modelengine.fit.service.entity.FitableAddressInstance;
 import modelengine.fit.service.entity.FitableInfo;
 import modelengine.fit.service.entity.FitableMeta;
 import modelengine.fit.service.entity.FitableMetaInstance;
+import modelengine.fit.service.entity.FitableRevision;
 import modelengine.fit.service.entity.GenericableInfo;
 import modelengine.fit.service.entity.Worker;
 import modelengine.fitframework.annotation.Genericable;
@@ -53,6 +54,17 @@ public interface RegistryService {
     @Genericable(id = "33be4142494e4742aa122555a451d996")
     List<FitableAddressInstance> queryFitables(List<FitableInfo> fitables, String workerId);
 
+    /**
+     * 向注册中心服务端查询指定服务实现自已知版本以来发生变化的实例信息。
+     * <p>只返回当前版本与已知版本不同的服务实现，每个返回的服务实现都包含其全部的实例信息和当前版本。</p>
+     *
+     * @param fitables 表示指定服务实现及其已知版本列表的 {@link List}{@code <}{@link FitableRevision}{@code >}。
+     * @param workerId 表示指定的进程的唯一标识的 {@link String}。
+     * @return 表示发生变化的服务实现的实例信息的 {@link List}{@code <}{@link FitableAddressInstance}{@code >}。
+     */
+    @Genericable(id = "aa584f407026448799eca9db07b5c77a")
+    List<FitableAddressInstance> queryFitableChanges(List<FitableRevision> fitables, String workerId);
+
     /**
      * 向注册中心服务端订阅指定服务实现的实例信息。
      *
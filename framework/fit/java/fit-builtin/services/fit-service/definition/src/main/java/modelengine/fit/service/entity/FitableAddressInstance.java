@@ -20,6 +20,7 @@ import java.util.List;
 public class FitableAddressInstance {
     private FitableInfo fitable;
     private List<ApplicationInstance> applicationInstances = new ArrayList<>();
+    private long revision;
 
     /**
      * 获取服务实现实例所属的服务实现信息。
@@ -57,4 +58,23 @@ public class FitableAddressInstance {
     public void setApplicationInstances(List<ApplicationInstance> applicationInstances) {
         this.applicationInstances = getIfNull(applicationInstances, ArrayList::new);
     }
+
+    /**
+     * 获取服务实现实例信息的版本。
+     * <p>服务实现的实例信息每次变化时，注册中心服务端都会为其分配一个更大的版本。不支持版本的注册中心服务端返回 {@code 0}。</p>
+     *
+     * @return 表示服务实现实例信息的版本的 {@code long}。
+     */
+    public long getRevision() {
+        return this.revision;
+    }
+
+    /**
+     * 设置服务实现实例信息的版本。
+     *
+     * @param revision 表示服务实现实例信息的版本的 {@code long}。
+     */
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
 }
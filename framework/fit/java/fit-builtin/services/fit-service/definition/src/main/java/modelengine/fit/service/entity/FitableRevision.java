@@ -0,0 +1,61 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.service.entity;
+
+import modelengine.fitframework.util.StringUtils;
+
+/**
+ * 表示调用方已知的服务实现实例信息的版本。
+ *
+ * @author 季聿阶
+ * @since 2024-08-23
+ */
+public class FitableRevision {
+    private FitableInfo fitable;
+    private long revision;
+
+    /**
+     * 获取服务实现信息。
+     *
+     * @return 表示服务实现信息的 {@link FitableInfo}。
+     */
+    public FitableInfo getFitable() {
+        return this.fitable;
+    }
+
+    /**
+     * 设置服务实现信息。
+     *
+     * @param fitable 表示服务实现信息的 {@link FitableInfo}。
+     */
+    public void setFitable(FitableInfo fitable) {
+        this.fitable = fitable;
+    }
+
+    /**
+     * 获取调用方已知的服务实现实例信息的版本。
+     *
+     * @return 表示已知版本的 {@code long}，{@code 0} 表示没有已知的版本。
+     */
+    public long getRevision() {
+        return this.revision;
+    }
+
+    /**
+     * 设置调用方已知的服务实现实例信息的版本。
+     *
+     * @param revision 表示已知版本的 {@code long}，{@code 0} 表示没有已知的版本。
+     */
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtils.format("/{\"fitable\": {0}, \"revision\": {1}/}", this.fitable, this.revision);
+    }
+}
@@ -9,14 +9,15 @@ package modelengine.fitframework.ioc.lifecycle.bean.support;
 import static modelengine.fitframework.inspection.Validation.isTrue;
 import static modelengine.fitframework.inspection.Validation.notNull;
 
+import modelengine.fitframework.exception.MethodInvocationException;
 import modelengine.fitframework.ioc.BeanCreationException;
 import modelengine.fitframework.ioc.BeanMetadata;
 import modelengine.fitframework.ioc.BeanNotFoundException;
 import modelengine.fitframework.ioc.lifecycle.bean.BeanCreator;
+import modelengine.fitframework.util.MethodInvoker;
 import modelengine.fitframework.util.ReflectionUtils;
 import modelengine.fitframework.util.StringUtils;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
@@ -28,6 +29,7 @@ import java.lang.reflect.Method;
  */
 public class BeanMethodBeanCreator extends AbstractBeanCreator {
     private final Method method;
+    private final MethodInvoker invoker;
 
     /**
      * 使用所在的Bean容器、所属Bean的元数据及创建Bean的方法初始化 {@link BeanMethodBeanCreator} 类的新实例。
@@ -39,7 +41,7 @@ public class BeanMethodBeanCreator extends AbstractBeanCreator {
     public BeanMethodBeanCreator(BeanMetadata metadata, Method method) {
         super(metadata);
         this.method = notNull(method, "The method to create bean cannot be null.");
-        this.method.setAccessible(true);
+        this.invoker = MethodInvoker.of(method);
     }
 
     @Override
@@ -63,12 +65,8 @@ public class BeanMethodBeanCreator extends AbstractBeanCreator {
         ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
         try {
             Thread.currentThread().setContextClassLoader(this.method.getDeclaringClass().getClassLoader());
-            return this.method.invoke(owner, actual);
-        } catch (IllegalAccessException e) {
-            throw new BeanCreationException(StringUtils.format(
-                    "Failed to instantiate bean with specific factory method. [method={0}]",
-                    ReflectionUtils.toString(this.method)), e);
-        } catch (InvocationTargetException e) {
+            return this.invoker.invoke(owner, actual);
+        } catch (MethodInvocationException e) {
             throw new BeanCreationException(StringUtils.format(
                     "Failed to instantiate bean with specific factory method. [method={0}]",
                     ReflectionUtils.toString(this.method)), e.getCause());
@@ -6,16 +6,17 @@
 
 package modelengine.fitframework.ioc.lifecycle.bean.support;
 
+import modelengine.fitframework.exception.MethodInvocationException;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.ioc.BeanCreationException;
 import modelengine.fitframework.ioc.BeanDefinitionException;
 import modelengine.fitframework.ioc.lifecycle.bean.BeanInjector;
 import modelengine.fitframework.ioc.lifecycle.bean.ValueSupplier;
+import modelengine.fitframework.util.MethodInvoker;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.ReflectionUtils;
 import modelengine.fitframework.util.StringUtils;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
@@ -28,6 +29,7 @@ import java.util.Arrays;
  */
 public class MethodBeanInjector implements BeanInjector {
     private final Method method;
+    private final MethodInvoker invoker;
     private final Object[] arguments;
 
     /**
@@ -45,7 +47,7 @@ public class MethodBeanInjector implements BeanInjector {
                     "Cannot inject a bean with a static method. [method={0}]",
                     ReflectionUtils.toString(method)));
         } else {
-            this.method.setAccessible(true);
+            this.invoker = MethodInvoker.of(method);
             this.arguments = ObjectUtils.nullIf(arguments, new Object[0]);
         }
     }
@@ -57,13 +59,8 @@ public class MethodBeanInjector implements BeanInjector {
             actualArguments[i] = ValueSupplier.real(actualArguments[i]);
         }
         try {
-            method.invoke(bean, actualArguments);
-        } catch (IllegalAccessException e) {
-            throw new BeanCreationException(StringUtils.format(
-                    "Failed to inject value by method. [method={0}, values={1}]",
-                    ReflectionUtils.toString(this.method),
-                    Arrays.toString(actualArguments)), e);
-        } catch (InvocationTargetException e) {
+            this.invoker.invoke(bean, actualArguments);
+        } catch (MethodInvocationException e) {
             throw new BeanCreationException(StringUtils.format(
                     "Failed to inject value by method. [method={0}, values={1}]",
                     ReflectionUtils.toString(this.method),
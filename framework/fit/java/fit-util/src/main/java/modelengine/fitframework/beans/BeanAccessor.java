@@ -17,6 +17,7 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.lang.reflect.Field;
+import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -104,6 +105,17 @@ public final class BeanAccessor {
         return this.accessor(property).get(bean);
     }
 
+    /**
+     * 获取指定名称的属性的类型。
+     *
+     * @param property 表示属性的名称的 {@link String}。
+     * @return 表示属性类型的 {@link Type}。
+     * @throws IllegalStateException 属性不存在。
+     */
+    public Type getType(String property) {
+        return this.accessor(property).type();
+    }
+
     /**
      * 获取属性的别名。
      *
@@ -0,0 +1,47 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.util;
+
+import modelengine.fitframework.exception.MethodInvocationException;
+import modelengine.fitframework.util.support.MethodHandleInvoker;
+
+import java.lang.reflect.Method;
+
+/**
+ * 表示指定方法的调用器。
+ * <p>调用器的行为与 {@link ReflectionUtils#invoke(Object, Method, Object...)} 一致，但是不再在每次调用时进行访问权限的设置和反射调用，
+ * 适用于反复调用同一个方法的场景。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-28
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+    /**
+     * 执行方法。
+     *
+     * @param owner 表示待执行方法的主体对象的 {@link Object}，当方法为静态方法时，忽略该参数。
+     * @param parameters 表示执行方法时所使用的入参的 {@link Object}{@code []}。
+     * @return 表示执行方法后的返回值的 {@link Object}，当方法没有返回值时，返回 {@code null}。
+     * @throws IllegalArgumentException 当方法是实例方法且 {@code owner} 为 {@code null} 时。
+     * @throws MethodInvocationException 当执行方法发生异常时，其原因为方法抛出的异常，或者参数不匹配的
+     * {@link IllegalArgumentException}。
+     */
+    Object invoke(Object owner, Object... parameters);
+
+    /**
+     * 获取指定方法的调用器。
+     * <p>调用器基于 {@link java.lang.invoke.MethodHandle} 实现，并按照方法进行缓存。当方法无法被访问时，退化为反射调用。</p>
+     *
+     * @param method 表示待调用的方法的 {@link Method}。
+     * @return 表示指定方法的调用器的 {@link MethodInvoker}。
+     * @throws IllegalArgumentException 当 {@code method} 为 {@code null} 时。
+     */
+    static MethodInvoker of(Method method) {
+        return MethodHandleInvoker.of(method);
+    }
+}
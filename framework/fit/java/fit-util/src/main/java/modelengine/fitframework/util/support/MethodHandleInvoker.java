@@ -0,0 +1,156 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.util.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.exception.MethodInvocationException;
+import modelengine.fitframework.util.MapBuilder;
+import modelengine.fitframework.util.MethodInvoker;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.ReflectionUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 表示基于 {@link MethodHandle} 的 {@link MethodInvoker}。
+ * <p>方法句柄被适配为 {@code (Object, Object[])Object} 的统一形式，调用时不再进行访问权限的检查。调用器按照方法所在的类进行缓存，
+ * 缓存随类一起被回收，不会阻止插件的类加载器被卸载。</p>
+ *
+ * @author 季聿阶
+ * @since 2024-08-28
+ */
+public final class MethodHandleInvoker implements MethodInvoker {
+    private static final Object[] EMPTY_PARAMETERS = new Object[0];
+    private static final MethodType GENERIC_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final Map<Class<?>, Set<Class<?>>> WIDENINGS = MapBuilder.<Class<?>, Set<Class<?>>>get()
+            .put(byte.class, Set.of(short.class, int.class, long.class, float.class, double.class))
+            .put(short.class, Set.of(int.class, long.class, float.class, double.class))
+            .put(char.class, Set.of(int.class, long.class, float.class, double.class))
+            .put(int.class, Set.of(long.class, float.class, double.class))
+            .put(long.class, Set.of(float.class, double.class))
+            .put(float.class, Set.of(double.class))
+            .build();
+    private static final ClassValue<Map<Method, MethodInvoker>> INVOKERS = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodInvoker> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Method method;
+    private final MethodHandle handle;
+    private final boolean isStatic;
+    private final Class<?>[] parameterTypes;
+
+    private MethodHandleInvoker(Method method, MethodHandle handle) {
+        this.method = method;
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.parameterTypes = method.getParameterTypes();
+        MethodHandle actual = handle.asFixedArity();
+        if (this.isStatic) {
+            actual = MethodHandles.dropArguments(actual, 0, Object.class);
+        }
+        this.handle = actual.asSpreader(Object[].class, this.parameterTypes.length).asType(GENERIC_TYPE);
+    }
+
+    /**
+     * 获取指定方法的调用器。
+     *
+     * @param method 表示待调用的方法的 {@link Method}。
+     * @return 表示指定方法的调用器的 {@link MethodInvoker}。
+     * @throws IllegalArgumentException 当 {@code method} 为 {@code null} 时。
+     */
+    public static MethodInvoker of(Method method) {
+        notNull(method, "The method to invoke cannot be null.");
+        return INVOKERS.get(method.getDeclaringClass()).computeIfAbsent(method, MethodHandleInvoker::create);
+    }
+
+    private static MethodInvoker create(Method method) {
+        MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // 无法访问的方法保持与反射调用一致的行为。
+            return (owner, parameters) -> ReflectionUtils.invoke(owner, method, parameters);
+        }
+        return new MethodHandleInvoker(method, handle);
+    }
+
+    @Override
+    public Object invoke(Object owner, Object... parameters) {
+        if (owner == null && !this.isStatic) {
+            throw new IllegalArgumentException(StringUtils.format(
+                    "The specified owner is null and the method is an instance method. [method={0}]",
+                    this.method.getName()));
+        }
+        Object[] actual = ObjectUtils.nullIf(parameters, EMPTY_PARAMETERS);
+        if (actual.length != this.parameterTypes.length) {
+            throw new MethodInvocationException(new IllegalArgumentException(StringUtils.format(
+                    "Wrong number of arguments. [method={0}, expected={1}, actual={2}]",
+                    this.method.getName(),
+                    this.parameterTypes.length,
+                    actual.length)));
+        }
+        try {
+            return (Object) this.handle.invokeExact(owner, actual);
+        } catch (Throwable e) {
+            throw this.toMethodInvocationException(owner, actual, e);
+        }
+    }
+
+    private MethodInvocationException toMethodInvocationException(Object owner, Object[] parameters, Throwable e) {
+        if ((e instanceof ClassCastException || e instanceof NullPointerException)
+                && !this.isApplicable(owner, parameters)) {
+            // 参数不匹配时，与反射调用一样使用 IllegalArgumentException 作为原因。
+            return new MethodInvocationException(new IllegalArgumentException(StringUtils.format(
+                    "Argument type mismatch. [method={0}]",
+                    this.method.getName()), e));
+        }
+        Throwable cause = e;
+        while (cause instanceof InvocationTargetException) {
+            cause = ((InvocationTargetException) cause).getCause();
+        }
+        return new MethodInvocationException(cause);
+    }
+
+    private boolean isApplicable(Object owner, Object[] parameters) {
+        if (!this.isStatic && !this.method.getDeclaringClass().isInstance(owner)) {
+            return false;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> type = this.parameterTypes[i];
+            if (type.isPrimitive()) {
+                if (!isConvertible(parameters[i], type)) {
+                    return false;
+                }
+            } else if (parameters[i] != null && !type.isInstance(parameters[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isConvertible(Object value, Class<?> primitive) {
+        if (value == null) {
+            return false;
+        }
+        Class<?> source = MethodType.methodType(value.getClass()).unwrap().returnType();
+        return source == primitive || WIDENINGS.getOrDefault(source, Collections.emptySet()).contains(primitive);
+    }
+}
@@ -52,6 +52,13 @@ public class BeanAccessorTest {
         assertThat(accessor.getAlias("fooBar")).isEqualTo("foo_bar");
     }
 
+    @Test
+    @DisplayName("获取属性的类型与属性的声明类型相等")
+    void givenPropertyThenReturnDeclaredType() {
+        BeanAccessor accessor = BeanAccessor.of(Object5.class);
+        assertThat(accessor.getType("fooBar")).isEqualTo(String.class);
+    }
+
     @Test
     @DisplayName("给定不存在的属性的名称，抛出异常")
     void givenNotExistPropertyThenThrowException() {
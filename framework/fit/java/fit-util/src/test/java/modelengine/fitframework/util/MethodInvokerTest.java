@@ -0,0 +1,135 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import modelengine.fitframework.exception.MethodInvocationException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+/**
+ * {@link MethodInvoker} 的单元测试。
+ *
+ * @author 季聿阶
+ * @since 2024-08-28
+ */
+@DisplayName("测试 MethodInvoker")
+public class MethodInvokerTest {
+    private static Method method(String name, Class<?>... parameterTypes) {
+        return ReflectionUtils.getDeclaredMethod(Target.class, name, parameterTypes);
+    }
+
+    @Test
+    @DisplayName("当方法为私有的实例方法时，返回方法的执行结果")
+    void givenPrivateInstanceMethodThenReturnResult() {
+        MethodInvoker invoker = MethodInvoker.of(method("concat", String.class, int.class));
+        assertThat(invoker.invoke(new Target("a"), "b", 1)).isEqualTo("ab1");
+    }
+
+    @Test
+    @DisplayName("当方法为静态方法时，忽略主体对象，返回方法的执行结果")
+    void givenStaticMethodThenIgnoreOwner() {
+        MethodInvoker invoker = MethodInvoker.of(method("sum", long.class, long.class));
+        assertThat(invoker.invoke(null, 1L, 2)).isEqualTo(3L);
+        assertThat(invoker.invoke(new Target("a"), (byte) 1, 'a')).isEqualTo(98L);
+    }
+
+    @Test
+    @DisplayName("当方法为可变参数方法时，参数按照数组传递")
+    void givenVarargsMethodThenPassArray() {
+        MethodInvoker invoker = MethodInvoker.of(method("count", String[].class));
+        assertThat(invoker.invoke(null, (Object) new String[] {"a", "b"})).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("当方法没有返回值时，返回 null")
+    void givenVoidMethodThenReturnNull() {
+        Target target = new Target("a");
+        MethodInvoker invoker = MethodInvoker.of(method("reset"));
+        assertThat(invoker.invoke(target, (Object[]) null)).isNull();
+        assertThat(target.prefix).isEmpty();
+    }
+
+    @Test
+    @DisplayName("当方法抛出异常时，抛出以该异常为原因的方法调用异常")
+    void givenMethodThrowsThenWrapCause() {
+        MethodInvoker invoker = MethodInvoker.of(method("fail", String.class));
+        MethodInvocationException exception =
+                catchThrowableOfType(MethodInvocationException.class, () -> invoker.invoke(new Target("a"), "io"));
+        assertThat(exception.getCause()).isInstanceOf(IOException.class).hasMessage("io");
+        exception = catchThrowableOfType(MethodInvocationException.class, () -> invoker.invoke(new Target("a"),
+                (Object) null));
+        assertThat(exception.getCause()).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("当参数与方法不匹配时，抛出以参数异常为原因的方法调用异常")
+    void givenMismatchedArgumentsThenThrowIllegalArgument() {
+        MethodInvoker invoker = MethodInvoker.of(method("concat", String.class, int.class));
+        MethodInvocationException exception =
+                catchThrowableOfType(MethodInvocationException.class, () -> invoker.invoke(new Target("a"), "b"));
+        assertThat(exception.getCause()).isInstanceOf(IllegalArgumentException.class);
+        exception = catchThrowableOfType(MethodInvocationException.class,
+                () -> invoker.invoke(new Target("a"), "b", 1L));
+        assertThat(exception.getCause()).isInstanceOf(IllegalArgumentException.class);
+        exception = catchThrowableOfType(MethodInvocationException.class,
+                () -> invoker.invoke(new Target("a"), "b", null));
+        assertThat(exception.getCause()).isInstanceOf(IllegalArgumentException.class);
+        exception = catchThrowableOfType(MethodInvocationException.class, () -> invoker.invoke("a", "b", 1));
+        assertThat(exception.getCause()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("当实例方法的主体对象为 null 时，抛出参数异常")
+    void givenNullOwnerThenThrowIllegalArgument() {
+        MethodInvoker invoker = MethodInvoker.of(method("reset"));
+        IllegalArgumentException exception =
+                catchThrowableOfType(IllegalArgumentException.class, () -> invoker.invoke(null));
+        assertThat(exception).hasMessage(
+                "The specified owner is null and the method is an instance method. [method=reset]");
+    }
+
+    @Test
+    @DisplayName("同一个方法的调用器被缓存")
+    void givenSameMethodThenReturnCachedInvoker() {
+        assertThat(MethodInvoker.of(method("reset"))).isSameAs(MethodInvoker.of(method("reset")));
+    }
+
+    private static class Target {
+        private String prefix;
+
+        private Target(String prefix) {
+            this.prefix = prefix;
+        }
+
+        private String concat(String value, int times) {
+            return this.prefix + value + times;
+        }
+
+        private static long sum(long first, long second) {
+            return first + second;
+        }
+
+        private static int count(String... values) {
+            return values.length;
+        }
+
+        private void reset() {
+            this.prefix = "";
+        }
+
+        private void fail(String message) throws IOException {
+            throw new IOException(message.trim());
+        }
+    }
+}
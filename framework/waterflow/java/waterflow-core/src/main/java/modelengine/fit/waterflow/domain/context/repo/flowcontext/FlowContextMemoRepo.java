@@ -6,32 +6,74 @@
 
 package modelengine.fit.waterflow.domain.context.repo.flowcontext;
 
+import modelengine.fit.waterflow.domain.common.Constants;
 import modelengine.fit.waterflow.domain.context.FlowContext;
 import modelengine.fit.waterflow.domain.context.FlowTrace;
 import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
 import modelengine.fit.waterflow.domain.stream.operators.Operators;
 
+import modelengine.fitframework.inspection.Validation;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * 持久化{@link FlowContext}对象到内存中核心类
+ * 除按ID存放外，还在保存时维护streamId+position+status、streamId+position+batchId、traceId和parallelId的二级索引，
+ * 查询只访问匹配的索引桶，复杂度与匹配的context数量相关，而不是与引擎中存活的全部context数量相关
+ * 索引桶内按context首次保存的顺序排列，与原有的插入顺序语义一致
+ * context对象在内存中被直接修改，因此修改position、status、batchId、parallel、traceId等索引字段后
+ * 需要调用保存类方法刷新索引，查询时也会对索引命中的context再次按当前字段校验
+ * 保存类方法包括save、update、updateStatus、updateToSent、updateFlowData、updateIndex和updateContextPool，引擎修改context后
+ * 都会调用其中之一；在引擎外修改已保存的context而不再次保存时，按位置、批次、trace和并行分支的查询可能查不到该context
+ * 结束（ARCHIVED、ERROR）的context默认立即回收，也可以配置保留时长用于调试，超过保留时长后在后续保存时回收
  *
  * @author 高诗意
  * @since 1.0
  */
 public class FlowContextMemoRepo implements FlowContextRepo {
-    private final ConcurrentLinkedHashMap<String, FlowContext> contextsMap = new ConcurrentLinkedHashMap<>();
+    private static final String KEY_SEPARATOR = "\u0000";
+
+    private static final long RESERVE_FOREVER = -1L;
+
+    private final Map<String, IndexedContext> contexts = new ConcurrentHashMap<>();
+
+    private final ContextIndex positionIndex = new ContextIndex();
+
+    private final ContextIndex batchIndex = new ContextIndex();
+
+    private final ContextIndex traceIndex = new ContextIndex();
+
+    private final ContextIndex parallelIndex = new ContextIndex();
 
-    private final boolean isReserveTerminal;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<String, AtomicInteger> streamCounts = new ConcurrentHashMap<>();
+
+    private final Deque<RetainedContext> retained = new ArrayDeque<>();
+
+    /**
+     * 结束的context保留时长，单位纳秒，{@link #RESERVE_FOREVER}表示永久保留
+     */
+    private final long retentionNanos;
 
     /**
      * 构造方法
@@ -46,55 +88,94 @@ public class FlowContextMemoRepo implements FlowContextRepo {
      * @param isReserveTerminal 是否保留结束的数据，一般只有测试才保留
      */
     public FlowContextMemoRepo(boolean isReserveTerminal) {
-        this.isReserveTerminal = isReserveTerminal;
+        this.retentionNanos = isReserveTerminal ? RESERVE_FOREVER : 0L;
     }
 
-    private <T> List<FlowContext<T>> query(Function<Stream<FlowContext<T>>, Stream<FlowContext<T>>> filter) {
-        return filter.apply(this.contextsMap.stream()
-                        .map(p -> (FlowContext<T>) p))
-                .collect(Collectors.toList());
+    /**
+     * 构造方法
+     *
+     * @param terminalRetention 结束的数据保留时长，超过该时长后回收，用于调试时查看已经结束的数据
+     */
+    public FlowContextMemoRepo(Duration terminalRetention) {
+        Validation.notNull(terminalRetention, "The terminal retention cannot be null.");
+        Validation.isFalse(terminalRetention.isNegative(), "The terminal retention cannot be negative.");
+        this.retentionNanos = terminalRetention.toNanos();
     }
 
-
     @Override
     public <T> List<FlowContext<T>> getContextsByPosition(String streamId, List<String> posIds, String status) {
-        return query(stream -> stream
+        return this.positionIndex.<T>find(posIds.stream().map(posId -> positionKey(streamId, posId, status)))
                 .filter(context -> context.getStreamId().equals(streamId))
                 .filter(context -> posIds.contains(context.getPosition()))
                 .filter(context -> context.getStatus().toString().equals(status))
-                .filter(context -> !context.isSent()));
+                .filter(context -> !context.isSent())
+                .collect(Collectors.toList());
     }
 
     @Override
     public <T> List<FlowContext<T>> getContextsByPosition(String streamId, String posId, String batchId, String status) {
-        return query(stream -> stream
+        return this.batchIndex.<T>find(Stream.of(batchKey(streamId, posId, batchId)))
                 .filter(context -> context.getStreamId().equals(streamId))
                 .filter(context -> context.getPosition().equals(posId))
-                .filter(context -> context.getBatchId().equals(batchId))
-                .filter(context -> context.getStatus().toString().equals(status)));
+                .filter(context -> Objects.equals(context.getBatchId(), batchId))
+                .filter(context -> context.getStatus().toString().equals(status))
+                .collect(Collectors.toList());
     }
 
     @Override
     public <T> List<FlowContext<T>> getContextsByTrace(String traceId) {
-        return query(stream -> stream
-                .filter(context -> context.getTraceId().contains(traceId)));
+        return this.traceIndex.<T>find(Stream.of(traceId))
+                .filter(context -> context.getTraceId().contains(traceId))
+                .collect(Collectors.toList());
     }
 
     @Override
     public synchronized <T> void save(List<FlowContext<T>> contexts) {
+        this.reclaimExpired();
         contexts.forEach(context -> {
-            if (this.isReserveTerminal) {
-                this.contextsMap.put(context.getId(), context);
+            if (!isTerminal(context) || this.retentionNanos == RESERVE_FOREVER) {
+                this.put(context);
                 return;
             }
-            if (context.getStatus() == FlowNodeStatus.ARCHIVED || context.getStatus() == FlowNodeStatus.ERROR) {
-                this.contextsMap.remove(context.getId());
-            } else {
-                this.contextsMap.put(context.getId(), context);
+            if (this.retentionNanos == 0L) {
+                this.remove(context.getId());
+                return;
             }
+            IndexedContext indexed = this.put(context);
+            this.retained.addLast(new RetainedContext(indexed, System.nanoTime() + this.retentionNanos));
         });
     }
 
+    /**
+     * 获取每个stream中仍然存放在内存中的context数量，包括保留期内结束的context
+     *
+     * @return streamId到context数量的映射
+     */
+    public Map<String, Integer> countByStream() {
+        return this.streamCounts.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue().get() > 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get()));
+    }
+
+    /**
+     * 立即回收超过保留时长的结束context
+     */
+    public synchronized void reclaimExpired() {
+        long now = System.nanoTime();
+        while (!this.retained.isEmpty() && this.retained.peekFirst().expireAt - now <= 0) {
+            IndexedContext indexed = this.retained.pollFirst().indexed;
+            // 保留期间被重新保存为非结束状态的context不回收
+            if (this.contexts.get(indexed.context.getId()) == indexed && isTerminal(indexed.context)) {
+                this.remove(indexed.context.getId());
+            }
+        }
+    }
+
+    private static boolean isTerminal(FlowContext<?> context) {
+        return context.getStatus() == FlowNodeStatus.ARCHIVED || context.getStatus() == FlowNodeStatus.ERROR;
+    }
+
     @Override
     public <T> void updateToSent(List<FlowContext<T>> contexts) {
         save(contexts);
@@ -102,58 +183,96 @@ public class FlowContextMemoRepo implements FlowContextRepo {
 
     @Override
     public <T> List<FlowContext<T>> getContextsByParallel(String parallelId) {
-        return query(stream -> stream
-                .filter(context -> context.getParallel().equals(parallelId)));
+        return this.parallelIndex.<T>find(Stream.of(String.valueOf(parallelId)))
+                .filter(context -> Objects.equals(context.getParallel(), parallelId))
+                .collect(Collectors.toList());
     }
 
     @Override
     public <T> FlowContext<T> getById(String id) {
-        return this.contextsMap.stream()
-                .filter(context -> context.getId().equals(id)).findFirst().orElse(null);
+        IndexedContext indexed = this.contexts.get(id);
+        return indexed == null ? null : indexed.context();
     }
 
     @Override
     public <T> List<FlowContext<T>> getPendingAndSentByIds(List<String> ids) {
-        return query(stream -> stream
+        return ids.stream()
+                .distinct()
+                .map(this.contexts::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(IndexedContext::sequence))
+                .map(IndexedContext::<T>context)
                 .filter(context -> context.getStatus().equals(FlowNodeStatus.PENDING))
                 .filter(FlowContext::isSent)
-                .filter(context -> ids.contains(context.getId())));
+                .collect(Collectors.toList());
     }
 
     @Override
     public <T> List<FlowContext<T>> getByIds(List<String> ids) {
-        return ids.stream().map(i -> (FlowContext<T>) contextsMap.get(i)).collect(Collectors.toList());
+        return ids.stream().map(id -> this.<T>getById(id)).collect(Collectors.toList());
     }
 
     @Override
     public <T> List<FlowContext<T>> requestMappingContext(String streamId, List<String> subscriptions,
-        Map<String, Integer> sessions) {
-        return query(stream -> stream
-                .filter(context -> context.getStreamId().equals(streamId))
-                .filter(context -> subscriptions.contains(context.getPosition()))
-                .filter(context -> context.getStatus() == FlowNodeStatus.PENDING)
-                .filter(context -> {
-                    boolean found = false;
-                    for (String s : sessions.keySet()) {
-                        found = context.getSession().getId().equals(s)
-                                && (Objects.equals(context.getIndex(), sessions.get(s)));
-                        if (found) {
-                            break;
-                        }
-                    }
-                    return context.getIndex() == -1 || context.getIndex() == 0 || found;//找到需要保序的当前序列或者不需要保序的
-                })
-                .limit(1));
+            Map<String, Integer> sessions) {
+        return this.requestMappingContext(streamId, subscriptions, sessions, 1);
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> requestMappingContext(String streamId, List<String> subscriptions,
+            Map<String, Integer> sessions, int limit) {
+        List<FlowContext<T>> pending = this.<T>findPending(streamId, subscriptions).collect(Collectors.toList());
+        List<FlowContext<T>> result = new ArrayList<>();
+        Set<String> taken = new HashSet<>();
+        Map<String, Integer> expected = new HashMap<>();
+        boolean isProgressed = true;
+        // 保序的上下文可能晚于后续序号保存，每轮至少取到一个才继续，直到取满或者没有可以处理的上下文
+        while (isProgressed && result.size() < limit) {
+            isProgressed = false;
+            for (FlowContext<T> context : pending) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (taken.contains(context.getId()) || !isNextInSession(context, sessions, expected)) {
+                    continue;
+                }
+                taken.add(context.getId());
+                result.add(context);
+                if (context.getIndex() > Constants.NOT_PRESERVED_INDEX) {
+                    expected.put(context.getSession().getId(), context.getIndex() + 1);
+                }
+                isProgressed = true;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isNextInSession(FlowContext<?> context, Map<String, Integer> sessions,
+            Map<String, Integer> expected) {
+        if (Objects.equals(context.getIndex(), Constants.NOT_PRESERVED_INDEX)) {
+            return true;
+        }
+        // 找到需要保序的当前序列或者不需要保序的
+        String sessionId = context.getSession().getId();
+        if (expected.containsKey(sessionId)) {
+            return Objects.equals(context.getIndex(), expected.get(sessionId));
+        }
+        return context.getIndex() == 0 || Objects.equals(context.getIndex(), sessions.get(sessionId));
     }
 
     @Override
     public <T> List<FlowContext<T>> requestProducingContext(String streamId, List<String> subscriptions,
-                                                            Operators.Filter<T> filter) {
-        List<FlowContext<T>> all = query(stream -> stream
+            Operators.Filter<T> filter) {
+        List<FlowContext<T>> all = this.<T>findPending(streamId, subscriptions).collect(Collectors.toList());
+        return filter.process(all);
+    }
+
+    private <T> Stream<FlowContext<T>> findPending(String streamId, List<String> subscriptions) {
+        String status = FlowNodeStatus.PENDING.toString();
+        return this.positionIndex.<T>find(subscriptions.stream().map(posId -> positionKey(streamId, posId, status)))
                 .filter(context -> context.getStreamId().equals(streamId))
                 .filter(context -> subscriptions.contains(context.getPosition()))
-                .filter(context -> context.getStatus() == FlowNodeStatus.PENDING));
-        return filter.process(all);
+                .filter(context -> context.getStatus() == FlowNodeStatus.PENDING);
     }
 
     @Override
@@ -169,7 +288,7 @@ public class FlowContextMemoRepo implements FlowContextRepo {
     public <T> void updateIndex(List<FlowContext<T>> contexts) {
         List<FlowContext<T>> updated = new ArrayList<>();
         for (FlowContext<T> context : contexts) {
-            FlowContext<T> saved = this.contextsMap.get(context.getId());
+            FlowContext<T> saved = this.getById(context.getId());
             if (saved == null) {
                 saved = context;
             } else {
@@ -180,58 +299,157 @@ public class FlowContextMemoRepo implements FlowContextRepo {
         this.save(updated);
     }
 
+    private IndexedContext put(FlowContext<?> context) {
+        IndexedContext indexed = this.contexts.computeIfAbsent(context.getId(), id -> {
+            this.streamCounts.computeIfAbsent(context.getStreamId(), streamId -> new AtomicInteger())
+                    .incrementAndGet();
+            return new IndexedContext(this.sequence.incrementAndGet());
+        });
+        indexed.context = context;
+        String positionKey = positionKey(context.getStreamId(), context.getPosition(),
+                String.valueOf(context.getStatus()));
+        indexed.positionKey = this.positionIndex.move(indexed.positionKey, positionKey, indexed);
+        String batchKey = batchKey(context.getStreamId(), context.getPosition(), context.getBatchId());
+        indexed.batchKey = this.batchIndex.move(indexed.batchKey, batchKey, indexed);
+        indexed.parallelKey = this.parallelIndex.move(indexed.parallelKey, String.valueOf(context.getParallel()),
+                indexed);
+        Set<String> traceKeys = new HashSet<>(context.getTraceId());
+        indexed.traceKeys.stream()
+                .filter(traceKey -> !traceKeys.contains(traceKey))
+                .forEach(traceKey -> this.traceIndex.remove(traceKey, indexed));
+        traceKeys.forEach(traceKey -> this.traceIndex.add(traceKey, indexed));
+        indexed.traceKeys = traceKeys;
+        return indexed;
+    }
+
+    private void remove(String id) {
+        IndexedContext indexed = this.contexts.remove(id);
+        if (indexed == null) {
+            return;
+        }
+        Optional.ofNullable(this.streamCounts.get(indexed.context.getStreamId()))
+                .ifPresent(AtomicInteger::decrementAndGet);
+        this.positionIndex.remove(indexed.positionKey, indexed);
+        this.batchIndex.remove(indexed.batchKey, indexed);
+        this.parallelIndex.remove(indexed.parallelKey, indexed);
+        indexed.traceKeys.forEach(traceKey -> this.traceIndex.remove(traceKey, indexed));
+    }
+
+    private static String positionKey(String streamId, String position, String status) {
+        return String.join(KEY_SEPARATOR, streamId, String.valueOf(position), status);
+    }
+
+    private static String batchKey(String streamId, String position, String batchId) {
+        return String.join(KEY_SEPARATOR, streamId, String.valueOf(position), String.valueOf(batchId));
+    }
+
     /**
-     * 构造一个支持并发且可以保障元素顺序的map
-     *
-     * @param <K> map的key类型
-     * @param <V> map的value类型
+     * 保留期内的结束context
+     */
+    private static class RetainedContext {
+        private final IndexedContext indexed;
+
+        private final long expireAt;
+
+        private RetainedContext(IndexedContext indexed, long expireAt) {
+            this.indexed = indexed;
+            this.expireAt = expireAt;
+        }
+    }
+
+    /**
+     * 索引中存放的context，记录首次保存的序号和当前所在的索引键
      */
-    private static class ConcurrentLinkedHashMap<K, V> {
-        private final Map<K, V> map = new ConcurrentHashMap<>();
+    private static class IndexedContext {
+        private final long sequence;
+
+        private volatile FlowContext<?> context;
+
+        private String positionKey;
 
-        private final Deque<K> order = new ConcurrentLinkedDeque<>();
+        private String batchKey;
+
+        private String parallelKey;
+
+        private Set<String> traceKeys = Collections.emptySet();
+
+        private IndexedContext(long sequence) {
+            this.sequence = sequence;
+        }
+
+        private long sequence() {
+            return this.sequence;
+        }
+
+        private <T> FlowContext<T> context() {
+            return (FlowContext<T>) this.context;
+        }
+    }
+
+    /**
+     * 按键分桶的二级索引，桶内按context首次保存的序号排序
+     * 写操作只在{@link FlowContextMemoRepo}的同步保存中发生，读操作无锁
+     */
+    private static class ContextIndex {
+        private final Map<String, ConcurrentSkipListMap<Long, IndexedContext>> buckets = new ConcurrentHashMap<>();
 
         /**
-         * put一个键值对
+         * 将context从旧的索引键移动到新的索引键
          *
-         * @param key key
-         * @param value value
+         * @param oldKey 旧的索引键，首次保存时为null
+         * @param newKey 新的索引键
+         * @param indexed 索引中的context
+         * @return 新的索引键
          */
-        public void put(K key, V value) {
-            if (!map.containsKey(key)) {
-                order.add(key);
+        private String move(String oldKey, String newKey, IndexedContext indexed) {
+            if (oldKey != null && !oldKey.equals(newKey)) {
+                this.remove(oldKey, indexed);
             }
-            map.put(key, value);
+            this.add(newKey, indexed);
+            return newKey;
         }
 
-        /**
-         * 根据key获取结果
-         *
-         * @param key key
-         * @return 对应的value，可能为null
-         */
-        public V get(K key) {
-            return map.get(key);
+        private void add(String key, IndexedContext indexed) {
+            this.buckets.computeIfAbsent(key, k -> new ConcurrentSkipListMap<>()).put(indexed.sequence, indexed);
         }
 
-        /**
-         * 删除一个key
-         *
-         * @param key key
-         * @return 被删除的值
-         */
-        public V remove(K key) {
-            order.remove(key);
-            return map.remove(key);
+        private void remove(String key, IndexedContext indexed) {
+            if (key == null) {
+                return;
+            }
+            ConcurrentSkipListMap<Long, IndexedContext> bucket = this.buckets.get(key);
+            if (bucket == null) {
+                return;
+            }
+            bucket.remove(indexed.sequence);
+            if (bucket.isEmpty()) {
+                this.buckets.remove(key, bucket);
+            }
         }
 
         /**
-         * 获取流式的元素
+         * 查找多个索引键下的context，结果按首次保存的顺序排列
          *
-         * @return 流式元素
+         * @param keys 索引键
+         * @param <T> context中的数据类型
+         * @return 命中的context
          */
-        public Stream<V> stream() {
-            return order.stream().map(map::get).filter(obj -> !Objects.isNull(obj));
+        private <T> Stream<FlowContext<T>> find(Stream<String> keys) {
+            List<Collection<IndexedContext>> hits = keys.distinct()
+                    .map(this.buckets::get)
+                    .filter(Objects::nonNull)
+                    .map(ConcurrentSkipListMap::values)
+                    .collect(Collectors.toList());
+            if (hits.isEmpty()) {
+                return Stream.empty();
+            }
+            if (hits.size() == 1) {
+                return hits.get(0).stream().map(IndexedContext::<T>context);
+            }
+            return hits.stream()
+                    .flatMap(Collection::stream)
+                    .sorted(Comparator.comparingLong(IndexedContext::sequence))
+                    .map(IndexedContext::<T>context);
         }
     }
 }
@@ -120,6 +120,21 @@ public interface FlowContextRepo {
     <T> List<FlowContext<T>> requestMappingContext(String streamId, List<String> subscriptions,
             Map<String, Integer> sessions);
 
+    /**
+     * 批量查找map节点所有from事件上待处理的上下文，保序的session只返回从当前序号开始连续的上下文
+     * 默认实现不支持批量，每次只返回一个上下文
+     *
+     * @param streamId 流程版本ID
+     * @param subscriptions from事件的事件ID
+     * @param sessions 涉及保序的sessions
+     * @param limit 最多返回的上下文数量
+     * @return 待处理的上下文
+     */
+    default <T> List<FlowContext<T>> requestMappingContext(String streamId, List<String> subscriptions,
+            Map<String, Integer> sessions, int limit) {
+        return this.requestMappingContext(streamId, subscriptions, sessions);
+    }
+
     /**
      * 查找produce节点所有from事件上待处理的上下文
      *
@@ -8,10 +8,14 @@ package modelengine.fit.waterflow.domain.flow;
 
 import lombok.Getter;
 import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocksMemo;
 import modelengine.fit.waterflow.domain.emitters.Emitter;
 import modelengine.fit.waterflow.domain.states.Activity;
 import modelengine.fit.waterflow.domain.states.Start;
 import modelengine.fit.waterflow.domain.states.State;
+import modelengine.fit.waterflow.domain.stream.nodes.Node;
 import modelengine.fit.waterflow.domain.stream.reactive.Processor;
 import modelengine.fit.waterflow.domain.stream.reactive.Publisher;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscriber;
@@ -22,7 +26,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * FitStream外的一层flow wrapper
@@ -215,6 +223,42 @@ public abstract class Flow<D> extends IdGenerator {
         return this.nodes;
     }
 
+    /**
+     * 将流程中相邻的、只依赖数据的1->1节点（map和just）融合为一个节点，一条数据在一次调用中执行完整条处理链，
+     * 省去中间节点的锁、持久化和线程切换。只对全内存的流程生效，带id的节点、条件分支和有多个上下游的节点不参与融合
+     * 需要在流程构建完成、开始接收数据之前调用
+     *
+     * @return 被融合掉的节点数量
+     */
+    public synchronized int fuse() {
+        Set<Object> pinned = this.tagNodes.values()
+                .stream()
+                .filter(State.class::isInstance)
+                .map(activity -> ObjectUtils.<State<?, ?, ?, ?>>cast(activity).publisher())
+                .collect(Collectors.toSet());
+        Predicate<Node<?, ?>> isRemovable = node -> !pinned.contains(node) && isInMemory(node);
+        int fused = 0;
+        for (Processor<?, ?> processor : new ArrayList<>(this.nodes)) {
+            if (!(processor instanceof Node) || !this.nodes.contains(processor) || !isRemovable.test(
+                    ObjectUtils.cast(processor))) {
+                continue;
+            }
+            Node<?, ?> node = ObjectUtils.cast(processor);
+            Optional<Node<?, ?>> next = node.fuseNext(isRemovable);
+            while (next.isPresent()) {
+                this.nodes.remove(next.get());
+                fused++;
+                next = node.fuseNext(isRemovable);
+            }
+        }
+        return fused;
+    }
+
+    private static boolean isInMemory(Node<?, ?> node) {
+        return node.getFlowContextRepo() instanceof FlowContextMemoRepo
+                && node.getMessenger() instanceof FlowContextMemoMessenger && node.getLocks() instanceof FlowLocksMemo;
+    }
+
     /**
      * 一个session结束整流操作后将触发onComplete事件
      *
@@ -14,7 +14,9 @@ import modelengine.fit.waterflow.domain.emitters.EmitterListener;
 import modelengine.fit.waterflow.domain.enums.ParallelMode;
 import modelengine.fit.waterflow.domain.flow.Flow;
 import modelengine.fit.waterflow.domain.stream.nodes.From;
+import modelengine.fit.waterflow.domain.stream.nodes.To;
 import modelengine.fit.waterflow.domain.stream.operators.Operators;
+import modelengine.fit.waterflow.domain.stream.reactive.Processor;
 import modelengine.fit.waterflow.domain.stream.reactive.Publisher;
 import modelengine.fit.waterflow.domain.utils.Identity;
 import modelengine.fit.waterflow.domain.utils.Tuple;
@@ -122,7 +124,10 @@ public class Start<O, D, I, F extends Flow<D>> extends Activity<D, F> implements
      */
     public State<O, D, O, F> just(Operators.Just<O> processor) {
         Operators.Just<FlowContext<O>> wrapper = input -> processor.process(input.getData());
-        return new State<>(this.from.just(wrapper, null), this.getFlow());
+        return new State<>(fusible(this.from.just(wrapper, null), data -> {
+            processor.process(data);
+            return data;
+        }), this.getFlow());
     }
 
     /**
@@ -159,7 +164,7 @@ public class Start<O, D, I, F extends Flow<D>> extends Activity<D, F> implements
      */
     public <R> State<R, D, O, F> map(Operators.Map<O, R> processor) {
         Operators.Map<FlowContext<O>, R> wrapper = input -> processor.process(input.getData());
-        return new State<>(this.from.map(wrapper, null), this.getFlow());
+        return new State<>(fusible(this.from.map(wrapper, null), processor), this.getFlow());
     }
 
     /**
@@ -380,4 +385,11 @@ public class Start<O, D, I, F extends Flow<D>> extends Activity<D, F> implements
     public void handle(O data, FlowSession trans) {
         this.from.handle(data, trans);
     }
+
+    private static <T, R> Processor<T, R> fusible(Processor<T, R> node, Operators.Map<T, R> processor) {
+        if (node instanceof To) {
+            ObjectUtils.<To<T, R>>cast(node).fusible(processor);
+        }
+        return node;
+    }
 }
@@ -24,7 +24,10 @@ import modelengine.fit.waterflow.domain.stream.reactive.Subscriber;
 import modelengine.fit.waterflow.domain.utils.FlowDebug;
 import modelengine.fitframework.util.ObjectUtils;
 
+import java.time.Duration;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -98,6 +101,22 @@ public class State<O, D, I, F extends Flow<D>> extends Start<O, D, I, F>
         return ObjectUtils.cast(super.setId(id));
     }
 
+    /**
+     * 设置节点的批处理方式，节点每批次最多处理 maxSize 个数据，数据不足时最多等待 linger 凑批。
+     * <p>
+     * 同一批次的数据共享一次持久化和一次下游投递，适合大量数据流经节点的场景，如文档切片的向量化。
+     * </p>
+     *
+     * @param maxSize 表示每批次最多处理的数据数量的 {@code int}。
+     * @param linger 表示凑批最长等待时长的 {@link Duration}。
+     * @return 返回节点本身，便于后续的链式调用 {@link State}{@code <}{@link O}{@code ,}
+     * {@link D}{@code ,}{@link I}{@code ,}{@link F}{@code >}。
+     */
+    public State<O, D, I, F> batch(int maxSize, Duration linger) {
+        ObjectUtils.<Node<I, O>>cast(this.processor).batch(maxSize, linger);
+        return this;
+    }
+
     /**
      * 跳转到指定节点，使用节点的唯一标识来标识一个节点。
      * <p>
@@ -219,12 +238,16 @@ public class State<O, D, I, F extends Flow<D>> extends Start<O, D, I, F>
                 sessionComplete.process(session1);
             });
         }
+        // 使用同一个上下文仓库的节点共享同一个全局错误处理器，以便相邻节点可以融合
+        Map<FlowContextRepo, Operators.ErrorHandler<Object>> globalHandlers = new IdentityHashMap<>();
         this.getFlow()
                 .nodes()
-                .forEach(node -> node.onGlobalError(this.buildGlobalHandler(errHandler, node.getFlowContextRepo())));
+                .forEach(node -> node.onGlobalError(globalHandlers.computeIfAbsent(node.getFlowContextRepo(),
+                        repo -> this.buildGlobalHandler(errHandler, repo))));
         this.getFlow()
                 .end()
-                .onGlobalError(this.buildGlobalHandler(errHandler, this.getFlow().end().getFlowContextRepo()));
+                .onGlobalError(globalHandlers.computeIfAbsent(this.getFlow().end().getFlowContextRepo(),
+                        repo -> this.buildGlobalHandler(errHandler, repo)));
         return this.getFlow();
     }
 
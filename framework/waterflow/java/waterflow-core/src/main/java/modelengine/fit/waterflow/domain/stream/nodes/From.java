@@ -29,6 +29,7 @@ import modelengine.fit.waterflow.domain.stream.reactive.Publisher;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscriber;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscription;
 import modelengine.fit.waterflow.domain.stream.reactive.When;
+import modelengine.fit.waterflow.domain.utils.FlowExecutors;
 import modelengine.fit.waterflow.domain.utils.IdGenerator;
 import modelengine.fit.waterflow.domain.utils.UUIDUtil;
 import modelengine.fitframework.inspection.Validation;
@@ -231,12 +232,14 @@ public class From<I> extends IdGenerator implements Publisher<I> {
 
     /**
      * 指定trans来offer数据
+     * 流程饱和时先等待并发释放，向数据的提供方施加背压
      *
      * @param data 待offer的数据
      * @param session 指定的session
      * @return traceId
      */
     public String offer(I[] data, FlowSession session) {
+        FlowExecutors.awaitCapacity(this.getStreamId());
         FlowTrace trace = new FlowTrace();
         Set<String> traceId = new HashSet<>();
         traceId.add(trace.getId());
@@ -350,6 +353,17 @@ public class From<I> extends IdGenerator implements Publisher<I> {
         return new ArrayList<>(this.whens);
     }
 
+    /**
+     * 接管另一个publisher的全部订阅，被接管的publisher不再向下游发送数据，用于节点融合
+     *
+     * @param other 被接管的publisher
+     */
+    void takeOver(From<?> other) {
+        this.whens.clear();
+        this.whens.addAll(ObjectUtils.cast(other.whens));
+        other.whens.clear();
+    }
+
     @Override
     public FlowContextRepo getFlowContextRepo() {
         return this.repo;
@@ -20,10 +20,14 @@ import modelengine.fit.waterflow.domain.stream.reactive.Processor;
 import modelengine.fit.waterflow.domain.stream.reactive.Publisher;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscriber;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscription;
+import modelengine.fit.waterflow.domain.stream.reactive.When;
 import modelengine.fit.waterflow.domain.utils.Identity;
 import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.util.ObjectUtils;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -221,6 +225,35 @@ public class Node<T, R> extends To<T, R> implements Processor<T, R>, Identity {
         this.publisher.offer(this.nextContexts(batchId));
     }
 
+    /**
+     * 将唯一的下游节点融合到本节点，融合后本节点直接向下游节点原来的订阅者发送数据
+     * 只有两个节点之间是无条件的一对一连接，并且都是只依赖数据的1->1处理时才会融合
+     * 融合需要在流程构建完成、开始接收数据之前进行
+     *
+     * @param isRemovable 判断下游节点能否被移除，例如被其他位置引用的节点不能移除
+     * @return 被融合的下游节点，无法融合时返回{@link Optional#empty()}
+     */
+    public Optional<Node<?, ?>> fuseNext(Predicate<Node<?, ?>> isRemovable) {
+        if (this.getClass() != Node.class || !(this.publisher instanceof From)) {
+            return Optional.empty();
+        }
+        List<Subscription<R>> subscriptions = this.publisher.getSubscriptions();
+        if (subscriptions.size() != 1 || !(subscriptions.get(0) instanceof When)) {
+            return Optional.empty();
+        }
+        When<R> when = ObjectUtils.cast(subscriptions.get(0));
+        if (!when.isUnconditional() || when.getTo().getClass() != Node.class) {
+            return Optional.empty();
+        }
+        Node<R, ?> next = ObjectUtils.cast(when.getTo());
+        if (!(next.publisher instanceof From) || !this.canFuse(next) || !isRemovable.test(next)) {
+            return Optional.empty();
+        }
+        this.fuse(next);
+        ObjectUtils.<From<R>>cast(this.publisher).takeOver(ObjectUtils.cast(next.publisher));
+        return Optional.of(next);
+    }
+
     /**
      * 关闭到最终subscriber
      *
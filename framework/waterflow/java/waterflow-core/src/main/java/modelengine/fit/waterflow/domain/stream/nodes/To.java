@@ -36,12 +36,13 @@ import modelengine.fit.waterflow.domain.utils.IdGenerator;
 import modelengine.fit.waterflow.domain.utils.Identity;
 import modelengine.fit.waterflow.domain.utils.SleepUtil;
 import modelengine.fit.waterflow.domain.utils.UUIDUtil;
+import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.log.Logger;
-import modelengine.fitframework.schedule.Task;
 import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -51,6 +52,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -138,10 +140,34 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
     @Getter
     private ProcessMode processMode;
 
-    private Map<String, Integer> processingSessions = new ConcurrentHashMap<>();//todo:夏斐，确定合适清除，否则有内存泄露风险
+    /**
+     * 保序session下一个待处理的序号，session在该节点消费完成后清除
+     */
+    private final Map<String, Integer> processingSessions = new ConcurrentHashMap<>();
 
     private Operators.Validator<I> validator = (repo, to) -> repo.requestMappingContext(to.streamId,
-            to.froms.stream().map(Identity::getId).collect(Collectors.toList()), to.processingSessions);
+            to.froms.stream().map(Identity::getId).collect(Collectors.toList()), to.processingSessions,
+            to.batchSize);
+
+    /**
+     * 1->1处理节点每批次最多处理的上下文数量，默认每批次只处理一个
+     */
+    private volatile int batchSize = 1;
+
+    /**
+     * 1->1处理节点凑批的最长等待时长，ns
+     */
+    private volatile long lingerNanos = 0L;
+
+    /**
+     * 节点边上有新数据到达的信号，凑批时在该信号上等待
+     */
+    private final Object arrivalSignal = new Object();
+
+    /**
+     * 节点边上累计到达数据的次数，由{@link #arrivalSignal}保护
+     */
+    private long arrivals = 0L;
 
     private Blocks.Block<I> block = null;
 
@@ -154,6 +180,11 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
      */
     private Operators.Map<FlowContext<I>, O> map;
 
+    /**
+     * 只依赖数据本身的1->1处理器，由map和just设置，非空时该节点可以与相邻的同类节点融合
+     */
+    private Operators.Map<Object, Object> dataProcessor;
+
     /**
      * 该节点同时处理最多MAX_TRAFFIC条数据，这种情况适合n条a数据生产出m条b数据，是一个producing操作
      */
@@ -188,14 +219,25 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
 
     private boolean isAuto = true;
 
-    private Thread processT = null;
+    private boolean hasCallback = false;
 
-    private Thread preProcessT = null;
+    private boolean hasCustomValidator = false;
 
-    private final Set<EmitterListener> listeners = new HashSet<>();
+    /**
+     * 节点批次处理完成的信号，主循环在该信号上等待上一批次完成，而不是固定睡眠
+     */
+    private final Object processedSignal = new Object();
+
+    /**
+     * 已经处理完成的批次数，由{@link #processedSignal}保护
+     */
+    private long processedBatches = 0L;
 
-    private final Map<Object, FlowSession> nextSessions = new ConcurrentHashMap<>();
+    private final Set<EmitterListener> listeners = new HashSet<>();
 
+    /**
+     * 聚合session已经产生的数据序号，session在该节点消费完成后清除
+     */
     private final Map<String, Integer> counter = new ConcurrentHashMap<>();
 
     /**
@@ -277,6 +319,12 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
         if (CollectionUtils.isEmpty(contexts)) {
             return;
         }
+        if (type == ProcessType.PROCESS && this.lingerNanos > 0) {
+            synchronized (this.arrivalSignal) {
+                this.arrivals++;
+                this.arrivalSignal.notifyAll();
+            }
+        }
         if (type == ProcessType.PRE_PROCESS && inParallelMode(contexts)) {
             this.preProcess(type);
             return;
@@ -289,23 +337,24 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
     }
 
     private synchronized void triggerNodeProcessor(ProcessType type) {
-        if (type == ProcessType.PRE_PROCESS && (preProcessT == null || !preProcessRunning)) {
+        // 主循环未能提交时恢复运行标记，待处理的context保留在边上，由下一次唤醒重新调度
+        if (type == ProcessType.PRE_PROCESS && !preProcessRunning) {
             preProcessRunning = true;
             String threadName = getThreadName(PRE_PROCESS_T_NAME_PREFIX);
-            preProcessT = new Thread(() -> preProcess(type), threadName);
-            preProcessT.setUncaughtExceptionHandler((thread, error) ->
-                    LOG.error("run preProcessT error, message:{}", error.getMessage()));
-            preProcessT.start();
+            if (!FlowExecutors.getNodeScheduler().schedule(threadName, () -> preProcess(type))) {
+                preProcessRunning = false;
+                return;
+            }
             LOG.debug("[{}] preprocess main loop starts for stream-id: {}, node-id: {}", threadName, this.streamId,
                     this.id);
         }
-        if (type == ProcessType.PROCESS && (processT == null || !processRunning)) {
+        if (type == ProcessType.PROCESS && !processRunning) {
             processRunning = true;
             String threadName = getThreadName(PROCESS_T_NAME_PREFIX);
-            processT = new Thread(() -> process(type), threadName);
-            processT.setUncaughtExceptionHandler((thread, error) ->
-                    LOG.error("run processT error, message:{}", error.getMessage()));
-            processT.start();
+            if (!FlowExecutors.getNodeScheduler().schedule(threadName, () -> process(type))) {
+                processRunning = false;
+                return;
+            }
             LOG.debug("[{}] process main loop starts for stream-id: {}, node-id: {}", threadName, this.streamId,
                     this.id);
         }
@@ -347,7 +396,6 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
                                 "Preprocess main loop exception stream-id: {}, node-id: {}, context-id: {}.",
                                 this.streamId, this.id, r.getId()));
                 LOG.debug("Preprocess main loop exception details: ", ex);
-            } finally {
                 SleepUtil.sleep(SLEEP_MILLS);
             }
         }
@@ -464,6 +512,7 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
     }
 
     public void setValidator(Operators.Validator<I> validator) {
+        this.hasCustomValidator = true;
         if (validator == null) {
             this.validator = (i, all) -> new ArrayList<>();
         } else {
@@ -574,6 +623,153 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
 
     private synchronized void updateConcurrency(int newConcurrency) {
         this.curConcurrency += newConcurrency;
+        if (newConcurrency < 0) {
+            synchronized (this.processedSignal) {
+                this.processedBatches++;
+                this.processedSignal.notifyAll();
+            }
+        }
+    }
+
+    private long processedBatches() {
+        synchronized (this.processedSignal) {
+            return this.processedBatches;
+        }
+    }
+
+    /**
+     * 等待在指定序号之后有批次处理完成，最多等待{@link #SLEEP_MILLS}毫秒
+     * 批次处理较快时下一批次可以立即开始，处理较慢时超时后继续按照最大并发度提交，与原有的节奏保持一致
+     *
+     * @param processed 等待开始前已经处理完成的批次数
+     */
+    private void awaitProcessed(long processed) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SLEEP_MILLS);
+        synchronized (this.processedSignal) {
+            long remaining = deadline - System.nanoTime();
+            while (this.processedBatches == processed && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this.processedSignal, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * 设置1->1处理节点的批处理方式
+     * 节点每批次最多处理maxSize个上下文，边上的数据不足时最多等待linger凑批；同一批次共享一次持久化和一次下游投递，
+     * 用于摊薄大量数据流经节点时每一跳的开销。同一批次只包含同一trace的上下文，批次中任一数据处理失败时整批进入错误处理
+     *
+     * @param maxSize 每批次最多处理的上下文数量
+     * @param linger 凑批的最长等待时长，为0时不等待
+     */
+    public void batch(int maxSize, Duration linger) {
+        Validation.isTrue(maxSize > 0, "The batch size must be positive.");
+        Validation.notNull(linger, "The batch linger cannot be null.");
+        Validation.isFalse(linger.isNegative(), "The batch linger cannot be negative.");
+        this.batchSize = maxSize;
+        this.lingerNanos = linger.toNanos();
+    }
+
+    private long arrivals() {
+        synchronized (this.arrivalSignal) {
+            return this.arrivals;
+        }
+    }
+
+    /**
+     * 边上的数据不足一个批次时等待更多数据到达，最多等待凑批时长
+     */
+    private void linger() {
+        if (this.lingerNanos <= 0 || this.batchSize <= 1 || this.processMode != ProcessMode.MAPPING) {
+            return;
+        }
+        long deadline = System.nanoTime() + this.lingerNanos;
+        while (true) {
+            long arrived = this.arrivals();
+            int available = this.processMode.requestAll(this).size();
+            long remaining = deadline - System.nanoTime();
+            if (available == 0 || available >= this.batchSize || remaining <= 0) {
+                return;
+            }
+            synchronized (this.arrivalSignal) {
+                if (this.arrivals != arrived) {
+                    continue;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this.arrivalSignal, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 截取同一trace、同一平行分支的前缀作为一个批次，前缀不会打乱保序session的处理顺序
+     *
+     * @param contexts 边上待处理的上下文
+     * @return 同一批次的上下文
+     */
+    private <T1> List<FlowContext<T1>> sameTracePrefix(List<FlowContext<T1>> contexts) {
+        if (contexts.size() <= 1) {
+            return contexts;
+        }
+        FlowContext<T1> first = contexts.get(0);
+        int end = 1;
+        while (end < contexts.size() && Objects.equals(first.getTraceId(), contexts.get(end).getTraceId())
+                && Objects.equals(first.getParallel(), contexts.get(end).getParallel())) {
+            end++;
+        }
+        return end == contexts.size() ? contexts : new ArrayList<>(contexts.subList(0, end));
+    }
+
+    /**
+     * 声明该节点的处理器只依赖数据本身，不读写上下文和session，从而允许与相邻的同类节点融合
+     *
+     * @param processor 只依赖数据本身的处理器，需要与节点创建时的处理器等价
+     */
+    public void fusible(Operators.Map<I, O> processor) {
+        this.dataProcessor = ObjectUtils.cast(Validation.notNull(processor, "The fusible processor cannot be null."));
+    }
+
+    /**
+     * 判断该节点能否与下游节点融合为一个节点
+     * 两个节点都只做只依赖数据的1->1处理，挂载的是同一个错误处理器，并且都没有回调、监听器、阻塞和批处理等节点级的行为
+     *
+     * @param next 下游节点
+     * @return true-可以融合，false-不能融合
+     */
+    boolean canFuse(To<O, ?> next) {
+        return this.isPlainMapping() && next.isPlainMapping() && next.froms.size() == 1
+                && this.errorHandler == next.errorHandler && this.globalErrorHandler == next.globalErrorHandler;
+    }
+
+    private boolean isPlainMapping() {
+        return this.dataProcessor != null && this.processMode == ProcessMode.MAPPING && this.nodeType == null
+                && this.isAuto && !this.hasCallback && !this.hasCustomValidator
+                && this.sessionCompleteCallback == null && this.listeners.isEmpty() && this.batchSize == 1;
+    }
+
+    /**
+     * 将下游节点的处理器融合到本节点，本节点在一次调用中依次执行两个处理器，中间结果为null时不再继续
+     *
+     * @param next 下游节点
+     */
+    void fuse(To<O, ?> next) {
+        Operators.Map<Object, Object> first = this.dataProcessor;
+        Operators.Map<Object, Object> second = next.dataProcessor;
+        Operators.Map<Object, Object> chain = data -> {
+            Object middle = first.process(data);
+            return middle == null ? null : second.process(middle);
+        };
+        this.dataProcessor = chain;
+        this.map = input -> ObjectUtils.cast(chain.process(input.getData()));
     }
 
     /**
@@ -636,6 +832,7 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
     public void onComplete(Operators.Just<Callback<FlowContext<O>>> callback) {
         To<I, O> me = this;
         this.callback = callback;
+        this.hasCallback = true;
     }
 
     @Override
@@ -703,6 +900,27 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
         this.listeners.forEach(listener -> listener.handle(data, trans));
     }
 
+    /**
+     * session在该节点消费完成后，释放该节点为其记录的保序和计数信息
+     *
+     * @param sessionId session的唯一标识
+     */
+    private void releaseSession(String sessionId) {
+        this.processingSessions.remove(sessionId);
+        this.counter.remove(sessionId);
+    }
+
+    /**
+     * 获取该节点当前仍在记录保序或计数信息的session数量，用于观察节点的内存占用
+     *
+     * @return session数量
+     */
+    public int trackedSessionCount() {
+        Set<String> sessions = new HashSet<>(this.processingSessions.keySet());
+        sessions.addAll(this.counter.keySet());
+        return sessions.size();
+    }
+
     private FlowSession getNextSession(FlowSession session) {
         return FlowSessionRepo.getNextSession(session);
     }
@@ -771,6 +989,7 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
                     //if previous stream complete, complete this stream
                     if (context.getSession().getWindow().isDone()) {
                         nextSession.getWindow().complete();
+                        to.releaseSession(context.getSession().getId());
                     }
                 }
                 return cs;
@@ -778,7 +997,7 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
 
             @Override
             protected <T1, R1> List<FlowContext<T1>> requestAll(To<T1, R1> to) {
-                return to.validator.validate(to.getFlowContextRepo(), to);
+                return to.sameTracePrefix(to.validator.validate(to.getFlowContextRepo(), to));
             }
         };
 
@@ -806,16 +1025,19 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
          */
         public <T1, R1> void request(ProcessType type, To<T1, R1> to) {
             while (true) {
+                long processed = to.processedBatches();
                 if (to.isOverLimit()) {
-                    SleepUtil.sleep(SLEEP_MILLS);
+                    to.awaitProcessed(processed);
                     continue;
                 }
-                Optional<FlowExecutors.ConcurrencyHolder> concurrencyHolder = FlowExecutors.incrementConcurrency();
+                to.linger();
+                Optional<FlowExecutors.ConcurrencyHolder> concurrencyHolder = FlowExecutors.incrementConcurrency(to.streamId);
                 if (!concurrencyHolder.isPresent()) {
-                    SleepUtil.sleep(SLEEP_MILLS);
+                    FlowExecutors.awaitConcurrency(to.streamId, SLEEP_MILLS);
                     continue;
                 }
                 boolean isSubmitted = false;
+                boolean isFailed = false;
                 List<FlowContext<T1>> ready = new ArrayList<>();
                 try {
                     ready = requestReady(to);
@@ -838,11 +1060,16 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
                             "Process main loop exception, " + "stream-id: {}, node-id: {}, context-id: {}.",
                             to.streamId, to.id, r.getId()));
                     LOG.debug("Process main loop exception details: ", ex);
+                    isFailed = true;
                 } finally {
                     if (!isSubmitted) {
                         concurrencyHolder.get().release();
                     }
+                }
+                if (isFailed) {
                     SleepUtil.sleep(SLEEP_MILLS);
+                } else if (isSubmitted) {
+                    to.awaitProcessed(processed);
                 }
             }
         }
@@ -895,10 +1122,13 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
 
         private <T1, R1> void submit(ProcessType type, To<T1, R1> to, List<FlowContext<T1>> ready,
                 FlowExecutors.ConcurrencyHolder concurrencyHolder) {
-            FlowExecutors.getThreadPool().execute(Task.builder().runnable(() -> {
-                to.onProcess(type, ready, true);
-                concurrencyHolder.release();
-            }).buildDisposable());
+            FlowExecutors.execute(() -> {
+                try {
+                    to.onProcess(type, ready, true);
+                } finally {
+                    concurrencyHolder.release();
+                }
+            });
         }
 
         private <T1, R1> void handleProcessConcurrentConflict(To<T1, R1> to) {
@@ -30,6 +30,8 @@ import java.util.stream.Collectors;
  * @since 1.0
  */
 public class When<I> extends IdGenerator implements Subscription<I> {
+    private static final Operators.Whether ALWAYS = any -> true;
+
     /**
      * 满足condition才能进入cache
      */
@@ -60,7 +62,7 @@ public class When<I> extends IdGenerator implements Subscription<I> {
     public <R> When(String streamId, Subscriber<I, R> to, Operators.Whether<I> whether, FlowContextRepo repo,
             FlowContextMessenger messenger) {
         this.streamId = streamId;
-        this.whether = whether == null ? any -> true : whether;
+        this.whether = whether == null ? ALWAYS : whether;
         this.to = to;
         this.to.onSubscribe(this);
         this.repo = repo;
@@ -99,6 +101,15 @@ public class When<I> extends IdGenerator implements Subscription<I> {
         messenger.send(this.to.isAuto() ? PROCESS : PRE_PROCESS, this.to, converted);
     }
 
+    /**
+     * 判断该订阅是否无条件接收数据
+     *
+     * @return true-无条件接收，false-满足条件才接收
+     */
+    public boolean isUnconditional() {
+        return this.whether == ALWAYS;
+    }
+
     @Override
     public String getStreamId() {
         return this.streamId;
@@ -0,0 +1,149 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import modelengine.fitframework.log.Logger;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * 基于执行器的节点调度器实现，负责统计唤醒延迟和运行中的主循环数量
+ * 提交给执行器的任务会捕获并记录主循环抛出的所有异常，不依赖执行线程上的未捕获异常处理器
+ *
+ * @author 高诗意
+ * @since 1.0
+ */
+class ExecutorNodeScheduler implements NodeScheduler {
+    private static final Logger LOG = Logger.get(ExecutorNodeScheduler.class);
+
+    private final Launcher launcher;
+
+    private final NodeSchedulerMetrics metrics;
+
+    private final Runnable stopper;
+
+    private final AtomicBoolean isShutdown = new AtomicBoolean();
+
+    /**
+     * 构造方法
+     *
+     * @param launcher 主循环的启动器
+     * @param metrics 运行指标
+     * @param threadCounter 调度器当前占用线程数的统计方式
+     * @param stopper 停止调度器时释放执行器的方式
+     */
+    ExecutorNodeScheduler(Launcher launcher, NodeSchedulerMetrics metrics, IntSupplier threadCounter,
+            Runnable stopper) {
+        this.launcher = launcher;
+        this.metrics = metrics;
+        this.metrics.threadCounter(threadCounter);
+        this.stopper = stopper;
+    }
+
+    @Override
+    public boolean schedule(String name, Runnable loop) {
+        if (this.isShutdown.get()) {
+            LOG.warn("The node scheduler is shutdown, ignore node loop, name: {}.", name);
+            return false;
+        }
+        long scheduledAt = System.nanoTime();
+        Runnable task = () -> {
+            this.metrics.onStarted(System.nanoTime() - scheduledAt);
+            try {
+                FlowExecutors.runInEngine(loop);
+            } finally {
+                this.metrics.onFinished();
+            }
+        };
+        try {
+            this.launcher.launch(name, logFailure(name, task));
+        } catch (RejectedExecutionException ex) {
+            LOG.warn("The node scheduler rejected node loop, name: {}, message: {}.", name, ex.getMessage());
+            return false;
+        }
+        this.metrics.onScheduled();
+        return true;
+    }
+
+    @Override
+    public NodeSchedulerMetrics metrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public void shutdown() {
+        if (this.isShutdown.compareAndSet(false, true)) {
+            this.stopper.run();
+        }
+    }
+
+    /**
+     * 包装提交给执行器的任务，记录任务抛出的所有异常
+     *
+     * @param name 主循环名称
+     * @param task 主循环任务
+     * @return 包装后的任务
+     */
+    static Runnable logFailure(String name, Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Throwable error) {
+                LOG.error("Run node loop error, name: {}, message: {}.", name, error.getMessage());
+                LOG.debug("Run node loop error details: ", error);
+            }
+        };
+    }
+
+    /**
+     * 通过反射创建虚拟线程执行器，避免编译期依赖高版本JDK
+     *
+     * @return 虚拟线程执行器，运行环境不支持时返回空
+     */
+    static Optional<ExecutorService> newVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of((ExecutorService) method.invoke(null));
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            LOG.debug("Virtual threads are not supported in current runtime, use pooled node scheduler.");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 记录线程未捕获异常
+     *
+     * @param thread 出现异常的线程
+     * @param error 异常
+     */
+    static void logUncaught(Thread thread, Throwable error) {
+        LOG.error("The node loop thread run failed, thread: {}, message: {}.", thread.getName(), error.getMessage());
+        LOG.debug("The node loop thread run failed details: ", error);
+    }
+
+    /**
+     * 主循环的启动器
+     *
+     * @since 1.0
+     */
+    @FunctionalInterface
+    interface Launcher {
+        /**
+         * 启动主循环
+         *
+         * @param name 主循环名称
+         * @param task 主循环任务
+         */
+        void launch(String name, Runnable task);
+    }
+}
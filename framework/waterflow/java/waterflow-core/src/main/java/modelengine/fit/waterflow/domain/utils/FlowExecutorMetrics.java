@@ -0,0 +1,166 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 流程引擎执行层的运行指标
+ * 拒绝次数为线程池饱和后由提交线程自行执行任务的次数，背压次数为{@code From}因流程饱和而等待的次数
+ *
+ * @author 高诗意
+ * @since 1.0
+ */
+public class FlowExecutorMetrics {
+    private final AtomicLong submittedCount = new AtomicLong();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final AtomicLong backPressureCount = new AtomicLong();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private final AtomicInteger peakActiveCount = new AtomicInteger();
+
+    private final AtomicInteger concurrency = new AtomicInteger();
+
+    private final Map<String, AtomicInteger> streamConcurrency = new ConcurrentHashMap<>();
+
+    void onSubmitted() {
+        this.submittedCount.incrementAndGet();
+        this.queueDepth.incrementAndGet();
+    }
+
+    void onStarted() {
+        this.queueDepth.decrementAndGet();
+        this.peakActiveCount.accumulateAndGet(this.activeCount.incrementAndGet(), Math::max);
+    }
+
+    void onFinished() {
+        this.activeCount.decrementAndGet();
+    }
+
+    void onRejected() {
+        this.rejectedCount.incrementAndGet();
+    }
+
+    void onBackPressure() {
+        this.backPressureCount.incrementAndGet();
+    }
+
+    AtomicInteger concurrencyCounter() {
+        return this.concurrency;
+    }
+
+    boolean tryAcquireStream(String streamId, int limit) {
+        boolean[] isAcquired = new boolean[1];
+        this.streamConcurrency.compute(streamId, (key, counter) -> {
+            AtomicInteger actual = counter == null ? new AtomicInteger() : counter;
+            if (actual.get() < limit) {
+                actual.incrementAndGet();
+                isAcquired[0] = true;
+            }
+            return actual.get() == 0 ? null : actual;
+        });
+        return isAcquired[0];
+    }
+
+    void releaseStream(String streamId) {
+        this.streamConcurrency.computeIfPresent(streamId,
+                (key, counter) -> counter.decrementAndGet() <= 0 ? null : counter);
+    }
+
+    int streamCount(String streamId) {
+        AtomicInteger counter = this.streamConcurrency.get(streamId);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * 获取累计提交到线程池的任务数量
+     *
+     * @return 任务数量
+     */
+    public long submittedCount() {
+        return this.submittedCount.get();
+    }
+
+    /**
+     * 获取线程池饱和后由提交线程自行执行的任务数量
+     *
+     * @return 任务数量
+     */
+    public long rejectedCount() {
+        return this.rejectedCount.get();
+    }
+
+    /**
+     * 获取{@code From}因流程饱和而等待的次数
+     *
+     * @return 等待次数
+     */
+    public long backPressureCount() {
+        return this.backPressureCount.get();
+    }
+
+    /**
+     * 获取已提交但尚未开始执行的任务数量
+     *
+     * @return 任务数量
+     */
+    public int queueDepth() {
+        return this.queueDepth.get();
+    }
+
+    /**
+     * 获取正在执行的任务数量
+     *
+     * @return 任务数量
+     */
+    public int activeCount() {
+        return this.activeCount.get();
+    }
+
+    /**
+     * 获取同时执行的任务数量峰值
+     *
+     * @return 任务数量峰值
+     */
+    public int peakActiveCount() {
+        return this.peakActiveCount.get();
+    }
+
+    /**
+     * 获取全部流程正在处理的批次数
+     *
+     * @return 批次数
+     */
+    public int concurrency() {
+        return this.concurrency.get();
+    }
+
+    /**
+     * 获取每个流程正在处理的批次数
+     *
+     * @return 流程ID到批次数的映射
+     */
+    public Map<String, Integer> streamConcurrency() {
+        Map<String, Integer> result = new ConcurrentHashMap<>();
+        this.streamConcurrency.forEach((streamId, counter) -> {
+            int count = counter.get();
+            if (count > 0) {
+                result.put(streamId, count);
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,81 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 流程引擎执行层的配置项
+ * 通过{@link FlowExecutors#configure(FlowExecutorOptions)}生效，未设置的配置项保持默认值
+ *
+ * @author 高诗意
+ * @since 1.0
+ */
+@Getter
+@Builder(toBuilder = true)
+public class FlowExecutorOptions {
+    /**
+     * 节点线程池核心线程数
+     */
+    @Builder.Default
+    private int corePoolSize = 8;
+
+    /**
+     * 节点线程池最大线程数
+     */
+    @Builder.Default
+    private int maximumPoolSize = 64;
+
+    /**
+     * 节点线程池等待队列容量，为0时任务直接交给线程执行
+     */
+    @Builder.Default
+    private int queueCapacity = 0;
+
+    /**
+     * 全部流程同时处理的批次数上限
+     */
+    @Builder.Default
+    private int maxConcurrency = 64;
+
+    /**
+     * 单个流程同时处理的批次数上限，用于隔离不同流程，避免一个流程的突发流量占满全部并发，默认不限制
+     */
+    @Builder.Default
+    private int streamConcurrency = Integer.MAX_VALUE;
+
+    /**
+     * 流程饱和时，{@code From}接收数据的最长等待时长，为0时不等待
+     * 默认不等待，开启后调用方线程在流程饱和时被阻塞，等待超时后记录告警日志
+     */
+    @Builder.Default
+    private Duration offerTimeout = Duration.ZERO;
+
+    /**
+     * 固定键线程池的线程数
+     */
+    @Builder.Default
+    private int fixedKeyPoolSize = 32;
+
+    /**
+     * 是否使用虚拟线程执行节点任务，运行环境不支持虚拟线程时使用节点线程池
+     */
+    @Builder.Default
+    private boolean isVirtualThreads = false;
+
+    /**
+     * 获取默认配置
+     *
+     * @return 默认配置
+     */
+    public static FlowExecutorOptions defaults() {
+        return FlowExecutorOptions.builder().build();
+    }
+}
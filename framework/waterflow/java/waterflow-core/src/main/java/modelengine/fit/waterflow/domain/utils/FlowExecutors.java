@@ -8,39 +8,68 @@ package modelengine.fit.waterflow.domain.utils;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.schedule.Task;
 import modelengine.fitframework.schedule.ThreadPoolExecutor;
 import modelengine.fitframework.thread.DefaultThreadFactory;
 
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 流程引擎的节点线程池
+ * 全部流程共享节点线程池，可以通过单个流程的并发上限隔离不同流程；线程池饱和时由提交线程自行执行任务，
+ * 流程饱和时{@code From}等待并发释放后再接收数据，以背压代替拒绝
+ * 获取和释放并发不加锁，只有等待并发释放的线程才会按照流程分段等待，流程引擎内部的线程不会因背压而等待
  *
  * @author 高诗意
  * @since 1.0
  */
 public final class FlowExecutors {
-    private static final int MAX_THREAD_COUNT = 64;
+    private static final Logger LOG = Logger.get(FlowExecutors.class);
 
-    private static final int CORE_THREAD_COUNT = 8;
+    private static final FlowExecutorMetrics METRICS = new FlowExecutorMetrics();
 
-    private static final Logger LOG = Logger.get(FlowExecutors.class);
+    private static final int SIGNAL_COUNT = 64;
+
+    private static final Signal[] SIGNALS = createSignals();
+
+    private static final ThreadLocal<Boolean> IN_ENGINE = new ThreadLocal<>();
+
+    private static volatile FlowExecutorOptions options = FlowExecutorOptions.defaults();
 
-    private static final ThreadPoolExecutor THREAD_POOL;
+    private static volatile ThreadPoolExecutor threadPool = createThreadPool(options);
 
-    private static AtomicInteger currentConcurrency = new AtomicInteger(0);
+    private static volatile ExecutorService virtualThreadExecutor;
+
+    private static volatile NodeScheduler nodeScheduler = NodeScheduler.create();
+
+    private static Signal[] createSignals() {
+        Signal[] signals = new Signal[SIGNAL_COUNT];
+        for (int i = 0; i < SIGNAL_COUNT; i++) {
+            signals[i] = new Signal();
+        }
+        return signals;
+    }
 
-    static {
-        ThreadPoolExecutor newPool = ThreadPoolExecutor.custom()
+    private static ThreadPoolExecutor createThreadPool(FlowExecutorOptions options) {
+        RejectedExecutionHandler callerRuns = (task, executor) -> {
+            METRICS.onRejected();
+            if (!executor.isShutdown()) {
+                task.run();
+            }
+        };
+        return ThreadPoolExecutor.custom()
                 .threadPoolName("flow-node-thread-pool")
-                .corePoolSize(CORE_THREAD_COUNT)
-                .maximumPoolSize(MAX_THREAD_COUNT)
-                .workQueueCapacity(0)
+                .corePoolSize(options.getCorePoolSize())
+                .maximumPoolSize(options.getMaximumPoolSize())
+                .workQueueCapacity(options.getQueueCapacity())
                 .keepAliveTime(60L, SECONDS)
                 .isDaemonThread(true)
                 .exceptionHandler((thread, throwable) -> {
@@ -48,9 +77,61 @@ public final class FlowExecutors {
                             throwable.getMessage());
                     LOG.debug("The node pool run failed details: ", throwable);
                 })
-                .rejectedExecutionHandler(new AbortPolicy())
+                .rejectedExecutionHandler(callerRuns)
                 .build();
-        THREAD_POOL = newPool;
+    }
+
+    /**
+     * 更新执行层配置
+     * 新的线程池立即生效，旧线程池在已提交的任务执行完成后关闭
+     * 固定键线程池的线程数不变时继续使用原线程池；线程数变化时新线程池在旧线程池的任务全部执行完成后才开始执行任务，保证同一个键的任务顺序
+     *
+     * @param newOptions 执行层配置
+     */
+    public static synchronized void configure(FlowExecutorOptions newOptions) {
+        Validation.notNull(newOptions, "The flow executor options cannot be null.");
+        Validation.isTrue(newOptions.getCorePoolSize() >= 0, "The core pool size cannot be negative.");
+        Validation.isTrue(newOptions.getMaximumPoolSize() > 0, "The maximum pool size must be positive.");
+        Validation.isTrue(newOptions.getQueueCapacity() >= 0, "The queue capacity cannot be negative.");
+        Validation.isTrue(newOptions.getMaxConcurrency() > 0, "The max concurrency must be positive.");
+        Validation.isTrue(newOptions.getStreamConcurrency() > 0, "The stream concurrency must be positive.");
+        Validation.isTrue(newOptions.getFixedKeyPoolSize() > 0, "The fixed key pool size must be positive.");
+        Validation.notNull(newOptions.getOfferTimeout(), "The offer timeout cannot be null.");
+        ThreadPoolExecutor oldPool = threadPool;
+        ExecutorService oldVirtualExecutor = virtualThreadExecutor;
+        threadPool = createThreadPool(newOptions);
+        virtualThreadExecutor = newOptions.isVirtualThreads()
+                ? ExecutorNodeScheduler.newVirtualThreadExecutor().orElse(null)
+                : null;
+        options = newOptions;
+        FixedKeyThreadPool.reset(newOptions.getFixedKeyPoolSize());
+        signalAll();
+        try {
+            oldPool.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (oldVirtualExecutor != null) {
+            oldVirtualExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 获取当前的执行层配置
+     *
+     * @return 执行层配置
+     */
+    public static FlowExecutorOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * 获取执行层运行指标
+     *
+     * @return 运行指标
+     */
+    public static FlowExecutorMetrics metrics() {
+        return METRICS;
     }
 
     /**
@@ -59,7 +140,31 @@ public final class FlowExecutors {
      * @return 线程池对象
      */
     public static ThreadPoolExecutor getThreadPool() {
-        return THREAD_POOL;
+        return threadPool;
+    }
+
+    /**
+     * 执行节点任务
+     * 开启虚拟线程时每个任务使用独立的虚拟线程，否则提交到节点线程池，线程池饱和时由当前线程执行
+     *
+     * @param task 需要执行的任务
+     */
+    public static void execute(Runnable task) {
+        METRICS.onSubmitted();
+        Runnable metered = () -> runInEngine(() -> {
+            METRICS.onStarted();
+            try {
+                task.run();
+            } finally {
+                METRICS.onFinished();
+            }
+        });
+        ExecutorService executor = virtualThreadExecutor;
+        if (executor != null) {
+            executor.execute(metered);
+            return;
+        }
+        threadPool.execute(Task.builder().runnable(metered).buildDisposable());
     }
 
     /**
@@ -67,16 +172,189 @@ public final class FlowExecutors {
      *
      * @return 并发持有对象。如果无法增加并发则返回null对象
      */
-    public static synchronized Optional<ConcurrencyHolder> incrementConcurrency() {
-        if (currentConcurrency.incrementAndGet() > MAX_THREAD_COUNT) {
-            currentConcurrency.decrementAndGet();
+    public static Optional<ConcurrencyHolder> incrementConcurrency() {
+        return incrementConcurrency(null);
+    }
+
+    /**
+     * 为指定流程增加一个并发，全部流程的并发和该流程的并发都不能超过上限
+     *
+     * @param streamId 流程ID，为null时只受全部流程的并发上限约束
+     * @return 并发持有对象。如果无法增加并发则返回null对象
+     */
+    public static Optional<ConcurrencyHolder> incrementConcurrency(String streamId) {
+        FlowExecutorOptions current = options;
+        AtomicInteger concurrency = METRICS.concurrencyCounter();
+        while (true) {
+            int count = concurrency.get();
+            if (count >= current.getMaxConcurrency()) {
+                return Optional.empty();
+            }
+            if (concurrency.compareAndSet(count, count + 1)) {
+                break;
+            }
+        }
+        if (streamId != null && !METRICS.tryAcquireStream(streamId, current.getStreamConcurrency())) {
+            concurrency.decrementAndGet();
+            signal(streamId);
             return Optional.empty();
         }
-        return Optional.of(new ConcurrencyHolder());
+        return Optional.of(new ConcurrencyHolder(streamId));
     }
 
-    private static synchronized void decrementConcurrency() {
-        currentConcurrency.decrementAndGet();
+    private static boolean isSaturated(String streamId) {
+        FlowExecutorOptions current = options;
+        if (METRICS.concurrencyCounter().get() >= current.getMaxConcurrency()) {
+            return true;
+        }
+        return streamId != null && METRICS.streamCount(streamId) >= current.getStreamConcurrency();
+    }
+
+    private static void decrementConcurrency(String streamId) {
+        boolean wasSaturated = METRICS.concurrencyCounter().getAndDecrement() >= options.getMaxConcurrency();
+        if (streamId != null) {
+            METRICS.releaseStream(streamId);
+        }
+        // 全部流程的并发饱和时，等待的线程可能属于任意流程，因此需要唤醒所有分段。
+        if (wasSaturated) {
+            signalAll();
+        } else {
+            signal(streamId);
+        }
+    }
+
+    /**
+     * 等待有并发被释放，最多等待指定时长
+     *
+     * @param millis 最大等待时长，ms
+     */
+    public static void awaitConcurrency(long millis) {
+        awaitConcurrency(null, millis);
+    }
+
+    /**
+     * 等待指定流程有并发被释放，最多等待指定时长
+     *
+     * @param streamId 流程ID，为null时只等待全部流程的并发
+     * @param millis 最大等待时长，ms
+     */
+    public static void awaitConcurrency(String streamId, long millis) {
+        if (!isSaturated(streamId)) {
+            return;
+        }
+        await(streamId, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * 流程饱和时阻塞数据的接收方，直到有并发被释放或者超过配置的等待时长
+     * 超时后不拒绝数据，由节点主循环按并发上限逐批处理；流程引擎内部的线程不等待，避免占用并发的线程互相阻塞
+     *
+     * @param streamId 流程ID
+     */
+    public static void awaitCapacity(String streamId) {
+        long timeout = options.getOfferTimeout().toNanos();
+        if (timeout <= 0 || isInEngine() || !isSaturated(streamId)) {
+            return;
+        }
+        METRICS.onBackPressure();
+        LOG.debug("The stream is saturated, wait for capacity, stream-id: {}, timeout: {}ms.", streamId,
+                TimeUnit.NANOSECONDS.toMillis(timeout));
+        if (!await(streamId, timeout)) {
+            LOG.warn("The stream is still saturated after waiting {}ms, accept data anyway, stream-id: {}.",
+                    TimeUnit.NANOSECONDS.toMillis(timeout), streamId);
+        }
+    }
+
+    private static boolean await(String streamId, long timeoutNanos) {
+        Signal signal = signalOf(streamId);
+        long deadline = System.nanoTime() + timeoutNanos;
+        signal.waiters.incrementAndGet();
+        try {
+            synchronized (signal) {
+                while (isSaturated(streamId)) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(signal, remaining);
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            signal.waiters.decrementAndGet();
+        }
+    }
+
+    private static Signal signalOf(String streamId) {
+        return SIGNALS[streamId == null ? 0 : Math.floorMod(streamId.hashCode(), SIGNAL_COUNT)];
+    }
+
+    private static void signal(String streamId) {
+        // 全部流程的并发等待者使用第一个分段，因此释放并发时同时唤醒该分段。
+        notifyWaiters(signalOf(streamId));
+        notifyWaiters(SIGNALS[0]);
+    }
+
+    private static void signalAll() {
+        for (Signal signal : SIGNALS) {
+            notifyWaiters(signal);
+        }
+    }
+
+    private static void notifyWaiters(Signal signal) {
+        if (signal.waiters.get() > 0) {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 判断当前线程是否为流程引擎内部执行节点任务或节点主循环的线程
+     *
+     * @return 是否为流程引擎内部的线程
+     */
+    static boolean isInEngine() {
+        return Boolean.TRUE.equals(IN_ENGINE.get());
+    }
+
+    /**
+     * 将当前线程标记为流程引擎内部的线程后执行任务
+     *
+     * @param task 需要执行的任务
+     */
+    static void runInEngine(Runnable task) {
+        if (isInEngine()) {
+            task.run();
+            return;
+        }
+        IN_ENGINE.set(true);
+        try {
+            task.run();
+        } finally {
+            IN_ENGINE.remove();
+        }
+    }
+
+    /**
+     * 获取节点主循环调度器
+     *
+     * @return 调度器
+     */
+    public static NodeScheduler getNodeScheduler() {
+        return nodeScheduler;
+    }
+
+    /**
+     * 设置节点主循环调度器，用于替换默认的调度策略
+     *
+     * @param scheduler 调度器
+     */
+    public static void setNodeScheduler(NodeScheduler scheduler) {
+        nodeScheduler = Validation.notNull(scheduler, "The node scheduler cannot be null.");
     }
 
     /**
@@ -97,9 +375,12 @@ public final class FlowExecutors {
      * @since 2024/8/12
      */
     public static class ConcurrencyHolder {
+        private final String streamId;
+
         private boolean isReleased;
 
-        private ConcurrencyHolder() {
+        private ConcurrencyHolder(String streamId) {
+            this.streamId = streamId;
             this.isReleased = false;
         }
 
@@ -109,21 +390,34 @@ public final class FlowExecutors {
         public void release() {
             if (!this.isReleased) {
                 this.isReleased = true;
-                FlowExecutors.decrementConcurrency();
+                FlowExecutors.decrementConcurrency(this.streamId);
             }
         }
     }
 
+    /**
+     * 按照流程分段的等待对象，只有存在等待的线程时释放并发才会加锁唤醒
+     */
+    private static final class Signal {
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
     private static class FixedKeyThreadPool {
-        private static FixedKeyThreadPool threadPool;
+        private static volatile FixedKeyThreadPool threadPool;
 
         private final ExecutorService[] executors;
 
         private final int poolSize;
 
-        private ThreadLocal<Integer> threadLocal = new ThreadLocal<>();
+        private final ThreadLocal<Integer> threadLocal = new ThreadLocal<>();
 
-        private FixedKeyThreadPool(int poolSize) {
+        /**
+         * 构造方法
+         *
+         * @param poolSize 线程数
+         * @param previous 被替换的固定键线程池，不为null时新线程池的每个线程先等待其任务全部执行完成
+         */
+        private FixedKeyThreadPool(int poolSize, FixedKeyThreadPool previous) {
             this.poolSize = poolSize;
             this.executors = new ExecutorService[poolSize];
 
@@ -132,12 +426,16 @@ public final class FlowExecutors {
                         new DefaultThreadFactory("flow-fixed-key", true, (thread, ex) -> {
                             LOG.error("The node pool run failed, ex: {}, message: {}.", ex, ex.getMessage());
                         }));
+                if (previous != null) {
+                    this.executors[i].execute(previous::awaitTermination);
+                }
             }
         }
 
         private static FixedKeyThreadPool get() {
-            if (threadPool != null) {
-                return threadPool;
+            FixedKeyThreadPool current = threadPool;
+            if (current != null) {
+                return current;
             }
             return init();
         }
@@ -146,10 +444,25 @@ public final class FlowExecutors {
             if (threadPool != null) {
                 return threadPool;
             }
-            threadPool = new FixedKeyThreadPool(32);
+            threadPool = new FixedKeyThreadPool(options.getFixedKeyPoolSize(), null);
             return threadPool;
         }
 
+        /**
+         * 按照新的线程数替换固定键线程池
+         * 线程数不变时继续使用原线程池，否则旧线程池不再接收任务，已提交的任务执行完成后新线程池才开始执行任务
+         *
+         * @param poolSize 新的线程数
+         */
+        private static synchronized void reset(int poolSize) {
+            FixedKeyThreadPool current = threadPool;
+            if (current == null || current.poolSize == poolSize) {
+                return;
+            }
+            threadPool = new FixedKeyThreadPool(poolSize, current);
+            current.shutdown();
+        }
+
         /**
          * 跟定key和task，找到线程执行
          *
@@ -158,20 +471,41 @@ public final class FlowExecutors {
          */
         public void execute(String key, Runnable task) {
             // 通过hash值获取固定线程池
-            int threadIndex = Math.abs(key.hashCode() % poolSize);
-            Integer current = threadLocal.get();
+            int threadIndex = Math.floorMod(key.hashCode(), this.poolSize);
+            Integer current = this.threadLocal.get();
             if (current != null && current == threadIndex) {
                 task.run();
                 return;
             }
-            executors[threadIndex].submit(new Runnable() {
-                @Override
-                public void run() {
-                    threadLocal.set(threadIndex);
-                    task.run();
-                    threadLocal.set(-1);
+            try {
+                this.executors[threadIndex].submit(() -> runInEngine(() -> {
+                    this.threadLocal.set(threadIndex);
+                    try {
+                        task.run();
+                    } finally {
+                        this.threadLocal.remove();
+                    }
+                }));
+            } catch (RejectedExecutionException ex) {
+                // 线程池已被替换时转交给新的线程池，新线程池在当前线程池的任务全部执行完成后才执行该任务
+                FixedKeyThreadPool next = threadPool;
+                if (next == null || next == this) {
+                    throw ex;
+                }
+                next.execute(key, task);
+            }
+        }
+
+        private void awaitTermination() {
+            try {
+                for (ExecutorService executor : this.executors) {
+                    while (!executor.awaitTermination(1, SECONDS)) {
+                        LOG.debug("Wait for the replaced fixed key thread pool to finish its tasks.");
+                    }
                 }
-            });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
 
         /**
@@ -179,7 +513,7 @@ public final class FlowExecutors {
          * 关闭所有的固定键线程池，并且释放所有的线程资源
          */
         public void shutdown() {
-            for (ExecutorService executor : executors) {
+            for (ExecutorService executor : this.executors) {
                 executor.shutdown();
             }
         }
@@ -0,0 +1,99 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import modelengine.fitframework.thread.DefaultThreadFactory;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流程节点主循环的调度器
+ * 节点只在其入边上有context到达时才会被唤醒（见{@code To#accept}），调度器负责为被唤醒的节点主循环分配执行线程，
+ * 主循环在边上没有待处理数据时自行退出，不再轮询
+ *
+ * @author 高诗意
+ * @since 1.0
+ */
+public interface NodeScheduler {
+    /**
+     * 调度一次节点主循环
+     *
+     * @param name 主循环名称，用于线程命名和日志
+     * @param loop 节点主循环
+     * @return 主循环是否已经提交执行，调度器已停止或者执行器拒绝时返回false
+     */
+    boolean schedule(String name, Runnable loop);
+
+    /**
+     * 获取调度器的运行指标
+     *
+     * @return 运行指标
+     */
+    NodeSchedulerMetrics metrics();
+
+    /**
+     * 停止调度器，已经启动的主循环继续执行到结束，之后的调度请求返回false并记录告警日志
+     * 替换调度器后可以调用该方法释放被替换调度器占用的线程
+     */
+    void shutdown();
+
+    /**
+     * 创建默认的调度器，运行环境支持虚拟线程时使用虚拟线程，否则使用共享的节点线程池
+     *
+     * @return 调度器
+     */
+    static NodeScheduler create() {
+        return virtualThreads().orElseGet(NodeScheduler::pooled);
+    }
+
+    /**
+     * 创建每次唤醒都新建一个平台线程的调度器，与早期版本的行为一致
+     *
+     * @return 调度器
+     */
+    static NodeScheduler dedicatedThreads() {
+        NodeSchedulerMetrics metrics = new NodeSchedulerMetrics();
+        return new ExecutorNodeScheduler((name, task) -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler(ExecutorNodeScheduler::logUncaught);
+            thread.start();
+        }, metrics, metrics::runningLoops, () -> {});
+    }
+
+    /**
+     * 创建基于共享节点线程池的调度器，空闲线程会被复用，超过存活时间后回收
+     *
+     * @return 调度器
+     */
+    static NodeScheduler pooled() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new DefaultThreadFactory("flow-node-loop", true, ExecutorNodeScheduler::logUncaught));
+        return new ExecutorNodeScheduler((name, task) -> pool.execute(task), new NodeSchedulerMetrics(),
+                pool::getPoolSize, pool::shutdown);
+    }
+
+    /**
+     * 创建基于虚拟线程的调度器，仅在运行时JDK支持虚拟线程时可用
+     *
+     * @return 调度器，运行环境不支持虚拟线程时返回空
+     */
+    static Optional<NodeScheduler> virtualThreads() {
+        Optional<ExecutorService> executor = ExecutorNodeScheduler.newVirtualThreadExecutor();
+        if (!executor.isPresent()) {
+            return Optional.empty();
+        }
+        NodeSchedulerMetrics metrics = new NodeSchedulerMetrics();
+        return Optional.of(new ExecutorNodeScheduler((name, task) -> executor.get().execute(task), metrics,
+                metrics::runningLoops, executor.get()::shutdown));
+    }
+}
@@ -0,0 +1,108 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * 节点调度器的运行指标
+ * 唤醒延迟为节点被数据唤醒到主循环真正开始执行之间的耗时，即每一跳的调度开销
+ *
+ * @author 高诗意
+ * @since 1.0
+ */
+public class NodeSchedulerMetrics {
+    private final AtomicLong scheduledCount = new AtomicLong();
+
+    private final AtomicLong startedCount = new AtomicLong();
+
+    private final AtomicLong totalWakeupNanos = new AtomicLong();
+
+    private final AtomicLong maxWakeupNanos = new AtomicLong();
+
+    private final AtomicInteger runningLoops = new AtomicInteger();
+
+    private final AtomicInteger peakRunningLoops = new AtomicInteger();
+
+    private volatile IntSupplier threadCounter = this.runningLoops::get;
+
+    void threadCounter(IntSupplier threadCounter) {
+        this.threadCounter = threadCounter;
+    }
+
+    void onScheduled() {
+        this.scheduledCount.incrementAndGet();
+    }
+
+    void onStarted(long wakeupNanos) {
+        this.startedCount.incrementAndGet();
+        this.totalWakeupNanos.addAndGet(wakeupNanos);
+        this.maxWakeupNanos.accumulateAndGet(wakeupNanos, Math::max);
+        this.peakRunningLoops.accumulateAndGet(this.runningLoops.incrementAndGet(), Math::max);
+    }
+
+    void onFinished() {
+        this.runningLoops.decrementAndGet();
+    }
+
+    /**
+     * 获取累计被唤醒的次数
+     *
+     * @return 唤醒次数
+     */
+    public long scheduledCount() {
+        return this.scheduledCount.get();
+    }
+
+    /**
+     * 获取当前正在运行的节点主循环数量
+     *
+     * @return 主循环数量
+     */
+    public int runningLoops() {
+        return this.runningLoops.get();
+    }
+
+    /**
+     * 获取同时运行的节点主循环数量峰值
+     *
+     * @return 主循环数量峰值
+     */
+    public int peakRunningLoops() {
+        return this.peakRunningLoops.get();
+    }
+
+    /**
+     * 获取调度器当前占用的线程数量
+     *
+     * @return 线程数量
+     */
+    public int threadCount() {
+        return this.threadCounter.getAsInt();
+    }
+
+    /**
+     * 获取平均唤醒延迟，单位纳秒
+     *
+     * @return 平均唤醒延迟
+     */
+    public long averageWakeupNanos() {
+        long started = this.startedCount.get();
+        return started == 0 ? 0 : this.totalWakeupNanos.get() / started;
+    }
+
+    /**
+     * 获取最大唤醒延迟，单位纳秒
+     *
+     * @return 最大唤醒延迟
+     */
+    public long maxWakeupNanos() {
+        return this.maxWakeupNanos.get();
+    }
+}
@@ -28,9 +28,13 @@ import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
 import modelengine.fit.waterflow.domain.flow.Flow;
 import modelengine.fit.waterflow.domain.flow.Flows;
 import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+import modelengine.fit.waterflow.domain.states.Start;
 import modelengine.fit.waterflow.domain.states.State;
 import modelengine.fit.waterflow.domain.stream.nodes.BlockToken;
+import modelengine.fit.waterflow.domain.stream.operators.Operators;
+import modelengine.fit.waterflow.domain.utils.FlowExecutors;
 import modelengine.fit.waterflow.domain.utils.Mermaid;
+import modelengine.fit.waterflow.domain.utils.NodeScheduler;
 import modelengine.fit.waterflow.domain.utils.SleepUtil;
 import modelengine.fit.waterflow.domain.utils.Tuple;
 import modelengine.fitframework.util.ObjectUtils;
@@ -42,9 +46,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -129,6 +137,29 @@ class WaterFlowsTest {
             assertEquals(4, data[1]);
         }
 
+        @Test
+        @DisplayName("调度器未能启动节点主循环时，节点在下一次唤醒时继续处理边上的数据")
+        void test_node_resumes_after_schedule_failed() {
+            List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+            ProcessFlow<Integer> flow = Flows.<Integer>create(repo, messenger, locks)
+                    .map(i -> i * 10)
+                    .close(r -> result.addAll(r.getAll().stream().map(FlowContext::getData)
+                            .collect(Collectors.toList())));
+            NodeScheduler original = FlowExecutors.getNodeScheduler();
+            NodeScheduler stopped = NodeScheduler.pooled();
+            stopped.shutdown();
+            try {
+                FlowExecutors.setNodeScheduler(stopped);
+                flow.offer(1);
+                FlowExecutors.setNodeScheduler(original);
+                flow.offer(2);
+                FlowsTestUtil.waitUntil(() -> result.size() == 2, 5000);
+            } finally {
+                FlowExecutors.setNodeScheduler(original);
+            }
+            assertEquals(Arrays.asList(10, 20), result.stream().sorted().collect(Collectors.toList()));
+        }
+
         @Test
         void test_map_with_array_data() {
             List<String> result = new ArrayList<>();
@@ -144,6 +175,78 @@ class WaterFlowsTest {
             assertTrue(result.contains("12-okay"));
         }
 
+        @Test
+        @DisplayName("map节点批处理时，同一批次的数据一起处理并保持顺序")
+        void test_map_with_batch() {
+            Map<String, List<Integer>> batches = new LinkedHashMap<>();
+            List<Integer> result = new ArrayList<>();
+            FlowSession session = new FlowSession(true);
+            ProcessFlow<Integer> flow = Flows.<Integer>create(repo, messenger, locks)
+                    .map(i -> i * 10)
+                    .batch(2, Duration.ofMillis(50))
+                    .close(r -> {
+                        synchronized (batches) {
+                            batches.computeIfAbsent(r.get().getBatchId(), id -> new ArrayList<>())
+                                    .add(r.get().getData());
+                            result.add(r.get().getData());
+                        }
+                    });
+            Window window = session.begin();
+            flow.offer(new Integer[] {1, 2, 3, 4, 5}, session);
+            window.complete();
+
+            FlowsTestUtil.waitUntil(() -> result.size() == 5, 10000);
+            assertEquals(Arrays.asList(10, 20, 30, 40, 50), result);
+            assertEquals(Arrays.asList(Arrays.asList(10, 20), Arrays.asList(30, 40), Collections.singletonList(50)),
+                    new ArrayList<>(batches.values()));
+        }
+
+        @Test
+        @DisplayName("内存流程融合相邻的map节点后，结果与融合前一致")
+        void test_fuse_linear_map_chain() {
+            List<Integer> result = new ArrayList<>();
+            Start<Integer, Integer, Integer, ProcessFlow<Integer>> start = Flows.create(repo, messenger, locks);
+            State<Integer, Integer, ?, ProcessFlow<Integer>> state = start.map(i -> i + 1);
+            for (int i = 0; i < 8; i++) {
+                state = state.map(value -> value * 2).just(value -> {});
+            }
+            ProcessFlow<Integer> flow = state.map(i -> i == 512 ? null : i)
+                    .close(r -> result.add(r.get().getData()));
+
+            assertEquals(17, flow.fuse());
+            flow.offer(new Integer[] {0, 1, 2});
+
+            FlowsTestUtil.waitUntil(() -> result.size() == 2, 10000);
+            assertEquals(Arrays.asList(256, 768), result.stream().sorted().collect(Collectors.toList()));
+        }
+
+        @Test
+        @DisplayName("相邻map节点只有挂载同一个错误处理器和全局错误处理器时才融合")
+        void test_fuse_requires_identical_error_handlers() {
+            Operators.ErrorHandler<Integer> first = (exception, retryable, contexts) -> {};
+            Operators.ErrorHandler<Integer> second = (exception, retryable, contexts) -> {};
+            ProcessFlow<Integer> same = Flows.<Integer>create(repo, messenger, locks)
+                    .map(i -> i + 1)
+                    .error(first)
+                    .map(i -> i * 2)
+                    .error(first)
+                    .close(r -> {});
+            ProcessFlow<Integer> different = Flows.<Integer>create(repo, messenger, locks)
+                    .map(i -> i + 1)
+                    .error(first)
+                    .map(i -> i * 2)
+                    .error(second)
+                    .close(r -> {});
+            Start<Integer, Integer, Integer, ProcessFlow<Integer>> start = Flows.create(repo, messenger, locks);
+            State<Integer, Integer, ?, ProcessFlow<Integer>> last = start.map(i -> i + 1).map(i -> i * 2);
+            ProcessFlow<Integer> differentGlobal = last.close(r -> {});
+            last.subscriber().onGlobalError((exception, retryable, contexts) -> {});
+
+            assertEquals(1, same.fuse());
+            assertEquals(0, different.fuse());
+            assertEquals(0, differentGlobal.fuse());
+        }
+
         @Test
         void test_map_with_preserved_order() {
             List<Integer> result = new ArrayList<>();
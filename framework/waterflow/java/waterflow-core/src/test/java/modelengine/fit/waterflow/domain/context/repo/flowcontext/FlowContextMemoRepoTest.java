@@ -0,0 +1,172 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowcontext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * {@link FlowContextMemoRepo}的测试类
+ *
+ * @author 高诗意
+ * @since 1.0
+ */
+@DisplayName("内存版流程上下文持久化测试")
+class FlowContextMemoRepoTest {
+    private static final String STREAM_ID = "stream";
+
+    private FlowContextMemoRepo repo;
+
+    @BeforeEach
+    void setUp() {
+        this.repo = new FlowContextMemoRepo();
+    }
+
+    private FlowContext<Integer> context(int data, String position, String trace) {
+        return this.context(data, position, trace, new FlowSession());
+    }
+
+    private FlowContext<Integer> context(int data, String position, String trace, FlowSession session) {
+        FlowContext<Integer> context = new FlowContext<>(STREAM_ID, "root", data, Collections.singleton(trace),
+                position, session);
+        return context.setStatus(FlowNodeStatus.PENDING);
+    }
+
+    private static List<Integer> data(List<FlowContext<Integer>> contexts) {
+        return contexts.stream().map(FlowContext::getData).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("按位置查询时，结果保持首次保存的顺序")
+    void shouldKeepSaveOrderWhenQueryAcrossPositions() {
+        this.repo.save(Arrays.asList(this.context(1, "a", "t1"), this.context(2, "b", "t1")));
+        this.repo.save(Collections.singletonList(this.context(3, "a", "t1")));
+
+        List<FlowContext<Integer>> found = this.repo.getContextsByPosition(STREAM_ID, Arrays.asList("b", "a"),
+                FlowNodeStatus.PENDING.toString());
+
+        assertEquals(Arrays.asList(1, 2, 3), data(found));
+        assertEquals(Collections.singletonList(1),
+                data(this.repo.requestMappingContext(STREAM_ID, Arrays.asList("a", "b"), new HashMap<>())));
+    }
+
+    @Test
+    @DisplayName("批量请求时，保序session只返回从当前序号开始连续的上下文")
+    void shouldReturnConsecutiveIndexesWhenRequestBatch() {
+        FlowSession session = new FlowSession(true);
+        session.begin();
+        FlowContext<Integer> third = this.context(3, "a", "t1", session);
+        third.setIndex(3);
+        FlowContext<Integer> first = this.context(1, "a", "t1", session);
+        first.setIndex(1);
+        FlowContext<Integer> second = this.context(2, "a", "t1", session);
+        second.setIndex(2);
+        FlowContext<Integer> fifth = this.context(5, "a", "t1", session);
+        fifth.setIndex(5);
+        this.repo.save(Arrays.asList(third, first, second, fifth));
+
+        List<FlowContext<Integer>> found = this.repo.requestMappingContext(STREAM_ID, Collections.singletonList("a"),
+                Collections.singletonMap(session.getId(), 1), 10);
+
+        assertEquals(Arrays.asList(1, 2, 3), data(found));
+    }
+
+    @Test
+    @DisplayName("上下文状态和位置变化后，重新保存会刷新索引")
+    void shouldReindexWhenStatusAndPositionChanged() {
+        FlowContext<Integer> context = this.context(1, "a", "t1");
+        this.repo.save(Collections.singletonList(context));
+
+        context.setPosition("node").setStatus(FlowNodeStatus.READY);
+        context.batchId("batch");
+        this.repo.save(Collections.singletonList(context));
+
+        assertTrue(this.repo.getContextsByPosition(STREAM_ID, Collections.singletonList("a"),
+                FlowNodeStatus.PENDING.toString()).isEmpty());
+        assertEquals(Collections.singletonList(1), data(this.repo.getContextsByPosition(STREAM_ID, "node", "batch",
+                FlowNodeStatus.READY.toString())));
+    }
+
+    @Test
+    @DisplayName("上下文修改后未重新保存时，按新的索引字段查询不到，调用任意保存类方法后可以查到")
+    void shouldRequireSaveAfterMutation() {
+        List<Consumer<List<FlowContext<Integer>>>> saves = Arrays.asList(this.repo::save, this.repo::update,
+                contexts -> this.repo.updateStatus(contexts, FlowNodeStatus.READY.toString(), "node"),
+                this.repo::updateToSent, this.repo::updateFlowData, this.repo::updateIndex,
+                contexts -> this.repo.updateContextPool(contexts, Collections.emptySet()));
+        for (Consumer<List<FlowContext<Integer>>> save : saves) {
+            FlowContext<Integer> context = this.context(1, "a", "t1");
+            this.repo.save(Collections.singletonList(context));
+
+            context.setPosition("node").setStatus(FlowNodeStatus.READY);
+            context.batchId("batch");
+            assertTrue(this.repo.getContextsByPosition(STREAM_ID, "node", "batch",
+                    FlowNodeStatus.READY.toString()).isEmpty());
+
+            save.accept(Collections.singletonList(context));
+            assertEquals(Collections.singletonList(context.getId()), this.repo.<Integer>getContextsByPosition(
+                    STREAM_ID, "node", "batch", FlowNodeStatus.READY.toString())
+                    .stream()
+                    .map(FlowContext::getId)
+                    .collect(Collectors.toList()));
+            context.setStatus(FlowNodeStatus.ARCHIVED);
+            this.repo.save(Collections.singletonList(context));
+        }
+    }
+
+    @Test
+    @DisplayName("结束的上下文从所有索引中移除")
+    void shouldRemoveFromIndexesWhenArchived() {
+        FlowContext<Integer> context = this.context(1, "a", "t1");
+        context.setParallel("p1");
+        this.repo.save(Collections.singletonList(context));
+        assertEquals(1, this.repo.getContextsByTrace("t1").size());
+        assertEquals(1, this.repo.getContextsByParallel("p1").size());
+
+        context.setStatus(FlowNodeStatus.ARCHIVED);
+        this.repo.save(Collections.singletonList(context));
+
+        assertNull(this.repo.getById(context.getId()));
+        assertTrue(this.repo.getContextsByTrace("t1").isEmpty());
+        assertTrue(this.repo.getContextsByParallel("p1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("配置保留时长时，结束的上下文在超过保留时长后回收")
+    void shouldReclaimTerminalContextAfterRetention() throws InterruptedException {
+        FlowContextMemoRepo retainingRepo = new FlowContextMemoRepo(Duration.ofMillis(20));
+        FlowContext<Integer> context = this.context(1, "a", "t1");
+        retainingRepo.save(Collections.singletonList(context));
+        context.setStatus(FlowNodeStatus.ARCHIVED);
+        retainingRepo.save(Collections.singletonList(context));
+        assertEquals(1, retainingRepo.getContextsByTrace("t1").size());
+        assertEquals(Collections.singletonMap(STREAM_ID, 1), retainingRepo.countByStream());
+
+        Thread.sleep(30);
+        retainingRepo.reclaimExpired();
+
+        assertTrue(retainingRepo.getContextsByTrace("t1").isEmpty());
+        assertTrue(retainingRepo.countByStream().isEmpty());
+    }
+}
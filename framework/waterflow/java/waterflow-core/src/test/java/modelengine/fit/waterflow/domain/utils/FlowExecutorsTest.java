@@ -0,0 +1,182 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.FlowsTestUtil;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FlowExecutors}的测试类
+ *
+ * @author 高诗意
+ * @since 1.0
+ */
+@DisplayName("流程引擎执行层测试")
+class FlowExecutorsTest {
+    @AfterEach
+    void tearDown() {
+        FlowExecutors.configure(FlowExecutorOptions.defaults());
+    }
+
+    @Test
+    @DisplayName("单个流程达到并发上限时，不影响其它流程获取并发")
+    void shouldIsolateConcurrencyByStream() {
+        FlowExecutors.configure(FlowExecutorOptions.builder().streamConcurrency(1).build());
+
+        Optional<FlowExecutors.ConcurrencyHolder> first = FlowExecutors.incrementConcurrency("stream-a");
+        Optional<FlowExecutors.ConcurrencyHolder> second = FlowExecutors.incrementConcurrency("stream-a");
+        Optional<FlowExecutors.ConcurrencyHolder> other = FlowExecutors.incrementConcurrency("stream-b");
+
+        assertTrue(first.isPresent());
+        assertFalse(second.isPresent());
+        assertTrue(other.isPresent());
+        assertEquals(1, FlowExecutors.metrics().streamConcurrency().get("stream-a"));
+
+        first.get().release();
+        other.get().release();
+        assertTrue(FlowExecutors.incrementConcurrency("stream-a").map(holder -> {
+            holder.release();
+            return true;
+        }).orElse(false));
+        assertFalse(FlowExecutors.metrics().streamConcurrency().containsKey("stream-a"));
+    }
+
+    @Test
+    @DisplayName("流程饱和时，接收数据等待并发释放，超时后继续接收")
+    void shouldWaitForCapacityWhenStreamSaturated() {
+        FlowExecutors.configure(FlowExecutorOptions.builder()
+                .streamConcurrency(1)
+                .offerTimeout(Duration.ofMillis(20))
+                .build());
+        FlowExecutors.ConcurrencyHolder holder = FlowExecutors.incrementConcurrency("stream-c").get();
+        long backPressure = FlowExecutors.metrics().backPressureCount();
+
+        long start = System.nanoTime();
+        FlowExecutors.awaitCapacity("stream-c");
+        long waited = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        holder.release();
+
+        assertTrue(waited >= 15);
+        assertEquals(backPressure + 1, FlowExecutors.metrics().backPressureCount());
+    }
+
+    @Test
+    @DisplayName("默认不限制单个流程的并发，只受全部流程的并发上限约束")
+    void shouldNotLimitStreamConcurrencyByDefault() {
+        FlowExecutorOptions defaults = FlowExecutorOptions.defaults();
+        List<FlowExecutors.ConcurrencyHolder> holders = new ArrayList<>();
+        for (int i = 0; i < defaults.getMaxConcurrency(); i++) {
+            holders.add(FlowExecutors.incrementConcurrency("stream-d").orElseThrow(IllegalStateException::new));
+        }
+
+        assertFalse(FlowExecutors.incrementConcurrency("stream-e").isPresent());
+        holders.forEach(FlowExecutors.ConcurrencyHolder::release);
+        assertFalse(FlowExecutors.metrics().streamConcurrency().containsKey("stream-d"));
+    }
+
+    @Test
+    @DisplayName("流程引擎内部的线程接收数据时，不因流程饱和而等待")
+    void shouldNotWaitForCapacityInEngineThread() {
+        FlowExecutors.configure(FlowExecutorOptions.builder()
+                .streamConcurrency(1)
+                .offerTimeout(Duration.ofSeconds(5))
+                .build());
+        FlowExecutors.ConcurrencyHolder holder = FlowExecutors.incrementConcurrency("stream-f").get();
+
+        long start = System.nanoTime();
+        FlowExecutors.runInEngine(() -> FlowExecutors.awaitCapacity("stream-f"));
+        long waited = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        holder.release();
+
+        assertTrue(waited < 1000);
+    }
+
+    @Test
+    @DisplayName("默认配置下流程饱和时，接收数据不等待")
+    void shouldNotWaitForCapacityByDefault() {
+        FlowExecutors.configure(FlowExecutorOptions.builder().streamConcurrency(1).build());
+        FlowExecutors.ConcurrencyHolder holder = FlowExecutors.incrementConcurrency("stream-h").get();
+        long backPressure = FlowExecutors.metrics().backPressureCount();
+
+        FlowExecutors.awaitCapacity("stream-h");
+        holder.release();
+
+        assertEquals(backPressure, FlowExecutors.metrics().backPressureCount());
+    }
+
+    @Test
+    @DisplayName("运行时调整固定键线程池的线程数，已提交的任务不丢失且同一个键的任务保持顺序")
+    void shouldKeepKeyOrderWhenFixedKeyPoolResized() throws InterruptedException {
+        FlowExecutors.configure(FlowExecutorOptions.builder().fixedKeyPoolSize(2).build());
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+        FlowExecutors.submit(null, "key", () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            FlowExecutors.submit(null, "key", () -> result.add(value));
+        }
+
+        FlowExecutors.configure(FlowExecutorOptions.builder().fixedKeyPoolSize(3).build());
+        for (int i = 5; i < 10; i++) {
+            int value = i;
+            FlowExecutors.submit(null, "key", () -> result.add(value));
+        }
+        Thread.sleep(50);
+        assertTrue(result.isEmpty());
+        release.countDown();
+
+        FlowsTestUtil.waitUntil(() -> result.size() == 10, 5000);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), result);
+    }
+
+    @Test
+    @DisplayName("释放并发时唤醒等待该流程的接收方，且检查饱和不会创建流程的并发计数")
+    void shouldWakeUpWaiterWhenConcurrencyReleased() throws InterruptedException {
+        FlowExecutors.configure(FlowExecutorOptions.builder()
+                .streamConcurrency(1)
+                .offerTimeout(Duration.ofSeconds(5))
+                .build());
+        FlowExecutors.awaitCapacity("stream-g");
+        assertFalse(FlowExecutors.metrics().streamConcurrency().containsKey("stream-g"));
+        FlowExecutors.ConcurrencyHolder holder = FlowExecutors.incrementConcurrency("stream-g").get();
+        CountDownLatch released = new CountDownLatch(1);
+        Thread offer = new Thread(() -> {
+            FlowExecutors.awaitCapacity("stream-g");
+            released.countDown();
+        });
+
+        long start = System.nanoTime();
+        offer.start();
+        Thread.sleep(50);
+        holder.release();
+
+        assertTrue(released.await(2, TimeUnit.SECONDS));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+    }
+}
@@ -0,0 +1,172 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.FlowsTestUtil;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link NodeScheduler}的测试类
+ *
+ * @author 高诗意
+ * @since 1.0
+ */
+@DisplayName("节点主循环调度器测试")
+class NodeSchedulerTest {
+    @Test
+    @DisplayName("线程池调度器执行主循环，并在主循环结束后更新运行指标")
+    void shouldRunLoopsOnPooledScheduler() throws InterruptedException {
+        NodeScheduler scheduler = NodeScheduler.pooled();
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean isInEngine = new AtomicBoolean(true);
+        try {
+            for (int i = 0; i < 3; i++) {
+                scheduler.schedule("loop-" + i, () -> {
+                    isInEngine.compareAndSet(true, FlowExecutors.isInEngine());
+                    started.countDown();
+                    awaitQuietly(release);
+                });
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            NodeSchedulerMetrics metrics = scheduler.metrics();
+            assertEquals(3, metrics.scheduledCount());
+            assertEquals(3, metrics.runningLoops());
+            assertEquals(3, metrics.threadCount());
+            release.countDown();
+
+            FlowsTestUtil.waitUntil(() -> metrics.runningLoops() == 0, 5000);
+            assertEquals(0, metrics.runningLoops());
+            assertEquals(3, metrics.peakRunningLoops());
+            assertTrue(metrics.maxWakeupNanos() >= metrics.averageWakeupNanos());
+            assertTrue(isInEngine.get());
+        } finally {
+            release.countDown();
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("运行环境支持虚拟线程时，虚拟线程调度器执行主循环，否则不创建")
+    void shouldRunLoopsOnVirtualThreadsWhenSupported() throws InterruptedException {
+        Optional<NodeScheduler> scheduler = NodeScheduler.virtualThreads();
+        assertEquals(Runtime.version().feature() >= 21, scheduler.isPresent());
+        Assumptions.assumeTrue(scheduler.isPresent());
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean isVirtual = new AtomicBoolean();
+        try {
+            scheduler.get().schedule("virtual-loop", () -> {
+                isVirtual.set(Thread.currentThread().getClass().getName().contains("Virtual"));
+                finished.countDown();
+            });
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            assertTrue(isVirtual.get());
+            FlowsTestUtil.waitUntil(() -> scheduler.get().metrics().runningLoops() == 0, 5000);
+            assertEquals(1, scheduler.get().metrics().scheduledCount());
+        } finally {
+            scheduler.get().shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("主循环抛出异常时，异常被记录，运行指标恢复并且调度器继续可用")
+    void shouldKeepRunningWhenLoopFails() throws InterruptedException {
+        NodeScheduler scheduler = NodeScheduler.pooled();
+        CountDownLatch finished = new CountDownLatch(1);
+        try {
+            scheduler.schedule("failed-loop", () -> {
+                throw new IllegalStateException("loop failed");
+            });
+            FlowsTestUtil.waitUntil(() -> scheduler.metrics().runningLoops() == 0
+                    && scheduler.metrics().peakRunningLoops() == 1, 5000);
+            scheduler.schedule("next-loop", finished::countDown);
+
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            assertEquals(2, scheduler.metrics().scheduledCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("调度器停止后，已经启动的主循环执行到结束，新的调度请求被忽略")
+    void shouldIgnoreLoopsAfterShutdown() throws InterruptedException {
+        NodeScheduler scheduler = NodeScheduler.pooled();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        scheduler.schedule("running-loop", () -> {
+            started.countDown();
+            awaitQuietly(release);
+            finished.countDown();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        scheduler.shutdown();
+        AtomicBoolean isIgnoredLoopRun = new AtomicBoolean();
+        assertFalse(scheduler.schedule("ignored-loop", () -> isIgnoredLoopRun.set(true)));
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        FlowsTestUtil.waitUntil(() -> scheduler.metrics().threadCount() == 0, 5000);
+        assertEquals(0, scheduler.metrics().threadCount());
+        assertEquals(1, scheduler.metrics().scheduledCount());
+        assertFalse(isIgnoredLoopRun.get());
+    }
+
+    @Test
+    @DisplayName("执行器拒绝主循环时，调度返回false且不计入调度次数")
+    void shouldReportRejectedLoops() {
+        ExecutorNodeScheduler scheduler = new ExecutorNodeScheduler((name, task) -> {
+            throw new RejectedExecutionException("rejected");
+        }, new NodeSchedulerMetrics(), () -> 0, () -> {});
+
+        assertFalse(scheduler.schedule("rejected-loop", () -> {}));
+        assertEquals(0, scheduler.metrics().scheduledCount());
+    }
+
+    @Test
+    @DisplayName("运行指标累计唤醒次数、唤醒延迟和同时运行的主循环数量峰值")
+    void shouldAccumulateMetrics() {
+        NodeSchedulerMetrics metrics = new NodeSchedulerMetrics();
+        assertEquals(0, metrics.averageWakeupNanos());
+
+        metrics.onScheduled();
+        metrics.onScheduled();
+        metrics.onStarted(100);
+        metrics.onStarted(300);
+        metrics.onFinished();
+
+        assertEquals(2, metrics.scheduledCount());
+        assertEquals(1, metrics.runningLoops());
+        assertEquals(2, metrics.peakRunningLoops());
+        assertEquals(200, metrics.averageWakeupNanos());
+        assertEquals(300, metrics.maxWakeupNanos());
+        assertEquals(1, metrics.threadCount());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}